@@ -0,0 +1,116 @@
+package com.erickwu.backend.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 头像存储配置
+ */
+@Component
+@ConfigurationProperties(prefix = "avatar")
+public class AvatarConfig {
+
+    /**
+     * 头像文件存储根目录（按内容哈希分片）
+     */
+    private String storageDir = "data/avatars";
+
+    /**
+     * 上传图片大小上限（字节，解码前）
+     */
+    private int maxUploadBytes = 2 * 1024 * 1024;
+
+    /**
+     * 源图像素上限，超过则拒绝解码
+     */
+    private int maxSourcePixels = 4096 * 4096;
+
+    /**
+     * 生成的缩略图边长（像素）
+     */
+    private int[] variantSizes = {256, 64};
+
+    /**
+     * JPEG 编码质量
+     */
+    private float jpegQuality = 0.85f;
+
+    /**
+     * 浏览器缓存时长（秒），内容寻址的文件永不变化
+     */
+    private long cacheMaxAgeSeconds = 31536000L;
+
+    /**
+     * 启动时是否迁移 users.avatar 中的历史 Base64 头像
+     */
+    private boolean migrateOnStartup = true;
+
+    /**
+     * 迁移时每批处理的用户数
+     */
+    private int migrateBatchSize = 100;
+
+    public String getStorageDir() {
+        return storageDir;
+    }
+
+    public void setStorageDir(String storageDir) {
+        this.storageDir = storageDir;
+    }
+
+    public int getMaxUploadBytes() {
+        return maxUploadBytes;
+    }
+
+    public void setMaxUploadBytes(int maxUploadBytes) {
+        this.maxUploadBytes = maxUploadBytes;
+    }
+
+    public int getMaxSourcePixels() {
+        return maxSourcePixels;
+    }
+
+    public void setMaxSourcePixels(int maxSourcePixels) {
+        this.maxSourcePixels = maxSourcePixels;
+    }
+
+    public int[] getVariantSizes() {
+        return variantSizes;
+    }
+
+    public void setVariantSizes(int[] variantSizes) {
+        this.variantSizes = variantSizes;
+    }
+
+    public float getJpegQuality() {
+        return jpegQuality;
+    }
+
+    public void setJpegQuality(float jpegQuality) {
+        this.jpegQuality = jpegQuality;
+    }
+
+    public long getCacheMaxAgeSeconds() {
+        return cacheMaxAgeSeconds;
+    }
+
+    public void setCacheMaxAgeSeconds(long cacheMaxAgeSeconds) {
+        this.cacheMaxAgeSeconds = cacheMaxAgeSeconds;
+    }
+
+    public boolean isMigrateOnStartup() {
+        return migrateOnStartup;
+    }
+
+    public void setMigrateOnStartup(boolean migrateOnStartup) {
+        this.migrateOnStartup = migrateOnStartup;
+    }
+
+    public int getMigrateBatchSize() {
+        return migrateBatchSize;
+    }
+
+    public void setMigrateBatchSize(int migrateBatchSize) {
+        this.migrateBatchSize = migrateBatchSize;
+    }
+}
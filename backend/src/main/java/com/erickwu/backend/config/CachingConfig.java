@@ -0,0 +1,116 @@
+package com.erickwu.backend.config;
+
+import com.erickwu.backend.metrics.MetricsRegistry;
+import com.erickwu.backend.service.LocalCache;
+import com.erickwu.backend.util.TransactionHooks;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.support.NoOpCacheManager;
+import org.springframework.cache.support.SimpleCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.stream.Stream;
+
+/**
+ * 缓存配置
+ * Mapper 上的热点单点查询通过 Spring Cache 注解缓存在本地，写操作上的注解负责失效；
+ * 事务中的写入在提交后才写入缓存，失效则立即执行一次、提交后再执行一次，
+ * 避免并发读取在提交前把旧数据重新放回缓存，回滚的数据也不会进入缓存
+ */
+@Configuration
+@EnableCaching
+public class CachingConfig {
+
+    @Bean
+    public CacheManager cacheManager(MapperCacheConfig config, MetricsRegistry metrics) {
+        if (!config.isEnabled()) {
+            return new NoOpCacheManager();
+        }
+        List<Cache> caches = Stream.of(
+                        MapperCacheConfig.USERS,
+                        MapperCacheConfig.RESUME_BY_USER,
+                        MapperCacheConfig.SKILLS_BY_RESUME,
+                        MapperCacheConfig.EDUCATIONS_BY_RESUME,
+                        MapperCacheConfig.WORK_EXPERIENCES_BY_RESUME)
+                .map(name -> new LocalCache(name, config.specOf(name), config.isStoreByValue(), metrics))
+                .<Cache>map(AfterCommitEvictingCache::new)
+                .toList();
+        SimpleCacheManager cacheManager = new SimpleCacheManager();
+        cacheManager.setCaches(caches);
+        return cacheManager;
+    }
+
+    /**
+     * 事务感知的缓存：put 延迟到提交后（回滚则丢弃）；evict/clear 立即执行一次并在事务结束后再执行一次，
+     * 使同一事务内写入后的读取不会命中旧值
+     */
+    static class AfterCommitEvictingCache implements Cache {
+
+        private final Cache target;
+
+        AfterCommitEvictingCache(Cache target) {
+            this.target = target;
+        }
+
+        @Override
+        public String getName() {
+            return target.getName();
+        }
+
+        @Override
+        public Object getNativeCache() {
+            return target.getNativeCache();
+        }
+
+        @Override
+        public ValueWrapper get(Object key) {
+            return target.get(key);
+        }
+
+        @Override
+        public <T> T get(Object key, Class<T> type) {
+            return target.get(key, type);
+        }
+
+        @Override
+        public <T> T get(Object key, Callable<T> valueLoader) {
+            if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+                return target.get(key, valueLoader);
+            }
+            // 事务中加载的值可能包含未提交的写入，不直接放入缓存
+            ValueWrapper cached = target.get(key);
+            if (cached != null) {
+                @SuppressWarnings("unchecked")
+                T value = (T) cached.get();
+                return value;
+            }
+            try {
+                T value = valueLoader.call();
+                put(key, value);
+                return value;
+            } catch (Exception e) {
+                throw new ValueRetrievalException(key, valueLoader, e);
+            }
+        }
+
+        @Override
+        public void put(Object key, Object value) {
+            TransactionHooks.afterCommit(() -> target.put(key, value));
+        }
+
+        @Override
+        public void evict(Object key) {
+            TransactionHooks.nowAndAfterCompletion(() -> target.evict(key));
+        }
+
+        @Override
+        public void clear() {
+            TransactionHooks.nowAndAfterCompletion(target::clear);
+        }
+    }
+}
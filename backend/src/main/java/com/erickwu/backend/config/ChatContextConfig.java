@@ -0,0 +1,64 @@
+package com.erickwu.backend.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * AI 对话上下文配置
+ */
+@Component
+@ConfigurationProperties(prefix = "chat.context")
+public class ChatContextConfig {
+
+    /**
+     * 上下文（摘要 + 最近消息）的 token 预算
+     */
+    private int maxTokens = 3000;
+
+    /**
+     * 每次最多读取的最近消息条数
+     */
+    private int maxMessages = 20;
+
+    /**
+     * 会话摘要的目标长度（字数）
+     */
+    private int summaryMaxChars = 600;
+
+    /**
+     * 单次合并进摘要的消息条数上限
+     */
+    private int summaryBatchSize = 20;
+
+    public int getMaxTokens() {
+        return maxTokens;
+    }
+
+    public void setMaxTokens(int maxTokens) {
+        this.maxTokens = maxTokens;
+    }
+
+    public int getMaxMessages() {
+        return maxMessages;
+    }
+
+    public void setMaxMessages(int maxMessages) {
+        this.maxMessages = maxMessages;
+    }
+
+    public int getSummaryMaxChars() {
+        return summaryMaxChars;
+    }
+
+    public void setSummaryMaxChars(int summaryMaxChars) {
+        this.summaryMaxChars = summaryMaxChars;
+    }
+
+    public int getSummaryBatchSize() {
+        return summaryBatchSize;
+    }
+
+    public void setSummaryBatchSize(int summaryBatchSize) {
+        this.summaryBatchSize = summaryBatchSize;
+    }
+}
@@ -0,0 +1,77 @@
+package com.erickwu.backend.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Dashboard 配置
+ */
+@Component
+@ConfigurationProperties(prefix = "dashboard")
+public class DashboardConfig {
+
+    /**
+     * 快照缓存最多保存的用户数
+     */
+    private int cacheMaxEntries = 1000;
+
+    /**
+     * 快照缓存过期时间（分钟），作为失效遗漏时的兜底
+     */
+    private int cacheTtlMinutes = 30;
+
+    /**
+     * /api/dashboard/all 并发加载线程数
+     */
+    private int loaderThreads = 8;
+
+    /**
+     * 并发加载等待队列容量，队列满时在请求线程上直接计算
+     */
+    private int loaderQueueCapacity = 100;
+
+    /**
+     * 整页加载的时间预算（毫秒），超时的区块返回空数据并标记状态
+     */
+    private long sectionTimeoutMillis = 2000;
+
+    public int getCacheMaxEntries() {
+        return cacheMaxEntries;
+    }
+
+    public void setCacheMaxEntries(int cacheMaxEntries) {
+        this.cacheMaxEntries = cacheMaxEntries;
+    }
+
+    public int getCacheTtlMinutes() {
+        return cacheTtlMinutes;
+    }
+
+    public void setCacheTtlMinutes(int cacheTtlMinutes) {
+        this.cacheTtlMinutes = cacheTtlMinutes;
+    }
+
+    public int getLoaderThreads() {
+        return loaderThreads;
+    }
+
+    public void setLoaderThreads(int loaderThreads) {
+        this.loaderThreads = loaderThreads;
+    }
+
+    public int getLoaderQueueCapacity() {
+        return loaderQueueCapacity;
+    }
+
+    public void setLoaderQueueCapacity(int loaderQueueCapacity) {
+        this.loaderQueueCapacity = loaderQueueCapacity;
+    }
+
+    public long getSectionTimeoutMillis() {
+        return sectionTimeoutMillis;
+    }
+
+    public void setSectionTimeoutMillis(long sectionTimeoutMillis) {
+        this.sectionTimeoutMillis = sectionTimeoutMillis;
+    }
+}
@@ -0,0 +1,220 @@
+package com.erickwu.backend.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 简历向量索引配置
+ */
+@Component
+@ConfigurationProperties(prefix = "embedding")
+public class EmbeddingConfig {
+
+    /**
+     * 是否启用简历向量化和相似候选人检索
+     */
+    private boolean enabled = true;
+
+    /**
+     * 原始文本分块长度（字符）
+     */
+    private int chunkChars = 1000;
+
+    /**
+     * 每个版本最多向量化的分块数，超出部分忽略
+     */
+    private int maxChunks = 8;
+
+    /**
+     * 单次向量接口请求的文本条数上限
+     */
+    private int batchSize = 25;
+
+    /**
+     * 技能向量在版本向量中的权重，其余为正文分块均值
+     */
+    private double skillWeight = 0.3;
+
+    /**
+     * 向量化线程数
+     */
+    private int workerThreads = 1;
+
+    /**
+     * 向量化等待队列容量，队列满时跳过，由回填任务补齐
+     */
+    private int queueCapacity = 500;
+
+    /**
+     * HNSW 每层邻居数
+     */
+    private int hnswM = 16;
+
+    /**
+     * HNSW 构建搜索宽度
+     */
+    private int hnswEfConstruction = 100;
+
+    /**
+     * HNSW 查询搜索宽度
+     */
+    private int hnswEfSearch = 64;
+
+    /**
+     * HNSW 软删除节点占比超过该值时重建索引
+     */
+    private double hnswCompactRatio = 0.2;
+
+    /**
+     * 启动加载索引时每页读取的向量数
+     */
+    private int loadPageSize = 500;
+
+    /**
+     * 相似检索单次返回的最大条数
+     */
+    private int maxTopK = 50;
+
+    /**
+     * 回填任务每页读取的版本数，每页处理完写入一次检查点
+     */
+    private int backfillPageSize = 50;
+
+    /**
+     * 回填任务调用向量接口的速率上限（次/秒），不大于 0 表示不限速
+     */
+    private double backfillRequestsPerSecond = 2.0;
+
+    /**
+     * 回填任务单页失败的重试次数，超过后任务标记失败
+     */
+    private int backfillMaxRetries = 3;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getChunkChars() {
+        return chunkChars;
+    }
+
+    public void setChunkChars(int chunkChars) {
+        this.chunkChars = chunkChars;
+    }
+
+    public int getMaxChunks() {
+        return maxChunks;
+    }
+
+    public void setMaxChunks(int maxChunks) {
+        this.maxChunks = maxChunks;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    public double getSkillWeight() {
+        return skillWeight;
+    }
+
+    public void setSkillWeight(double skillWeight) {
+        this.skillWeight = skillWeight;
+    }
+
+    public int getWorkerThreads() {
+        return workerThreads;
+    }
+
+    public void setWorkerThreads(int workerThreads) {
+        this.workerThreads = workerThreads;
+    }
+
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    public void setQueueCapacity(int queueCapacity) {
+        this.queueCapacity = queueCapacity;
+    }
+
+    public int getHnswM() {
+        return hnswM;
+    }
+
+    public void setHnswM(int hnswM) {
+        this.hnswM = hnswM;
+    }
+
+    public int getHnswEfConstruction() {
+        return hnswEfConstruction;
+    }
+
+    public void setHnswEfConstruction(int hnswEfConstruction) {
+        this.hnswEfConstruction = hnswEfConstruction;
+    }
+
+    public int getHnswEfSearch() {
+        return hnswEfSearch;
+    }
+
+    public void setHnswEfSearch(int hnswEfSearch) {
+        this.hnswEfSearch = hnswEfSearch;
+    }
+
+    public double getHnswCompactRatio() {
+        return hnswCompactRatio;
+    }
+
+    public void setHnswCompactRatio(double hnswCompactRatio) {
+        this.hnswCompactRatio = hnswCompactRatio;
+    }
+
+    public int getLoadPageSize() {
+        return loadPageSize;
+    }
+
+    public void setLoadPageSize(int loadPageSize) {
+        this.loadPageSize = loadPageSize;
+    }
+
+    public int getMaxTopK() {
+        return maxTopK;
+    }
+
+    public void setMaxTopK(int maxTopK) {
+        this.maxTopK = maxTopK;
+    }
+
+    public int getBackfillPageSize() {
+        return backfillPageSize;
+    }
+
+    public void setBackfillPageSize(int backfillPageSize) {
+        this.backfillPageSize = backfillPageSize;
+    }
+
+    public double getBackfillRequestsPerSecond() {
+        return backfillRequestsPerSecond;
+    }
+
+    public void setBackfillRequestsPerSecond(double backfillRequestsPerSecond) {
+        this.backfillRequestsPerSecond = backfillRequestsPerSecond;
+    }
+
+    public int getBackfillMaxRetries() {
+        return backfillMaxRetries;
+    }
+
+    public void setBackfillMaxRetries(int backfillMaxRetries) {
+        this.backfillMaxRetries = backfillMaxRetries;
+    }
+}
@@ -0,0 +1,218 @@
+package com.erickwu.backend.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 线程池配置
+ * 所有后台线程池均为有界队列，队列满时由调用方快速失败
+ */
+@Configuration
+public class ExecutorConfig {
+
+    /**
+     * 简历解析任务线程池
+     */
+    @Bean(destroyMethod = "shutdown")
+    public ThreadPoolExecutor resumeJobExecutor(ResumeJobConfig config) {
+        return new ThreadPoolExecutor(
+                config.getWorkerThreads(),
+                config.getWorkerThreads(),
+                60L, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(config.getQueueCapacity()),
+                namedThreadFactory("resume-job-"),
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    /**
+     * 文档文本提取线程池
+     * Tika 解析为 CPU 密集型，与请求线程隔离，防止异常文档占满请求线程
+     */
+    @Bean(destroyMethod = "shutdownNow")
+    public ThreadPoolExecutor extractExecutor(ExtractConfig config) {
+        return new ThreadPoolExecutor(
+                config.getWorkerThreads(),
+                config.getWorkerThreads(),
+                60L, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(config.getQueueCapacity()),
+                namedThreadFactory("tika-extract-"),
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    /**
+     * AI 对话流式响应线程池
+     * 每个流式对话占用一个线程直至生成结束
+     */
+    @Bean(destroyMethod = "shutdown")
+    public ThreadPoolExecutor chatStreamExecutor(LlmConfig llmConfig) {
+        LlmConfig.QwenConfig qwen = llmConfig.getQwen();
+        return new ThreadPoolExecutor(
+                qwen.getStreamWorkerThreads(),
+                qwen.getStreamWorkerThreads(),
+                60L, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(qwen.getStreamQueueCapacity()),
+                namedThreadFactory("chat-stream-"),
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    /**
+     * Dashboard 区块并发加载线程池
+     */
+    @Bean(destroyMethod = "shutdown")
+    public ThreadPoolExecutor dashboardExecutor(DashboardConfig config) {
+        return new ThreadPoolExecutor(
+                config.getLoaderThreads(),
+                config.getLoaderThreads(),
+                60L, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(config.getLoaderQueueCapacity()),
+                namedThreadFactory("dashboard-"),
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    /**
+     * 简历向量化线程池
+     * 向量化是检索的旁路数据，队列满时跳过，由回填任务补齐
+     */
+    @Bean(destroyMethod = "shutdown")
+    public ThreadPoolExecutor embeddingExecutor(EmbeddingConfig config) {
+        return new ThreadPoolExecutor(
+                config.getWorkerThreads(),
+                config.getWorkerThreads(),
+                60L, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(config.getQueueCapacity()),
+                namedThreadFactory("embedding-"),
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    /**
+     * 向量回填线程，同一时间只运行一个回填任务
+     */
+    @Bean(destroyMethod = "shutdownNow")
+    public ThreadPoolExecutor embeddingBackfillExecutor() {
+        return new ThreadPoolExecutor(
+                1, 1,
+                60L, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(1),
+                namedThreadFactory("embedding-backfill-"),
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    /**
+     * 候选人检索索引构建线程
+     */
+    @Bean(destroyMethod = "shutdownNow")
+    public ThreadPoolExecutor searchIndexExecutor() {
+        return new ThreadPoolExecutor(
+                1, 1,
+                60L, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(1),
+                namedThreadFactory("search-index-"),
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    /**
+     * 批量重新解析调度线程，同一时间只运行一个任务
+     */
+    @Bean(destroyMethod = "shutdownNow")
+    public ThreadPoolExecutor reparseExecutor() {
+        return new ThreadPoolExecutor(
+                1, 1,
+                60L, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(1),
+                namedThreadFactory("reparse-"),
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    /**
+     * 批量重新解析工作线程池
+     * 调度线程每次提交一页，队列容量不小于页大小
+     */
+    @Bean(destroyMethod = "shutdownNow")
+    public ThreadPoolExecutor reparseWorkerExecutor(ReparseConfig config) {
+        int threads = Math.max(1, config.getConcurrency());
+        return new ThreadPoolExecutor(
+                threads, threads,
+                60L, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, config.getPageSize())),
+                namedThreadFactory("reparse-worker-"),
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    /**
+     * 密码哈希线程池
+     * BCrypt 是纯 CPU 计算，线程数不超过核数，队列有界，已满时拒绝以保护其他接口
+     */
+    @Bean(destroyMethod = "shutdown")
+    public ThreadPoolExecutor passwordHashExecutor(PasswordConfig config) {
+        int threads = config.getThreads() > 0
+                ? config.getThreads()
+                : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        return new ThreadPoolExecutor(
+                threads, threads,
+                60L, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, config.getQueueCapacity())),
+                namedThreadFactory("password-hash-"),
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    /**
+     * 登录/注册后续处理线程池
+     * 哈希完成后的写用户、签发刷新令牌等数据库操作在此执行，不占用密码哈希线程；
+     * 在途数量受哈希队列约束，队列容量与之相同，极端情况下退回调用线程执行
+     */
+    @Bean(destroyMethod = "shutdown")
+    public ThreadPoolExecutor loginExecutor(PasswordConfig config) {
+        int threads = Math.max(2, config.getThreads());
+        return new ThreadPoolExecutor(
+                threads, threads,
+                60L, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, config.getQueueCapacity())),
+                namedThreadFactory("login-"),
+                new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    /**
+     * 历史头像迁移线程
+     */
+    @Bean(destroyMethod = "shutdownNow")
+    public ThreadPoolExecutor avatarMigrationExecutor() {
+        return new ThreadPoolExecutor(
+                1, 1,
+                60L, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(1),
+                namedThreadFactory("avatar-migration-"),
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    /**
+     * 对话摘要线程池
+     * 摘要只是压缩上下文的优化，队列满时直接跳过，下次对话再补
+     */
+    @Bean(destroyMethod = "shutdown")
+    public ThreadPoolExecutor chatSummaryExecutor() {
+        return new ThreadPoolExecutor(
+                1, 1,
+                60L, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(64),
+                namedThreadFactory("chat-summary-"),
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    /**
+     * 创建带名称前缀的守护线程工厂
+     */
+    static ThreadFactory namedThreadFactory(String prefix) {
+        AtomicInteger counter = new AtomicInteger(1);
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + counter.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
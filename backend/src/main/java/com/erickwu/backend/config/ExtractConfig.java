@@ -0,0 +1,64 @@
+package com.erickwu.backend.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 简历文本提取配置
+ */
+@Component
+@ConfigurationProperties(prefix = "resume.extract")
+public class ExtractConfig {
+
+    /**
+     * 文档解析线程数（同时进行的 Tika 解析上限）
+     */
+    private int workerThreads = 2;
+
+    /**
+     * 等待队列容量，队列满时新请求直接拒绝
+     */
+    private int queueCapacity = 20;
+
+    /**
+     * 单个文档最多提取的字符数，超出部分截断
+     */
+    private int maxChars = 200_000;
+
+    /**
+     * 单个文档的解析超时时间（毫秒）
+     */
+    private long timeoutMillis = 30_000;
+
+    public int getWorkerThreads() {
+        return workerThreads;
+    }
+
+    public void setWorkerThreads(int workerThreads) {
+        this.workerThreads = workerThreads;
+    }
+
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    public void setQueueCapacity(int queueCapacity) {
+        this.queueCapacity = queueCapacity;
+    }
+
+    public int getMaxChars() {
+        return maxChars;
+    }
+
+    public void setMaxChars(int maxChars) {
+        this.maxChars = maxChars;
+    }
+
+    public long getTimeoutMillis() {
+        return timeoutMillis;
+    }
+
+    public void setTimeoutMillis(long timeoutMillis) {
+        this.timeoutMillis = timeoutMillis;
+    }
+}
@@ -2,6 +2,7 @@ package com.erickwu.backend.config;
 
 import com.erickwu.backend.model.ApiResponse;
 import com.erickwu.backend.model.ErrorCode;
+import com.erickwu.backend.service.LlmCallException;
 import jakarta.validation.ConstraintViolation;
 import jakarta.validation.ConstraintViolationException;
 import org.slf4j.Logger;
@@ -117,6 +118,16 @@ public class GlobalExceptionHandler {
         return ApiResponse.error(e.getCode(), e.getMessage());
     }
 
+    /**
+     * 处理 AI 服务调用失败（重试后仍失败或上游返回错误），不向客户端暴露上游错误详情
+     */
+    @ExceptionHandler(LlmCallException.class)
+    @ResponseStatus(HttpStatus.BAD_GATEWAY)
+    public ApiResponse<Void> handleLlmCallException(LlmCallException e) {
+        log.error("AI 服务调用失败: status={}, message={}", e.getStatusCode(), e.getMessage());
+        return ApiResponse.error(ErrorCode.LLM_CALL_FAILED);
+    }
+
     /**
      * 处理所有其他异常
      */
@@ -0,0 +1,75 @@
+package com.erickwu.backend.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.net.InetAddress;
+import java.util.UUID;
+
+/**
+ * 服务实例标识与任务租约配置
+ * 多实例部署时，后台任务行记录所属实例与心跳时间，
+ * 实例重启或接管时只处理自己的任务或心跳已超时的任务
+ */
+@Component
+@ConfigurationProperties(prefix = "resume.instance")
+public class InstanceConfig {
+
+    /**
+     * 实例ID，未配置时使用 主机名-随机后缀
+     */
+    private String id;
+
+    /**
+     * 任务心跳间隔（毫秒）
+     */
+    private long heartbeatMillis = 30000;
+
+    /**
+     * 心跳超过该时长未更新，视为所属实例已失联（秒）
+     */
+    private long leaseTimeoutSeconds = 120;
+
+    public synchronized String getId() {
+        if (id == null || id.isBlank()) {
+            id = defaultId();
+        }
+        return id;
+    }
+
+    public synchronized void setId(String id) {
+        this.id = id;
+    }
+
+    public long getHeartbeatMillis() {
+        return heartbeatMillis;
+    }
+
+    public void setHeartbeatMillis(long heartbeatMillis) {
+        this.heartbeatMillis = heartbeatMillis;
+    }
+
+    public long getLeaseTimeoutSeconds() {
+        return leaseTimeoutSeconds;
+    }
+
+    public void setLeaseTimeoutSeconds(long leaseTimeoutSeconds) {
+        this.leaseTimeoutSeconds = leaseTimeoutSeconds;
+    }
+
+    /**
+     * 主机名加随机后缀，同一主机上的多个进程也不会冲突
+     */
+    private static String defaultId() {
+        String host;
+        try {
+            host = InetAddress.getLocalHost().getHostName();
+        } catch (Exception e) {
+            host = "unknown";
+        }
+        if (host.length() > 48) {
+            host = host.substring(0, 48);
+        }
+        return host + "-" + UUID.randomUUID().toString().substring(0, 8);
+    }
+}
@@ -16,10 +16,57 @@ public class JwtConfig {
     private String secret;
 
     /**
-     * JWT 过期时间（毫秒）
+     * 访问 Token 过期时间（毫秒），过期后用刷新令牌换取新 Token
      */
     private Long expiration;
 
+    /**
+     * 刷新令牌过期时间（毫秒），每次刷新顺延
+     */
+    private Long refreshExpiration = 1209600000L;
+
+    /**
+     * 登录会话最长时长（毫秒），超过后刷新令牌不再顺延，需要重新登录
+     */
+    private Long sessionMaxAge = 2592000000L;
+
+    /**
+     * 会话用户投影缓存时长（毫秒）
+     */
+    private long sessionUserCacheTtlMs = 300000;
+
+    /**
+     * 会话用户投影缓存最大条目数
+     */
+    private int sessionUserCacheMaxEntries = 10000;
+
+    /**
+     * 已验证 Token 缓存的最大条目数（0 表示不缓存）
+     */
+    private int cacheMaxEntries = 10000;
+
+    /**
+     * Token 吊销记录轮询间隔（毫秒），多实例部署时的最大同步延迟
+     */
+    private long revocationPollMs = 5000;
+
+    /**
+     * 已吊销 Token 布隆过滤器的位数
+     */
+    private int revocationBloomBits = 1 << 20;
+
+    /**
+     * 吊销记录轮询回看窗口（毫秒）：每次轮询重新读取该时间内的记录，
+     * 覆盖 id 较小但提交较晚的长事务以及实例间时钟偏差
+     */
+    private long revocationPollOverlapMs = 300000;
+
+    /**
+     * 刷新令牌轮换宽限期（毫秒）：期内重复提交刚轮换的令牌返回同一个后继令牌，
+     * 兼容多个标签页同时刷新，超过宽限期仍视为重放
+     */
+    private long refreshReuseGraceMs = 10000;
+
     public String getSecret() {
         return secret;
     }
@@ -35,4 +82,76 @@ public class JwtConfig {
     public void setExpiration(Long expiration) {
         this.expiration = expiration;
     }
+
+    public Long getRefreshExpiration() {
+        return refreshExpiration;
+    }
+
+    public void setRefreshExpiration(Long refreshExpiration) {
+        this.refreshExpiration = refreshExpiration;
+    }
+
+    public Long getSessionMaxAge() {
+        return sessionMaxAge;
+    }
+
+    public void setSessionMaxAge(Long sessionMaxAge) {
+        this.sessionMaxAge = sessionMaxAge;
+    }
+
+    public long getSessionUserCacheTtlMs() {
+        return sessionUserCacheTtlMs;
+    }
+
+    public void setSessionUserCacheTtlMs(long sessionUserCacheTtlMs) {
+        this.sessionUserCacheTtlMs = sessionUserCacheTtlMs;
+    }
+
+    public int getSessionUserCacheMaxEntries() {
+        return sessionUserCacheMaxEntries;
+    }
+
+    public void setSessionUserCacheMaxEntries(int sessionUserCacheMaxEntries) {
+        this.sessionUserCacheMaxEntries = sessionUserCacheMaxEntries;
+    }
+
+    public int getCacheMaxEntries() {
+        return cacheMaxEntries;
+    }
+
+    public void setCacheMaxEntries(int cacheMaxEntries) {
+        this.cacheMaxEntries = cacheMaxEntries;
+    }
+
+    public long getRevocationPollMs() {
+        return revocationPollMs;
+    }
+
+    public void setRevocationPollMs(long revocationPollMs) {
+        this.revocationPollMs = revocationPollMs;
+    }
+
+    public long getRevocationPollOverlapMs() {
+        return revocationPollOverlapMs;
+    }
+
+    public void setRevocationPollOverlapMs(long revocationPollOverlapMs) {
+        this.revocationPollOverlapMs = revocationPollOverlapMs;
+    }
+
+    public long getRefreshReuseGraceMs() {
+        return refreshReuseGraceMs;
+    }
+
+    public void setRefreshReuseGraceMs(long refreshReuseGraceMs) {
+        this.refreshReuseGraceMs = refreshReuseGraceMs;
+    }
+
+    public int getRevocationBloomBits() {
+        return revocationBloomBits;
+    }
+
+    public void setRevocationBloomBits(int revocationBloomBits) {
+        this.revocationBloomBits = revocationBloomBits;
+    }
 }
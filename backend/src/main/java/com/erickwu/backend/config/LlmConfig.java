@@ -16,6 +16,7 @@ public class LlmConfig {
     private String provider = "qwen";
     private boolean mockMode = false;
     private QwenConfig qwen = new QwenConfig();
+    private CacheConfig cache = new CacheConfig();
 
     public String getProvider() {
         return provider;
@@ -41,6 +42,65 @@ public class LlmConfig {
         this.qwen = qwen;
     }
 
+    public CacheConfig getCache() {
+        return cache;
+    }
+
+    public void setCache(CacheConfig cache) {
+        this.cache = cache;
+    }
+
+    /**
+     * LLM 结果缓存配置
+     */
+    public static class CacheConfig {
+        private boolean enabled = true;
+        private int maxEntries = 500;
+        private int ttlMinutes = 60;
+        private boolean persistent = true;
+        private int persistentTtlDays = 30;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public int getMaxEntries() {
+            return maxEntries;
+        }
+
+        public void setMaxEntries(int maxEntries) {
+            this.maxEntries = maxEntries;
+        }
+
+        public int getTtlMinutes() {
+            return ttlMinutes;
+        }
+
+        public void setTtlMinutes(int ttlMinutes) {
+            this.ttlMinutes = ttlMinutes;
+        }
+
+        public boolean isPersistent() {
+            return persistent;
+        }
+
+        public void setPersistent(boolean persistent) {
+            this.persistent = persistent;
+        }
+
+        public int getPersistentTtlDays() {
+            return persistentTtlDays;
+        }
+
+        public void setPersistentTtlDays(int persistentTtlDays) {
+            this.persistentTtlDays = persistentTtlDays;
+        }
+    }
+
     /**
      * 通义千问配置
      */
@@ -50,6 +110,21 @@ public class LlmConfig {
         private String model = "qwen-turbo";
         private String embeddingModel = "text-embedding-v2";
         private int timeout = 60000;
+        private int streamWorkerThreads = 8;
+        private int streamQueueCapacity = 32;
+        private int maxConcurrentRequests = 4;
+        private int maxWaitingRequests = 16;
+        private long maxWaitMillis = 30000;
+        private int maxIdleConnections = 8;
+        private int keepAliveMinutes = 5;
+        private int dispatcherMaxRequests = 64;
+        private int maxRetries = 2;
+        private long retryBaseDelayMillis = 500;
+        private long retryMaxDelayMillis = 10000;
+        private boolean hedgeEnabled = false;
+        private long hedgeDelayMillis = 5000;
+        private int breakerFailureThreshold = 5;
+        private long breakerOpenMillis = 30000;
 
         public String getApiKey() {
             return apiKey;
@@ -90,5 +165,125 @@ public class LlmConfig {
         public void setTimeout(int timeout) {
             this.timeout = timeout;
         }
+
+        public int getStreamWorkerThreads() {
+            return streamWorkerThreads;
+        }
+
+        public void setStreamWorkerThreads(int streamWorkerThreads) {
+            this.streamWorkerThreads = streamWorkerThreads;
+        }
+
+        public int getStreamQueueCapacity() {
+            return streamQueueCapacity;
+        }
+
+        public void setStreamQueueCapacity(int streamQueueCapacity) {
+            this.streamQueueCapacity = streamQueueCapacity;
+        }
+
+        public int getMaxConcurrentRequests() {
+            return maxConcurrentRequests;
+        }
+
+        public void setMaxConcurrentRequests(int maxConcurrentRequests) {
+            this.maxConcurrentRequests = maxConcurrentRequests;
+        }
+
+        public int getMaxWaitingRequests() {
+            return maxWaitingRequests;
+        }
+
+        public void setMaxWaitingRequests(int maxWaitingRequests) {
+            this.maxWaitingRequests = maxWaitingRequests;
+        }
+
+        public long getMaxWaitMillis() {
+            return maxWaitMillis;
+        }
+
+        public void setMaxWaitMillis(long maxWaitMillis) {
+            this.maxWaitMillis = maxWaitMillis;
+        }
+
+        public int getMaxIdleConnections() {
+            return maxIdleConnections;
+        }
+
+        public void setMaxIdleConnections(int maxIdleConnections) {
+            this.maxIdleConnections = maxIdleConnections;
+        }
+
+        public int getKeepAliveMinutes() {
+            return keepAliveMinutes;
+        }
+
+        public void setKeepAliveMinutes(int keepAliveMinutes) {
+            this.keepAliveMinutes = keepAliveMinutes;
+        }
+
+        public int getDispatcherMaxRequests() {
+            return dispatcherMaxRequests;
+        }
+
+        public void setDispatcherMaxRequests(int dispatcherMaxRequests) {
+            this.dispatcherMaxRequests = dispatcherMaxRequests;
+        }
+
+        public int getMaxRetries() {
+            return maxRetries;
+        }
+
+        public void setMaxRetries(int maxRetries) {
+            this.maxRetries = maxRetries;
+        }
+
+        public long getRetryBaseDelayMillis() {
+            return retryBaseDelayMillis;
+        }
+
+        public void setRetryBaseDelayMillis(long retryBaseDelayMillis) {
+            this.retryBaseDelayMillis = retryBaseDelayMillis;
+        }
+
+        public long getRetryMaxDelayMillis() {
+            return retryMaxDelayMillis;
+        }
+
+        public void setRetryMaxDelayMillis(long retryMaxDelayMillis) {
+            this.retryMaxDelayMillis = retryMaxDelayMillis;
+        }
+
+        public boolean isHedgeEnabled() {
+            return hedgeEnabled;
+        }
+
+        public void setHedgeEnabled(boolean hedgeEnabled) {
+            this.hedgeEnabled = hedgeEnabled;
+        }
+
+        public long getHedgeDelayMillis() {
+            return hedgeDelayMillis;
+        }
+
+        public void setHedgeDelayMillis(long hedgeDelayMillis) {
+            this.hedgeDelayMillis = hedgeDelayMillis;
+        }
+
+        public int getBreakerFailureThreshold() {
+            return breakerFailureThreshold;
+        }
+
+        public void setBreakerFailureThreshold(int breakerFailureThreshold) {
+            this.breakerFailureThreshold = breakerFailureThreshold;
+        }
+
+        public long getBreakerOpenMillis() {
+            return breakerOpenMillis;
+        }
+
+        public void setBreakerOpenMillis(long breakerOpenMillis) {
+            this.breakerOpenMillis = breakerOpenMillis;
+        }
     }
 }
@@ -0,0 +1,112 @@
+package com.erickwu.backend.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Mapper 查询缓存配置
+ * 按缓存名称分别配置容量和过期时间，未配置的缓存使用默认策略
+ */
+@Component
+@ConfigurationProperties(prefix = "mapper-cache")
+public class MapperCacheConfig {
+
+    public static final String USERS = "users";
+    public static final String RESUME_BY_USER = "resumeByUser";
+    public static final String SKILLS_BY_RESUME = "skillsByResume";
+    public static final String EDUCATIONS_BY_RESUME = "educationsByResume";
+    public static final String WORK_EXPERIENCES_BY_RESUME = "workExperiencesByResume";
+
+    /**
+     * 是否启用缓存（关闭后所有查询直接访问数据库）
+     */
+    private boolean enabled = true;
+
+    /**
+     * 是否按值存储：缓存中保存序列化副本，每次命中返回新对象，调用方修改实体不会污染缓存
+     */
+    private boolean storeByValue = true;
+
+    /**
+     * 默认策略
+     */
+    private Spec defaults = new Spec();
+
+    /**
+     * 各缓存的策略，键为缓存名称
+     */
+    private Map<String, Spec> caches = new LinkedHashMap<>();
+
+    /**
+     * 获取缓存策略，未单独配置时返回默认策略
+     */
+    public Spec specOf(String name) {
+        return caches.getOrDefault(name, defaults);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public boolean isStoreByValue() {
+        return storeByValue;
+    }
+
+    public void setStoreByValue(boolean storeByValue) {
+        this.storeByValue = storeByValue;
+    }
+
+    public Spec getDefaults() {
+        return defaults;
+    }
+
+    public void setDefaults(Spec defaults) {
+        this.defaults = defaults;
+    }
+
+    public Map<String, Spec> getCaches() {
+        return caches;
+    }
+
+    public void setCaches(Map<String, Spec> caches) {
+        this.caches = caches;
+    }
+
+    /**
+     * 单个缓存的淘汰策略
+     */
+    public static class Spec {
+        /**
+         * 最大条目数，超过后淘汰最久未访问的条目
+         */
+        private int maxEntries = 1000;
+
+        /**
+         * 写入后过期时间（毫秒）
+         */
+        private long ttlMs = 300000;
+
+        public int getMaxEntries() {
+            return maxEntries;
+        }
+
+        public void setMaxEntries(int maxEntries) {
+            this.maxEntries = maxEntries;
+        }
+
+        public long getTtlMs() {
+            return ttlMs;
+        }
+
+        public void setTtlMs(long ttlMs) {
+            this.ttlMs = ttlMs;
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package com.erickwu.backend.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 密码哈希配置
+ */
+@Component
+@ConfigurationProperties(prefix = "password")
+public class PasswordConfig {
+
+    /**
+     * BCrypt 强度，0 表示启动时按 targetHashMillis 自动校准
+     */
+    private int cost = 0;
+
+    /**
+     * 单次哈希的目标耗时（毫秒），自动校准时取不超过该耗时的最大强度
+     */
+    private long targetHashMillis = 250;
+
+    /**
+     * 自动校准的最小强度
+     */
+    private int minCost = 10;
+
+    /**
+     * 自动校准的最大强度
+     */
+    private int maxCost = 14;
+
+    /**
+     * 哈希线程数，0 表示取 CPU 核数的一半
+     */
+    private int threads = 0;
+
+    /**
+     * 哈希任务队列容量，已满时拒绝新的登录/注册请求
+     */
+    private int queueCapacity = 64;
+
+    /**
+     * 任务排队超过该时间后不再执行（客户端大概率已超时）
+     */
+    private long maxWaitMillis = 3000;
+
+    /**
+     * 同一（用户名, IP）在时间窗口内允许的连续失败次数
+     */
+    private int maxFailuresPerUsername = 5;
+
+    /**
+     * 同一 IP 在时间窗口内允许的登录/注册次数
+     */
+    private int maxAttemptsPerIp = 30;
+
+    /**
+     * 限流时间窗口（秒）
+     */
+    private long windowSeconds = 300;
+
+    public int getCost() {
+        return cost;
+    }
+
+    public void setCost(int cost) {
+        this.cost = cost;
+    }
+
+    public long getTargetHashMillis() {
+        return targetHashMillis;
+    }
+
+    public void setTargetHashMillis(long targetHashMillis) {
+        this.targetHashMillis = targetHashMillis;
+    }
+
+    public int getMinCost() {
+        return minCost;
+    }
+
+    public void setMinCost(int minCost) {
+        this.minCost = minCost;
+    }
+
+    public int getMaxCost() {
+        return maxCost;
+    }
+
+    public void setMaxCost(int maxCost) {
+        this.maxCost = maxCost;
+    }
+
+    public int getThreads() {
+        return threads;
+    }
+
+    public void setThreads(int threads) {
+        this.threads = threads;
+    }
+
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    public void setQueueCapacity(int queueCapacity) {
+        this.queueCapacity = queueCapacity;
+    }
+
+    public long getMaxWaitMillis() {
+        return maxWaitMillis;
+    }
+
+    public void setMaxWaitMillis(long maxWaitMillis) {
+        this.maxWaitMillis = maxWaitMillis;
+    }
+
+    public int getMaxFailuresPerUsername() {
+        return maxFailuresPerUsername;
+    }
+
+    public void setMaxFailuresPerUsername(int maxFailuresPerUsername) {
+        this.maxFailuresPerUsername = maxFailuresPerUsername;
+    }
+
+    public int getMaxAttemptsPerIp() {
+        return maxAttemptsPerIp;
+    }
+
+    public void setMaxAttemptsPerIp(int maxAttemptsPerIp) {
+        this.maxAttemptsPerIp = maxAttemptsPerIp;
+    }
+
+    public long getWindowSeconds() {
+        return windowSeconds;
+    }
+
+    public void setWindowSeconds(long windowSeconds) {
+        this.windowSeconds = windowSeconds;
+    }
+}
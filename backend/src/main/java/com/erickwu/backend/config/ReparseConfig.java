@@ -0,0 +1,38 @@
+package com.erickwu.backend.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 批量重新解析配置
+ */
+@Component
+@ConfigurationProperties(prefix = "resume.reparse")
+public class ReparseConfig {
+
+    /**
+     * 同时进行的重新解析数
+     */
+    private int concurrency = 2;
+
+    /**
+     * 每页读取的版本数，每页结束写入检查点
+     */
+    private int pageSize = 20;
+
+    public int getConcurrency() {
+        return concurrency;
+    }
+
+    public void setConcurrency(int concurrency) {
+        this.concurrency = concurrency;
+    }
+
+    public int getPageSize() {
+        return pageSize;
+    }
+
+    public void setPageSize(int pageSize) {
+        this.pageSize = pageSize;
+    }
+}
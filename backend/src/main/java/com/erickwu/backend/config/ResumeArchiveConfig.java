@@ -0,0 +1,103 @@
+package com.erickwu.backend.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 简历原始文件归档配置
+ */
+@Component
+@ConfigurationProperties(prefix = "resume.archive")
+public class ResumeArchiveConfig {
+
+    /**
+     * 是否归档上传的原始文件
+     */
+    private boolean enabled = true;
+
+    /**
+     * 分段文件存储目录
+     */
+    private String storageDir = "data/resume-archive";
+
+    /**
+     * 单个分段文件大小上限，超过后写入新分段
+     */
+    private long segmentMaxBytes = 256L * 1024 * 1024;
+
+    /**
+     * Deflate 压缩级别（1-9）
+     */
+    private int compressionLevel = 6;
+
+    /**
+     * 压缩节省比例低于该值时按原样存储（PDF/DOCX 本身已压缩）
+     */
+    private double minCompressionSaving = 0.05;
+
+    /**
+     * 回收宽限期（毫秒）：最近归档或复用过的文件即使暂无版本引用也不回收，避免与正在保存的上传竞争
+     */
+    private long gcGraceMs = 3600000;
+
+    /**
+     * 分段中无效数据占比达到该值时，将有效记录迁移到当前分段并删除原分段
+     */
+    private double gcCompactRatio = 0.5;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public String getStorageDir() {
+        return storageDir;
+    }
+
+    public void setStorageDir(String storageDir) {
+        this.storageDir = storageDir;
+    }
+
+    public long getSegmentMaxBytes() {
+        return segmentMaxBytes;
+    }
+
+    public void setSegmentMaxBytes(long segmentMaxBytes) {
+        this.segmentMaxBytes = segmentMaxBytes;
+    }
+
+    public int getCompressionLevel() {
+        return compressionLevel;
+    }
+
+    public void setCompressionLevel(int compressionLevel) {
+        this.compressionLevel = compressionLevel;
+    }
+
+    public double getMinCompressionSaving() {
+        return minCompressionSaving;
+    }
+
+    public void setMinCompressionSaving(double minCompressionSaving) {
+        this.minCompressionSaving = minCompressionSaving;
+    }
+
+    public long getGcGraceMs() {
+        return gcGraceMs;
+    }
+
+    public void setGcGraceMs(long gcGraceMs) {
+        this.gcGraceMs = gcGraceMs;
+    }
+
+    public double getGcCompactRatio() {
+        return gcCompactRatio;
+    }
+
+    public void setGcCompactRatio(double gcCompactRatio) {
+        this.gcCompactRatio = gcCompactRatio;
+    }
+}
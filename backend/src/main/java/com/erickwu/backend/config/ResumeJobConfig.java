@@ -0,0 +1,38 @@
+package com.erickwu.backend.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 简历异步解析任务配置
+ */
+@Component
+@ConfigurationProperties(prefix = "resume.job")
+public class ResumeJobConfig {
+
+    /**
+     * 解析工作线程数（同时进行中的解析任务上限）
+     */
+    private int workerThreads = 2;
+
+    /**
+     * 等待队列容量，队列满时新任务直接拒绝
+     */
+    private int queueCapacity = 50;
+
+    public int getWorkerThreads() {
+        return workerThreads;
+    }
+
+    public void setWorkerThreads(int workerThreads) {
+        this.workerThreads = workerThreads;
+    }
+
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    public void setQueueCapacity(int queueCapacity) {
+        this.queueCapacity = queueCapacity;
+    }
+}
@@ -0,0 +1,168 @@
+package com.erickwu.backend.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 候选人全文检索配置
+ */
+@Component
+@ConfigurationProperties(prefix = "search")
+public class SearchConfig {
+
+    /**
+     * 是否启用候选人全文检索索引
+     */
+    private boolean enabled = true;
+
+    /**
+     * 增量更新间隔（毫秒），简历变更提交后在下一轮刷新进索引
+     */
+    private long refreshMillis = 2000;
+
+    /**
+     * 全量构建时每页读取的简历数
+     */
+    private int buildPageSize = 200;
+
+    /**
+     * 每份简历索引的原始文本最大字符数
+     */
+    private int rawTextMaxChars = 20000;
+
+    /**
+     * BM25 词频饱和参数
+     */
+    private double k1 = 1.2;
+
+    /**
+     * BM25 长度归一化参数
+     */
+    private double b = 0.75;
+
+    /**
+     * 基本信息字段权重（姓名、求职意向、自我介绍等）
+     */
+    private double profileBoost = 2.0;
+
+    /**
+     * 技能字段权重
+     */
+    private double skillBoost = 3.0;
+
+    /**
+     * 工作经历字段权重
+     */
+    private double workBoost = 1.5;
+
+    /**
+     * 教育经历字段权重
+     */
+    private double educationBoost = 1.0;
+
+    /**
+     * 简历原文字段权重
+     */
+    private double rawTextBoost = 0.5;
+
+    /**
+     * 单页最大返回条数
+     */
+    private int maxPageSize = 100;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public long getRefreshMillis() {
+        return refreshMillis;
+    }
+
+    public void setRefreshMillis(long refreshMillis) {
+        this.refreshMillis = refreshMillis;
+    }
+
+    public int getBuildPageSize() {
+        return buildPageSize;
+    }
+
+    public void setBuildPageSize(int buildPageSize) {
+        this.buildPageSize = buildPageSize;
+    }
+
+    public int getRawTextMaxChars() {
+        return rawTextMaxChars;
+    }
+
+    public void setRawTextMaxChars(int rawTextMaxChars) {
+        this.rawTextMaxChars = rawTextMaxChars;
+    }
+
+    public double getK1() {
+        return k1;
+    }
+
+    public void setK1(double k1) {
+        this.k1 = k1;
+    }
+
+    public double getB() {
+        return b;
+    }
+
+    public void setB(double b) {
+        this.b = b;
+    }
+
+    public double getProfileBoost() {
+        return profileBoost;
+    }
+
+    public void setProfileBoost(double profileBoost) {
+        this.profileBoost = profileBoost;
+    }
+
+    public double getSkillBoost() {
+        return skillBoost;
+    }
+
+    public void setSkillBoost(double skillBoost) {
+        this.skillBoost = skillBoost;
+    }
+
+    public double getWorkBoost() {
+        return workBoost;
+    }
+
+    public void setWorkBoost(double workBoost) {
+        this.workBoost = workBoost;
+    }
+
+    public double getEducationBoost() {
+        return educationBoost;
+    }
+
+    public void setEducationBoost(double educationBoost) {
+        this.educationBoost = educationBoost;
+    }
+
+    public double getRawTextBoost() {
+        return rawTextBoost;
+    }
+
+    public void setRawTextBoost(double rawTextBoost) {
+        this.rawTextBoost = rawTextBoost;
+    }
+
+    public int getMaxPageSize() {
+        return maxPageSize;
+    }
+
+    public void setMaxPageSize(int maxPageSize) {
+        this.maxPageSize = maxPageSize;
+    }
+}
@@ -1,23 +0,0 @@
-package com.erickwu.backend.config;
-
-import org.springframework.context.annotation.Bean;
-import org.springframework.context.annotation.Configuration;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
-import org.springframework.security.crypto.password.PasswordEncoder;
-
-/**
- * 安全配置类
- * 提供密码加密器等安全相关的Bean
- */
-@Configuration
-public class SecurityConfig {
-
-    /**
-     * 密码加密器
-     * 使用BCrypt算法进行密码加密
-     */
-    @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
-    }
-}
@@ -29,8 +29,10 @@ public class WebMvcConfig implements WebMvcConfigurer {
                 .excludePathPatterns(
                         "/api/user/login",           // 登录
                         "/api/user/register",        // 注册
+                        "/api/user/refresh",         // 刷新 Token（凭刷新令牌）
                         "/api/user/check-username",  // 检查用户名
                         "/api/user/check-email",     // 检查邮箱
+                        "/api/avatar/**",            // 头像图片（<img> 无法携带 Token，地址本身为内容哈希）
                         "/api/health/**"             // 健康检查
                 );
     }
@@ -1,14 +1,32 @@
 package com.erickwu.backend.controller;
 
 import com.erickwu.backend.config.BusinessException;
+import com.erickwu.backend.dto.CandidateSearchDTO;
 import com.erickwu.backend.dto.UserManageDTO;
+import com.erickwu.backend.metrics.MetricsRegistry;
 import com.erickwu.backend.model.ApiResponse;
+import com.erickwu.backend.model.CursorPage;
+import com.erickwu.backend.model.PageResult;
 import com.erickwu.backend.service.AdminStatsService;
+import com.erickwu.backend.service.AvatarMigrationService;
+import com.erickwu.backend.service.CandidateSearchService;
+import com.erickwu.backend.service.CareerMatchService;
+import com.erickwu.backend.service.EmbeddingBackfillService;
+import com.erickwu.backend.service.ResumeEmbeddingService;
+import com.erickwu.backend.service.ResumeReparseService;
+import com.erickwu.backend.service.SkillCanonicalizer;
 import com.erickwu.backend.service.UserManageService;
-import com.erickwu.backend.util.JwtUtil;
+import com.erickwu.backend.util.UserContext;
 import com.erickwu.backend.vo.AdminStatsVO;
+import com.erickwu.backend.vo.AvatarMigrationResultVO;
+import com.erickwu.backend.vo.CandidateSearchVO;
+import com.erickwu.backend.vo.ResumeCareerMatchVO;
+import com.erickwu.backend.vo.EmbeddingBackfillJobVO;
+import com.erickwu.backend.vo.ReparseJobVO;
+import com.erickwu.backend.vo.SimilarCandidateVO;
+import com.erickwu.backend.vo.SkillCanonicalizeResultVO;
 import com.erickwu.backend.vo.UserManageVO;
-import jakarta.servlet.http.HttpServletRequest;
+import com.erickwu.backend.vo.UserSummaryVO;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
@@ -23,22 +41,43 @@ public class AdminController {
 
     private final AdminStatsService adminStatsService;
     private final UserManageService userManageService;
-    private final JwtUtil jwtUtil;
+    private final MetricsRegistry metricsRegistry;
+    private final ResumeEmbeddingService embeddingService;
+    private final EmbeddingBackfillService backfillService;
+    private final CandidateSearchService candidateSearchService;
+    private final CareerMatchService careerMatchService;
+    private final SkillCanonicalizer skillCanonicalizer;
+    private final AvatarMigrationService avatarMigrationService;
+    private final ResumeReparseService reparseService;
 
     public AdminController(AdminStatsService adminStatsService, 
                           UserManageService userManageService,
-                          JwtUtil jwtUtil) {
+                          MetricsRegistry metricsRegistry,
+                          ResumeEmbeddingService embeddingService,
+                          EmbeddingBackfillService backfillService,
+                          CandidateSearchService candidateSearchService,
+                          CareerMatchService careerMatchService,
+                          SkillCanonicalizer skillCanonicalizer,
+                          AvatarMigrationService avatarMigrationService,
+                          ResumeReparseService reparseService) {
         this.adminStatsService = adminStatsService;
         this.userManageService = userManageService;
-        this.jwtUtil = jwtUtil;
+        this.metricsRegistry = metricsRegistry;
+        this.embeddingService = embeddingService;
+        this.backfillService = backfillService;
+        this.candidateSearchService = candidateSearchService;
+        this.careerMatchService = careerMatchService;
+        this.skillCanonicalizer = skillCanonicalizer;
+        this.avatarMigrationService = avatarMigrationService;
+        this.reparseService = reparseService;
     }
 
     /**
      * 获取管理员控制台统计数据
      */
     @GetMapping("/stats")
-    public ApiResponse<AdminStatsVO> getStats(HttpServletRequest request) {
-        Long userId = getUserId(request);
+    public ApiResponse<AdminStatsVO> getStats() {
+        Long userId = UserContext.getCurrentUserId();
         
         // 验证管理员权限
         if (!adminStatsService.isAdmin(userId)) {
@@ -49,12 +88,21 @@ public class AdminController {
         return ApiResponse.success(stats);
     }
 
+    /**
+     * 获取运行时指标（LLM 调用耗时、缓存命中率等）
+     */
+    @GetMapping("/metrics")
+    public ApiResponse<Map<String, Object>> getMetrics() {
+        checkAdminPermission();
+        return ApiResponse.success(metricsRegistry.snapshot());
+    }
+
     /**
      * 检查当前用户是否是管理员
      */
     @GetMapping("/check")
-    public ApiResponse<Boolean> checkAdmin(HttpServletRequest request) {
-        Long userId = getUserId(request);
+    public ApiResponse<Boolean> checkAdmin() {
+        Long userId = UserContext.getCurrentUserId();
         boolean isAdmin = adminStatsService.isAdmin(userId);
         return ApiResponse.success(isAdmin);
     }
@@ -62,11 +110,24 @@ public class AdminController {
     // ==================== 用户管理 API ====================
 
     /**
-     * 获取所有用户列表
+     * 游标分页查询用户列表，可按关键词前缀或全文搜索
+     */
+    @GetMapping("/users/page")
+    public ApiResponse<CursorPage<UserSummaryVO>> pageUsers(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(required = false) String keyword,
+            @RequestParam(defaultValue = "false") boolean fulltext) {
+        checkAdminPermission();
+        return ApiResponse.success(userManageService.pageUsers(cursor, size, keyword, fulltext));
+    }
+
+    /**
+     * 获取所有用户（一次返回全部用户及头像，用户量大时请使用分页接口）
      */
     @GetMapping("/users")
-    public ApiResponse<List<UserManageVO>> getAllUsers(HttpServletRequest request) {
-        checkAdminPermission(request);
+    public ApiResponse<List<UserManageVO>> getAllUsers() {
+        checkAdminPermission();
         List<UserManageVO> users = userManageService.getAllUsers();
         return ApiResponse.success(users);
     }
@@ -75,10 +136,8 @@ public class AdminController {
      * 搜索用户
      */
     @GetMapping("/users/search")
-    public ApiResponse<List<UserManageVO>> searchUsers(
-            @RequestParam(required = false) String keyword,
-            HttpServletRequest request) {
-        checkAdminPermission(request);
+    public ApiResponse<List<UserManageVO>> searchUsers(@RequestParam(required = false) String keyword) {
+        checkAdminPermission();
         List<UserManageVO> users = userManageService.searchUsers(keyword);
         return ApiResponse.success(users);
     }
@@ -87,10 +146,8 @@ public class AdminController {
      * 获取单个用户
      */
     @GetMapping("/users/{id}")
-    public ApiResponse<UserManageVO> getUserById(
-            @PathVariable Long id,
-            HttpServletRequest request) {
-        checkAdminPermission(request);
+    public ApiResponse<UserManageVO> getUserById(@PathVariable Long id) {
+        checkAdminPermission();
         UserManageVO user = userManageService.getUserById(id);
         return ApiResponse.success(user);
     }
@@ -99,10 +156,8 @@ public class AdminController {
      * 创建用户
      */
     @PostMapping("/users")
-    public ApiResponse<UserManageVO> createUser(
-            @RequestBody UserManageDTO dto,
-            HttpServletRequest request) {
-        checkAdminPermission(request);
+    public ApiResponse<UserManageVO> createUser(@RequestBody UserManageDTO dto) {
+        checkAdminPermission();
         UserManageVO user = userManageService.createUser(dto);
         return ApiResponse.success(user);
     }
@@ -113,9 +168,8 @@ public class AdminController {
     @PutMapping("/users/{id}")
     public ApiResponse<UserManageVO> updateUser(
             @PathVariable Long id,
-            @RequestBody UserManageDTO dto,
-            HttpServletRequest request) {
-        checkAdminPermission(request);
+            @RequestBody UserManageDTO dto) {
+        checkAdminPermission();
         dto.setId(id);
         UserManageVO user = userManageService.updateUser(dto);
         return ApiResponse.success(user);
@@ -125,10 +179,8 @@ public class AdminController {
      * 删除用户
      */
     @DeleteMapping("/users/{id}")
-    public ApiResponse<Void> deleteUser(
-            @PathVariable Long id,
-            HttpServletRequest request) {
-        checkAdminPermission(request);
+    public ApiResponse<Void> deleteUser(@PathVariable Long id) {
+        checkAdminPermission();
         userManageService.deleteUser(id);
         return ApiResponse.success(null);
     }
@@ -139,9 +191,8 @@ public class AdminController {
     @PutMapping("/users/{id}/status")
     public ApiResponse<Void> updateUserStatus(
             @PathVariable Long id,
-            @RequestBody Map<String, Integer> body,
-            HttpServletRequest request) {
-        checkAdminPermission(request);
+            @RequestBody Map<String, Integer> body) {
+        checkAdminPermission();
         Integer status = body.get("status");
         userManageService.updateUserStatus(id, status);
         return ApiResponse.success(null);
@@ -153,32 +204,155 @@ public class AdminController {
     @PutMapping("/users/{id}/password")
     public ApiResponse<Void> resetPassword(
             @PathVariable Long id,
-            @RequestBody Map<String, String> body,
-            HttpServletRequest request) {
-        checkAdminPermission(request);
+            @RequestBody Map<String, String> body) {
+        checkAdminPermission();
         String newPassword = body.get("password");
         userManageService.resetPassword(id, newPassword);
         return ApiResponse.success(null);
     }
 
+    // ==================== 候选人检索 API ====================
+
     /**
-     * 检查管理员权限
+     * 全文检索候选人（关键词 + 技能熟练度 / 学历 / 工作年限过滤，分页）
      */
-    private void checkAdminPermission(HttpServletRequest request) {
-        Long userId = getUserId(request);
-        if (!adminStatsService.isAdmin(userId)) {
-            throw new BusinessException(403, "无权访问管理员功能");
-        }
+    @GetMapping("/candidates/search")
+    public ApiResponse<PageResult<CandidateSearchVO>> searchCandidates(
+            CandidateSearchDTO query) {
+        checkAdminPermission();
+        return ApiResponse.success(candidateSearchService.search(query));
     }
 
     /**
-     * 从请求中获取用户 ID
+     * 查找与指定简历最相似的候选人
      */
-    private Long getUserId(HttpServletRequest request) {
-        String token = request.getHeader("Authorization");
-        if (token != null && token.startsWith("Bearer ")) {
-            token = token.substring(7);
+    @GetMapping("/candidates/{resumeId}/similar")
+    public ApiResponse<List<SimilarCandidateVO>> findSimilarCandidates(
+            @PathVariable Long resumeId,
+            @RequestParam(defaultValue = "10") int k) {
+        checkAdminPermission();
+        return ApiResponse.success(embeddingService.findSimilar(resumeId, k));
+    }
+
+    // ==================== 职业匹配 API ====================
+
+    /**
+     * 批量计算简历的职业匹配（按简历ID游标分页）
+     */
+    @GetMapping("/careers/matches")
+    public ApiResponse<List<ResumeCareerMatchVO>> getCareerMatches(
+            @RequestParam(defaultValue = "0") Long afterResumeId,
+            @RequestParam(defaultValue = "100") int limit,
+            @RequestParam(defaultValue = "3") int top) {
+        checkAdminPermission();
+        return ApiResponse.success(careerMatchService.matchAll(afterResumeId, limit, top));
+    }
+
+    /**
+     * 立即重新加载职业字典
+     */
+    @PostMapping("/careers/reload")
+    public ApiResponse<Integer> reloadCareerDict() {
+        checkAdminPermission();
+        return ApiResponse.success(careerMatchService.reload());
+    }
+
+    // ==================== 头像迁移 API ====================
+
+    /**
+     * 将历史内联 Base64 头像迁移到文件存储（同步执行）
+     */
+    @PostMapping("/avatars/migrate")
+    public ApiResponse<AvatarMigrationResultVO> migrateAvatars() {
+        checkAdminPermission();
+        return ApiResponse.success(avatarMigrationService.migrate());
+    }
+
+    // ==================== 技能标准化 API ====================
+
+    /**
+     * 按别名表标准化存量技能数据（同步执行）
+     */
+    @PostMapping("/skills/canonicalize")
+    public ApiResponse<SkillCanonicalizeResultVO> canonicalizeSkills() {
+        checkAdminPermission();
+        return ApiResponse.success(skillCanonicalizer.canonicalizeExisting());
+    }
+
+    /**
+     * 立即重新加载技能别名表
+     */
+    @PostMapping("/skills/aliases/reload")
+    public ApiResponse<Integer> reloadSkillAliases() {
+        checkAdminPermission();
+        return ApiResponse.success(skillCanonicalizer.reload());
+    }
+
+    // ==================== 向量回填 API ====================
+
+    /**
+     * 启动向量回填任务（force=true 时重新生成全部版本的向量）
+     */
+    @PostMapping("/embeddings/backfill")
+    public ApiResponse<EmbeddingBackfillJobVO> startEmbeddingBackfill(@RequestParam(defaultValue = "false") boolean force) {
+        checkAdminPermission();
+        return ApiResponse.success(backfillService.start(force));
+    }
+
+    /**
+     * 暂停向量回填任务
+     */
+    @PostMapping("/embeddings/backfill/pause")
+    public ApiResponse<EmbeddingBackfillJobVO> pauseEmbeddingBackfill() {
+        checkAdminPermission();
+        return ApiResponse.success(backfillService.pause());
+    }
+
+    /**
+     * 查询向量回填任务进度
+     */
+    @GetMapping("/embeddings/backfill")
+    public ApiResponse<EmbeddingBackfillJobVO> getEmbeddingBackfill() {
+        checkAdminPermission();
+        return ApiResponse.success(backfillService.getLatest());
+    }
+
+    // ==================== 批量重新解析 API ====================
+
+    /**
+     * 启动批量重新解析任务（reextract=true 时从归档的原始文件重新提取文本）
+     */
+    @PostMapping("/resumes/reparse")
+    public ApiResponse<ReparseJobVO> startReparse(@RequestParam(defaultValue = "false") boolean reextract) {
+        checkAdminPermission();
+        return ApiResponse.success(reparseService.start(reextract));
+    }
+
+    /**
+     * 暂停批量重新解析任务
+     */
+    @PostMapping("/resumes/reparse/pause")
+    public ApiResponse<ReparseJobVO> pauseReparse() {
+        checkAdminPermission();
+        return ApiResponse.success(reparseService.pause());
+    }
+
+    /**
+     * 查询批量重新解析任务进度
+     */
+    @GetMapping("/resumes/reparse")
+    public ApiResponse<ReparseJobVO> getReparse() {
+        checkAdminPermission();
+        return ApiResponse.success(reparseService.getLatest());
+    }
+
+    /**
+     * 检查管理员权限
+     */
+    private void checkAdminPermission() {
+        Long userId = UserContext.getCurrentUserId();
+        if (!adminStatsService.isAdmin(userId)) {
+            throw new BusinessException(403, "无权访问管理员功能");
         }
-        return jwtUtil.getUserIdFromToken(token);
     }
 }
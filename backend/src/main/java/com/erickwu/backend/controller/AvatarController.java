@@ -0,0 +1,78 @@
+package com.erickwu.backend.controller;
+
+import com.erickwu.backend.config.AvatarConfig;
+import com.erickwu.backend.service.AvatarStore;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * 头像图片控制器
+ * 文件按内容哈希命名、永不修改，可长期缓存；容器支持时交给 Tomcat sendfile 零拷贝发送
+ */
+@RestController
+@RequestMapping("/api/avatar")
+public class AvatarController {
+
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    private final AvatarStore avatarStore;
+    private final AvatarConfig config;
+
+    public AvatarController(AvatarStore avatarStore, AvatarConfig config) {
+        this.avatarStore = avatarStore;
+        this.config = config;
+    }
+
+    /**
+     * 获取头像图片
+     *
+     * @param hash 头像内容哈希
+     * @param size 期望边长，返回不小于该尺寸的最小缩略图
+     */
+    @GetMapping("/{hash}")
+    public void getAvatar(@PathVariable String hash,
+                          @RequestParam(defaultValue = "256") int size,
+                          HttpServletRequest request,
+                          HttpServletResponse response) throws IOException {
+        Path file = avatarStore.resolve(hash, size);
+        if (file == null) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+
+        String etag = "\"" + file.getFileName() + "\"";
+        response.setHeader(HttpHeaders.ETAG, etag);
+        response.setHeader(HttpHeaders.CACHE_CONTROL, "public, max-age=" + config.getCacheMaxAgeSeconds() + ", immutable");
+        String ifNoneMatch = request.getHeader(HttpHeaders.IF_NONE_MATCH);
+        if (ifNoneMatch != null && (ifNoneMatch.contains(etag) || ifNoneMatch.trim().equals("*"))) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
+
+        long length = Files.size(file);
+        response.setContentType(file.getFileName().toString().endsWith(".png") ? "image/png" : "image/jpeg");
+        response.setContentLengthLong(length);
+
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+            // 由连接器在请求结束后直接从文件描述符发送，不经过用户态缓冲
+            request.setAttribute(SENDFILE_FILENAME, file.toString());
+            request.setAttribute(SENDFILE_START, 0L);
+            request.setAttribute(SENDFILE_END, length);
+            return;
+        }
+        Files.copy(file, response.getOutputStream());
+    }
+}
@@ -0,0 +1,33 @@
+package com.erickwu.backend.controller;
+
+import com.erickwu.backend.model.ApiResponse;
+import com.erickwu.backend.service.CareerMatchService;
+import com.erickwu.backend.util.UserContext;
+import com.erickwu.backend.vo.CareerMatchVO;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * 职业匹配控制器
+ */
+@RestController
+@RequestMapping("/api/career")
+public class CareerController {
+
+    private final CareerMatchService careerMatchService;
+
+    public CareerController(CareerMatchService careerMatchService) {
+        this.careerMatchService = careerMatchService;
+    }
+
+    /**
+     * 根据当前用户简历技能推荐匹配的职业及技能差距
+     * @param top 返回的职业数量
+     */
+    @GetMapping("/match")
+    public ApiResponse<List<CareerMatchVO>> matchCareers(@RequestParam(defaultValue = "5") int top) {
+        Long userId = UserContext.getCurrentUserId();
+        return ApiResponse.success(careerMatchService.matchForUser(userId, top));
+    }
+}
@@ -3,11 +3,12 @@ package com.erickwu.backend.controller;
 import com.erickwu.backend.dto.ChatMessageDTO;
 import com.erickwu.backend.service.ChatService;
 import com.erickwu.backend.model.ApiResponse;
-import com.erickwu.backend.util.JwtUtil;
+import com.erickwu.backend.util.UserContext;
 import com.erickwu.backend.vo.ChatMessageVO;
 import com.erickwu.backend.vo.ChatSessionVO;
-import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.List;
 import java.util.Map;
@@ -20,19 +21,17 @@ import java.util.Map;
 public class ChatController {
 
     private final ChatService chatService;
-    private final JwtUtil jwtUtil;
 
-    public ChatController(ChatService chatService, JwtUtil jwtUtil) {
+    public ChatController(ChatService chatService) {
         this.chatService = chatService;
-        this.jwtUtil = jwtUtil;
     }
 
     /**
      * 获取用户的所有会话列表
      */
     @GetMapping("/sessions")
-    public ApiResponse<List<ChatSessionVO>> getSessions(HttpServletRequest request) {
-        Long userId = getUserId(request);
+    public ApiResponse<List<ChatSessionVO>> getSessions() {
+        Long userId = UserContext.getCurrentUserId();
         List<ChatSessionVO> sessions = chatService.getSessions(userId);
         return ApiResponse.success(sessions);
     }
@@ -41,10 +40,8 @@ public class ChatController {
      * 获取会话详情（包含消息）
      */
     @GetMapping("/sessions/{id}")
-    public ApiResponse<ChatSessionVO> getSessionDetail(
-            @PathVariable Long id,
-            HttpServletRequest request) {
-        Long userId = getUserId(request);
+    public ApiResponse<ChatSessionVO> getSessionDetail(@PathVariable Long id) {
+        Long userId = UserContext.getCurrentUserId();
         ChatSessionVO session = chatService.getSessionDetail(userId, id);
         return ApiResponse.success(session);
     }
@@ -53,8 +50,8 @@ public class ChatController {
      * 创建新会话
      */
     @PostMapping("/sessions")
-    public ApiResponse<ChatSessionVO> createSession(HttpServletRequest request) {
-        Long userId = getUserId(request);
+    public ApiResponse<ChatSessionVO> createSession() {
+        Long userId = UserContext.getCurrentUserId();
         ChatSessionVO session = chatService.createSession(userId);
         return ApiResponse.success(session);
     }
@@ -63,23 +60,29 @@ public class ChatController {
      * 发送消息并获取 AI 回复
      */
     @PostMapping("/message")
-    public ApiResponse<ChatMessageVO> sendMessage(
-            @RequestBody ChatMessageDTO dto,
-            HttpServletRequest request) {
-        Long userId = getUserId(request);
+    public ApiResponse<ChatMessageVO> sendMessage(@RequestBody ChatMessageDTO dto) {
+        Long userId = UserContext.getCurrentUserId();
         ChatMessageVO response = chatService.sendMessage(userId, dto);
         return ApiResponse.success(response);
     }
 
+    /**
+     * 发送消息并以 SSE 流式返回 AI 回复
+     */
+    @PostMapping(value = "/message/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamMessage(@RequestBody ChatMessageDTO dto) {
+        Long userId = UserContext.getCurrentUserId();
+        return chatService.streamMessage(userId, dto);
+    }
+
     /**
      * 更新会话标题
      */
     @PutMapping("/sessions/{id}/title")
     public ApiResponse<Void> updateSessionTitle(
             @PathVariable Long id,
-            @RequestBody Map<String, String> body,
-            HttpServletRequest request) {
-        Long userId = getUserId(request);
+            @RequestBody Map<String, String> body) {
+        Long userId = UserContext.getCurrentUserId();
         String title = body.get("title");
         chatService.updateSessionTitle(userId, id, title);
         return ApiResponse.success(null);
@@ -89,10 +92,8 @@ public class ChatController {
      * 删除会话
      */
     @DeleteMapping("/sessions/{id}")
-    public ApiResponse<Void> deleteSession(
-            @PathVariable Long id,
-            HttpServletRequest request) {
-        Long userId = getUserId(request);
+    public ApiResponse<Void> deleteSession(@PathVariable Long id) {
+        Long userId = UserContext.getCurrentUserId();
         chatService.deleteSession(userId, id);
         return ApiResponse.success(null);
     }
@@ -101,20 +102,9 @@ public class ChatController {
      * 清空所有会话
      */
     @DeleteMapping("/sessions")
-    public ApiResponse<Void> clearAllSessions(HttpServletRequest request) {
-        Long userId = getUserId(request);
+    public ApiResponse<Void> clearAllSessions() {
+        Long userId = UserContext.getCurrentUserId();
         chatService.clearAllSessions(userId);
         return ApiResponse.success(null);
     }
-
-    /**
-     * 从请求中获取用户 ID
-     */
-    private Long getUserId(HttpServletRequest request) {
-        String token = request.getHeader("Authorization");
-        if (token != null && token.startsWith("Bearer ")) {
-            token = token.substring(7);
-        }
-        return jwtUtil.getUserIdFromToken(token);
-    }
 }
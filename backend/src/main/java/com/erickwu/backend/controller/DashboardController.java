@@ -1,6 +1,7 @@
 package com.erickwu.backend.controller;
 
 import com.erickwu.backend.model.ApiResponse;
+import com.erickwu.backend.service.DashboardLoader;
 import com.erickwu.backend.service.DashboardService;
 import com.erickwu.backend.util.UserContext;
 import com.erickwu.backend.vo.CategoryDataVO;
@@ -22,9 +23,11 @@ import java.util.Map;
 public class DashboardController {
 
     private final DashboardService dashboardService;
+    private final DashboardLoader dashboardLoader;
 
-    public DashboardController(DashboardService dashboardService) {
+    public DashboardController(DashboardService dashboardService, DashboardLoader dashboardLoader) {
         this.dashboardService = dashboardService;
+        this.dashboardLoader = dashboardLoader;
     }
 
     /**
@@ -102,20 +105,13 @@ public class DashboardController {
 
     /**
      * 获取Dashboard完整数据
-     * 一次性返回所有Dashboard需要的数据
+     * 一次性返回所有Dashboard需要的数据，各区块并发加载，
+     * 超时或失败的区块为 null，状态见 sectionStatus
      */
     @GetMapping("/all")
     public ApiResponse<Map<String, Object>> getAllDashboardData(
             @RequestParam(defaultValue = "7d") String period) {
         Long userId = UserContext.getCurrentUserId();
-        
-        Map<String, Object> data = new HashMap<>();
-        data.put("overview", dashboardService.getOverview(userId));
-        data.put("trend", dashboardService.getLearningTrend(userId, period));
-        data.put("skillDistribution", dashboardService.getSkillDistribution(userId));
-        data.put("skillLevel", dashboardService.getSkillLevelDistribution(userId));
-        data.put("activities", dashboardService.getRecentActivities(userId, 10));
-        
-        return ApiResponse.success(data);
+        return ApiResponse.success(dashboardLoader.loadAll(userId, period));
     }
 }
@@ -3,8 +3,10 @@ package com.erickwu.backend.controller;
 import com.erickwu.backend.model.ApiResponse;
 import com.erickwu.backend.util.UserContext;
 import com.erickwu.backend.dto.*;
+import com.erickwu.backend.service.ResumeJobService;
 import com.erickwu.backend.service.ResumeService;
 import com.erickwu.backend.vo.*;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -25,9 +27,11 @@ public class ResumeController {
     private static final Logger logger = LoggerFactory.getLogger(ResumeController.class);
 
     private final ResumeService resumeService;
+    private final ResumeJobService resumeJobService;
 
-    public ResumeController(ResumeService resumeService) {
+    public ResumeController(ResumeService resumeService, ResumeJobService resumeJobService) {
         this.resumeService = resumeService;
+        this.resumeJobService = resumeJobService;
     }
 
     // ==================== 简历上传解析 ====================
@@ -47,6 +51,32 @@ public class ResumeController {
         return ApiResponse.success("简历解析成功", result);
     }
 
+    /**
+     * 异步上传简历，立即返回解析任务ID
+     * POST /api/resume/upload?async=true
+     */
+    @PostMapping(value = "/upload", params = "async=true")
+    public ApiResponse<ResumeParseJobVO> uploadResumeAsync(
+            @RequestParam("file") MultipartFile file,
+            @RequestParam(value = "note", required = false) String versionNote) throws IOException {
+        Long userId = UserContext.getCurrentUserId();
+        logger.info("用户 {} 异步上传简历文件: {}", userId, file.getOriginalFilename());
+
+        ResumeParseJobVO job = resumeJobService.submitUpload(userId, file, versionNote);
+        return ApiResponse.success("解析任务已提交", job);
+    }
+
+    /**
+     * 查询简历解析任务状态
+     * GET /api/resume/upload/jobs/{jobId}
+     */
+    @GetMapping("/upload/jobs/{jobId}")
+    public ApiResponse<ResumeParseJobVO> getUploadJob(@PathVariable Long jobId) {
+        Long userId = UserContext.getCurrentUserId();
+        ResumeParseJobVO job = resumeJobService.getJob(userId, jobId);
+        return ApiResponse.success(job);
+    }
+
     /**
      * 确认保存解析结果到简历
      * POST /api/resume/save-parsed
@@ -275,6 +305,16 @@ public class ResumeController {
         return ApiResponse.success(result);
     }
 
+    /**
+     * 下载版本的原始上传文件
+     * GET /api/resume/versions/{id}/file
+     */
+    @GetMapping("/versions/{id}/file")
+    public void downloadVersionFile(@PathVariable Long id, HttpServletResponse response) throws IOException {
+        Long userId = UserContext.getCurrentUserId();
+        resumeService.downloadVersionFile(userId, id, response);
+    }
+
     /**
      * 删除版本
      * DELETE /api/resume/versions/{id}
@@ -1,6 +1,7 @@
 package com.erickwu.backend.controller;
 
 import com.erickwu.backend.dto.LoginDTO;
+import com.erickwu.backend.dto.RefreshTokenDTO;
 import com.erickwu.backend.dto.RegisterDTO;
 import com.erickwu.backend.dto.UpdateUserDTO;
 import com.erickwu.backend.model.ApiResponse;
@@ -8,8 +9,13 @@ import com.erickwu.backend.service.UserService;
 import com.erickwu.backend.util.UserContext;
 import com.erickwu.backend.vo.LoginVO;
 import com.erickwu.backend.vo.UserVO;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * 用户控制器
@@ -27,26 +33,30 @@ public class UserController {
 
     /**
      * 用户注册
+     * 密码哈希在独立线程池中完成，等待期间不占用请求线程
      *
      * @param dto 注册请求参数
      * @return 登录响应（包含token）
      */
     @PostMapping("/register")
-    public ApiResponse<LoginVO> register(@Valid @RequestBody RegisterDTO dto) {
-        LoginVO loginVO = userService.register(dto);
-        return ApiResponse.success("注册成功", loginVO);
+    public CompletableFuture<ApiResponse<LoginVO>> register(@Valid @RequestBody RegisterDTO dto,
+                                                            HttpServletRequest request) {
+        return userService.register(dto, request.getRemoteAddr())
+                .thenApply(loginVO -> ApiResponse.success("注册成功", loginVO));
     }
 
     /**
      * 用户登录
+     * 密码校验在独立线程池中完成，等待期间不占用请求线程
      *
      * @param dto 登录请求参数
      * @return 登录响应（包含token）
      */
     @PostMapping("/login")
-    public ApiResponse<LoginVO> login(@Valid @RequestBody LoginDTO dto) {
-        LoginVO loginVO = userService.login(dto);
-        return ApiResponse.success("登录成功", loginVO);
+    public CompletableFuture<ApiResponse<LoginVO>> login(@Valid @RequestBody LoginDTO dto,
+                                                         HttpServletRequest request) {
+        return userService.login(dto, request.getRemoteAddr())
+                .thenApply(loginVO -> ApiResponse.success("登录成功", loginVO));
     }
 
     /**
@@ -76,6 +86,45 @@ public class UserController {
         return ApiResponse.success("更新成功", null);
     }
 
+    /**
+     * 上传当前用户头像
+     * 需要登录（携带Token）
+     *
+     * @param file 头像图片
+     * @return 头像访问地址
+     */
+    @PostMapping("/avatar")
+    public ApiResponse<String> uploadAvatar(@RequestParam("file") MultipartFile file) throws IOException {
+        Long userId = UserContext.getCurrentUserId();
+        String url = userService.uploadAvatar(userId, file);
+        return ApiResponse.success("上传成功", url);
+    }
+
+    /**
+     * 刷新 Token
+     * 无需登录，使用刷新令牌换取新的 Token 和刷新令牌
+     *
+     * @param dto 刷新令牌
+     * @return 新的登录信息
+     */
+    @PostMapping("/refresh")
+    public ApiResponse<LoginVO> refresh(@Valid @RequestBody RefreshTokenDTO dto) {
+        return ApiResponse.success(userService.refresh(dto.getRefreshToken()));
+    }
+
+    /**
+     * 退出登录
+     * 需要登录（携带Token），当前 Token 和刷新令牌随即失效
+     *
+     * @param dto 刷新令牌（可选）
+     * @return 成功响应
+     */
+    @PostMapping("/logout")
+    public ApiResponse<Void> logout(@RequestBody(required = false) RefreshTokenDTO dto) {
+        userService.logout(UserContext.getCurrentPrincipal(), dto != null ? dto.getRefreshToken() : null);
+        return ApiResponse.success("已退出登录", null);
+    }
+
     /**
      * 检查用户名是否可用
      *
@@ -0,0 +1,47 @@
+package com.erickwu.backend.dto;
+
+/**
+ * 候选人检索条件 DTO
+ */
+public class CandidateSearchDTO {
+
+    /** 关键词，匹配基本信息、技能、工作经历、教育经历和简历原文 */
+    private String keyword;
+
+    /** 技能名称（精确匹配，不区分大小写） */
+    private String skill;
+
+    /** 技能熟练度下限 1-5；未指定 skill 时表示任一技能达到该熟练度 */
+    private Integer minSkillLevel;
+
+    /** 最低学历：大专 / 本科 / 硕士 / 博士 */
+    private String degree;
+
+    /** 最少工作年限 */
+    private Integer minYears;
+
+    private Integer page = 1;
+
+    private Integer size = 20;
+
+    public String getKeyword() { return keyword; }
+    public void setKeyword(String keyword) { this.keyword = keyword; }
+
+    public String getSkill() { return skill; }
+    public void setSkill(String skill) { this.skill = skill; }
+
+    public Integer getMinSkillLevel() { return minSkillLevel; }
+    public void setMinSkillLevel(Integer minSkillLevel) { this.minSkillLevel = minSkillLevel; }
+
+    public String getDegree() { return degree; }
+    public void setDegree(String degree) { this.degree = degree; }
+
+    public Integer getMinYears() { return minYears; }
+    public void setMinYears(Integer minYears) { this.minYears = minYears; }
+
+    public Integer getPage() { return page; }
+    public void setPage(Integer page) { this.page = page; }
+
+    public Integer getSize() { return size; }
+    public void setSize(Integer size) { this.size = size; }
+}
@@ -0,0 +1,47 @@
+package com.erickwu.backend.entity;
+
+import java.time.LocalDateTime;
+
+/**
+ * 职业字典实体
+ */
+public class CareerDict {
+
+    private Long id;
+    private String name;
+    private String category;
+    private String description;
+    private String requiredSkills;      // JSON 数组，如 ["Java", "Vue/React"]
+    private String salaryRange;
+    private String educationRequirement;
+    private String prospects;
+    private LocalDateTime createdAt;
+
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public String getName() { return name; }
+    public void setName(String name) { this.name = name; }
+
+    public String getCategory() { return category; }
+    public void setCategory(String category) { this.category = category; }
+
+    public String getDescription() { return description; }
+    public void setDescription(String description) { this.description = description; }
+
+    public String getRequiredSkills() { return requiredSkills; }
+    public void setRequiredSkills(String requiredSkills) { this.requiredSkills = requiredSkills; }
+
+    public String getSalaryRange() { return salaryRange; }
+    public void setSalaryRange(String salaryRange) { this.salaryRange = salaryRange; }
+
+    public String getEducationRequirement() { return educationRequirement; }
+    public void setEducationRequirement(String educationRequirement) { this.educationRequirement = educationRequirement; }
+
+    public String getProspects() { return prospects; }
+    public void setProspects(String prospects) { this.prospects = prospects; }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+}
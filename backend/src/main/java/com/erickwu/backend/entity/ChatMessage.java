@@ -10,6 +10,7 @@ public class ChatMessage {
     private Long sessionId;
     private String role;  // user 或 assistant
     private String content;
+    private Integer tokenCount;  // 估算的 token 数
     private LocalDateTime createdAt;
 
     // Getters and Setters
@@ -25,6 +26,9 @@ public class ChatMessage {
     public String getContent() { return content; }
     public void setContent(String content) { this.content = content; }
 
+    public Integer getTokenCount() { return tokenCount; }
+    public void setTokenCount(Integer tokenCount) { this.tokenCount = tokenCount; }
+
     public LocalDateTime getCreatedAt() { return createdAt; }
     public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
 }
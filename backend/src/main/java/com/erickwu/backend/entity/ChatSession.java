@@ -9,6 +9,8 @@ public class ChatSession {
     private Long id;
     private Long userId;
     private String title;
+    private String summary;  // 早期消息的滚动摘要
+    private Long summaryUntilId;  // 已合并进摘要的最后一条消息ID
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
 
@@ -22,6 +24,12 @@ public class ChatSession {
     public String getTitle() { return title; }
     public void setTitle(String title) { this.title = title; }
 
+    public String getSummary() { return summary; }
+    public void setSummary(String summary) { this.summary = summary; }
+
+    public Long getSummaryUntilId() { return summaryUntilId; }
+    public void setSummaryUntilId(Long summaryUntilId) { this.summaryUntilId = summaryUntilId; }
+
     public LocalDateTime getCreatedAt() { return createdAt; }
     public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
 
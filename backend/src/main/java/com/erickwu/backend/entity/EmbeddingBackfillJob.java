@@ -0,0 +1,52 @@
+package com.erickwu.backend.entity;
+
+import java.time.LocalDateTime;
+
+/**
+ * 向量回填任务实体
+ */
+public class EmbeddingBackfillJob {
+
+    public static final String STATUS_RUNNING = "RUNNING";
+    public static final String STATUS_PAUSED = "PAUSED";
+    public static final String STATUS_DONE = "DONE";
+    public static final String STATUS_FAILED = "FAILED";
+
+    private Long id;
+    private String model;
+    private Boolean forceAll;
+    private String status;
+    private Long lastVersionId;
+    private Integer processed;
+    private String errorMessage;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public String getModel() { return model; }
+    public void setModel(String model) { this.model = model; }
+
+    public Boolean getForceAll() { return forceAll; }
+    public void setForceAll(Boolean forceAll) { this.forceAll = forceAll; }
+
+    public String getStatus() { return status; }
+    public void setStatus(String status) { this.status = status; }
+
+    public Long getLastVersionId() { return lastVersionId; }
+    public void setLastVersionId(Long lastVersionId) { this.lastVersionId = lastVersionId; }
+
+    public Integer getProcessed() { return processed; }
+    public void setProcessed(Integer processed) { this.processed = processed; }
+
+    public String getErrorMessage() { return errorMessage; }
+    public void setErrorMessage(String errorMessage) { this.errorMessage = errorMessage; }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
+}
@@ -0,0 +1,64 @@
+package com.erickwu.backend.entity;
+
+import java.time.LocalDateTime;
+
+/**
+ * 批量重新解析任务实体
+ */
+public class ReparseJob {
+
+    public static final String STATUS_RUNNING = "RUNNING";
+    public static final String STATUS_PAUSED = "PAUSED";
+    public static final String STATUS_DONE = "DONE";
+    public static final String STATUS_FAILED = "FAILED";
+
+    private Long id;
+    private String promptVersion;
+    private Boolean reextract;
+    private String status;
+    private Long lastVersionId;
+    private Integer succeeded;
+    private Integer failed;
+    private String errorMessage;
+    private String owner;
+    private LocalDateTime heartbeatAt;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public String getPromptVersion() { return promptVersion; }
+    public void setPromptVersion(String promptVersion) { this.promptVersion = promptVersion; }
+
+    public Boolean getReextract() { return reextract; }
+    public void setReextract(Boolean reextract) { this.reextract = reextract; }
+
+    public String getStatus() { return status; }
+    public void setStatus(String status) { this.status = status; }
+
+    public Long getLastVersionId() { return lastVersionId; }
+    public void setLastVersionId(Long lastVersionId) { this.lastVersionId = lastVersionId; }
+
+    public Integer getSucceeded() { return succeeded; }
+    public void setSucceeded(Integer succeeded) { this.succeeded = succeeded; }
+
+    public Integer getFailed() { return failed; }
+    public void setFailed(Integer failed) { this.failed = failed; }
+
+    public String getErrorMessage() { return errorMessage; }
+    public void setErrorMessage(String errorMessage) { this.errorMessage = errorMessage; }
+
+    public String getOwner() { return owner; }
+    public void setOwner(String owner) { this.owner = owner; }
+
+    public LocalDateTime getHeartbeatAt() { return heartbeatAt; }
+    public void setHeartbeatAt(LocalDateTime heartbeatAt) { this.heartbeatAt = heartbeatAt; }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
+}
@@ -0,0 +1,39 @@
+package com.erickwu.backend.entity;
+
+import java.time.LocalDateTime;
+
+/**
+ * 简历版本向量实体
+ */
+public class ResumeEmbedding {
+
+    private Long versionId;
+    private Long resumeId;
+    private Long userId;
+    private String model;
+    private Integer dimension;
+    private byte[] vector;      // float32 小端序
+    private LocalDateTime updatedAt;
+
+    // Getters and Setters
+    public Long getVersionId() { return versionId; }
+    public void setVersionId(Long versionId) { this.versionId = versionId; }
+
+    public Long getResumeId() { return resumeId; }
+    public void setResumeId(Long resumeId) { this.resumeId = resumeId; }
+
+    public Long getUserId() { return userId; }
+    public void setUserId(Long userId) { this.userId = userId; }
+
+    public String getModel() { return model; }
+    public void setModel(String model) { this.model = model; }
+
+    public Integer getDimension() { return dimension; }
+    public void setDimension(Integer dimension) { this.dimension = dimension; }
+
+    public byte[] getVector() { return vector; }
+    public void setVector(byte[] vector) { this.vector = vector; }
+
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
+}
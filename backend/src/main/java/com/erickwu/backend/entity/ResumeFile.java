@@ -0,0 +1,42 @@
+package com.erickwu.backend.entity;
+
+import java.time.LocalDateTime;
+
+/**
+ * 简历原始文件归档索引
+ */
+public class ResumeFile {
+
+    public static final String COMPRESSION_DEFLATE = "deflate";
+    public static final String COMPRESSION_NONE = "none";
+
+    private String sha256;
+    private Integer segmentId;
+    private Long segmentOffset;
+    private Long storedSize;
+    private Long originalSize;
+    private String compression;
+    private LocalDateTime createdAt;
+
+    // Getters and Setters
+    public String getSha256() { return sha256; }
+    public void setSha256(String sha256) { this.sha256 = sha256; }
+
+    public Integer getSegmentId() { return segmentId; }
+    public void setSegmentId(Integer segmentId) { this.segmentId = segmentId; }
+
+    public Long getSegmentOffset() { return segmentOffset; }
+    public void setSegmentOffset(Long segmentOffset) { this.segmentOffset = segmentOffset; }
+
+    public Long getStoredSize() { return storedSize; }
+    public void setStoredSize(Long storedSize) { this.storedSize = storedSize; }
+
+    public Long getOriginalSize() { return originalSize; }
+    public void setOriginalSize(Long originalSize) { this.originalSize = originalSize; }
+
+    public String getCompression() { return compression; }
+    public void setCompression(String compression) { this.compression = compression; }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+}
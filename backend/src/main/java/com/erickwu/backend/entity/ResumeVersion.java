@@ -37,17 +37,27 @@ public class ResumeVersion implements Serializable {
     private Long fileSize;
 
     /**
-     * 原始简历文本
+     * 原始文件哈希（归档于 resume_file）
+     */
+    private String fileSha256;
+
+    /**
+     * 是否有分析报告（冗余标志，列表查询无需读取报告正文）
+     */
+    private Boolean hasAnalysis;
+
+    /**
+     * 原始简历文本（存于 resume_version_content，按需加载）
      */
     private String rawText;
 
     /**
-     * 解析后的结构化数据（JSON格式）
+     * 解析后的结构化数据（JSON格式，存于 resume_version_content）
      */
     private String parsedData;
 
     /**
-     * AI分析报告（Markdown格式）
+     * AI分析报告（Markdown格式，存于 resume_version_content）
      */
     private String analysisReport;
 
@@ -56,6 +66,11 @@ public class ResumeVersion implements Serializable {
      */
     private String analysisMetadata;
 
+    /**
+     * 解析/分析所用提示词版本
+     */
+    private String promptVersion;
+
     /**
      * 上传时间
      */
@@ -120,6 +135,22 @@ public class ResumeVersion implements Serializable {
         this.fileSize = fileSize;
     }
 
+    public String getFileSha256() {
+        return fileSha256;
+    }
+
+    public void setFileSha256(String fileSha256) {
+        this.fileSha256 = fileSha256;
+    }
+
+    public Boolean getHasAnalysis() {
+        return hasAnalysis;
+    }
+
+    public void setHasAnalysis(Boolean hasAnalysis) {
+        this.hasAnalysis = hasAnalysis;
+    }
+
     public String getRawText() {
         return rawText;
     }
@@ -152,6 +183,14 @@ public class ResumeVersion implements Serializable {
         this.analysisMetadata = analysisMetadata;
     }
 
+    public String getPromptVersion() {
+        return promptVersion;
+    }
+
+    public void setPromptVersion(String promptVersion) {
+        this.promptVersion = promptVersion;
+    }
+
     public LocalDateTime getUploadTime() {
         return uploadTime;
     }
@@ -0,0 +1,26 @@
+package com.erickwu.backend.entity;
+
+/**
+ * 简历版本大文本内容实体
+ * 与 resume_version 一对一，列表查询不读取，仅在查看版本详情等场景按需加载
+ */
+public class ResumeVersionContent {
+
+    private Long versionId;
+    private String rawText;
+    private String parsedData;       // JSON格式
+    private String analysisReport;   // Markdown格式
+
+    // Getters and Setters
+    public Long getVersionId() { return versionId; }
+    public void setVersionId(Long versionId) { this.versionId = versionId; }
+
+    public String getRawText() { return rawText; }
+    public void setRawText(String rawText) { this.rawText = rawText; }
+
+    public String getParsedData() { return parsedData; }
+    public void setParsedData(String parsedData) { this.parsedData = parsedData; }
+
+    public String getAnalysisReport() { return analysisReport; }
+    public void setAnalysisReport(String analysisReport) { this.analysisReport = analysisReport; }
+}
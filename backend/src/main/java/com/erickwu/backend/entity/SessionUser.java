@@ -0,0 +1,34 @@
+package com.erickwu.backend.entity;
+
+/**
+ * 会话用户投影
+ * 刷新令牌时签发新 Token 所需的最少字段，不含密码和个人资料
+ */
+public class SessionUser {
+
+    private Long id;
+    private String username;
+    private String nickname;
+    private String avatar;       // 外部头像 URL（内联图片不读取）
+    private String avatarHash;
+    private Integer status;
+
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public String getUsername() { return username; }
+    public void setUsername(String username) { this.username = username; }
+
+    public String getNickname() { return nickname; }
+    public void setNickname(String nickname) { this.nickname = nickname; }
+
+    public String getAvatar() { return avatar; }
+    public void setAvatar(String avatar) { this.avatar = avatar; }
+
+    public String getAvatarHash() { return avatarHash; }
+    public void setAvatarHash(String avatarHash) { this.avatarHash = avatarHash; }
+
+    public Integer getStatus() { return status; }
+    public void setStatus(Integer status) { this.status = status; }
+}
@@ -0,0 +1,21 @@
+package com.erickwu.backend.entity;
+
+/**
+ * 技能别名实体
+ */
+public class SkillAlias {
+
+    private String aliasKey;        // 规范化后的别名
+    private String canonicalName;   // 标准技能名
+    private String category;        // 标准技能分类
+
+    // Getters and Setters
+    public String getAliasKey() { return aliasKey; }
+    public void setAliasKey(String aliasKey) { this.aliasKey = aliasKey; }
+
+    public String getCanonicalName() { return canonicalName; }
+    public void setCanonicalName(String canonicalName) { this.canonicalName = canonicalName; }
+
+    public String getCategory() { return category; }
+    public void setCategory(String category) { this.category = category; }
+}
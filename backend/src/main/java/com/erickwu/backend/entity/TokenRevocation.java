@@ -0,0 +1,45 @@
+package com.erickwu.backend.entity;
+
+import java.time.LocalDateTime;
+
+/**
+ * Token 吊销记录实体
+ * tokenId 为空时表示吊销该用户在 revokedAt 之前签发的全部 Token
+ */
+public class TokenRevocation {
+
+    public static final String REASON_DISABLED = "DISABLED";
+    public static final String REASON_PASSWORD = "PASSWORD";
+    public static final String REASON_DELETED = "DELETED";
+    public static final String REASON_LOGOUT = "LOGOUT";
+
+    private Long id;
+    private Long userId;
+    private String tokenId;
+    private Long revokedAt;
+    private String reason;
+    private LocalDateTime expiresAt;
+    private LocalDateTime createdAt;
+
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public Long getUserId() { return userId; }
+    public void setUserId(Long userId) { this.userId = userId; }
+
+    public String getTokenId() { return tokenId; }
+    public void setTokenId(String tokenId) { this.tokenId = tokenId; }
+
+    public Long getRevokedAt() { return revokedAt; }
+    public void setRevokedAt(Long revokedAt) { this.revokedAt = revokedAt; }
+
+    public String getReason() { return reason; }
+    public void setReason(String reason) { this.reason = reason; }
+
+    public LocalDateTime getExpiresAt() { return expiresAt; }
+    public void setExpiresAt(LocalDateTime expiresAt) { this.expiresAt = expiresAt; }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+}
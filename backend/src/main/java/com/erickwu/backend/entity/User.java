@@ -42,10 +42,15 @@ public class User implements Serializable {
     private String nickname;
 
     /**
-     * 头像URL
+     * 外部头像URL（历史数据可能为 Base64，迁移后清空）
      */
     private String avatar;
 
+    /**
+     * 头像文件内容哈希（见 AvatarStore）
+     */
+    private String avatarHash;
+
     /**
      * 学校
      */
@@ -156,6 +161,14 @@ public class User implements Serializable {
         this.avatar = avatar;
     }
 
+    public String getAvatarHash() {
+        return avatarHash;
+    }
+
+    public void setAvatarHash(String avatarHash) {
+        this.avatarHash = avatarHash;
+    }
+
     public String getSchool() {
         return school;
     }
@@ -2,26 +2,30 @@ package com.erickwu.backend.interceptor;
 
 import com.erickwu.backend.config.BusinessException;
 import com.erickwu.backend.model.ErrorCode;
-import com.erickwu.backend.util.JwtUtil;
+import com.erickwu.backend.service.TokenRevocationService;
+import com.erickwu.backend.util.AuthPrincipal;
+import com.erickwu.backend.util.JwtAuthenticator;
 import com.erickwu.backend.util.UserContext;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.lang.NonNull;
 import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Component;
-import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
 
 /**
  * JWT 拦截器
  * 用于验证请求中的 JWT Token
  */
 @Component
-public class JwtInterceptor implements HandlerInterceptor {
+public class JwtInterceptor implements AsyncHandlerInterceptor {
 
-    private final JwtUtil jwtUtil;
+    private final JwtAuthenticator jwtAuthenticator;
+    private final TokenRevocationService revocationService;
 
-    public JwtInterceptor(JwtUtil jwtUtil) {
-        this.jwtUtil = jwtUtil;
+    public JwtInterceptor(JwtAuthenticator jwtAuthenticator, TokenRevocationService revocationService) {
+        this.jwtAuthenticator = jwtAuthenticator;
+        this.revocationService = revocationService;
     }
 
     @Override
@@ -36,17 +40,18 @@ public class JwtInterceptor implements HandlerInterceptor {
         // 提取 Token
         String token = authHeader.substring(7);
 
-        // 验证 Token
-        if (!jwtUtil.validateToken(token)) {
+        // 验证 Token（每个请求只解析一次，已验证的 Token 命中缓存）
+        AuthPrincipal principal = jwtAuthenticator.authenticate(token);
+        if (principal == null) {
             throw new BusinessException(ErrorCode.USER_TOKEN_INVALID, "Token 无效或已过期");
         }
+        // 账号被禁用、重置密码或已退出登录的 Token 失效（内存检查，不查询数据库）
+        if (revocationService.isRevoked(principal)) {
+            throw new BusinessException(ErrorCode.USER_TOKEN_INVALID, "登录已失效，请重新登录");
+        }
 
-        // 从 Token 中获取用户信息并存入 UserContext
-        Long userId = jwtUtil.getUserIdFromToken(token);
-        String username = jwtUtil.getUsernameFromToken(token);
-
-        UserContext.setCurrentUserId(userId);
-        UserContext.setCurrentUsername(username);
+        // 登录身份存入 UserContext
+        UserContext.setCurrentPrincipal(principal);
 
         return true;
     }
@@ -56,4 +61,10 @@ public class JwtInterceptor implements HandlerInterceptor {
         // 清除 ThreadLocal，防止内存泄漏
         UserContext.clear();
     }
+
+    @Override
+    public void afterConcurrentHandlingStarted(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response, @NonNull Object handler) {
+        // 异步请求（SSE 等）不会在当前线程上回调 afterCompletion，请求线程归还容器前清除登录身份
+        UserContext.clear();
+    }
 }
@@ -4,11 +4,14 @@ import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
 import org.apache.ibatis.annotations.Select;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
 
 /**
  * 管理员统计 Mapper
+ * 汇总查询只在后台刷新和每日校准时执行，请求路径读取 stats_* 汇总表
  */
 @Mapper
 public interface AdminStatsMapper {
@@ -26,93 +29,86 @@ public interface AdminStatsMapper {
     Long countTotalResumes();
 
     /**
-     * 获取24小时内活跃用户数
+     * 获取简历版本总数
      */
-    @Select("SELECT COUNT(DISTINCT user_id) FROM chat_session WHERE updated_at >= DATE_SUB(NOW(), INTERVAL 24 HOUR)")
-    Long countActiveUsers();
-
-    /**
-     * 获取今日新增用户数
-     */
-    @Select("SELECT COUNT(*) FROM users WHERE DATE(created_at) = CURDATE()")
-    Long countTodayNewUsers();
-
-    /**
-     * 获取今日新增简历数
-     */
-    @Select("SELECT COUNT(*) FROM resume WHERE DATE(created_at) = CURDATE()")
-    Long countTodayNewResumes();
+    @Select("SELECT COUNT(*) FROM resume_version")
+    Long countTotalVersions();
 
     /**
      * 获取已处理简历数（有分析报告的）
      */
-    @Select("SELECT COUNT(*) FROM resume_version WHERE analysis_report IS NOT NULL")
+    @Select("SELECT COUNT(*) FROM resume_version WHERE has_analysis = 1")
     Long countProcessedResumes();
 
     /**
-     * 获取待处理简历数（无分析报告的）
+     * 按天统计新增用户数
      */
-    @Select("SELECT COUNT(*) FROM resume_version WHERE analysis_report IS NULL")
-    Long countPendingResumes();
+    @Select("""
+        SELECT DATE(created_at) as date, COUNT(*) as count
+        FROM users
+        WHERE created_at >= #{since}
+        GROUP BY DATE(created_at)
+        """)
+    List<Map<String, Object>> countDailyNewUsers(@Param("since") LocalDate since);
 
     /**
-     * 获取最近7天每日用户注册数
+     * 按天统计新增简历数
      */
     @Select("""
-        SELECT DATE(created_at) as date, COUNT(*) as count 
-        FROM users 
-        WHERE created_at >= DATE_SUB(CURDATE(), INTERVAL 6 DAY) 
-        GROUP BY DATE(created_at) 
-        ORDER BY date ASC
+        SELECT DATE(created_at) as date, COUNT(*) as count
+        FROM resume
+        WHERE created_at >= #{since}
+        GROUP BY DATE(created_at)
         """)
-    List<Map<String, Object>> getUserGrowthLast7Days();
+    List<Map<String, Object>> countDailyNewResumes(@Param("since") LocalDate since);
 
     /**
-     * 获取24小时活跃度（每小时活跃会话数）
+     * 按天统计新增简历版本数（走 upload_time 索引）
      */
     @Select("""
-        SELECT HOUR(updated_at) as hour, COUNT(*) as count 
-        FROM chat_session 
-        WHERE updated_at >= DATE_SUB(NOW(), INTERVAL 24 HOUR) 
-        GROUP BY HOUR(updated_at) 
-        ORDER BY hour ASC
+        SELECT DATE(upload_time) as date, COUNT(*) as count
+        FROM resume_version
+        WHERE upload_time >= #{since}
+        GROUP BY DATE(upload_time)
         """)
-    List<Map<String, Object>> getHourlyActivity();
+    List<Map<String, Object>> countDailyNewVersions(@Param("since") LocalDate since);
 
     /**
-     * 获取热门技能统计（从简历技能字段）
+     * 按天统计新建会话数
      */
     @Select("""
-        SELECT skill_name, COUNT(*) as count 
-        FROM resume_skill 
-        GROUP BY skill_name 
-        ORDER BY count DESC 
-        LIMIT 6
+        SELECT DATE(created_at) as date, COUNT(*) as count
+        FROM chat_session
+        WHERE created_at >= #{since}
+        GROUP BY DATE(created_at)
         """)
-    List<Map<String, Object>> getTopSkills();
+    List<Map<String, Object>> countDailyNewSessions(@Param("since") LocalDate since);
 
     /**
-     * 获取专业分布统计
+     * 按整点统计对话消息数
      */
     @Select("""
-        SELECT major, COUNT(*) as count 
-        FROM resume 
-        WHERE major IS NOT NULL AND major != '' 
-        GROUP BY major 
-        ORDER BY count DESC 
-        LIMIT 5
+        SELECT DATE_FORMAT(created_at, '%Y-%m-%d %H:00:00') as hour, COUNT(*) as count
+        FROM chat_message
+        WHERE created_at >= #{since}
+        GROUP BY DATE_FORMAT(created_at, '%Y-%m-%d %H:00:00')
         """)
-    List<Map<String, Object>> getMajorDistribution();
+    List<Map<String, Object>> countHourlyChatMessages(@Param("since") LocalDateTime since);
 
     /**
-     * 获取今日分析次数
+     * 按技能名统计技能条目数（全量，仅用于每日校准）
      */
-    @Select("SELECT COUNT(*) FROM resume_version WHERE DATE(created_at) = CURDATE()")
-    Long countTodayAnalysis();
+    @Select("SELECT name AS item, COUNT(*) AS count FROM skill WHERE name != '' GROUP BY name")
+    List<Map<String, Object>> countSkillsByName();
 
     /**
-     * 检查表是否存在
+     * 按专业统计简历数（全量，仅用于每日校准）
      */
-    @Select("SELECT COUNT(*) FROM information_schema.tables WHERE table_schema = DATABASE() AND table_name = #{tableName}")
-    int tableExists(@Param("tableName") String tableName);
+    @Select("""
+        SELECT major AS item, COUNT(*) AS count
+        FROM resume
+        WHERE major IS NOT NULL AND major != ''
+        GROUP BY major
+        """)
+    List<Map<String, Object>> countResumesByMajor();
 }
@@ -0,0 +1,24 @@
+package com.erickwu.backend.mapper;
+
+import com.erickwu.backend.entity.CareerDict;
+import org.apache.ibatis.annotations.*;
+
+import java.util.List;
+
+/**
+ * 职业字典 Mapper
+ */
+@Mapper
+public interface CareerDictMapper {
+
+    @Select("SELECT id, name, category, required_skills, salary_range, education_requirement " +
+            "FROM career_dict ORDER BY id")
+    List<CareerDict> findAllForMatching();
+
+    /**
+     * 字典内容签名（行数 + 最大ID + 名称和技能的校验和），用于检测字典变更
+     */
+    @Select("SELECT CONCAT(COUNT(*), ':', COALESCE(MAX(id), 0), ':', " +
+            "COALESCE(SUM(CRC32(CONCAT_WS('|', id, name, required_skills))), 0)) FROM career_dict")
+    String findSignature();
+}
@@ -17,7 +17,24 @@ public interface ChatMessageMapper {
     @Select("SELECT * FROM chat_message WHERE session_id = #{sessionId} ORDER BY created_at ASC")
     List<ChatMessage> findBySessionId(@Param("sessionId") Long sessionId);
 
-    @Insert("INSERT INTO chat_message (session_id, role, content, created_at) VALUES (#{sessionId}, #{role}, #{content}, NOW())")
+    /**
+     * 倒序读取会话中 id 大于 afterId 的最近 limit 条消息
+     */
+    @Select("SELECT * FROM chat_message WHERE session_id = #{sessionId} AND id > #{afterId} " +
+            "ORDER BY id DESC LIMIT #{limit}")
+    List<ChatMessage> findTail(@Param("sessionId") Long sessionId, @Param("afterId") Long afterId,
+                               @Param("limit") int limit);
+
+    /**
+     * 正序读取 (afterId, beforeId) 区间内的消息，用于合并摘要
+     */
+    @Select("SELECT * FROM chat_message WHERE session_id = #{sessionId} AND id > #{afterId} AND id < #{beforeId} " +
+            "ORDER BY id ASC LIMIT #{limit}")
+    List<ChatMessage> findRange(@Param("sessionId") Long sessionId, @Param("afterId") Long afterId,
+                                @Param("beforeId") Long beforeId, @Param("limit") int limit);
+
+    @Insert("INSERT INTO chat_message (session_id, role, content, token_count, created_at) " +
+            "VALUES (#{sessionId}, #{role}, #{content}, #{tokenCount}, NOW())")
     @Options(useGeneratedKeys = true, keyProperty = "id")
     int insert(ChatMessage message);
 
@@ -27,6 +27,15 @@ public interface ChatSessionMapper {
     @Update("UPDATE chat_session SET updated_at = NOW() WHERE id = #{id}")
     int updateTime(@Param("id") Long id);
 
+    /**
+     * 更新滚动摘要，仅当摘要进度向前推进时生效
+     */
+    @Update("UPDATE chat_session SET summary = #{summary}, summary_until_id = #{summaryUntilId}, " +
+            "updated_at = updated_at " +
+            "WHERE id = #{id} AND summary_until_id < #{summaryUntilId}")
+    int updateSummary(@Param("id") Long id, @Param("summary") String summary,
+                      @Param("summaryUntilId") Long summaryUntilId);
+
     @Delete("DELETE FROM chat_session WHERE id = #{id}")
     int deleteById(@Param("id") Long id);
 
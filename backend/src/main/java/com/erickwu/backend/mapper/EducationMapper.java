@@ -1,7 +1,10 @@
 package com.erickwu.backend.mapper;
 
+import com.erickwu.backend.config.MapperCacheConfig;
 import com.erickwu.backend.entity.Education;
 import org.apache.ibatis.annotations.*;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 
 import java.util.List;
 
@@ -20,12 +23,23 @@ public interface EducationMapper {
     /**
      * 根据简历ID查询教育经历列表（按开始日期倒序）
      */
+    @Cacheable(cacheNames = MapperCacheConfig.EDUCATIONS_BY_RESUME, sync = true)
     @Select("SELECT * FROM education WHERE resume_id = #{resumeId} ORDER BY start_date DESC")
     List<Education> findByResumeId(@Param("resumeId") Long resumeId);
 
+    /**
+     * 批量查询多份简历的教育经历（构建检索索引）
+     */
+    @Select("<script>" +
+            "SELECT * FROM education WHERE resume_id IN " +
+            "<foreach collection='resumeIds' item='id' open='(' separator=',' close=')'>#{id}</foreach>" +
+            "</script>")
+    List<Education> findByResumeIds(@Param("resumeIds") List<Long> resumeIds);
+
     /**
      * 插入教育经历
      */
+    @CacheEvict(cacheNames = MapperCacheConfig.EDUCATIONS_BY_RESUME, key = "#p0.resumeId")
     @Insert("INSERT INTO education (resume_id, school, degree, major, start_date, end_date, gpa, description) " +
             "VALUES (#{resumeId}, #{school}, #{degree}, #{major}, #{startDate}, #{endDate}, #{gpa}, #{description})")
     @Options(useGeneratedKeys = true, keyProperty = "id")
@@ -34,6 +48,7 @@ public interface EducationMapper {
     /**
      * 批量插入教育经历
      */
+    @CacheEvict(cacheNames = MapperCacheConfig.EDUCATIONS_BY_RESUME, key = "#p0[0].resumeId", condition = "!#p0.isEmpty()")
     @Insert("<script>" +
             "INSERT INTO education (resume_id, school, degree, major, start_date, end_date, gpa, description) VALUES " +
             "<foreach collection='educations' item='edu' separator=','>" +
@@ -45,20 +60,23 @@ public interface EducationMapper {
     /**
      * 更新教育经历
      */
+    @CacheEvict(cacheNames = MapperCacheConfig.EDUCATIONS_BY_RESUME, key = "#p0.resumeId")
     @Update("UPDATE education SET school = #{school}, degree = #{degree}, major = #{major}, " +
             "start_date = #{startDate}, end_date = #{endDate}, gpa = #{gpa}, description = #{description} " +
             "WHERE id = #{id}")
     int update(Education education);
 
     /**
-     * 删除教育经历
+     * 删除教育经历（同时按简历ID使缓存失效）
      */
-    @Delete("DELETE FROM education WHERE id = #{id}")
-    int delete(@Param("id") Long id);
+    @CacheEvict(cacheNames = MapperCacheConfig.EDUCATIONS_BY_RESUME, key = "#p1")
+    @Delete("DELETE FROM education WHERE id = #{id} AND resume_id = #{resumeId}")
+    int delete(@Param("id") Long id, @Param("resumeId") Long resumeId);
 
     /**
      * 根据简历ID删除所有教育经历
      */
+    @CacheEvict(cacheNames = MapperCacheConfig.EDUCATIONS_BY_RESUME, key = "#p0")
     @Delete("DELETE FROM education WHERE resume_id = #{resumeId}")
     int deleteByResumeId(@Param("resumeId") Long resumeId);
 
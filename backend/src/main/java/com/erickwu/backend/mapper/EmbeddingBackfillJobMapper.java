@@ -0,0 +1,47 @@
+package com.erickwu.backend.mapper;
+
+import com.erickwu.backend.entity.EmbeddingBackfillJob;
+import org.apache.ibatis.annotations.*;
+
+/**
+ * 向量回填任务 Mapper
+ */
+@Mapper
+public interface EmbeddingBackfillJobMapper {
+
+    @Select("SELECT * FROM embedding_backfill_job WHERE id = #{id}")
+    EmbeddingBackfillJob findById(@Param("id") Long id);
+
+    /**
+     * 查询最近一次任务
+     */
+    @Select("SELECT * FROM embedding_backfill_job ORDER BY id DESC LIMIT 1")
+    EmbeddingBackfillJob findLatest();
+
+    /**
+     * 统计指定模型已完成的回填任务数
+     */
+    @Select("SELECT COUNT(*) FROM embedding_backfill_job WHERE model = #{model} AND status = 'DONE'")
+    long countDone(@Param("model") String model);
+
+    @Insert("INSERT INTO embedding_backfill_job (model, force_all, status, last_version_id, processed) " +
+            "VALUES (#{model}, #{forceAll}, #{status}, #{lastVersionId}, #{processed})")
+    @Options(useGeneratedKeys = true, keyProperty = "id")
+    int insert(EmbeddingBackfillJob job);
+
+    /**
+     * 写入检查点
+     */
+    @Update("UPDATE embedding_backfill_job SET last_version_id = #{lastVersionId}, processed = #{processed}, " +
+            "updated_at = NOW() WHERE id = #{id}")
+    int updateCheckpoint(@Param("id") Long id, @Param("lastVersionId") Long lastVersionId,
+                         @Param("processed") int processed);
+
+    /**
+     * 更新任务状态
+     */
+    @Update("UPDATE embedding_backfill_job SET status = #{status}, error_message = #{errorMessage}, " +
+            "updated_at = NOW() WHERE id = #{id}")
+    int updateStatus(@Param("id") Long id, @Param("status") String status,
+                     @Param("errorMessage") String errorMessage);
+}
@@ -0,0 +1,32 @@
+package com.erickwu.backend.mapper;
+
+import org.apache.ibatis.annotations.*;
+
+/**
+ * LLM 结果缓存 Mapper
+ */
+@Mapper
+public interface LlmResultCacheMapper {
+
+    /**
+     * 查询未过期的缓存内容
+     */
+    @Select("SELECT content FROM llm_result_cache WHERE cache_key = #{cacheKey} " +
+            "AND created_at >= DATE_SUB(NOW(), INTERVAL #{ttlDays} DAY)")
+    String findContent(@Param("cacheKey") String cacheKey, @Param("ttlDays") int ttlDays);
+
+    /**
+     * 写入缓存（已存在则覆盖）
+     */
+    @Insert("INSERT INTO llm_result_cache (cache_key, kind, model, content) " +
+            "VALUES (#{cacheKey}, #{kind}, #{model}, #{content}) " +
+            "ON DUPLICATE KEY UPDATE content = VALUES(content), created_at = NOW()")
+    int upsert(@Param("cacheKey") String cacheKey, @Param("kind") String kind,
+               @Param("model") String model, @Param("content") String content);
+
+    /**
+     * 清理过期缓存
+     */
+    @Delete("DELETE FROM llm_result_cache WHERE created_at < DATE_SUB(NOW(), INTERVAL #{ttlDays} DAY)")
+    int deleteExpired(@Param("ttlDays") int ttlDays);
+}
@@ -0,0 +1,51 @@
+package com.erickwu.backend.mapper;
+
+import com.erickwu.backend.entity.RefreshToken;
+import org.apache.ibatis.annotations.*;
+
+/**
+ * 刷新令牌 Mapper
+ */
+@Mapper
+public interface RefreshTokenMapper {
+
+    @Insert("INSERT INTO refresh_token (user_id, token_hash, family_id, session_started_at, expires_at) " +
+            "VALUES (#{userId}, #{tokenHash}, #{familyId}, #{sessionStartedAt}, #{expiresAt})")
+    @Options(useGeneratedKeys = true, keyProperty = "id")
+    int insert(RefreshToken token);
+
+    @Select("SELECT * FROM refresh_token WHERE token_hash = #{tokenHash}")
+    RefreshToken findByHash(@Param("tokenHash") String tokenHash);
+
+    /**
+     * 加锁读取：并发刷新同一令牌时后到的请求等待先到的事务提交，并读到其轮换结果
+     */
+    @Select("SELECT * FROM refresh_token WHERE token_hash = #{tokenHash} FOR UPDATE")
+    RefreshToken findByHashForUpdate(@Param("tokenHash") String tokenHash);
+
+    /**
+     * 标记令牌已轮换；令牌已被使用或吊销时不更新
+     *
+     * @return 1 表示成功，0 表示已被使用或吊销
+     */
+    @Update("UPDATE refresh_token SET revoked = 1, used_at = NOW() WHERE id = #{id} AND revoked = 0")
+    int markRotated(@Param("id") Long id);
+
+    /**
+     * 吊销整个登录会话
+     */
+    @Update("UPDATE refresh_token SET revoked = 1 WHERE family_id = #{familyId} AND revoked = 0")
+    int revokeFamily(@Param("familyId") String familyId);
+
+    /**
+     * 吊销用户的全部刷新令牌
+     */
+    @Update("UPDATE refresh_token SET revoked = 1 WHERE user_id = #{userId} AND revoked = 0")
+    int revokeByUser(@Param("userId") Long userId);
+
+    /**
+     * 删除已过期的令牌
+     */
+    @Delete("DELETE FROM refresh_token WHERE expires_at <= NOW()")
+    int deleteExpired();
+}
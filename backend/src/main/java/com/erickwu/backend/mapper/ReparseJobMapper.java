@@ -0,0 +1,91 @@
+package com.erickwu.backend.mapper;
+
+import com.erickwu.backend.entity.ReparseItem;
+import com.erickwu.backend.entity.ReparseJob;
+import org.apache.ibatis.annotations.*;
+
+import java.util.List;
+
+/**
+ * 批量重新解析任务 Mapper
+ */
+@Mapper
+public interface ReparseJobMapper {
+
+    @Select("SELECT * FROM reparse_job WHERE id = #{id}")
+    ReparseJob findById(@Param("id") Long id);
+
+    /**
+     * 查询最近一次任务
+     */
+    @Select("SELECT * FROM reparse_job ORDER BY id DESC LIMIT 1")
+    ReparseJob findLatest();
+
+    @Insert("INSERT INTO reparse_job (prompt_version, reextract, status, last_version_id, succeeded, failed, " +
+            "owner, heartbeat_at) VALUES (#{promptVersion}, #{reextract}, #{status}, #{lastVersionId}, " +
+            "#{succeeded}, #{failed}, #{owner}, NOW())")
+    @Options(useGeneratedKeys = true, keyProperty = "id")
+    int insert(ReparseJob job);
+
+    /**
+     * 接管运行中但租约已过期（或本实例重启前持有）的任务，返回 1 表示抢到租约
+     */
+    @Update("UPDATE reparse_job SET owner = #{owner}, heartbeat_at = NOW() " +
+            "WHERE id = #{id} AND status = 'RUNNING' AND (owner = #{owner} " +
+            "OR COALESCE(heartbeat_at, updated_at) < DATE_SUB(NOW(), INTERVAL #{leaseTimeoutSeconds} SECOND))")
+    int claimStale(@Param("id") Long id, @Param("owner") String owner,
+                   @Param("leaseTimeoutSeconds") long leaseTimeoutSeconds);
+
+    /**
+     * 重新启动未完成的任务：暂停/失败的任务直接取得租约，运行中的任务只有租约过期才能接管
+     */
+    @Update("UPDATE reparse_job SET status = 'RUNNING', error_message = NULL, owner = #{owner}, " +
+            "heartbeat_at = NOW(), updated_at = NOW() WHERE id = #{id} AND status <> 'DONE' " +
+            "AND (status <> 'RUNNING' OR owner = #{owner} " +
+            "OR COALESCE(heartbeat_at, updated_at) < DATE_SUB(NOW(), INTERVAL #{leaseTimeoutSeconds} SECOND))")
+    int acquire(@Param("id") Long id, @Param("owner") String owner,
+                @Param("leaseTimeoutSeconds") long leaseTimeoutSeconds);
+
+    /**
+     * 续约，返回 0 表示租约已被其他实例接管或任务已结束
+     */
+    @Update("UPDATE reparse_job SET heartbeat_at = NOW() " +
+            "WHERE id = #{id} AND owner = #{owner} AND status = 'RUNNING'")
+    int heartbeat(@Param("id") Long id, @Param("owner") String owner);
+
+    /**
+     * 写入检查点和累计计数（仅租约持有者）
+     */
+    @Update("UPDATE reparse_job SET last_version_id = #{lastVersionId}, succeeded = #{succeeded}, failed = #{failed}, " +
+            "heartbeat_at = NOW(), updated_at = NOW() WHERE id = #{id} AND owner = #{owner} AND status = 'RUNNING'")
+    int updateCheckpoint(@Param("id") Long id, @Param("owner") String owner,
+                         @Param("lastVersionId") Long lastVersionId,
+                         @Param("succeeded") int succeeded, @Param("failed") int failed);
+
+    /**
+     * 租约持有者结束运行，写入最终状态
+     */
+    @Update("UPDATE reparse_job SET status = #{status}, error_message = #{errorMessage}, " +
+            "updated_at = NOW() WHERE id = #{id} AND owner = #{owner}")
+    int release(@Param("id") Long id, @Param("owner") String owner, @Param("status") String status,
+                @Param("errorMessage") String errorMessage);
+
+    /**
+     * 批量写入逐行结果，重跑时覆盖
+     */
+    @Insert("<script>" +
+            "INSERT INTO reparse_item (job_id, version_id, status, prompt_version, duration_ms, error_message) VALUES " +
+            "<foreach collection='items' item='i' separator=','>" +
+            "(#{i.jobId}, #{i.versionId}, #{i.status}, #{i.promptVersion}, #{i.durationMs}, #{i.errorMessage})" +
+            "</foreach> " +
+            "ON DUPLICATE KEY UPDATE status = VALUES(status), prompt_version = VALUES(prompt_version), " +
+            "duration_ms = VALUES(duration_ms), error_message = VALUES(error_message)" +
+            "</script>")
+    int batchUpsertItems(@Param("items") List<ReparseItem> items);
+
+    /**
+     * 查询任务中失败的行
+     */
+    @Select("SELECT * FROM reparse_item WHERE job_id = #{jobId} AND status = 'FAILED' ORDER BY version_id LIMIT #{limit}")
+    List<ReparseItem> findFailedItems(@Param("jobId") Long jobId, @Param("limit") int limit);
+}
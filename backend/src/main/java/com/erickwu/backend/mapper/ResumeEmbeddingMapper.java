@@ -0,0 +1,59 @@
+package com.erickwu.backend.mapper;
+
+import com.erickwu.backend.entity.ResumeEmbedding;
+import org.apache.ibatis.annotations.*;
+
+import java.util.List;
+
+/**
+ * 简历向量 Mapper
+ */
+@Mapper
+public interface ResumeEmbeddingMapper {
+
+    /**
+     * 写入版本在指定模型下的向量（已存在则覆盖）；不同模型的向量并存，切换模型期间旧索引仍可加载
+     */
+    @Insert("INSERT INTO resume_embedding (version_id, resume_id, user_id, model, dimension, vector) " +
+            "VALUES (#{versionId}, #{resumeId}, #{userId}, #{model}, #{dimension}, #{vector}) " +
+            "ON DUPLICATE KEY UPDATE resume_id = VALUES(resume_id), user_id = VALUES(user_id), " +
+            "dimension = VALUES(dimension), vector = VALUES(vector), updated_at = NOW()")
+    int upsert(ResumeEmbedding embedding);
+
+    /**
+     * 查询简历在指定模型下最新版本的向量
+     */
+    @Select("SELECT * FROM resume_embedding WHERE resume_id = #{resumeId} AND model = #{model} " +
+            "ORDER BY version_id DESC LIMIT 1")
+    ResumeEmbedding findLatestByResumeId(@Param("resumeId") Long resumeId, @Param("model") String model);
+
+    /**
+     * 按简历ID游标分页加载每份简历最新版本的向量（启动时构建索引）
+     */
+    @Select("SELECT e.* FROM resume_embedding e " +
+            "JOIN (SELECT resume_id, MAX(version_id) AS version_id FROM resume_embedding " +
+            "      WHERE model = #{model} AND resume_id > #{afterResumeId} " +
+            "      GROUP BY resume_id ORDER BY resume_id LIMIT #{limit}) t " +
+            "ON e.version_id = t.version_id AND e.model = #{model} ORDER BY e.resume_id")
+    List<ResumeEmbedding> findLatestPage(@Param("model") String model,
+                                         @Param("afterResumeId") Long afterResumeId,
+                                         @Param("limit") int limit);
+
+    /**
+     * 查询除指定模型外向量最多的模型（模型切换期间继续使用的旧模型），没有时返回 null
+     */
+    @Select("SELECT model FROM resume_embedding WHERE model <> #{model} GROUP BY model ORDER BY COUNT(*) DESC LIMIT 1")
+    String findOtherModel(@Param("model") String model);
+
+    /**
+     * 删除版本在所有模型下的向量
+     */
+    @Delete("DELETE FROM resume_embedding WHERE version_id = #{versionId}")
+    int deleteByVersionId(@Param("versionId") Long versionId);
+
+    /**
+     * 删除简历在所有模型下的全部向量
+     */
+    @Delete("DELETE FROM resume_embedding WHERE resume_id = #{resumeId}")
+    int deleteByResumeId(@Param("resumeId") Long resumeId);
+}
@@ -0,0 +1,74 @@
+package com.erickwu.backend.mapper;
+
+import com.erickwu.backend.entity.ResumeFile;
+import org.apache.ibatis.annotations.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 简历原始文件归档 Mapper
+ */
+@Mapper
+public interface ResumeFileMapper {
+
+    @Select("SELECT * FROM resume_file WHERE sha256 = #{sha256}")
+    ResumeFile findBySha256(@Param("sha256") String sha256);
+
+    /**
+     * 写入归档索引，相同哈希已存在时忽略
+     *
+     * @return 1 表示新写入，0 表示已存在
+     */
+    @Insert("INSERT IGNORE INTO resume_file (sha256, segment_id, segment_offset, stored_size, original_size, compression) " +
+            "VALUES (#{sha256}, #{segmentId}, #{segmentOffset}, #{storedSize}, #{originalSize}, #{compression})")
+    int insertIgnore(ResumeFile file);
+
+    /**
+     * 复用已归档的文件时刷新最近使用时间，使其进入回收宽限期
+     *
+     * @return 1 表示文件存在，0 表示不存在（可能刚被回收）
+     */
+    @Update("UPDATE resume_file SET last_used_at = NOW() WHERE sha256 = #{sha256}")
+    int touch(@Param("sha256") String sha256);
+
+    /**
+     * 按哈希游标查询宽限期外且没有版本引用的文件
+     */
+    @Select("SELECT f.sha256 FROM resume_file f " +
+            "WHERE f.sha256 > #{afterSha256} AND f.last_used_at < #{before} " +
+            "AND NOT EXISTS (SELECT 1 FROM resume_version v WHERE v.file_sha256 = f.sha256) " +
+            "ORDER BY f.sha256 LIMIT #{limit}")
+    List<String> findUnreferenced(@Param("before") LocalDateTime before,
+                                  @Param("afterSha256") String afterSha256,
+                                  @Param("limit") int limit);
+
+    /**
+     * 删除无引用的归档索引；删除时再次校验，期间被复用或引用的文件保留
+     */
+    @Delete("DELETE FROM resume_file WHERE sha256 = #{sha256} AND last_used_at < #{before} " +
+            "AND NOT EXISTS (SELECT 1 FROM resume_version v WHERE v.file_sha256 = #{sha256})")
+    int deleteIfUnreferenced(@Param("sha256") String sha256, @Param("before") LocalDateTime before);
+
+    /**
+     * 按分段统计有效记录数和存储字节数
+     */
+    @Select("SELECT segment_id, COUNT(*) AS records, SUM(stored_size) AS stored FROM resume_file GROUP BY segment_id")
+    List<Map<String, Object>> sumBySegment();
+
+    @Select("SELECT * FROM resume_file WHERE segment_id = #{segmentId}")
+    List<ResumeFile> findBySegment(@Param("segmentId") int segmentId);
+
+    @Select("SELECT COUNT(*) FROM resume_file WHERE segment_id = #{segmentId}")
+    int countBySegment(@Param("segmentId") int segmentId);
+
+    /**
+     * 记录迁移到新位置；只在索引仍指向原位置时更新
+     */
+    @Update("UPDATE resume_file SET segment_id = #{newSegmentId}, segment_offset = #{newOffset} " +
+            "WHERE sha256 = #{sha256} AND segment_id = #{oldSegmentId} AND segment_offset = #{oldOffset}")
+    int relocate(@Param("sha256") String sha256,
+                 @Param("oldSegmentId") int oldSegmentId, @Param("oldOffset") long oldOffset,
+                 @Param("newSegmentId") int newSegmentId, @Param("newOffset") long newOffset);
+}
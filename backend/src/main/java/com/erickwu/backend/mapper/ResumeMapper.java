@@ -1,7 +1,10 @@
 package com.erickwu.backend.mapper;
 
+import com.erickwu.backend.config.MapperCacheConfig;
 import com.erickwu.backend.entity.Resume;
 import org.apache.ibatis.annotations.*;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 
 import java.util.List;
 
@@ -20,6 +23,7 @@ public interface ResumeMapper {
     /**
      * 根据用户ID查询简历
      */
+    @Cacheable(cacheNames = MapperCacheConfig.RESUME_BY_USER, sync = true)
     @Select("SELECT * FROM resume WHERE user_id = #{userId}")
     Resume findByUserId(@Param("userId") Long userId);
 
@@ -29,9 +33,31 @@ public interface ResumeMapper {
     @Select("SELECT * FROM resume ORDER BY updated_at DESC")
     List<Resume> findAll();
 
+    /**
+     * 按ID游标分页查询
+     */
+    @Select("SELECT * FROM resume WHERE id > #{afterId} ORDER BY id LIMIT #{limit}")
+    List<Resume> findPageAfter(@Param("afterId") Long afterId, @Param("limit") int limit);
+
+    /**
+     * 按ID游标分页查询简历ID
+     */
+    @Select("SELECT id FROM resume WHERE id > #{afterId} ORDER BY id LIMIT #{limit}")
+    List<Long> findIdsAfter(@Param("afterId") Long afterId, @Param("limit") int limit);
+
+    /**
+     * 按ID批量查询
+     */
+    @Select("<script>" +
+            "SELECT * FROM resume WHERE id IN " +
+            "<foreach collection='ids' item='id' open='(' separator=',' close=')'>#{id}</foreach>" +
+            "</script>")
+    List<Resume> findByIds(@Param("ids") List<Long> ids);
+
     /**
      * 插入简历
      */
+    @CacheEvict(cacheNames = MapperCacheConfig.RESUME_BY_USER, key = "#p0.userId")
     @Insert("INSERT INTO resume (user_id, title, real_name, target_position, expected_salary, " +
             "work_city, education, school, major, graduation_year, work_experience, self_introduction) " +
             "VALUES (#{userId}, #{title}, #{realName}, #{targetPosition}, #{expectedSalary}, " +
@@ -42,6 +68,7 @@ public interface ResumeMapper {
     /**
      * 更新简历
      */
+    @CacheEvict(cacheNames = MapperCacheConfig.RESUME_BY_USER, key = "#p0.userId")
     @Update("UPDATE resume SET title = #{title}, real_name = #{realName}, target_position = #{targetPosition}, " +
             "expected_salary = #{expectedSalary}, work_city = #{workCity}, education = #{education}, " +
             "school = #{school}, major = #{major}, graduation_year = #{graduationYear}, " +
@@ -50,14 +77,16 @@ public interface ResumeMapper {
     int update(Resume resume);
 
     /**
-     * 删除简历
+     * 删除简历（同时按用户ID使缓存失效）
      */
-    @Delete("DELETE FROM resume WHERE id = #{id}")
-    int delete(@Param("id") Long id);
+    @CacheEvict(cacheNames = MapperCacheConfig.RESUME_BY_USER, key = "#p1")
+    @Delete("DELETE FROM resume WHERE id = #{id} AND user_id = #{userId}")
+    int delete(@Param("id") Long id, @Param("userId") Long userId);
 
     /**
      * 根据用户ID删除简历
      */
+    @CacheEvict(cacheNames = MapperCacheConfig.RESUME_BY_USER, key = "#p0")
     @Delete("DELETE FROM resume WHERE user_id = #{userId}")
     int deleteByUserId(@Param("userId") Long userId);
 }
@@ -0,0 +1,68 @@
+package com.erickwu.backend.mapper;
+
+import com.erickwu.backend.entity.ResumeParseJob;
+import org.apache.ibatis.annotations.*;
+
+/**
+ * 简历解析任务 Mapper
+ */
+@Mapper
+public interface ResumeParseJobMapper {
+
+    @Select("SELECT * FROM resume_parse_job WHERE id = #{id}")
+    ResumeParseJob findById(@Param("id") Long id);
+
+    @Insert("INSERT INTO resume_parse_job (user_id, file_name, file_size, version_note, status, stage, progress, " +
+            "owner, heartbeat_at) VALUES (#{userId}, #{fileName}, #{fileSize}, #{versionNote}, #{status}, #{stage}, " +
+            "#{progress}, #{owner}, NOW())")
+    @Options(useGeneratedKeys = true, keyProperty = "id")
+    int insert(ResumeParseJob job);
+
+    /**
+     * 推进任务阶段（已被判定中断的任务不再回写）
+     */
+    @Update("UPDATE resume_parse_job SET status = #{status}, stage = #{stage}, progress = #{progress}, " +
+            "updated_at = NOW() WHERE id = #{id} AND status IN ('PENDING', 'RUNNING')")
+    int updateStage(@Param("id") Long id, @Param("status") String status,
+                    @Param("stage") String stage, @Param("progress") int progress);
+
+    /**
+     * 记录生成的版本ID
+     */
+    @Update("UPDATE resume_parse_job SET version_id = #{versionId}, updated_at = NOW() WHERE id = #{id}")
+    int updateVersionId(@Param("id") Long id, @Param("versionId") Long versionId);
+
+    /**
+     * 标记任务失败
+     */
+    @Update("UPDATE resume_parse_job SET status = 'FAILED', error_message = #{errorMessage}, " +
+            "updated_at = NOW() WHERE id = #{id}")
+    int markFailed(@Param("id") Long id, @Param("errorMessage") String errorMessage);
+
+    /**
+     * 刷新本实例未完成任务的心跳
+     */
+    @Update("UPDATE resume_parse_job SET heartbeat_at = NOW() " +
+            "WHERE owner = #{owner} AND status IN ('PENDING', 'RUNNING')")
+    int heartbeat(@Param("owner") String owner);
+
+    /**
+     * 将本实例遗留的未完成任务，以及心跳超时（所属实例已失联）的未完成任务标记为失败，
+     * 其他存活实例仍在执行的任务不受影响
+     */
+    @Update("UPDATE resume_parse_job SET status = 'FAILED', error_message = #{errorMessage}, " +
+            "updated_at = NOW() WHERE status IN ('PENDING', 'RUNNING') " +
+            "AND (owner = #{owner} " +
+            "OR COALESCE(heartbeat_at, updated_at) < DATE_SUB(NOW(), INTERVAL #{leaseTimeoutSeconds} SECOND))")
+    int failUnfinished(@Param("owner") String owner, @Param("leaseTimeoutSeconds") long leaseTimeoutSeconds,
+                       @Param("errorMessage") String errorMessage);
+
+    /**
+     * 将心跳超时的未完成任务标记为失败（所属实例已宕机且未重启时由存活实例回收）
+     */
+    @Update("UPDATE resume_parse_job SET status = 'FAILED', error_message = #{errorMessage}, " +
+            "updated_at = NOW() WHERE status IN ('PENDING', 'RUNNING') " +
+            "AND COALESCE(heartbeat_at, updated_at) < DATE_SUB(NOW(), INTERVAL #{leaseTimeoutSeconds} SECOND)")
+    int failStale(@Param("leaseTimeoutSeconds") long leaseTimeoutSeconds,
+                  @Param("errorMessage") String errorMessage);
+}
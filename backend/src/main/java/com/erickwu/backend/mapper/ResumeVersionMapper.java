@@ -1,6 +1,7 @@
 package com.erickwu.backend.mapper;
 
 import com.erickwu.backend.entity.ResumeVersion;
+import com.erickwu.backend.entity.ResumeVersionContent;
 import org.apache.ibatis.annotations.*;
 
 import java.util.List;
@@ -12,21 +13,43 @@ import java.util.List;
 public interface ResumeVersionMapper {
 
     /**
-     * 根据ID查询版本
+     * 版本元数据列（不含 resume_version_content 中的大文本）
      */
-    @Select("SELECT * FROM resume_version WHERE id = #{id}")
+    String METADATA_COLUMNS = "id, resume_id, version_number, file_name, file_size, file_sha256, has_analysis, " +
+            "analysis_metadata, prompt_version, upload_time, version_note";
+
+    /**
+     * 根据ID查询版本元数据
+     */
+    @Select("SELECT " + METADATA_COLUMNS + " FROM resume_version WHERE id = #{id}")
     ResumeVersion findById(@Param("id") Long id);
 
     /**
-     * 根据简历ID查询版本列表（按上传时间倒序）
+     * 查询版本的大文本内容（版本详情按需加载）
+     */
+    @Select("SELECT version_id, raw_text, parsed_data, analysis_report FROM resume_version_content " +
+            "WHERE version_id = #{versionId}")
+    ResumeVersionContent findContent(@Param("versionId") Long versionId);
+
+    /**
+     * 根据ID查询版本的原始文本（向量化使用，只取需要的列）
      */
-    @Select("SELECT * FROM resume_version WHERE resume_id = #{resumeId} ORDER BY upload_time DESC LIMIT #{limit}")
+    @Select("SELECT v.id, v.resume_id, c.raw_text FROM resume_version v " +
+            "JOIN resume_version_content c ON c.version_id = v.id WHERE v.id = #{id}")
+    ResumeVersion findRawTextById(@Param("id") Long id);
+
+    /**
+     * 根据简历ID查询版本列表（按上传时间倒序，仅元数据）
+     */
+    @Select("SELECT " + METADATA_COLUMNS + " FROM resume_version WHERE resume_id = #{resumeId} " +
+            "ORDER BY upload_time DESC LIMIT #{limit}")
     List<ResumeVersion> findByResumeId(@Param("resumeId") Long resumeId, @Param("limit") int limit);
 
     /**
-     * 获取指定简历的最新版本
+     * 获取指定简历的最新版本（仅元数据）
      */
-    @Select("SELECT * FROM resume_version WHERE resume_id = #{resumeId} ORDER BY version_number DESC LIMIT 1")
+    @Select("SELECT " + METADATA_COLUMNS + " FROM resume_version WHERE resume_id = #{resumeId} " +
+            "ORDER BY version_number DESC LIMIT 1")
     ResumeVersion findLatestByResumeId(@Param("resumeId") Long resumeId);
 
     /**
@@ -36,25 +59,45 @@ public interface ResumeVersionMapper {
     Integer getMaxVersionNumber(@Param("resumeId") Long resumeId);
 
     /**
-     * 插入版本记录
+     * 插入版本元数据，大文本由 {@link #insertContent} 在同一事务中写入
      */
-    @Insert("INSERT INTO resume_version (resume_id, version_number, file_name, file_size, raw_text, " +
-            "parsed_data, analysis_report, analysis_metadata, upload_time, version_note) " +
-            "VALUES (#{resumeId}, #{versionNumber}, #{fileName}, #{fileSize}, #{rawText}, " +
-            "#{parsedData}, #{analysisReport}, #{analysisMetadata}, #{uploadTime}, #{versionNote})")
+    @Insert("INSERT INTO resume_version (resume_id, version_number, file_name, file_size, file_sha256, has_analysis, " +
+            "analysis_metadata, upload_time, version_note) " +
+            "VALUES (#{resumeId}, #{versionNumber}, #{fileName}, #{fileSize}, #{fileSha256}, " +
+            "(#{analysisReport} IS NOT NULL AND #{analysisReport} <> ''), " +
+            "#{analysisMetadata}, #{uploadTime}, #{versionNote})")
     @Options(useGeneratedKeys = true, keyProperty = "id")
     int insert(ResumeVersion version);
 
+    /**
+     * 插入版本的大文本内容
+     */
+    @Insert("INSERT INTO resume_version_content (version_id, raw_text, parsed_data, analysis_report) " +
+            "VALUES (#{id}, #{rawText}, #{parsedData}, #{analysisReport})")
+    int insertContent(ResumeVersion version);
+
     /**
      * 更新版本记录
      */
-    @Update("UPDATE resume_version SET analysis_report = #{analysisReport}, " +
-            "analysis_metadata = #{analysisMetadata}, version_note = #{versionNote} " +
-            "WHERE id = #{id}")
+    @Update("UPDATE resume_version v JOIN resume_version_content c ON c.version_id = v.id " +
+            "SET c.analysis_report = #{analysisReport}, " +
+            "v.has_analysis = (#{analysisReport} IS NOT NULL AND #{analysisReport} <> ''), " +
+            "v.analysis_metadata = #{analysisMetadata}, v.version_note = #{versionNote} " +
+            "WHERE v.id = #{id}")
     int update(ResumeVersion version);
 
     /**
-     * 删除版本
+     * 写入分析报告（异步解析任务在分析阶段完成后调用）
+     */
+    @Update("UPDATE resume_version v JOIN resume_version_content c ON c.version_id = v.id " +
+            "SET c.analysis_report = #{analysisReport}, " +
+            "v.has_analysis = (#{analysisReport} IS NOT NULL AND #{analysisReport} <> ''), " +
+            "v.prompt_version = #{promptVersion} WHERE v.id = #{id}")
+    int updateAnalysisReport(@Param("id") Long id, @Param("analysisReport") String analysisReport,
+                             @Param("promptVersion") String promptVersion);
+
+    /**
+     * 删除版本（resume_version_content 随外键级联删除）
      */
     @Delete("DELETE FROM resume_version WHERE id = #{id}")
     int delete(@Param("id") Long id);
@@ -65,9 +108,90 @@ public interface ResumeVersionMapper {
     @Delete("DELETE FROM resume_version WHERE resume_id = #{resumeId}")
     int deleteByResumeId(@Param("resumeId") Long resumeId);
 
+    /**
+     * 按版本ID游标分页读取（向量回填使用，只取向量化需要的列）
+     */
+    @Select("SELECT v.id, v.resume_id, c.raw_text FROM resume_version v " +
+            "JOIN resume_version_content c ON c.version_id = v.id " +
+            "WHERE v.id > #{afterId} ORDER BY v.id LIMIT #{limit}")
+    List<ResumeVersion> findPageAfter(@Param("afterId") Long afterId, @Param("limit") int limit);
+
+    /**
+     * 按版本ID游标分页读取尚无指定模型向量的版本
+     */
+    @Select("SELECT v.id, v.resume_id, c.raw_text FROM resume_version v " +
+            "JOIN resume_version_content c ON c.version_id = v.id " +
+            "LEFT JOIN resume_embedding e ON e.version_id = v.id AND e.model = #{model} " +
+            "WHERE v.id > #{afterId} AND e.version_id IS NULL ORDER BY v.id LIMIT #{limit}")
+    List<ResumeVersion> findMissingEmbeddingPage(@Param("model") String model, @Param("afterId") Long afterId,
+                                                 @Param("limit") int limit);
+
+    /**
+     * 统计版本ID大于游标、尚无指定模型向量的版本数
+     */
+    @Select("SELECT COUNT(*) FROM resume_version v " +
+            "JOIN resume_version_content c ON c.version_id = v.id " +
+            "LEFT JOIN resume_embedding e ON e.version_id = v.id AND e.model = #{model} " +
+            "WHERE v.id > #{afterId} AND e.version_id IS NULL")
+    long countMissingEmbeddingAfter(@Param("model") String model, @Param("afterId") Long afterId);
+
+    /**
+     * 统计版本ID大于游标的版本数
+     */
+    @Select("SELECT COUNT(*) FROM resume_version WHERE id > #{afterId}")
+    long countAfter(@Param("afterId") Long afterId);
+
+    /**
+     * 批量查询多份简历最新版本的原始文本（构建检索索引）
+     */
+    @Select("<script>" +
+            "SELECT v.id, v.resume_id, c.raw_text FROM resume_version v " +
+            "JOIN resume_version_content c ON c.version_id = v.id " +
+            "JOIN (SELECT resume_id, MAX(version_number) AS version_number FROM resume_version WHERE resume_id IN " +
+            "<foreach collection='resumeIds' item='id' open='(' separator=',' close=')'>#{id}</foreach>" +
+            " GROUP BY resume_id) t " +
+            "ON v.resume_id = t.resume_id AND v.version_number = t.version_number" +
+            "</script>")
+    List<ResumeVersion> findLatestRawTextByResumeIds(@Param("resumeIds") List<Long> resumeIds);
+
     /**
      * 统计简历版本数量
      */
     @Select("SELECT COUNT(*) FROM resume_version WHERE resume_id = #{resumeId}")
     int countByResumeId(@Param("resumeId") Long resumeId);
+
+    /**
+     * 按ID游标查询解析结果不是指定提示词版本的版本（批量重新解析用）
+     */
+    @Select("SELECT v.id, v.resume_id, v.file_name, v.file_sha256, c.raw_text FROM resume_version v " +
+            "JOIN resume_version_content c ON c.version_id = v.id " +
+            "WHERE v.id > #{afterId} AND (v.prompt_version IS NULL OR v.prompt_version <> #{promptVersion}) " +
+            "ORDER BY v.id LIMIT #{limit}")
+    List<ResumeVersion> findStalePromptPage(@Param("promptVersion") String promptVersion,
+                                            @Param("afterId") Long afterId, @Param("limit") int limit);
+
+    /**
+     * 统计检查点之后解析结果不是指定提示词版本的版本数
+     */
+    @Select("SELECT COUNT(*) FROM resume_version " +
+            "WHERE id > #{afterId} AND (prompt_version IS NULL OR prompt_version <> #{promptVersion})")
+    long countStalePromptAfter(@Param("promptVersion") String promptVersion, @Param("afterId") Long afterId);
+
+    /**
+     * 批量写回重新解析结果（单条 UPDATE ... CASE），updateRawText 为 true 时同时更新原始文本
+     */
+    @Update("<script>" +
+            "UPDATE resume_version rv JOIN resume_version_content c ON c.version_id = rv.id SET " +
+            "<if test='updateRawText'>" +
+            "c.raw_text = CASE rv.id <foreach collection='versions' item='v'>WHEN #{v.id} THEN #{v.rawText} </foreach>END, " +
+            "</if>" +
+            "c.parsed_data = CASE rv.id <foreach collection='versions' item='v'>WHEN #{v.id} THEN #{v.parsedData} </foreach>END, " +
+            "c.analysis_report = CASE rv.id <foreach collection='versions' item='v'>WHEN #{v.id} THEN #{v.analysisReport} </foreach>END, " +
+            "rv.has_analysis = CASE rv.id <foreach collection='versions' item='v'>WHEN #{v.id} THEN #{v.hasAnalysis} </foreach>END, " +
+            "rv.prompt_version = #{promptVersion} " +
+            "WHERE rv.id IN <foreach collection='versions' item='v' open='(' separator=',' close=')'>#{v.id}</foreach>" +
+            "</script>")
+    int batchUpdateReparsed(@Param("versions") List<ResumeVersion> versions,
+                            @Param("promptVersion") String promptVersion,
+                            @Param("updateRawText") boolean updateRawText);
 }
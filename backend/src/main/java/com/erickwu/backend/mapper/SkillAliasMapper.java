@@ -0,0 +1,24 @@
+package com.erickwu.backend.mapper;
+
+import com.erickwu.backend.entity.SkillAlias;
+import org.apache.ibatis.annotations.*;
+
+import java.util.List;
+
+/**
+ * 技能别名 Mapper
+ */
+@Mapper
+public interface SkillAliasMapper {
+
+    @Select("SELECT alias_key, canonical_name, category FROM skill_alias")
+    List<SkillAlias> findAll();
+
+    /**
+     * 新增或修改别名
+     */
+    @Insert("INSERT INTO skill_alias (alias_key, canonical_name, category) " +
+            "VALUES (#{aliasKey}, #{canonicalName}, #{category}) " +
+            "ON DUPLICATE KEY UPDATE canonical_name = VALUES(canonical_name), category = VALUES(category)")
+    int upsert(SkillAlias alias);
+}
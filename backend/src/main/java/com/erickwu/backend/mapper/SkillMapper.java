@@ -1,7 +1,10 @@
 package com.erickwu.backend.mapper;
 
+import com.erickwu.backend.config.MapperCacheConfig;
 import com.erickwu.backend.entity.Skill;
 import org.apache.ibatis.annotations.*;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 
 import java.util.List;
 
@@ -20,9 +23,20 @@ public interface SkillMapper {
     /**
      * 根据简历ID查询技能列表
      */
+    @Cacheable(cacheNames = MapperCacheConfig.SKILLS_BY_RESUME, sync = true)
     @Select("SELECT * FROM skill WHERE resume_id = #{resumeId} ORDER BY level DESC, years DESC")
     List<Skill> findByResumeId(@Param("resumeId") Long resumeId);
 
+    /**
+     * 批量查询多份简历的技能（构建检索索引、批量向量化），每份简历内的顺序与 findByResumeId 一致
+     */
+    @Select("<script>" +
+            "SELECT * FROM skill WHERE resume_id IN " +
+            "<foreach collection='resumeIds' item='id' open='(' separator=',' close=')'>#{id}</foreach> " +
+            "ORDER BY resume_id, level DESC, years DESC" +
+            "</script>")
+    List<Skill> findByResumeIds(@Param("resumeIds") List<Long> resumeIds);
+
     /**
      * 根据分类查询技能
      */
@@ -32,6 +46,7 @@ public interface SkillMapper {
     /**
      * 插入技能
      */
+    @CacheEvict(cacheNames = MapperCacheConfig.SKILLS_BY_RESUME, key = "#p0.resumeId")
     @Insert("INSERT INTO skill (resume_id, name, level, category, years) " +
             "VALUES (#{resumeId}, #{name}, #{level}, #{category}, #{years})")
     @Options(useGeneratedKeys = true, keyProperty = "id")
@@ -40,6 +55,7 @@ public interface SkillMapper {
     /**
      * 批量插入技能
      */
+    @CacheEvict(cacheNames = MapperCacheConfig.SKILLS_BY_RESUME, key = "#p0[0].resumeId", condition = "!#p0.isEmpty()")
     @Insert("<script>" +
             "INSERT INTO skill (resume_id, name, level, category, years) VALUES " +
             "<foreach collection='skills' item='skill' separator=','>" +
@@ -51,19 +67,22 @@ public interface SkillMapper {
     /**
      * 更新技能
      */
+    @CacheEvict(cacheNames = MapperCacheConfig.SKILLS_BY_RESUME, key = "#p0.resumeId")
     @Update("UPDATE skill SET name = #{name}, level = #{level}, category = #{category}, " +
             "years = #{years} WHERE id = #{id}")
     int update(Skill skill);
 
     /**
-     * 删除技能
+     * 删除技能（同时按简历ID使缓存失效）
      */
-    @Delete("DELETE FROM skill WHERE id = #{id}")
-    int delete(@Param("id") Long id);
+    @CacheEvict(cacheNames = MapperCacheConfig.SKILLS_BY_RESUME, key = "#p1")
+    @Delete("DELETE FROM skill WHERE id = #{id} AND resume_id = #{resumeId}")
+    int delete(@Param("id") Long id, @Param("resumeId") Long resumeId);
 
     /**
      * 根据简历ID删除所有技能
      */
+    @CacheEvict(cacheNames = MapperCacheConfig.SKILLS_BY_RESUME, key = "#p0")
     @Delete("DELETE FROM skill WHERE resume_id = #{resumeId}")
     int deleteByResumeId(@Param("resumeId") Long resumeId);
 }
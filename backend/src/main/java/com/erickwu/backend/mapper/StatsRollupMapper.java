@@ -0,0 +1,87 @@
+package com.erickwu.backend.mapper;
+
+import org.apache.ibatis.annotations.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 统计汇总表 Mapper（stats_counter / stats_daily / stats_hourly / stats_breakdown / stats_active_user）
+ */
+@Mapper
+public interface StatsRollupMapper {
+
+    @Insert("INSERT INTO stats_counter (name, value) VALUES (#{name}, #{delta}) " +
+            "ON DUPLICATE KEY UPDATE value = value + #{delta}")
+    int addCounter(@Param("name") String name, @Param("delta") long delta);
+
+    @Insert("INSERT INTO stats_counter (name, value) VALUES (#{name}, #{value}) " +
+            "ON DUPLICATE KEY UPDATE value = #{value}")
+    int setCounter(@Param("name") String name, @Param("value") long value);
+
+    @Select("SELECT name, value FROM stats_counter")
+    List<Map<String, Object>> findCounters();
+
+    @Insert("INSERT INTO stats_daily (stat_date, metric, value) VALUES (#{statDate}, #{metric}, #{delta}) " +
+            "ON DUPLICATE KEY UPDATE value = value + #{delta}")
+    int addDaily(@Param("statDate") LocalDate statDate, @Param("metric") String metric, @Param("delta") long delta);
+
+    @Insert("INSERT INTO stats_daily (stat_date, metric, value) VALUES (#{statDate}, #{metric}, #{value}) " +
+            "ON DUPLICATE KEY UPDATE value = #{value}")
+    int setDaily(@Param("statDate") LocalDate statDate, @Param("metric") String metric, @Param("value") long value);
+
+    @Select("SELECT stat_date, metric, value FROM stats_daily WHERE stat_date >= #{since}")
+    List<Map<String, Object>> findDailySince(@Param("since") LocalDate since);
+
+    @Insert("INSERT INTO stats_hourly (stat_hour, metric, value) VALUES (#{statHour}, #{metric}, #{delta}) " +
+            "ON DUPLICATE KEY UPDATE value = value + #{delta}")
+    int addHourly(@Param("statHour") LocalDateTime statHour, @Param("metric") String metric, @Param("delta") long delta);
+
+    @Insert("INSERT INTO stats_hourly (stat_hour, metric, value) VALUES (#{statHour}, #{metric}, #{value}) " +
+            "ON DUPLICATE KEY UPDATE value = #{value}")
+    int setHourly(@Param("statHour") LocalDateTime statHour, @Param("metric") String metric, @Param("value") long value);
+
+    @Select("SELECT stat_hour, value FROM stats_hourly WHERE metric = #{metric} AND stat_hour >= #{since}")
+    List<Map<String, Object>> findHourlySince(@Param("metric") String metric, @Param("since") LocalDateTime since);
+
+    @Delete("DELETE FROM stats_hourly WHERE stat_hour < #{before}")
+    int deleteHourlyBefore(@Param("before") LocalDateTime before);
+
+    @Insert("INSERT INTO stats_breakdown (dimension, item, value) VALUES (#{dimension}, #{item}, #{delta}) " +
+            "ON DUPLICATE KEY UPDATE value = value + #{delta}")
+    int addBreakdown(@Param("dimension") String dimension, @Param("item") String item, @Param("delta") long delta);
+
+    @Insert("INSERT INTO stats_breakdown (dimension, item, value) VALUES (#{dimension}, #{item}, #{value}) " +
+            "ON DUPLICATE KEY UPDATE value = #{value}")
+    int setBreakdown(@Param("dimension") String dimension, @Param("item") String item, @Param("value") long value);
+
+    @Update("UPDATE stats_breakdown SET value = 0 WHERE dimension = #{dimension}")
+    int resetBreakdown(@Param("dimension") String dimension);
+
+    @Delete("DELETE FROM stats_breakdown WHERE dimension = #{dimension} AND value <= 0")
+    int deleteEmptyBreakdown(@Param("dimension") String dimension);
+
+    @Select("SELECT item, value FROM stats_breakdown WHERE dimension = #{dimension} AND value > 0 " +
+            "ORDER BY value DESC LIMIT #{limit}")
+    List<Map<String, Object>> findTopBreakdown(@Param("dimension") String dimension, @Param("limit") int limit);
+
+    @Insert("<script>" +
+            "INSERT INTO stats_active_user (user_id, last_active_at) VALUES " +
+            "<foreach collection='activity' index='userId' item='activeAt' separator=','>(#{userId}, #{activeAt})</foreach> " +
+            "ON DUPLICATE KEY UPDATE last_active_at = GREATEST(last_active_at, VALUES(last_active_at))" +
+            "</script>")
+    int touchActiveUsers(@Param("activity") Map<Long, LocalDateTime> activity);
+
+    @Insert("INSERT INTO stats_active_user (user_id, last_active_at) " +
+            "SELECT user_id, MAX(updated_at) FROM chat_session WHERE updated_at >= #{since} GROUP BY user_id " +
+            "ON DUPLICATE KEY UPDATE last_active_at = GREATEST(last_active_at, VALUES(last_active_at))")
+    int rebuildActiveUsers(@Param("since") LocalDateTime since);
+
+    @Select("SELECT COUNT(*) FROM stats_active_user WHERE last_active_at >= #{since}")
+    Long countActiveUsersSince(@Param("since") LocalDateTime since);
+
+    @Delete("DELETE FROM stats_active_user WHERE last_active_at < #{before}")
+    int deleteActiveUsersBefore(@Param("before") LocalDateTime before);
+}
@@ -0,0 +1,37 @@
+package com.erickwu.backend.mapper;
+
+import com.erickwu.backend.entity.TokenRevocation;
+import org.apache.ibatis.annotations.*;
+
+import java.util.List;
+
+/**
+ * Token 吊销记录 Mapper
+ */
+@Mapper
+public interface TokenRevocationMapper {
+
+    @Insert("INSERT INTO token_revocation (user_id, token_id, revoked_at, reason, expires_at) " +
+            "VALUES (#{userId}, #{tokenId}, #{revokedAt}, #{reason}, #{expiresAt})")
+    @Options(useGeneratedKeys = true, keyProperty = "id")
+    int insert(TokenRevocation revocation);
+
+    /**
+     * 查询仍在有效期内的全部记录（启动时加载）
+     */
+    @Select("SELECT * FROM token_revocation WHERE expires_at > NOW() ORDER BY id")
+    List<TokenRevocation> findActive();
+
+    /**
+     * 查询吊销时间不早于 since 的记录（跨实例同步，按 id 分页）
+     * 按时间回看而非 id 游标：id 较小的长事务可能晚于 id 较大的记录提交
+     */
+    @Select("SELECT * FROM token_revocation WHERE revoked_at >= #{since} AND id > #{afterId} ORDER BY id LIMIT #{limit}")
+    List<TokenRevocation> findSince(@Param("since") long since, @Param("afterId") long afterId, @Param("limit") int limit);
+
+    /**
+     * 删除已失效的记录
+     */
+    @Delete("DELETE FROM token_revocation WHERE expires_at <= NOW()")
+    int deleteExpired();
+}
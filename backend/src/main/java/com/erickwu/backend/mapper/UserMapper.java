@@ -1,8 +1,15 @@
 package com.erickwu.backend.mapper;
 
+import com.erickwu.backend.config.MapperCacheConfig;
+import com.erickwu.backend.entity.SessionUser;
 import com.erickwu.backend.entity.User;
+import com.erickwu.backend.entity.UserSummary;
 import org.apache.ibatis.annotations.*;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 /**
@@ -11,12 +18,39 @@ import java.util.List;
 @Mapper
 public interface UserMapper {
 
+    /**
+     * 列表投影列：不读取 password/avatar/intro 等大字段，avatar 只判断是否为空
+     */
+    String SUMMARY_COLUMNS = "id, username, email, phone, nickname, (avatar_hash IS NOT NULL OR avatar IS NOT NULL) AS has_avatar, " +
+            "gender, birthday, status, created_at, updated_at";
+
+    /**
+     * 搜索条件：prefix 走各列索引的前缀匹配，fulltext 走 ngram 全文索引
+     */
+    String SEARCH_CONDITION =
+            "<choose>" +
+            "<when test='mode == \"fulltext\"'>" +
+            "AND MATCH(username, nickname, email) AGAINST(#{keyword} IN BOOLEAN MODE) " +
+            "</when>" +
+            "<when test='mode == \"prefix\"'>" +
+            "AND (username LIKE #{keyword} OR nickname LIKE #{keyword} OR email LIKE #{keyword} OR phone LIKE #{keyword}) " +
+            "</when>" +
+            "</choose>";
+
     /**
      * 根据ID查询用户
      */
+    @Cacheable(cacheNames = MapperCacheConfig.USERS, sync = true)
     @Select("SELECT * FROM users WHERE id = #{id}")
     User findById(@Param("id") Long id);
 
+    /**
+     * 查询会话用户投影（刷新令牌使用，内联头像不读取）
+     */
+    @Select("SELECT id, username, nickname, avatar_hash, status, " +
+            "IF(avatar LIKE 'data:%', NULL, avatar) AS avatar FROM users WHERE id = #{id}")
+    SessionUser findSessionUserById(@Param("id") Long id);
+
     /**
      * 根据用户名查询用户
      */
@@ -45,37 +79,104 @@ public interface UserMapper {
             "ORDER BY created_at DESC")
     List<User> searchUsers(@Param("keyword") String keyword);
 
+    /**
+     * 游标分页查询用户列表，按 (created_at, id) 倒序
+     *
+     * @param mode 搜索方式：null 不过滤、prefix 前缀匹配、fulltext 全文检索
+     * @param keyword prefix 模式下为已转义并带 % 后缀的前缀，fulltext 模式下为布尔模式查询串
+     * @param beforeCreatedAt 上一页最后一条的创建时间，首页为 null
+     * @param beforeId 上一页最后一条的ID
+     */
+    @Select("<script>" +
+            "SELECT " + SUMMARY_COLUMNS + " FROM users WHERE 1 = 1 " +
+            SEARCH_CONDITION +
+            "<if test='beforeCreatedAt != null'>" +
+            "AND (created_at &lt; #{beforeCreatedAt} OR (created_at = #{beforeCreatedAt} AND id &lt; #{beforeId})) " +
+            "</if>" +
+            "ORDER BY created_at DESC, id DESC LIMIT #{limit}" +
+            "</script>")
+    List<UserSummary> findSummaryPage(@Param("mode") String mode,
+                                      @Param("keyword") String keyword,
+                                      @Param("beforeCreatedAt") LocalDateTime beforeCreatedAt,
+                                      @Param("beforeId") Long beforeId,
+                                      @Param("limit") int limit);
+
+    /**
+     * 统计搜索结果数，最多数到 cap 条为止
+     */
+    @Select("<script>" +
+            "SELECT COUNT(*) FROM (SELECT 1 FROM users WHERE 1 = 1 " +
+            SEARCH_CONDITION +
+            "LIMIT #{cap}) t" +
+            "</script>")
+    long countSearchCapped(@Param("mode") String mode, @Param("keyword") String keyword, @Param("cap") int cap);
+
+    /**
+     * 用户表行数估算值（来自 InnoDB 统计信息，不扫描表）
+     */
+    @Select("SELECT TABLE_ROWS FROM information_schema.TABLES WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'users'")
+    Long estimateCount();
+
     /**
      * 插入用户
      */
-@Insert("INSERT INTO users (username, password, email, phone, nickname, avatar, gender, birthday, status) " +
-            "VALUES (#{username}, #{password}, #{email}, #{phone}, #{nickname}, #{avatar}, #{gender}, #{birthday}, #{status})")
+@Insert("INSERT INTO users (username, password, email, phone, nickname, avatar, avatar_hash, gender, birthday, status) " +
+            "VALUES (#{username}, #{password}, #{email}, #{phone}, #{nickname}, #{avatar}, #{avatarHash}, #{gender}, #{birthday}, #{status})")
     @Options(useGeneratedKeys = true, keyProperty = "id")
     int insert(User user);
 
     /**
      * 更新用户信息
      */
-    @Update("UPDATE users SET nickname = #{nickname}, email = #{email}, phone = #{phone}, avatar = #{avatar}, " +
+    @CacheEvict(cacheNames = MapperCacheConfig.USERS, key = "#p0.id")
+    @Update("UPDATE users SET nickname = #{nickname}, email = #{email}, phone = #{phone}, avatar = #{avatar}, avatar_hash = #{avatarHash}, " +
             "school = #{school}, major = #{major}, intro = #{intro}, " +
             "gender = #{gender}, birthday = #{birthday}, updated_at = NOW() WHERE id = #{id}")
     int update(User user);
 
+    /**
+     * 更新头像
+     */
+    @CacheEvict(cacheNames = MapperCacheConfig.USERS, key = "#p0")
+    @Update("UPDATE users SET avatar = #{avatar}, avatar_hash = #{avatarHash}, updated_at = NOW() WHERE id = #{id}")
+    int updateAvatar(@Param("id") Long id, @Param("avatar") String avatar, @Param("avatarHash") String avatarHash);
+
+    /**
+     * 按ID游标查询仍以内联 Base64 存储头像的用户（迁移用）
+     */
+    @Select("SELECT id, avatar FROM users WHERE id > #{afterId} AND avatar IS NOT NULL " +
+            "AND avatar NOT LIKE 'http%' AND avatar NOT LIKE '/%' ORDER BY id LIMIT #{limit}")
+    List<User> findInlineAvatarsAfter(@Param("afterId") Long afterId, @Param("limit") int limit);
+
+    /**
+     * 头像迁移到文件存储：写入哈希并清空内联数据，不改变 updated_at
+     */
+    @CacheEvict(cacheNames = MapperCacheConfig.USERS, key = "#p0")
+    @Update("UPDATE users SET avatar_hash = #{avatarHash}, avatar = NULL, updated_at = updated_at WHERE id = #{id}")
+    int moveAvatarToStore(@Param("id") Long id, @Param("avatarHash") String avatarHash);
+
     /**
      * 更新密码
      */
+    @CacheEvict(cacheNames = MapperCacheConfig.USERS, key = "#p0")
     @Update("UPDATE users SET password = #{password}, updated_at = NOW() WHERE id = #{id}")
     int updatePassword(@Param("id") Long id, @Param("password") String password);
 
     /**
      * 禁用/启用用户
      */
+    @CacheEvict(cacheNames = MapperCacheConfig.USERS, key = "#p0")
     @Update("UPDATE users SET status = #{status}, updated_at = NOW() WHERE id = #{id}")
     int updateStatus(@Param("id") Long id, @Param("status") Integer status);
 
     /**
      * 删除用户
      */
+    @Caching(evict = {
+            @CacheEvict(cacheNames = MapperCacheConfig.USERS, key = "#p0"),
+            // 简历随用户级联删除
+            @CacheEvict(cacheNames = MapperCacheConfig.RESUME_BY_USER, key = "#p0")
+    })
     @Delete("DELETE FROM users WHERE id = #{id}")
     int delete(@Param("id") Long id);
 
@@ -1,7 +1,10 @@
 package com.erickwu.backend.mapper;
 
+import com.erickwu.backend.config.MapperCacheConfig;
 import com.erickwu.backend.entity.WorkExperience;
 import org.apache.ibatis.annotations.*;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 
 import java.util.List;
 
@@ -20,12 +23,23 @@ public interface WorkExperienceMapper {
     /**
      * 根据简历ID查询工作经历列表（按开始日期倒序）
      */
+    @Cacheable(cacheNames = MapperCacheConfig.WORK_EXPERIENCES_BY_RESUME, sync = true)
     @Select("SELECT * FROM work_experience WHERE resume_id = #{resumeId} ORDER BY start_date DESC")
     List<WorkExperience> findByResumeId(@Param("resumeId") Long resumeId);
 
+    /**
+     * 批量查询多份简历的工作经历（构建检索索引）
+     */
+    @Select("<script>" +
+            "SELECT * FROM work_experience WHERE resume_id IN " +
+            "<foreach collection='resumeIds' item='id' open='(' separator=',' close=')'>#{id}</foreach>" +
+            "</script>")
+    List<WorkExperience> findByResumeIds(@Param("resumeIds") List<Long> resumeIds);
+
     /**
      * 插入工作经历
      */
+    @CacheEvict(cacheNames = MapperCacheConfig.WORK_EXPERIENCES_BY_RESUME, key = "#p0.resumeId")
     @Insert("INSERT INTO work_experience (resume_id, company, position, department, start_date, end_date, description, achievements) " +
             "VALUES (#{resumeId}, #{company}, #{position}, #{department}, #{startDate}, #{endDate}, #{description}, #{achievements})")
     @Options(useGeneratedKeys = true, keyProperty = "id")
@@ -34,6 +48,7 @@ public interface WorkExperienceMapper {
     /**
      * 批量插入工作经历
      */
+    @CacheEvict(cacheNames = MapperCacheConfig.WORK_EXPERIENCES_BY_RESUME, key = "#p0[0].resumeId", condition = "!#p0.isEmpty()")
     @Insert("<script>" +
             "INSERT INTO work_experience (resume_id, company, position, department, start_date, end_date, description, achievements) VALUES " +
             "<foreach collection='workExperiences' item='we' separator=','>" +
@@ -45,20 +60,23 @@ public interface WorkExperienceMapper {
     /**
      * 更新工作经历
      */
+    @CacheEvict(cacheNames = MapperCacheConfig.WORK_EXPERIENCES_BY_RESUME, key = "#p0.resumeId")
     @Update("UPDATE work_experience SET company = #{company}, position = #{position}, department = #{department}, " +
             "start_date = #{startDate}, end_date = #{endDate}, description = #{description}, achievements = #{achievements} " +
             "WHERE id = #{id}")
     int update(WorkExperience workExperience);
 
     /**
-     * 删除工作经历
+     * 删除工作经历（同时按简历ID使缓存失效）
      */
-    @Delete("DELETE FROM work_experience WHERE id = #{id}")
-    int delete(@Param("id") Long id);
+    @CacheEvict(cacheNames = MapperCacheConfig.WORK_EXPERIENCES_BY_RESUME, key = "#p1")
+    @Delete("DELETE FROM work_experience WHERE id = #{id} AND resume_id = #{resumeId}")
+    int delete(@Param("id") Long id, @Param("resumeId") Long resumeId);
 
     /**
      * 根据简历ID删除所有工作经历
      */
+    @CacheEvict(cacheNames = MapperCacheConfig.WORK_EXPERIENCES_BY_RESUME, key = "#p0")
     @Delete("DELETE FROM work_experience WHERE resume_id = #{resumeId}")
     int deleteByResumeId(@Param("resumeId") Long resumeId);
 
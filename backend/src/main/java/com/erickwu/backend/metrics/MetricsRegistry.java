@@ -0,0 +1,109 @@
+package com.erickwu.backend.metrics;
+
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * 进程内指标注册表
+ * 提供计数器、耗时统计和瞬时值，供管理员控制台查看
+ */
+@Component
+public class MetricsRegistry {
+
+    private final Map<String, LongAdder> counters = new ConcurrentHashMap<>();
+    private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+    private final Map<String, Supplier<Number>> gauges = new ConcurrentHashMap<>();
+
+    /**
+     * 计数器加一
+     */
+    public void increment(String name) {
+        counter(name).increment();
+    }
+
+    /**
+     * 计数器累加
+     */
+    public void add(String name, long delta) {
+        counter(name).add(delta);
+    }
+
+    /**
+     * 获取计数器当前值
+     */
+    public long count(String name) {
+        LongAdder adder = counters.get(name);
+        return adder == null ? 0L : adder.sum();
+    }
+
+    /**
+     * 记录一次耗时（毫秒）
+     */
+    public void record(String name, long millis) {
+        timers.computeIfAbsent(name, k -> new Timer()).record(millis);
+    }
+
+    /**
+     * 注册瞬时值（如队列长度、缓存大小），读取时才计算
+     */
+    public void gauge(String name, Supplier<Number> supplier) {
+        gauges.put(name, supplier);
+    }
+
+    /**
+     * 导出所有指标快照
+     */
+    public Map<String, Object> snapshot() {
+        Map<String, Object> result = new TreeMap<>();
+        counters.forEach((name, adder) -> result.put(name, adder.sum()));
+        timers.forEach((name, timer) -> result.put(name, timer.toMap()));
+        gauges.forEach((name, supplier) -> {
+            try {
+                result.put(name, supplier.get());
+            } catch (RuntimeException e) {
+                result.put(name, null);
+            }
+        });
+        return result;
+    }
+
+    private LongAdder counter(String name) {
+        return counters.computeIfAbsent(name, k -> new LongAdder());
+    }
+
+    /**
+     * 耗时统计：次数、总耗时、最大值
+     */
+    private static class Timer {
+        private final LongAdder count = new LongAdder();
+        private final LongAdder totalMillis = new LongAdder();
+        private volatile long maxMillis;
+
+        void record(long millis) {
+            count.increment();
+            totalMillis.add(millis);
+            if (millis > maxMillis) {
+                synchronized (this) {
+                    if (millis > maxMillis) {
+                        maxMillis = millis;
+                    }
+                }
+            }
+        }
+
+        Map<String, Object> toMap() {
+            long n = count.sum();
+            long total = totalMillis.sum();
+            Map<String, Object> map = new TreeMap<>();
+            map.put("count", n);
+            map.put("avgMillis", n == 0 ? 0 : total / n);
+            map.put("maxMillis", maxMillis);
+            return map;
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.erickwu.backend.model;
+
+import java.util.List;
+
+/**
+ * 游标分页结果包装类
+ * 按游标（上一页最后一条记录的排序键）翻页，翻页代价与页码无关
+ */
+public class CursorPage<T> {
+
+    /**
+     * 数据列表
+     */
+    private List<T> list;
+
+    /**
+     * 每页数量
+     */
+    private int size;
+
+    /**
+     * 下一页游标，没有更多数据时为 null
+     */
+    private String nextCursor;
+
+    /**
+     * 是否还有更多数据
+     */
+    private boolean hasMore;
+
+    /**
+     * 总记录数（可能为估算值）
+     */
+    private long total;
+
+    /**
+     * total 是否为精确值
+     */
+    private boolean totalExact;
+
+    public CursorPage() {}
+
+    public CursorPage(List<T> list, int size, String nextCursor, long total, boolean totalExact) {
+        this.list = list;
+        this.size = size;
+        this.nextCursor = nextCursor;
+        this.hasMore = nextCursor != null;
+        this.total = total;
+        this.totalExact = totalExact;
+    }
+
+    // Getters and Setters
+    public List<T> getList() {
+        return list;
+    }
+
+    public void setList(List<T> list) {
+        this.list = list;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public void setSize(int size) {
+        this.size = size;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+
+    public boolean isHasMore() {
+        return hasMore;
+    }
+
+    public void setHasMore(boolean hasMore) {
+        this.hasMore = hasMore;
+    }
+
+    public long getTotal() {
+        return total;
+    }
+
+    public void setTotal(long total) {
+        this.total = total;
+    }
+
+    public boolean isTotalExact() {
+        return totalExact;
+    }
+
+    public void setTotalExact(boolean totalExact) {
+        this.totalExact = totalExact;
+    }
+}
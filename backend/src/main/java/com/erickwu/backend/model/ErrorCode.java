@@ -16,6 +16,7 @@ public enum ErrorCode {
     METHOD_NOT_ALLOWED(405, "请求方法不允许"),
     CONFLICT(409, "数据冲突"),
     VALIDATION_ERROR(422, "数据验证失败"),
+    TOO_MANY_REQUESTS(429, "请求过于频繁，请稍后重试"),
     
     // 业务错误 5xx
     INTERNAL_ERROR(500, "服务器内部错误"),
@@ -28,10 +29,14 @@ public enum ErrorCode {
     USER_DISABLED(1004, "用户已被禁用"),
     USER_TOKEN_INVALID(1005, "Token 无效或已过期"),
     USER_TOKEN_EXPIRED(1006, "Token 已过期"),
+    USER_LOGIN_LOCKED(1007, "登录失败次数过多，请稍后重试"),
     
     // 简历相关 2xxx
     RESUME_NOT_FOUND(2001, "简历不存在"),
     RESUME_ALREADY_EXISTS(2002, "简历已存在"),
+    RESUME_JOB_NOT_FOUND(2003, "解析任务不存在"),
+    RESUME_JOB_REJECTED(2004, "解析任务繁忙，请稍后重试"),
+    RESUME_EXTRACT_BUSY(2005, "文档解析繁忙，请稍后重试"),
     
     // 职业测评相关 3xxx
     ASSESSMENT_NOT_FOUND(3001, "测评记录不存在"),
@@ -42,7 +47,12 @@ public enum ErrorCode {
     REPORT_GENERATION_FAILED(4002, "报告生成失败"),
     
     // 学习活动相关 5xxx
-    STUDY_ACTIVITY_NOT_FOUND(5001, "学习活动不存在");
+    STUDY_ACTIVITY_NOT_FOUND(5001, "学习活动不存在"),
+    
+    // AI 服务相关 6xxx
+    LLM_BUSY(6001, "AI 服务繁忙，请稍后重试"),
+    LLM_CALL_FAILED(6002, "AI 服务调用失败"),
+    LLM_UNAVAILABLE(6003, "AI 服务暂不可用，请稍后重试");
     
     private final int code;
     private final String message;
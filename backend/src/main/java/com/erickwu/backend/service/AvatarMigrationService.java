@@ -0,0 +1,111 @@
+package com.erickwu.backend.service;
+
+import com.erickwu.backend.config.AvatarConfig;
+import com.erickwu.backend.config.BusinessException;
+import com.erickwu.backend.entity.User;
+import com.erickwu.backend.mapper.UserMapper;
+import com.erickwu.backend.model.ErrorCode;
+import com.erickwu.backend.vo.AvatarMigrationResultVO;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 历史头像迁移
+ * 将 users.avatar 中的内联 Base64 图片转存到 AvatarStore，表中只保留哈希。
+ * 按ID游标分批处理，已迁移的行不再匹配查询条件，中断后重跑即可继续
+ */
+@Service
+public class AvatarMigrationService {
+
+    private static final Logger logger = LoggerFactory.getLogger(AvatarMigrationService.class);
+
+    private final UserMapper userMapper;
+    private final AvatarStore avatarStore;
+    private final SessionUserCache sessionUserCache;
+    private final AvatarConfig config;
+    private final ThreadPoolExecutor executor;
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    public AvatarMigrationService(UserMapper userMapper,
+                                  AvatarStore avatarStore,
+                                  SessionUserCache sessionUserCache,
+                                  AvatarConfig config,
+                                  @Qualifier("avatarMigrationExecutor") ThreadPoolExecutor executor) {
+        this.userMapper = userMapper;
+        this.avatarStore = avatarStore;
+        this.sessionUserCache = sessionUserCache;
+        this.config = config;
+        this.executor = executor;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void migrateOnStartup() {
+        if (!config.isMigrateOnStartup()) {
+            return;
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    migrate();
+                } catch (BusinessException e) {
+                    logger.info("头像迁移已在进行中，跳过启动迁移");
+                } catch (Exception e) {
+                    logger.warn("启动时迁移头像失败: {}", e.getMessage());
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            logger.warn("头像迁移任务提交失败: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 迁移全部内联头像（同步执行）
+     *
+     * @throws BusinessException 已有迁移在进行中
+     */
+    public AvatarMigrationResultVO migrate() {
+        if (!running.compareAndSet(false, true)) {
+            throw new BusinessException(ErrorCode.CONFLICT, "头像迁移正在进行中");
+        }
+        try {
+            AvatarMigrationResultVO result = new AvatarMigrationResultVO();
+            long afterId = 0;
+            while (!Thread.currentThread().isInterrupted()) {
+                List<User> batch = userMapper.findInlineAvatarsAfter(afterId, Math.max(1, config.getMigrateBatchSize()));
+                if (batch.isEmpty()) {
+                    break;
+                }
+                for (User user : batch) {
+                    result.setScanned(result.getScanned() + 1);
+                    try {
+                        String hash = avatarStore.storeInline(user.getAvatar());
+                        userMapper.moveAvatarToStore(user.getId(), hash);
+                        sessionUserCache.evict(user.getId());
+                        result.setMigrated(result.getMigrated() + 1);
+                    } catch (BusinessException e) {
+                        // 无法解析的历史数据保留原值，不影响其他用户
+                        result.setFailed(result.getFailed() + 1);
+                        logger.warn("用户 {} 的头像无法迁移: {}", user.getId(), e.getMessage());
+                    }
+                }
+                afterId = batch.get(batch.size() - 1).getId();
+            }
+            if (result.getScanned() > 0) {
+                logger.info("头像迁移完成: 扫描 {}, 迁移 {}, 失败 {}",
+                        result.getScanned(), result.getMigrated(), result.getFailed());
+            }
+            return result;
+        } finally {
+            running.set(false);
+        }
+    }
+}
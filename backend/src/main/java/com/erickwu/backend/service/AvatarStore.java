@@ -0,0 +1,307 @@
+package com.erickwu.backend.service;
+
+import com.erickwu.backend.config.AvatarConfig;
+import com.erickwu.backend.config.BusinessException;
+import com.erickwu.backend.entity.SessionUser;
+import com.erickwu.backend.entity.User;
+import com.erickwu.backend.metrics.MetricsRegistry;
+import com.erickwu.backend.model.ErrorCode;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.regex.Pattern;
+
+/**
+ * 头像文件存储
+ * 上传图片只解码一次，按配置尺寸生成正方形缩略图，以原图 SHA-256 为键写入本地目录
+ * （{root}/ab/cd/{hash}-{size}.jpg|png），相同内容只存一份；数据库中只保存哈希
+ */
+@Service
+public class AvatarStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(AvatarStore.class);
+
+    private static final Pattern HASH_PATTERN = Pattern.compile("[0-9a-f]{64}");
+    private static final String URL_PREFIX = "/api/avatar/";
+
+    private final AvatarConfig config;
+    private final MetricsRegistry metrics;
+    private final Path root;
+    private final int[] sizes;
+
+    public AvatarStore(AvatarConfig config, MetricsRegistry metrics) {
+        this.config = config;
+        this.metrics = metrics;
+        this.root = Paths.get(config.getStorageDir()).toAbsolutePath().normalize();
+        int[] configured = config.getVariantSizes() == null || config.getVariantSizes().length == 0
+                ? new int[]{256} : config.getVariantSizes().clone();
+        Arrays.sort(configured);
+        this.sizes = configured;
+    }
+
+    /**
+     * 头像访问地址
+     */
+    public static String url(String hash) {
+        return hash != null ? URL_PREFIX + hash : null;
+    }
+
+    /**
+     * 用户头像的展示地址：优先文件存储，其次外部 URL
+     */
+    public static String displayUrl(User user) {
+        return user.getAvatarHash() != null ? url(user.getAvatarHash()) : user.getAvatar();
+    }
+
+    public static String displayUrl(SessionUser user) {
+        return user.getAvatarHash() != null ? url(user.getAvatarHash()) : user.getAvatar();
+    }
+
+    /**
+     * 按客户端提交的头像值更新用户实体（不落库）
+     * 内联图片转存为文件并只保留哈希；外部 URL 原样保存；空值清除头像；
+     * 提交的是当前头像地址时保持不变
+     */
+    public void assign(User user, String avatar) {
+        if (avatar == null || avatar.isEmpty()) {
+            user.setAvatar(null);
+            user.setAvatarHash(null);
+        } else if (isInlineImage(avatar)) {
+            user.setAvatarHash(storeInline(avatar));
+            user.setAvatar(null);
+        } else if (!avatar.equals(displayUrl(user))) {
+            user.setAvatar(avatar);
+            user.setAvatarHash(null);
+        }
+    }
+
+    /**
+     * 是否为需要转存的内联图片（data URI 或裸 Base64），外部 URL 原样保留
+     */
+    public static boolean isInlineImage(String avatar) {
+        if (avatar == null || avatar.isEmpty()) {
+            return false;
+        }
+        return !(avatar.startsWith("http://") || avatar.startsWith("https://") || avatar.startsWith("/"));
+    }
+
+    public static boolean isValidHash(String hash) {
+        return hash != null && HASH_PATTERN.matcher(hash).matches();
+    }
+
+    /**
+     * 保存 data URI 或 Base64 形式的头像
+     *
+     * @return 内容哈希
+     */
+    public String storeInline(String avatar) {
+        int comma = avatar.indexOf(',');
+        String payload = avatar.startsWith("data:") && comma > 0 ? avatar.substring(comma + 1) : avatar;
+        byte[] data;
+        try {
+            data = Base64.getMimeDecoder().decode(payload);
+        } catch (IllegalArgumentException e) {
+            throw new BusinessException(ErrorCode.BAD_REQUEST, "头像不是有效的 Base64 图片");
+        }
+        return store(data);
+    }
+
+    /**
+     * 保存头像原始字节，生成各尺寸缩略图
+     *
+     * @return 内容哈希
+     */
+    public String store(byte[] data) {
+        if (data.length == 0 || data.length > config.getMaxUploadBytes()) {
+            throw new BusinessException(ErrorCode.BAD_REQUEST,
+                    "头像大小需在 " + (config.getMaxUploadBytes() / 1024) + "KB 以内");
+        }
+        long start = System.currentTimeMillis();
+        String hash = sha256(data);
+        if (variantExists(hash, sizes[sizes.length - 1])) {
+            metrics.increment("avatar.store.dedup");
+            return hash;
+        }
+
+        BufferedImage source = decode(data);
+        boolean alpha = source.getColorModel().hasAlpha();
+        try {
+            Path dir = shardDir(hash);
+            Files.createDirectories(dir);
+            for (int size : sizes) {
+                BufferedImage variant = squareResize(source, size, alpha);
+                writeAtomically(dir, fileName(hash, size, alpha), variant, alpha);
+            }
+        } catch (IOException e) {
+            logger.error("写入头像文件失败: {}", hash, e);
+            throw new BusinessException(ErrorCode.INTERNAL_ERROR, "头像保存失败");
+        }
+        metrics.increment("avatar.store");
+        metrics.record("avatar.store", System.currentTimeMillis() - start);
+        return hash;
+    }
+
+    /**
+     * 查找不小于请求尺寸的最小缩略图，请求尺寸超过最大缩略图时返回最大的一张
+     *
+     * @return 文件路径，不存在时返回 null
+     */
+    public Path resolve(String hash, int requestedSize) {
+        if (!isValidHash(hash)) {
+            return null;
+        }
+        int size = sizes[sizes.length - 1];
+        for (int candidate : sizes) {
+            if (candidate >= requestedSize) {
+                size = candidate;
+                break;
+            }
+        }
+        Path dir = shardDir(hash);
+        Path jpg = dir.resolve(fileName(hash, size, false));
+        if (Files.isRegularFile(jpg)) {
+            return jpg;
+        }
+        Path png = dir.resolve(fileName(hash, size, true));
+        return Files.isRegularFile(png) ? png : null;
+    }
+
+    private boolean variantExists(String hash, int size) {
+        Path dir = shardDir(hash);
+        return Files.isRegularFile(dir.resolve(fileName(hash, size, false)))
+                || Files.isRegularFile(dir.resolve(fileName(hash, size, true)));
+    }
+
+    private Path shardDir(String hash) {
+        return root.resolve(hash.substring(0, 2)).resolve(hash.substring(2, 4));
+    }
+
+    private static String fileName(String hash, int size, boolean png) {
+        return hash + "-" + size + (png ? ".png" : ".jpg");
+    }
+
+    /**
+     * 解码前先读取图像尺寸，拒绝像素数过大的图片（防止解压炸弹）
+     */
+    private BufferedImage decode(byte[] data) {
+        try (ImageInputStream input = ImageIO.createImageInputStream(new ByteArrayInputStream(data))) {
+            Iterator<ImageReader> readers = input != null ? ImageIO.getImageReaders(input) : null;
+            if (readers == null || !readers.hasNext()) {
+                throw new BusinessException(ErrorCode.BAD_REQUEST, "不支持的头像图片格式");
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+                long pixels = (long) reader.getWidth(0) * reader.getHeight(0);
+                if (pixels > config.getMaxSourcePixels()) {
+                    throw new BusinessException(ErrorCode.BAD_REQUEST, "头像图片分辨率过大");
+                }
+                return reader.read(0);
+            } finally {
+                reader.dispose();
+            }
+        } catch (IOException e) {
+            throw new BusinessException(ErrorCode.BAD_REQUEST, "头像图片无法解析");
+        }
+    }
+
+    /**
+     * 居中裁剪为正方形后缩放到目标尺寸（不放大），逐级减半以保证缩小质量
+     */
+    private static BufferedImage squareResize(BufferedImage source, int size, boolean alpha) {
+        int side = Math.min(source.getWidth(), source.getHeight());
+        BufferedImage current = source.getSubimage(
+                (source.getWidth() - side) / 2, (source.getHeight() - side) / 2, side, side);
+        int target = Math.min(size, side);
+        int type = alpha ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB;
+
+        int currentSide = side;
+        do {
+            currentSide = Math.max(target, currentSide / 2);
+            BufferedImage next = new BufferedImage(currentSide, currentSide, type);
+            Graphics2D g = next.createGraphics();
+            try {
+                g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+                g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+                g.drawImage(current, 0, 0, currentSide, currentSide, null);
+            } finally {
+                g.dispose();
+            }
+            current = next;
+        } while (currentSide > target);
+        return current;
+    }
+
+    /**
+     * 先写临时文件再原子改名，并发写入同一哈希时不会读到半个文件
+     */
+    private void writeAtomically(Path dir, String name, BufferedImage image, boolean png) throws IOException {
+        Path target = dir.resolve(name);
+        if (Files.exists(target)) {
+            return;
+        }
+        Path temp = Files.createTempFile(dir, name, ".tmp");
+        try {
+            try (OutputStream out = Files.newOutputStream(temp)) {
+                if (png) {
+                    ImageIO.write(image, "png", out);
+                } else {
+                    writeJpeg(image, out);
+                }
+            }
+            try {
+                Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private void writeJpeg(BufferedImage image, OutputStream out) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        try (ImageOutputStream output = ImageIO.createImageOutputStream(out)) {
+            writer.setOutput(output);
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(config.getJpegQuality());
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+    }
+
+    private static String sha256(byte[] data) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(data));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,522 @@
+package com.erickwu.backend.service;
+
+import com.erickwu.backend.config.SearchConfig;
+import com.erickwu.backend.dto.CandidateSearchDTO;
+import com.erickwu.backend.entity.Education;
+import com.erickwu.backend.entity.Resume;
+import com.erickwu.backend.entity.ResumeVersion;
+import com.erickwu.backend.entity.Skill;
+import com.erickwu.backend.entity.WorkExperience;
+import com.erickwu.backend.mapper.EducationMapper;
+import com.erickwu.backend.mapper.ResumeMapper;
+import com.erickwu.backend.mapper.ResumeVersionMapper;
+import com.erickwu.backend.mapper.SkillMapper;
+import com.erickwu.backend.mapper.WorkExperienceMapper;
+import com.erickwu.backend.metrics.MetricsRegistry;
+import com.erickwu.backend.model.PageResult;
+import com.erickwu.backend.util.TransactionHooks;
+import com.erickwu.backend.vo.CandidateSearchVO;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Collectors;
+
+/**
+ * 候选人全文检索
+ * 在内存中维护按简历划分的倒排索引，覆盖简历基本信息、技能、工作经历、教育经历和最新版本原文，
+ * 按字段加权的 BM25 排序，支持技能熟练度、学历和工作年限过滤。
+ * 简历变更提交后记入待刷新集合，由定时任务批量从数据库重新加载
+ */
+@Service
+public class CandidateSearchService {
+
+    private static final Logger logger = LoggerFactory.getLogger(CandidateSearchService.class);
+
+    private static final int FIELD_PROFILE = 0;
+    private static final int FIELD_SKILL = 1;
+    private static final int FIELD_WORK = 2;
+    private static final int FIELD_EDUCATION = 3;
+    private static final int FIELD_RAW_TEXT = 4;
+    private static final int FIELD_COUNT = 5;
+    private static final int TOP_SKILLS = 5;
+    private static final String[] DEGREES = {"", "大专", "本科", "硕士", "博士"};
+
+    private final SearchConfig config;
+    private final ResumeMapper resumeMapper;
+    private final SkillMapper skillMapper;
+    private final EducationMapper educationMapper;
+    private final WorkExperienceMapper workExperienceMapper;
+    private final ResumeVersionMapper versionMapper;
+    private final MetricsRegistry metrics;
+    private final ThreadPoolExecutor searchIndexExecutor;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    /** 词 → (简历ID → 各字段词频) */
+    private final Map<String, Map<Long, int[]>> postings = new HashMap<>();
+    private final Map<Long, IndexedDoc> docs = new HashMap<>();
+    private final long[] totalFieldLength = new long[FIELD_COUNT];
+    private final Set<Long> dirty = ConcurrentHashMap.newKeySet();
+    private volatile boolean ready;
+
+    public CandidateSearchService(SearchConfig config,
+                                  ResumeMapper resumeMapper,
+                                  SkillMapper skillMapper,
+                                  EducationMapper educationMapper,
+                                  WorkExperienceMapper workExperienceMapper,
+                                  ResumeVersionMapper versionMapper,
+                                  MetricsRegistry metrics,
+                                  @Qualifier("searchIndexExecutor") ThreadPoolExecutor searchIndexExecutor) {
+        this.config = config;
+        this.resumeMapper = resumeMapper;
+        this.skillMapper = skillMapper;
+        this.educationMapper = educationMapper;
+        this.workExperienceMapper = workExperienceMapper;
+        this.versionMapper = versionMapper;
+        this.metrics = metrics;
+        this.searchIndexExecutor = searchIndexExecutor;
+
+        metrics.gauge("search.index.docs", this::size);
+        metrics.gauge("search.index.terms", this::termCount);
+        metrics.gauge("search.index.dirty", dirty::size);
+    }
+
+    /**
+     * 启动后在索引线程上全量构建；构建期间的变更留在待刷新集合中，构建完成后再处理
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildIndex() {
+        if (!config.isEnabled()) {
+            return;
+        }
+        try {
+            searchIndexExecutor.execute(this::rebuild);
+        } catch (RejectedExecutionException e) {
+            logger.warn("检索索引构建任务提交失败", e);
+        }
+    }
+
+    /**
+     * 按简历ID游标分页全量构建
+     */
+    public void rebuild() {
+        long startTime = System.currentTimeMillis();
+        int count = 0;
+        long cursor = 0;
+        try {
+            while (true) {
+                List<Resume> page = resumeMapper.findPageAfter(cursor, config.getBuildPageSize());
+                if (page.isEmpty()) {
+                    break;
+                }
+                indexResumes(page);
+                count += page.size();
+                cursor = page.get(page.size() - 1).getId();
+            }
+            ready = true;
+            metrics.record("search.index.build", System.currentTimeMillis() - startTime);
+            logger.info("候选人检索索引构建完成: {} 份简历, {} 个词, 耗时 {} ms",
+                    count, termCount(), System.currentTimeMillis() - startTime);
+        } catch (RuntimeException e) {
+            logger.error("候选人检索索引构建失败，已索引 {} 份简历", count, e);
+        }
+    }
+
+    /**
+     * 简历及其技能、经历、版本变更时调用，事务提交后记入待刷新集合
+     */
+    public void markDirty(Long resumeId) {
+        if (resumeId == null || !config.isEnabled()) {
+            return;
+        }
+        TransactionHooks.afterCommit(() -> dirty.add(resumeId));
+    }
+
+    /**
+     * 批量刷新变更的简历：仍存在的重新索引，已删除的移出索引
+     */
+    @Scheduled(fixedDelayString = "${search.refresh-millis:2000}")
+    public void refreshDirty() {
+        if (!ready || dirty.isEmpty()) {
+            return;
+        }
+        List<Long> ids = new ArrayList<>(dirty);
+        dirty.removeAll(ids);
+        try {
+            for (int from = 0; from < ids.size(); from += config.getBuildPageSize()) {
+                List<Long> batch = ids.subList(from, Math.min(ids.size(), from + config.getBuildPageSize()));
+                List<Resume> resumes = resumeMapper.findByIds(batch);
+                Set<Long> removed = new HashSet<>(batch);
+                resumes.forEach(resume -> removed.remove(resume.getId()));
+                if (!resumes.isEmpty()) {
+                    indexResumes(resumes);
+                }
+                if (!removed.isEmpty()) {
+                    lock.writeLock().lock();
+                    try {
+                        removed.forEach(this::removeDoc);
+                    } finally {
+                        lock.writeLock().unlock();
+                    }
+                }
+            }
+            metrics.add("search.index.refreshed", ids.size());
+        } catch (RuntimeException e) {
+            // 放回待刷新集合，下一轮重试
+            dirty.addAll(ids);
+            logger.warn("候选人检索索引增量刷新失败: {}", e.getMessage());
+        }
+    }
+
+    // ==================== 检索 ====================
+
+    public PageResult<CandidateSearchVO> search(CandidateSearchDTO query) {
+        long startTime = System.nanoTime();
+        int page = Math.max(1, query.getPage() != null ? query.getPage() : 1);
+        int size = Math.max(1, Math.min(config.getMaxPageSize(), query.getSize() != null ? query.getSize() : 20));
+        Set<String> terms = new LinkedHashSet<>(TextTokenizer.tokenize(query.getKeyword()));
+        String skill = query.getSkill() != null && !query.getSkill().isBlank()
+                ? query.getSkill().trim().toLowerCase(Locale.ROOT) : null;
+        int minSkillLevel = query.getMinSkillLevel() != null ? query.getMinSkillLevel() : (skill != null ? 1 : 0);
+        int minDegree = degreeRank(query.getDegree());
+        int minYears = query.getMinYears() != null ? query.getMinYears() : 0;
+
+        List<ScoredDoc> matches = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            if (terms.isEmpty()) {
+                for (IndexedDoc doc : docs.values()) {
+                    if (accept(doc, skill, minSkillLevel, minDegree, minYears)) {
+                        matches.add(new ScoredDoc(doc, 0));
+                    }
+                }
+                matches.sort(Comparator.comparing((ScoredDoc d) -> d.doc.resumeId).reversed());
+            } else {
+                Map<Long, Double> scores = score(terms);
+                for (Map.Entry<Long, Double> entry : scores.entrySet()) {
+                    IndexedDoc doc = docs.get(entry.getKey());
+                    if (doc != null && accept(doc, skill, minSkillLevel, minDegree, minYears)) {
+                        matches.add(new ScoredDoc(doc, entry.getValue()));
+                    }
+                }
+                matches.sort(Comparator.comparingDouble((ScoredDoc d) -> d.score).reversed()
+                        .thenComparing(d -> d.doc.resumeId));
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        int from = Math.min(matches.size(), (page - 1) * size);
+        int to = Math.min(matches.size(), from + size);
+        List<CandidateSearchVO> list = matches.subList(from, to).stream()
+                .map(this::convertToVO)
+                .collect(Collectors.toList());
+        metrics.record("search.query", (System.nanoTime() - startTime) / 1_000_000);
+        return new PageResult<>(page, size, matches.size(), list);
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * 按字段分别计算 BM25 后加权求和，idf 按简历数计算
+     */
+    private Map<Long, Double> score(Set<String> terms) {
+        double[] boosts = {config.getProfileBoost(), config.getSkillBoost(), config.getWorkBoost(),
+                config.getEducationBoost(), config.getRawTextBoost()};
+        int docCount = docs.size();
+        double[] avgLength = new double[FIELD_COUNT];
+        for (int f = 0; f < FIELD_COUNT; f++) {
+            avgLength[f] = docCount > 0 ? Math.max(1.0, (double) totalFieldLength[f] / docCount) : 1.0;
+        }
+        double k1 = config.getK1();
+        double b = config.getB();
+
+        Map<Long, Double> scores = new HashMap<>();
+        for (String term : terms) {
+            Map<Long, int[]> posting = postings.get(term);
+            if (posting == null) {
+                continue;
+            }
+            double idf = Math.log(1 + (docCount - posting.size() + 0.5) / (posting.size() + 0.5));
+            for (Map.Entry<Long, int[]> entry : posting.entrySet()) {
+                int[] tf = entry.getValue();
+                int[] length = docs.get(entry.getKey()).fieldLength;
+                double sum = 0;
+                for (int f = 0; f < FIELD_COUNT; f++) {
+                    if (tf[f] == 0) {
+                        continue;
+                    }
+                    double norm = k1 * (1 - b + b * length[f] / avgLength[f]);
+                    sum += boosts[f] * tf[f] * (k1 + 1) / (tf[f] + norm);
+                }
+                scores.merge(entry.getKey(), idf * sum, Double::sum);
+            }
+        }
+        return scores;
+    }
+
+    private static boolean accept(IndexedDoc doc, String skill, int minSkillLevel, int minDegree, int minYears) {
+        if (doc.degreeRank < minDegree || doc.workYears < minYears) {
+            return false;
+        }
+        if (skill != null) {
+            Integer level = doc.skillLevels.get(skill);
+            return level != null && level >= minSkillLevel;
+        }
+        if (minSkillLevel > 0) {
+            return doc.skillLevels.values().stream().anyMatch(level -> level >= minSkillLevel);
+        }
+        return true;
+    }
+
+    // ==================== 索引维护 ====================
+
+    /**
+     * 批量加载简历关联数据（每类一条 IN 查询）并写入索引
+     */
+    private void indexResumes(List<Resume> resumes) {
+        List<Long> ids = resumes.stream().map(Resume::getId).collect(Collectors.toList());
+        Map<Long, List<Skill>> skills = skillMapper.findByResumeIds(ids).stream()
+                .collect(Collectors.groupingBy(Skill::getResumeId));
+        Map<Long, List<Education>> educations = educationMapper.findByResumeIds(ids).stream()
+                .collect(Collectors.groupingBy(Education::getResumeId));
+        Map<Long, List<WorkExperience>> works = workExperienceMapper.findByResumeIds(ids).stream()
+                .collect(Collectors.groupingBy(WorkExperience::getResumeId));
+        Map<Long, String> rawTexts = new HashMap<>();
+        for (ResumeVersion version : versionMapper.findLatestRawTextByResumeIds(ids)) {
+            if (version.getRawText() != null) {
+                rawTexts.put(version.getResumeId(), version.getRawText());
+            }
+        }
+
+        List<PreparedDoc> prepared = new ArrayList<>(resumes.size());
+        for (Resume resume : resumes) {
+            prepared.add(prepare(resume,
+                    skills.getOrDefault(resume.getId(), List.of()),
+                    educations.getOrDefault(resume.getId(), List.of()),
+                    works.getOrDefault(resume.getId(), List.of()),
+                    rawTexts.get(resume.getId())));
+        }
+
+        lock.writeLock().lock();
+        try {
+            for (PreparedDoc doc : prepared) {
+                removeDoc(doc.info.resumeId);
+                addDoc(doc);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 在锁外完成分词和过滤属性计算
+     */
+    private PreparedDoc prepare(Resume resume, List<Skill> skills, List<Education> educations,
+                                List<WorkExperience> works, String rawText) {
+        IndexedDoc info = new IndexedDoc();
+        info.resumeId = resume.getId();
+        info.userId = resume.getUserId();
+        info.realName = resume.getRealName();
+        info.targetPosition = resume.getTargetPosition();
+
+        String[] texts = new String[FIELD_COUNT];
+        texts[FIELD_PROFILE] = join(resume.getTitle(), resume.getRealName(), resume.getTargetPosition(),
+                resume.getWorkCity(), resume.getSchool(), resume.getMajor(), resume.getEducation(),
+                resume.getSelfIntroduction());
+
+        StringBuilder skillText = new StringBuilder();
+        for (Skill skill : skills) {
+            skillText.append(join(skill.getName(), skill.getCategory())).append('\n');
+            if (skill.getName() != null) {
+                info.skillLevels.merge(skill.getName().trim().toLowerCase(Locale.ROOT),
+                        skill.getLevel() != null ? skill.getLevel() : 0, Math::max);
+            }
+        }
+        texts[FIELD_SKILL] = skillText.toString();
+        info.topSkills = skills.stream()
+                .filter(s -> s.getName() != null)
+                .sorted(Comparator.comparing((Skill s) -> s.getLevel() != null ? s.getLevel() : 0).reversed())
+                .limit(TOP_SKILLS)
+                .map(Skill::getName)
+                .collect(Collectors.toList());
+
+        StringBuilder workText = new StringBuilder();
+        long months = 0;
+        for (WorkExperience work : works) {
+            workText.append(join(work.getCompany(), work.getPosition(), work.getDepartment(),
+                    work.getDescription(), work.getAchievements())).append('\n');
+            if (work.getStartDate() != null) {
+                LocalDate end = work.getEndDate() != null ? work.getEndDate() : LocalDate.now();
+                months += Math.max(0, ChronoUnit.MONTHS.between(work.getStartDate(), end));
+            }
+        }
+        texts[FIELD_WORK] = workText.toString();
+        info.workYears = Math.max((int) (months / 12),
+                resume.getWorkExperience() != null ? resume.getWorkExperience() : 0);
+
+        StringBuilder educationText = new StringBuilder();
+        info.degreeRank = degreeRank(resume.getEducation());
+        for (Education education : educations) {
+            educationText.append(join(education.getSchool(), education.getMajor(), education.getDegree(),
+                    education.getDescription())).append('\n');
+            info.degreeRank = Math.max(info.degreeRank, degreeRank(education.getDegree()));
+        }
+        texts[FIELD_EDUCATION] = educationText.toString();
+
+        if (rawText != null && rawText.length() > config.getRawTextMaxChars()) {
+            rawText = rawText.substring(0, config.getRawTextMaxChars());
+        }
+        texts[FIELD_RAW_TEXT] = rawText;
+
+        Map<String, int[]> termFrequencies = new HashMap<>();
+        for (int f = 0; f < FIELD_COUNT; f++) {
+            List<String> tokens = TextTokenizer.tokenize(texts[f]);
+            info.fieldLength[f] = tokens.size();
+            for (String token : tokens) {
+                termFrequencies.computeIfAbsent(token, t -> new int[FIELD_COUNT])[f]++;
+            }
+        }
+        return new PreparedDoc(info, termFrequencies);
+    }
+
+    private void addDoc(PreparedDoc doc) {
+        IndexedDoc info = doc.info;
+        for (Map.Entry<String, int[]> entry : doc.termFrequencies.entrySet()) {
+            postings.computeIfAbsent(entry.getKey(), t -> new HashMap<>()).put(info.resumeId, entry.getValue());
+        }
+        info.terms = doc.termFrequencies.keySet().toArray(new String[0]);
+        for (int f = 0; f < FIELD_COUNT; f++) {
+            totalFieldLength[f] += info.fieldLength[f];
+        }
+        docs.put(info.resumeId, info);
+    }
+
+    private void removeDoc(Long resumeId) {
+        IndexedDoc old = docs.remove(resumeId);
+        if (old == null) {
+            return;
+        }
+        for (String term : old.terms) {
+            Map<Long, int[]> posting = postings.get(term);
+            if (posting != null) {
+                posting.remove(resumeId);
+                if (posting.isEmpty()) {
+                    postings.remove(term);
+                }
+            }
+        }
+        for (int f = 0; f < FIELD_COUNT; f++) {
+            totalFieldLength[f] -= old.fieldLength[f];
+        }
+    }
+
+    private int size() {
+        lock.readLock().lock();
+        try {
+            return docs.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private int termCount() {
+        lock.readLock().lock();
+        try {
+            return postings.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private CandidateSearchVO convertToVO(ScoredDoc scored) {
+        IndexedDoc doc = scored.doc;
+        CandidateSearchVO vo = new CandidateSearchVO();
+        vo.setResumeId(doc.resumeId);
+        vo.setUserId(doc.userId);
+        vo.setRealName(doc.realName);
+        vo.setTargetPosition(doc.targetPosition);
+        vo.setHighestDegree(doc.degreeRank > 0 ? DEGREES[doc.degreeRank] : null);
+        vo.setWorkYears(doc.workYears);
+        vo.setTopSkills(doc.topSkills);
+        vo.setScore(scored.score);
+        return vo;
+    }
+
+    /**
+     * 学历等级：大专 1、本科 2、硕士 3、博士 4，无法识别为 0
+     */
+    private static int degreeRank(String degree) {
+        if (degree == null || degree.isBlank()) {
+            return 0;
+        }
+        String value = degree.toLowerCase(Locale.ROOT);
+        if (value.contains("博士") || value.contains("phd") || value.contains("doctor")) {
+            return 4;
+        }
+        if (value.contains("硕士") || value.contains("研究生") || value.contains("master")) {
+            return 3;
+        }
+        if (value.contains("本科") || value.contains("学士") || value.contains("bachelor")) {
+            return 2;
+        }
+        if (value.contains("大专") || value.contains("专科")) {
+            return 1;
+        }
+        return 0;
+    }
+
+    private static String join(String... parts) {
+        StringBuilder sb = new StringBuilder();
+        for (String part : parts) {
+            if (part != null && !part.isEmpty()) {
+                sb.append(part).append(' ');
+            }
+        }
+        return sb.toString();
+    }
+
+
+    /**
+     * 已索引简历的展示字段、过滤属性和各字段长度
+     */
+    private static class IndexedDoc {
+        private Long resumeId;
+        private Long userId;
+        private String realName;
+        private String targetPosition;
+        private List<String> topSkills;
+        private final Map<String, Integer> skillLevels = new HashMap<>();
+        private int degreeRank;
+        private int workYears;
+        private final int[] fieldLength = new int[FIELD_COUNT];
+        private String[] terms;
+    }
+
+    private record PreparedDoc(IndexedDoc info, Map<String, int[]> termFrequencies) {
+    }
+
+    private record ScoredDoc(IndexedDoc doc, double score) {
+    }
+}
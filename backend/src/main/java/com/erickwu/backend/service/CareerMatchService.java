@@ -0,0 +1,373 @@
+package com.erickwu.backend.service;
+
+import com.erickwu.backend.config.BusinessException;
+import com.erickwu.backend.entity.CareerDict;
+import com.erickwu.backend.entity.Resume;
+import com.erickwu.backend.entity.Skill;
+import com.erickwu.backend.mapper.CareerDictMapper;
+import com.erickwu.backend.mapper.ResumeMapper;
+import com.erickwu.backend.mapper.SkillMapper;
+import com.erickwu.backend.metrics.MetricsRegistry;
+import com.erickwu.backend.model.ErrorCode;
+import com.erickwu.backend.vo.CareerMatchVO;
+import com.erickwu.backend.vo.ResumeCareerMatchVO;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * 技能 - 职业匹配
+ * 职业字典加载为整数编号的紧凑结构：技能名驻留为技能ID，每条技能要求为一个要求组
+ * （"Vue/React" 这类写法拆成组内的可选技能），每个职业是要求组ID数组。
+ * 匹配时按技能熟练度和年限计算各要求组的满足度，再对所有职业求平均，单次匹配为微秒级。
+ * 字典变更通过内容签名检测，重新构建后整体替换模型，读取无需加锁
+ */
+@Service
+public class CareerMatchService {
+
+    private static final Logger logger = LoggerFactory.getLogger(CareerMatchService.class);
+
+    /** 低于该满足度的已有技能视为需提升 */
+    private static final float WEAK_THRESHOLD = 0.6f;
+    private static final int MAX_TOP_N = 20;
+
+    private final CareerDictMapper careerDictMapper;
+    private final ResumeMapper resumeMapper;
+    private final SkillMapper skillMapper;
+    private final ObjectMapper objectMapper;
+    private final MetricsRegistry metrics;
+
+    private volatile Model model = Model.EMPTY;
+    private volatile String signature;
+
+    public CareerMatchService(CareerDictMapper careerDictMapper,
+                              ResumeMapper resumeMapper,
+                              SkillMapper skillMapper,
+                              ObjectMapper objectMapper,
+                              MetricsRegistry metrics) {
+        this.careerDictMapper = careerDictMapper;
+        this.resumeMapper = resumeMapper;
+        this.skillMapper = skillMapper;
+        this.objectMapper = objectMapper;
+        this.metrics = metrics;
+
+        metrics.gauge("career.dict.careers", () -> model.careers.length);
+        metrics.gauge("career.dict.skills", () -> model.skillIds.size());
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void init() {
+        reloadIfChanged();
+    }
+
+    /**
+     * 定期检查字典签名，变更时重新加载
+     */
+    @Scheduled(fixedDelayString = "${career.reload-check-millis:60000}",
+            initialDelayString = "${career.reload-check-millis:60000}")
+    public void reloadIfChanged() {
+        try {
+            String current = careerDictMapper.findSignature();
+            if (!Objects.equals(current, signature)) {
+                reload(current);
+            }
+        } catch (RuntimeException e) {
+            logger.warn("检查职业字典变更失败: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 强制重新加载职业字典
+     *
+     * @return 加载的职业数
+     */
+    public int reload() {
+        return reload(careerDictMapper.findSignature());
+    }
+
+    private synchronized int reload(String newSignature) {
+        long startTime = System.currentTimeMillis();
+        Model built = Model.build(careerDictMapper.findAllForMatching(), objectMapper);
+        model = built;
+        signature = newSignature;
+        metrics.increment("career.dict.reloads");
+        logger.info("职业字典已加载: {} 个职业, {} 个技能, 耗时 {} ms",
+                built.careers.length, built.skillIds.size(), System.currentTimeMillis() - startTime);
+        return built.careers.length;
+    }
+
+    // ==================== 匹配 ====================
+
+    /**
+     * 按当前用户简历中的技能匹配职业
+     */
+    public List<CareerMatchVO> matchForUser(Long userId, int topN) {
+        Resume resume = resumeMapper.findByUserId(userId);
+        if (resume == null) {
+            throw new BusinessException(ErrorCode.RESUME_NOT_FOUND);
+        }
+        return match(skillMapper.findByResumeId(resume.getId()), topN);
+    }
+
+    /**
+     * 计算技能列表与全部职业的匹配度，返回前 N 个及技能差距
+     */
+    public List<CareerMatchVO> match(List<Skill> skills, int topN) {
+        Model current = model;
+        float[] satisfaction = current.satisfaction(skills);
+        int[] top = current.topCareers(satisfaction, clampTopN(topN));
+        List<CareerMatchVO> result = new ArrayList<>(top.length);
+        for (int careerIndex : top) {
+            result.add(current.toVO(careerIndex, satisfaction));
+        }
+        return result;
+    }
+
+    /**
+     * 管理员批量视图：按简历ID游标分页，对每份简历计算前 N 个匹配职业
+     */
+    public List<ResumeCareerMatchVO> matchAll(Long afterResumeId, int limit, int topN) {
+        Model current = model;
+        int n = clampTopN(topN);
+        List<Resume> resumes = resumeMapper.findPageAfter(afterResumeId != null ? afterResumeId : 0L,
+                Math.max(1, Math.min(limit, 500)));
+        if (resumes.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, List<Skill>> skillsByResume = skillMapper.findByResumeIds(
+                        resumes.stream().map(Resume::getId).collect(Collectors.toList()))
+                .stream()
+                .collect(Collectors.groupingBy(Skill::getResumeId));
+
+        long startTime = System.nanoTime();
+        List<ResumeCareerMatchVO> result = new ArrayList<>(resumes.size());
+        for (Resume resume : resumes) {
+            float[] satisfaction = current.satisfaction(skillsByResume.getOrDefault(resume.getId(), List.of()));
+            List<CareerMatchVO> matches = new ArrayList<>(n);
+            for (int careerIndex : current.topCareers(satisfaction, n)) {
+                matches.add(current.toVO(careerIndex, satisfaction));
+            }
+            ResumeCareerMatchVO vo = new ResumeCareerMatchVO();
+            vo.setResumeId(resume.getId());
+            vo.setUserId(resume.getUserId());
+            vo.setRealName(resume.getRealName());
+            vo.setMatches(matches);
+            result.add(vo);
+        }
+        metrics.record("career.match.batch", (System.nanoTime() - startTime) / 1_000_000);
+        return result;
+    }
+
+    private static int clampTopN(int topN) {
+        return Math.max(1, Math.min(topN, MAX_TOP_N));
+    }
+
+    /**
+     * 技能名规范化：小写并去除空白和常见分隔符
+     */
+    static String normalizeSkill(String name) {
+        if (name == null) {
+            return "";
+        }
+        StringBuilder sb = new StringBuilder(name.length());
+        for (char c : name.toLowerCase(Locale.ROOT).toCharArray()) {
+            if (!Character.isWhitespace(c) && c != '-' && c != '_' && c != '.') {
+                sb.append(c);
+            }
+        }
+        return sb.toString();
+    }
+
+    /**
+     * 技能满足度：熟练度（1-5）占 80%，年限（封顶 5 年）占 20%；未标注熟练度按 0.6 计
+     */
+    static float skillWeight(Skill skill) {
+        if (skill.getLevel() == null) {
+            return 0.6f;
+        }
+        float level = Math.max(0, Math.min(5, skill.getLevel())) / 5f;
+        float years = skill.getYears() != null ? Math.max(0, Math.min(5, skill.getYears())) / 5f : 0f;
+        return level * 0.8f + years * 0.2f;
+    }
+
+    /**
+     * 不可变的匹配模型
+     */
+    private static final class Model {
+
+        static final Model EMPTY = new Model(Map.of(), new int[0][], new String[0], new int[0][], new CareerDict[0]);
+
+        /** 规范化技能名 → 技能ID */
+        final Map<String, Integer> skillIds;
+        /** 技能ID → 包含该技能的要求组ID */
+        final int[][] skillGroups;
+        /** 要求组ID → 原始写法（用于展示差距） */
+        final String[] groupLabels;
+        /** 职业下标 → 要求组ID */
+        final int[][] careerGroups;
+        final CareerDict[] careers;
+
+        private Model(Map<String, Integer> skillIds, int[][] skillGroups, String[] groupLabels,
+                      int[][] careerGroups, CareerDict[] careers) {
+            this.skillIds = skillIds;
+            this.skillGroups = skillGroups;
+            this.groupLabels = groupLabels;
+            this.careerGroups = careerGroups;
+            this.careers = careers;
+        }
+
+        static Model build(List<CareerDict> dict, ObjectMapper objectMapper) {
+            Map<String, Integer> skillIds = new HashMap<>();
+            Map<String, Integer> groupIds = new HashMap<>();
+            List<String> groupLabels = new ArrayList<>();
+            List<Set<Integer>> skillGroups = new ArrayList<>();
+            int[][] careerGroups = new int[dict.size()][];
+
+            for (int c = 0; c < dict.size(); c++) {
+                Set<Integer> groups = new LinkedHashSet<>();
+                for (String requirement : parseSkills(dict.get(c), objectMapper)) {
+                    String key = normalizeSkill(requirement);
+                    if (key.isEmpty()) {
+                        continue;
+                    }
+                    Integer groupId = groupIds.get(key);
+                    if (groupId == null) {
+                        groupId = groupLabels.size();
+                        groupIds.put(key, groupId);
+                        groupLabels.add(requirement.trim());
+                        for (String alternative : requirement.split("[/／|、]")) {
+                            String skillKey = normalizeSkill(alternative);
+                            if (skillKey.isEmpty()) {
+                                continue;
+                            }
+                            Integer skillId = skillIds.computeIfAbsent(skillKey, k -> skillIds.size());
+                            if (skillId == skillGroups.size()) {
+                                skillGroups.add(new LinkedHashSet<>());
+                            }
+                            skillGroups.get(skillId).add(groupId);
+                        }
+                    }
+                    groups.add(groupId);
+                }
+                careerGroups[c] = groups.stream().mapToInt(Integer::intValue).toArray();
+            }
+
+            int[][] skillGroupArray = new int[skillGroups.size()][];
+            for (int s = 0; s < skillGroupArray.length; s++) {
+                skillGroupArray[s] = skillGroups.get(s).stream().mapToInt(Integer::intValue).toArray();
+            }
+            return new Model(Map.copyOf(skillIds), skillGroupArray, groupLabels.toArray(new String[0]),
+                    careerGroups, dict.toArray(new CareerDict[0]));
+        }
+
+        private static List<String> parseSkills(CareerDict career, ObjectMapper objectMapper) {
+            List<String> skills = new ArrayList<>();
+            if (career.getRequiredSkills() == null || career.getRequiredSkills().isBlank()) {
+                return skills;
+            }
+            try {
+                JsonNode node = objectMapper.readTree(career.getRequiredSkills());
+                if (node.isArray()) {
+                    node.forEach(item -> skills.add(item.asText()));
+                }
+            } catch (Exception e) {
+                logger.warn("职业 {} 的技能要求不是合法 JSON: {}", career.getName(), career.getRequiredSkills());
+            }
+            return skills;
+        }
+
+        /**
+         * 计算每个要求组的满足度（组内可选技能取最高）
+         */
+        float[] satisfaction(List<Skill> skills) {
+            float[] satisfaction = new float[groupLabels.length];
+            for (Skill skill : skills) {
+                Integer skillId = skillIds.get(normalizeSkill(skill.getName()));
+                if (skillId == null) {
+                    continue;
+                }
+                float weight = skillWeight(skill);
+                for (int group : skillGroups[skillId]) {
+                    if (weight > satisfaction[group]) {
+                        satisfaction[group] = weight;
+                    }
+                }
+            }
+            return satisfaction;
+        }
+
+        float score(int careerIndex, float[] satisfaction) {
+            int[] groups = careerGroups[careerIndex];
+            if (groups.length == 0) {
+                return 0f;
+            }
+            float sum = 0f;
+            for (int group : groups) {
+                sum += satisfaction[group];
+            }
+            return sum / groups.length;
+        }
+
+        /**
+         * 选出得分最高的 n 个职业下标（职业数量有限，直接按得分排序）
+         */
+        int[] topCareers(float[] satisfaction, int n) {
+            float[] scores = new float[careers.length];
+            Integer[] order = new Integer[careers.length];
+            for (int c = 0; c < careers.length; c++) {
+                scores[c] = score(c, satisfaction);
+                order[c] = c;
+            }
+            Arrays.sort(order, (a, b) -> Float.compare(scores[b], scores[a]));
+            int count = Math.min(n, order.length);
+            int[] top = new int[count];
+            for (int i = 0; i < count; i++) {
+                top[i] = order[i];
+            }
+            return top;
+        }
+
+        CareerMatchVO toVO(int careerIndex, float[] satisfaction) {
+            CareerDict career = careers[careerIndex];
+            List<String> matched = new ArrayList<>();
+            List<String> weak = new ArrayList<>();
+            List<String> missing = new ArrayList<>();
+            for (int group : careerGroups[careerIndex]) {
+                float value = satisfaction[group];
+                if (value == 0f) {
+                    missing.add(groupLabels[group]);
+                } else if (value < WEAK_THRESHOLD) {
+                    weak.add(groupLabels[group]);
+                } else {
+                    matched.add(groupLabels[group]);
+                }
+            }
+            CareerMatchVO vo = new CareerMatchVO();
+            vo.setCareerId(career.getId());
+            vo.setName(career.getName());
+            vo.setCategory(career.getCategory());
+            vo.setSalaryRange(career.getSalaryRange());
+            vo.setScore(Math.round(score(careerIndex, satisfaction) * 100));
+            vo.setMatchedSkills(matched);
+            vo.setWeakSkills(weak);
+            vo.setMissingSkills(missing);
+            return vo;
+        }
+    }
+}
@@ -0,0 +1,214 @@
+package com.erickwu.backend.service;
+
+import com.erickwu.backend.config.ChatContextConfig;
+import com.erickwu.backend.config.LlmConfig;
+import com.erickwu.backend.entity.ChatMessage;
+import com.erickwu.backend.entity.ChatSession;
+import com.erickwu.backend.mapper.ChatMessageMapper;
+import com.erickwu.backend.mapper.ChatSessionMapper;
+import com.erickwu.backend.metrics.MetricsRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * AI 对话上下文管理
+ * 上下文 = 会话滚动摘要 + token 预算内的最近消息；
+ * 滑出窗口的早期消息由后台线程增量合并进摘要，使提示词长度与会话长度无关
+ */
+@Service
+public class ChatContextManager {
+
+    private static final Logger logger = LoggerFactory.getLogger(ChatContextManager.class);
+
+    private static final String SUMMARY_SYSTEM_PROMPT = """
+            你是对话摘要助手。请把"已有摘要"和"新增对话"合并为一份新的摘要，要求：
+            - 保留用户的背景信息、求职目标、关键事实和已给出的主要建议
+            - 省略寒暄和重复内容
+            - 使用第三人称、纯文本，不超过 %d 字
+            - 只输出摘要本身
+            """;
+
+    private final ChatSessionMapper sessionMapper;
+    private final ChatMessageMapper messageMapper;
+    private final QwenLlmService llmService;
+    private final LlmConfig llmConfig;
+    private final ChatContextConfig config;
+    private final MetricsRegistry metrics;
+    private final ThreadPoolExecutor summaryExecutor;
+    private final Set<Long> summarizing = ConcurrentHashMap.newKeySet();
+
+    public ChatContextManager(ChatSessionMapper sessionMapper,
+                              ChatMessageMapper messageMapper,
+                              QwenLlmService llmService,
+                              LlmConfig llmConfig,
+                              ChatContextConfig config,
+                              MetricsRegistry metrics,
+                              @Qualifier("chatSummaryExecutor") ThreadPoolExecutor summaryExecutor) {
+        this.sessionMapper = sessionMapper;
+        this.messageMapper = messageMapper;
+        this.llmService = llmService;
+        this.llmConfig = llmConfig;
+        this.config = config;
+        this.metrics = metrics;
+        this.summaryExecutor = summaryExecutor;
+    }
+
+    /**
+     * 对话上下文
+     *
+     * @param prompt 发送给模型的上下文文本
+     * @param firstMessage 是否为会话的第一条消息
+     * @param windowStartId 窗口内最早消息的ID，更早的消息应合并进摘要
+     * @param overflow 窗口外是否还有未合并进摘要的消息
+     */
+    public record ChatContext(String prompt, boolean firstMessage, long windowStartId, boolean overflow) {
+    }
+
+    /**
+     * 构建会话上下文，只读取摘要进度之后的最近若干条消息
+     */
+    public ChatContext build(Long sessionId) {
+        ChatSession session = sessionMapper.findById(sessionId);
+        String summary = session != null ? session.getSummary() : null;
+        long summaryUntilId = session != null && session.getSummaryUntilId() != null ? session.getSummaryUntilId() : 0L;
+
+        int limit = Math.max(1, config.getMaxMessages());
+        List<ChatMessage> tail = messageMapper.findTail(sessionId, summaryUntilId, limit);
+
+        // 从最新消息向前累加，最新一条（用户本次提问）始终保留
+        int budget = config.getMaxTokens() - estimateTokens(summary);
+        List<ChatMessage> window = new ArrayList<>();
+        int used = 0;
+        for (ChatMessage message : tail) {
+            int tokens = tokensOf(message);
+            if (!window.isEmpty() && used + tokens > budget) {
+                break;
+            }
+            window.add(message);
+            used += tokens;
+        }
+        Collections.reverse(window);
+
+        StringBuilder prompt = new StringBuilder();
+        if (summary != null && !summary.isEmpty()) {
+            prompt.append("此前对话摘要: ").append(summary).append("\n\n");
+        }
+        for (ChatMessage message : window) {
+            appendMessage(prompt, message);
+        }
+
+        metrics.record("chat.context.tokens", used + estimateTokens(summary));
+        boolean overflow = window.size() < tail.size() || tail.size() == limit;
+        boolean firstMessage = summaryUntilId == 0 && tail.size() == 1;
+        long windowStartId = window.isEmpty() ? 0L : window.get(0).getId();
+        return new ChatContext(prompt.toString(), firstMessage, windowStartId, overflow);
+    }
+
+    /**
+     * 如窗口外仍有未合并的消息，提交后台任务把它们合并进摘要
+     * 同一会话同一时间只有一个摘要任务；线程池繁忙时跳过，下次对话再补
+     */
+    public void summarizeIfNeeded(Long sessionId, ChatContext context) {
+        if (!context.overflow() || llmConfig.isMockMode()) {
+            return;
+        }
+        if (!summarizing.add(sessionId)) {
+            return;
+        }
+        try {
+            summaryExecutor.execute(() -> {
+                try {
+                    summarize(sessionId, context.windowStartId());
+                } catch (RuntimeException e) {
+                    metrics.increment("chat.summary.errors");
+                    logger.warn("会话 {} 摘要更新失败: {}", sessionId, e.getMessage());
+                } finally {
+                    summarizing.remove(sessionId);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            summarizing.remove(sessionId);
+            metrics.increment("chat.summary.skipped");
+        }
+    }
+
+    private void summarize(Long sessionId, long beforeId) {
+        ChatSession session = sessionMapper.findById(sessionId);
+        if (session == null) {
+            return;
+        }
+        long summaryUntilId = session.getSummaryUntilId() != null ? session.getSummaryUntilId() : 0L;
+        List<ChatMessage> batch = messageMapper.findRange(sessionId, summaryUntilId, beforeId,
+                config.getSummaryBatchSize());
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        StringBuilder input = new StringBuilder();
+        input.append("已有摘要:\n")
+                .append(session.getSummary() == null || session.getSummary().isEmpty() ? "（无）" : session.getSummary())
+                .append("\n\n新增对话:\n");
+        for (ChatMessage message : batch) {
+            appendMessage(input, message);
+        }
+
+        long startTime = System.currentTimeMillis();
+        String summary = llmService.chat(SUMMARY_SYSTEM_PROMPT.formatted(config.getSummaryMaxChars()),
+                input.toString()).trim();
+        metrics.record("chat.summary.duration", System.currentTimeMillis() - startTime);
+
+        long newUntilId = batch.get(batch.size() - 1).getId();
+        sessionMapper.updateSummary(sessionId, summary, newUntilId);
+        logger.info("会话 {} 摘要已合并至消息 {}", sessionId, newUntilId);
+    }
+
+    private static void appendMessage(StringBuilder builder, ChatMessage message) {
+        if ("user".equals(message.getRole())) {
+            builder.append("用户: ").append(message.getContent()).append("\n\n");
+        } else {
+            builder.append("助手: ").append(message.getContent()).append("\n\n");
+        }
+    }
+
+    /**
+     * 历史消息未记录 token 数时现场估算
+     */
+    private static int tokensOf(ChatMessage message) {
+        Integer stored = message.getTokenCount();
+        return stored != null && stored > 0 ? stored : estimateTokens(message.getContent());
+    }
+
+    /**
+     * 粗略估算 token 数：中日韩字符按 1 个 token 计，其余字符按 4 个字符 1 个 token 计
+     */
+    public static int estimateTokens(String text) {
+        if (text == null || text.isEmpty()) {
+            return 0;
+        }
+        int cjk = 0;
+        int other = 0;
+        for (int i = 0; i < text.length(); ) {
+            int codePoint = text.codePointAt(i);
+            if (Character.isIdeographic(codePoint)
+                    || Character.UnicodeScript.of(codePoint) == Character.UnicodeScript.HANGUL
+                    || Character.UnicodeScript.of(codePoint) == Character.UnicodeScript.HIRAGANA
+                    || Character.UnicodeScript.of(codePoint) == Character.UnicodeScript.KATAKANA) {
+                cjk++;
+            } else {
+                other++;
+            }
+            i += Character.charCount(codePoint);
+        }
+        return cjk + (other + 3) / 4;
+    }
+}
@@ -3,6 +3,7 @@ package com.erickwu.backend.service;
 import com.erickwu.backend.dto.ChatMessageDTO;
 import com.erickwu.backend.vo.ChatMessageVO;
 import com.erickwu.backend.vo.ChatSessionVO;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.List;
 
@@ -31,6 +32,12 @@ public interface ChatService {
      */
     ChatMessageVO sendMessage(Long userId, ChatMessageDTO dto);
 
+    /**
+     * 发送消息并以 SSE 流式返回 AI 回复
+     * 事件：session（会话ID）、token（增量文本）、done（完整消息）、error
+     */
+    SseEmitter streamMessage(Long userId, ChatMessageDTO dto);
+
     /**
      * 更新会话标题
      */
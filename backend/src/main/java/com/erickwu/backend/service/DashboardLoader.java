@@ -0,0 +1,118 @@
+package com.erickwu.backend.service;
+
+import com.erickwu.backend.config.DashboardConfig;
+import com.erickwu.backend.metrics.MetricsRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Service;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Dashboard 整页数据加载器
+ * 各区块并发加载，整页共享一个时间预算；超时或出错的区块返回 null，
+ * 并在 sectionStatus 中标记状态，其余区块照常返回
+ */
+@Service
+public class DashboardLoader {
+
+    private static final Logger logger = LoggerFactory.getLogger(DashboardLoader.class);
+
+    public static final String STATUS_OK = "OK";
+    public static final String STATUS_TIMEOUT = "TIMEOUT";
+    public static final String STATUS_ERROR = "ERROR";
+
+    private final DashboardService dashboardService;
+    private final DashboardConfig config;
+    private final MetricsRegistry metrics;
+    private final ThreadPoolExecutor dashboardExecutor;
+
+    public DashboardLoader(DashboardService dashboardService,
+                           DashboardConfig config,
+                           MetricsRegistry metrics,
+                           @Qualifier("dashboardExecutor") ThreadPoolExecutor dashboardExecutor) {
+        this.dashboardService = dashboardService;
+        this.config = config;
+        this.metrics = metrics;
+        this.dashboardExecutor = dashboardExecutor;
+    }
+
+    /**
+     * 加载 Dashboard 全部区块
+     *
+     * @param userId 用户ID
+     * @param period 学习趋势时间周期
+     * @return 各区块数据及 sectionStatus（区块名 -> OK/TIMEOUT/ERROR）
+     */
+    public Map<String, Object> loadAll(Long userId, String period) {
+        long startTime = System.currentTimeMillis();
+        long deadline = startTime + config.getSectionTimeoutMillis();
+
+        Map<String, Callable<Object>> sections = new LinkedHashMap<>();
+        sections.put("overview", () -> dashboardService.getOverview(userId));
+        sections.put("trend", () -> dashboardService.getLearningTrend(userId, period));
+        sections.put("skillDistribution", () -> dashboardService.getSkillDistribution(userId));
+        sections.put("skillLevel", () -> dashboardService.getSkillLevelDistribution(userId));
+        sections.put("activities", () -> dashboardService.getRecentActivities(userId, 10));
+
+        Map<String, Future<Object>> futures = new LinkedHashMap<>();
+        sections.forEach((name, section) -> futures.put(name, submit(section)));
+
+        Map<String, Object> data = new HashMap<>();
+        Map<String, String> status = new LinkedHashMap<>();
+        for (Map.Entry<String, Future<Object>> entry : futures.entrySet()) {
+            String name = entry.getKey();
+            Future<Object> future = entry.getValue();
+            long remaining = Math.max(0L, deadline - System.currentTimeMillis());
+            try {
+                data.put(name, future.get(remaining, TimeUnit.MILLISECONDS));
+                status.put(name, STATUS_OK);
+            } catch (TimeoutException e) {
+                future.cancel(true);
+                data.put(name, null);
+                status.put(name, STATUS_TIMEOUT);
+                metrics.increment("dashboard.section." + name + ".timeout");
+                logger.warn("Dashboard 区块 {} 加载超时，用户ID: {}", name, userId);
+            } catch (ExecutionException e) {
+                data.put(name, null);
+                status.put(name, STATUS_ERROR);
+                metrics.increment("dashboard.section." + name + ".error");
+                logger.error("Dashboard 区块 {} 加载失败，用户ID: {}", name, userId, e.getCause());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                future.cancel(true);
+                data.put(name, null);
+                status.put(name, STATUS_TIMEOUT);
+            }
+        }
+        data.put("sectionStatus", status);
+
+        metrics.record("dashboard.all.duration", System.currentTimeMillis() - startTime);
+        return data;
+    }
+
+    /**
+     * 提交区块任务；线程池已满时在当前线程上直接计算
+     */
+    private Future<Object> submit(Callable<Object> section) {
+        try {
+            return dashboardExecutor.submit(section);
+        } catch (RejectedExecutionException e) {
+            metrics.increment("dashboard.loader.rejected");
+            FutureTask<Object> task = new FutureTask<>(section);
+            task.run();
+            return task;
+        }
+    }
+}
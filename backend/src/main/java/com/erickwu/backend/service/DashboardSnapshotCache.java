@@ -0,0 +1,187 @@
+package com.erickwu.backend.service;
+
+import com.erickwu.backend.config.DashboardConfig;
+import com.erickwu.backend.metrics.MetricsRegistry;
+import com.erickwu.backend.vo.CategoryDataVO;
+import com.erickwu.backend.vo.DashboardOverviewVO;
+import com.erickwu.backend.util.TransactionHooks;
+import com.erickwu.backend.vo.RecentActivityVO;
+import org.springframework.stereotype.Component;
+
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * 用户 Dashboard 快照缓存
+ * 快照由一次数据读取计算出全部聚合结果，简历相关数据变更时主动失效
+ */
+@Component
+public class DashboardSnapshotCache {
+
+    /**
+     * Dashboard 聚合快照（只读）
+     */
+    public record Snapshot(Long resumeId,
+                           DashboardOverviewVO overview,
+                           List<CategoryDataVO> skillDistribution,
+                           List<CategoryDataVO> skillLevelDistribution,
+                           List<RecentActivityVO> activities) {
+    }
+
+    private record Entry(Snapshot snapshot, long expiresAt) {
+    }
+
+    /**
+     * 进行中的构建；构建期间发生的失效记录在这里，结果只对失效涉及的用户/简历作废
+     */
+    private static final class Build {
+        final CompletableFuture<Snapshot> future = new CompletableFuture<>();
+        // 以下字段由缓存锁保护
+        boolean invalidated;
+        Set<Long> staleResumeIds;
+
+        boolean isStale(Snapshot snapshot) {
+            return invalidated || (staleResumeIds != null && staleResumeIds.contains(snapshot.resumeId()));
+        }
+    }
+
+    private final DashboardConfig config;
+    private final MetricsRegistry metrics;
+    private final Map<Long, Entry> snapshots;
+    private final Map<Long, Long> resumeOwners = new ConcurrentHashMap<>();
+    private final Map<Long, Build> inflight = new ConcurrentHashMap<>();
+
+    public DashboardSnapshotCache(DashboardConfig config, MetricsRegistry metrics) {
+        this.config = config;
+        this.metrics = metrics;
+        int maxEntries = config.getCacheMaxEntries();
+        this.snapshots = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Entry> eldest) {
+                if (size() > maxEntries) {
+                    resumeOwners.values().remove(eldest.getKey());
+                    return true;
+                }
+                return false;
+            }
+        };
+        metrics.gauge("dashboard.cache.size", this::size);
+    }
+
+    /**
+     * 获取用户快照，未命中时调用 loader 构建
+     * 同一用户的并发未命中只构建一次，其余调用等待同一结果
+     */
+    public Snapshot get(Long userId, Function<Long, Snapshot> loader) {
+        Snapshot cached = lookup(userId);
+        if (cached != null) {
+            metrics.increment("dashboard.cache.hit");
+            return cached;
+        }
+
+        Build build = new Build();
+        Build existing = inflight.putIfAbsent(userId, build);
+        if (existing != null) {
+            metrics.increment("dashboard.cache.wait");
+            try {
+                return existing.future.join();
+            } catch (CompletionException e) {
+                throw e.getCause() instanceof RuntimeException runtimeException ? runtimeException : e;
+            }
+        }
+
+        metrics.increment("dashboard.cache.miss");
+        try {
+            long startTime = System.currentTimeMillis();
+            Snapshot snapshot = loader.apply(userId);
+            metrics.record("dashboard.snapshot.build", System.currentTimeMillis() - startTime);
+
+            synchronized (this) {
+                // 构建期间该用户或其简历被失效过，结果可能基于旧数据，不写入缓存
+                if (!build.isStale(snapshot)) {
+                    long ttlMillis = config.getCacheTtlMinutes() * 60_000L;
+                    snapshots.put(userId, new Entry(snapshot, System.currentTimeMillis() + ttlMillis));
+                    if (snapshot.resumeId() != null) {
+                        resumeOwners.put(snapshot.resumeId(), userId);
+                    }
+                }
+            }
+            build.future.complete(snapshot);
+            return snapshot;
+        } catch (RuntimeException e) {
+            build.future.completeExceptionally(e);
+            throw e;
+        } finally {
+            inflight.remove(userId, build);
+        }
+    }
+
+    /**
+     * 使用户快照失效；在事务中调用时，提交后再失效一次，防止并发读取把未提交前的数据重新缓存
+     */
+    public void evict(Long userId) {
+        if (userId != null) {
+            TransactionHooks.nowAndAfterCompletion(() -> remove(userId));
+        }
+    }
+
+    /**
+     * 按简历ID使快照失效（技能、教育、工作经历变更时只知道简历ID）
+     */
+    public void evictByResumeId(Long resumeId) {
+        if (resumeId != null) {
+            TransactionHooks.nowAndAfterCompletion(() -> {
+                Long userId = resumeOwners.get(resumeId);
+                if (userId != null) {
+                    remove(userId);
+                } else {
+                    // 快照不在缓存中，仍需阻止进行中的、包含该简历的构建写入旧数据
+                    invalidateBuilds(resumeId);
+                }
+            });
+        }
+    }
+
+    private synchronized Snapshot lookup(Long userId) {
+        Entry entry = snapshots.get(userId);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.expiresAt() < System.currentTimeMillis()) {
+            snapshots.remove(userId);
+            return null;
+        }
+        return entry.snapshot();
+    }
+
+    private synchronized void remove(Long userId) {
+        Build build = inflight.get(userId);
+        if (build != null) {
+            build.invalidated = true;
+        }
+        Entry removed = snapshots.remove(userId);
+        if (removed != null && removed.snapshot().resumeId() != null) {
+            resumeOwners.remove(removed.snapshot().resumeId());
+        }
+    }
+
+    private synchronized void invalidateBuilds(Long resumeId) {
+        for (Build build : inflight.values()) {
+            if (build.staleResumeIds == null) {
+                build.staleResumeIds = new HashSet<>();
+            }
+            build.staleResumeIds.add(resumeId);
+        }
+    }
+
+    private synchronized int size() {
+        return snapshots.size();
+    }
+}
@@ -0,0 +1,221 @@
+package com.erickwu.backend.service;
+
+import com.erickwu.backend.config.BusinessException;
+import com.erickwu.backend.config.ExtractConfig;
+import com.erickwu.backend.metrics.MetricsRegistry;
+import com.erickwu.backend.model.ErrorCode;
+import org.apache.tika.detect.AutoDetectReader;
+import org.apache.tika.exception.TikaException;
+import org.apache.tika.exception.WriteLimitReachedException;
+import org.apache.tika.metadata.Metadata;
+import org.apache.tika.metadata.TikaCoreProperties;
+import org.apache.tika.parser.AutoDetectParser;
+import org.apache.tika.parser.ParseContext;
+import org.apache.tika.parser.Parser;
+import org.apache.tika.sax.BodyContentHandler;
+import org.apache.tika.sax.ContentHandlerDecorator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.io.InputStreamSource;
+import org.springframework.stereotype.Service;
+import org.xml.sax.Attributes;
+import org.xml.sax.ContentHandler;
+import org.xml.sax.SAXException;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * 文档文本提取
+ * 在独立的有界线程池中以流式方式解析文档，限制提取字符数和单个文档的解析时间，
+ * 并按文件格式记录解析耗时和处理字节数
+ */
+@Service
+public class DocumentTextExtractor {
+
+    private static final Logger logger = LoggerFactory.getLogger(DocumentTextExtractor.class);
+
+    private final ExtractConfig config;
+    private final MetricsRegistry metrics;
+    private final ThreadPoolExecutor extractExecutor;
+    private final Parser parser = new AutoDetectParser();
+
+    public DocumentTextExtractor(ExtractConfig config,
+                                 MetricsRegistry metrics,
+                                 @Qualifier("extractExecutor") ThreadPoolExecutor extractExecutor) {
+        this.config = config;
+        this.metrics = metrics;
+        this.extractExecutor = extractExecutor;
+    }
+
+    /**
+     * 提取文档文本
+     *
+     * @param filename 原始文件名（用于判断格式）
+     * @param size 文件大小（字节）
+     * @param source 文件内容来源，每次调用打开新的输入流
+     * @return 提取的文本，超过字符上限时截断
+     * @throws IOException 解析失败或超时
+     * @throws BusinessException 解析线程池已满
+     */
+    public String extract(String filename, long size, InputStreamSource source) throws IOException {
+        String format = formatOf(filename);
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(config.getTimeoutMillis());
+        long startTime = System.currentTimeMillis();
+
+        Future<String> future;
+        try {
+            future = extractExecutor.submit(() -> "txt".equals(format)
+                    ? readText(source, deadline)
+                    : parseDocument(filename, source, deadline));
+        } catch (RejectedExecutionException e) {
+            metrics.increment("extract.rejected");
+            throw new BusinessException(ErrorCode.RESUME_EXTRACT_BUSY);
+        }
+
+        try {
+            String text = future.get(config.getTimeoutMillis(), TimeUnit.MILLISECONDS);
+            long elapsed = System.currentTimeMillis() - startTime;
+            metrics.record("extract." + format + ".duration", elapsed);
+            metrics.add("extract." + format + ".bytes", size);
+            metrics.add("extract." + format + ".chars", text.length());
+            logger.info("文本提取完成: {}, {} 字节, {} 字符, 耗时 {} ms", filename, size, text.length(), elapsed);
+            return text;
+        } catch (TimeoutException e) {
+            // 解析线程会在下一次输出内容时检测到截止时间并退出
+            future.cancel(true);
+            metrics.increment("extract." + format + ".timeout");
+            logger.warn("文档解析超时: {}", filename);
+            throw new IOException("文档解析超时，请检查文件是否损坏");
+        } catch (ExecutionException e) {
+            metrics.increment("extract." + format + ".errors");
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException ioException) {
+                throw ioException;
+            }
+            throw new IOException("无法解析文件内容: " + cause.getMessage(), cause);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            future.cancel(true);
+            throw new IOException("文档解析被中断", e);
+        }
+    }
+
+    /**
+     * 使用 Tika 流式解析，输出写入有字符上限的 ContentHandler
+     */
+    private String parseDocument(String filename, InputStreamSource source, long deadline) throws IOException {
+        BodyContentHandler body = new BodyContentHandler(config.getMaxChars());
+        Metadata metadata = new Metadata();
+        if (filename != null) {
+            metadata.set(TikaCoreProperties.RESOURCE_NAME_KEY, filename);
+        }
+
+        try (InputStream is = new BufferedInputStream(source.getInputStream())) {
+            parser.parse(is, new DeadlineContentHandler(body, deadline), metadata, new ParseContext());
+        } catch (SAXException | TikaException e) {
+            if (WriteLimitReachedException.isWriteLimitReached(e)) {
+                metrics.increment("extract.truncated");
+                logger.warn("文档 {} 文本超过 {} 字符，已截断", filename, config.getMaxChars());
+            } else if (DeadlineContentHandler.isDeadlineExceeded(e)) {
+                throw new IOException("文档解析超时，请检查文件是否损坏");
+            } else {
+                logger.error("Tika 解析文件失败", e);
+                throw new IOException("无法解析文件内容: " + e.getMessage(), e);
+            }
+        }
+        return body.toString();
+    }
+
+    /**
+     * 读取纯文本文件，自动识别字符编码（UTF-8 / GBK 等）
+     */
+    private String readText(InputStreamSource source, long deadline) throws IOException {
+        StringBuilder text = new StringBuilder();
+        try (AutoDetectReader reader = new AutoDetectReader(new BufferedInputStream(source.getInputStream()))) {
+            logger.debug("文本文件编码: {}", reader.getCharset());
+            char[] buffer = new char[8192];
+            int read;
+            while (text.length() < config.getMaxChars() && (read = reader.read(buffer)) != -1) {
+                if (System.nanoTime() > deadline) {
+                    throw new IOException("文档解析超时，请检查文件是否损坏");
+                }
+                text.append(buffer, 0, Math.min(read, config.getMaxChars() - text.length()));
+            }
+        } catch (TikaException e) {
+            throw new IOException("无法识别文本文件编码: " + e.getMessage(), e);
+        }
+        if (text.length() >= config.getMaxChars()) {
+            metrics.increment("extract.truncated");
+        }
+        return text.toString();
+    }
+
+    private static String formatOf(String filename) {
+        if (filename == null) {
+            return "unknown";
+        }
+        int dot = filename.lastIndexOf('.');
+        String ext = dot >= 0 ? filename.substring(dot + 1).toLowerCase() : "";
+        return switch (ext) {
+            case "txt", "pdf", "doc", "docx", "rtf", "odt", "html", "htm" -> ext;
+            default -> "other";
+        };
+    }
+
+    /**
+     * 在每次输出内容时检查截止时间和中断标记，超时即抛出异常终止解析
+     */
+    private static class DeadlineContentHandler extends ContentHandlerDecorator {
+
+        private static final String DEADLINE_MESSAGE = "extract deadline exceeded";
+
+        private final long deadline;
+
+        DeadlineContentHandler(ContentHandler handler, long deadline) {
+            super(handler);
+            this.deadline = deadline;
+        }
+
+        static boolean isDeadlineExceeded(Throwable t) {
+            for (Throwable cause = t; cause != null; cause = cause.getCause()) {
+                if (DEADLINE_MESSAGE.equals(cause.getMessage())) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private void check() throws SAXException {
+            if (System.nanoTime() > deadline || Thread.currentThread().isInterrupted()) {
+                throw new SAXException(DEADLINE_MESSAGE);
+            }
+        }
+
+        @Override
+        public void startElement(String uri, String localName, String name, Attributes atts) throws SAXException {
+            check();
+            super.startElement(uri, localName, name, atts);
+        }
+
+        @Override
+        public void characters(char[] ch, int start, int length) throws SAXException {
+            check();
+            super.characters(ch, start, length);
+        }
+
+        @Override
+        public void ignorableWhitespace(char[] ch, int start, int length) throws SAXException {
+            check();
+            super.ignorableWhitespace(ch, start, length);
+        }
+    }
+}
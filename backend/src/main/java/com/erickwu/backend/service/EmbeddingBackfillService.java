@@ -0,0 +1,28 @@
+package com.erickwu.backend.service;
+
+import com.erickwu.backend.vo.EmbeddingBackfillJobVO;
+
+/**
+ * 简历向量回填任务服务接口
+ */
+public interface EmbeddingBackfillService {
+
+    /**
+     * 启动回填任务；上一次同类任务未完成时从其检查点继续
+     * @param forceAll true 重新生成全部版本的向量，false 只补齐当前模型缺失的向量
+     * @return 任务状态
+     */
+    EmbeddingBackfillJobVO start(boolean forceAll);
+
+    /**
+     * 暂停正在运行的任务，当前页处理完后停止
+     * @return 任务状态
+     */
+    EmbeddingBackfillJobVO pause();
+
+    /**
+     * 查询最近一次任务状态
+     * @return 任务状态，没有任务时返回 null
+     */
+    EmbeddingBackfillJobVO getLatest();
+}
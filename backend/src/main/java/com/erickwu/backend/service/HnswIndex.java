@@ -0,0 +1,391 @@
+package com.erickwu.backend.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 内存 HNSW 近似最近邻索引
+ * 向量按 int8 标量量化存储（每个向量一个缩放系数），相似度为内积，输入向量需先做 L2 归一化。
+ * 查询持读锁并发执行，写入持写锁；删除为软删除，被删节点仍参与图遍历但不出现在结果中，
+ * 软删除比例过高时由调用方通过 compacted() 重建
+ */
+final class HnswIndex {
+
+    record Hit(long key, float score) {
+    }
+
+    private record Candidate(int node, float score) {
+    }
+
+    private static final Comparator<Candidate> BEST_FIRST = (a, b) -> Float.compare(b.score, a.score);
+    private static final Comparator<Candidate> WORST_FIRST = (a, b) -> Float.compare(a.score, b.score);
+    private static final int MAX_LEVEL = 16;
+
+    private final int dimension;
+    private final int m;
+    private final int maxM0;
+    private final int efConstruction;
+    private final double levelFactor;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, Integer> nodeByKey = new HashMap<>();
+    private final BitSet deleted = new BitSet();
+
+    private long[] keys = new long[1024];
+    private byte[][] codes = new byte[1024][];
+    private float[] scales = new float[1024];
+    /** links[node][level] 的第 0 位为邻居数量，其后为邻居节点编号 */
+    private int[][][] links = new int[1024][][];
+    private int nodeCount;
+    private int entryPoint = -1;
+    private int topLevel = -1;
+
+    HnswIndex(int dimension, int m, int efConstruction) {
+        this.dimension = dimension;
+        this.m = Math.max(2, m);
+        this.maxM0 = this.m * 2;
+        this.efConstruction = Math.max(this.m, efConstruction);
+        this.levelFactor = 1.0 / Math.log(this.m);
+    }
+
+    int dimension() {
+        return dimension;
+    }
+
+    int size() {
+        lock.readLock().lock();
+        try {
+            return nodeByKey.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    int deletedCount() {
+        lock.readLock().lock();
+        try {
+            return deleted.cardinality();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    boolean contains(long key) {
+        lock.readLock().lock();
+        try {
+            return nodeByKey.containsKey(key);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 插入或替换向量，替换时旧节点软删除
+     */
+    void upsert(long key, float[] vector) {
+        if (vector.length != dimension) {
+            throw new IllegalArgumentException("向量维度不匹配: " + vector.length + " != " + dimension);
+        }
+        lock.writeLock().lock();
+        try {
+            Integer old = nodeByKey.get(key);
+            if (old != null) {
+                deleted.set(old);
+            }
+            int node = allocate(key, vector);
+            insert(node, vector);
+            nodeByKey.put(key, node);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    boolean remove(long key) {
+        lock.writeLock().lock();
+        try {
+            Integer node = nodeByKey.remove(key);
+            if (node == null) {
+                return false;
+            }
+            deleted.set(node);
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 取回量化后的向量（近似值），用于以已有条目作为查询
+     */
+    float[] get(long key) {
+        lock.readLock().lock();
+        try {
+            Integer node = nodeByKey.get(key);
+            if (node == null) {
+                return null;
+            }
+            return dequantize(codes[node], scales[node]);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 只用存活节点构建新索引，丢弃软删除节点及其连边；量化编码直接复用，不重复量化。
+     * 持读锁复制，期间查询不受影响，调用方负责阻止并发写入并替换引用
+     */
+    HnswIndex compacted() {
+        lock.readLock().lock();
+        try {
+            HnswIndex copy = new HnswIndex(dimension, m, efConstruction);
+            for (Map.Entry<Long, Integer> entry : nodeByKey.entrySet()) {
+                int node = entry.getValue();
+                int target = copy.store(entry.getKey(), codes[node], scales[node]);
+                copy.insert(target, dequantize(codes[node], scales[node]));
+                copy.nodeByKey.put(entry.getKey(), target);
+            }
+            return copy;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 查询最相似的 k 个条目
+     *
+     * @param ef 底层搜索宽度，越大召回越高、耗时越长
+     */
+    List<Hit> search(float[] query, int k, int ef) {
+        lock.readLock().lock();
+        try {
+            if (entryPoint < 0 || k <= 0) {
+                return List.of();
+            }
+            int ep = entryPoint;
+            for (int level = topLevel; level > 0; level--) {
+                ep = best(searchLayer(query, ep, 1, level));
+            }
+            PriorityQueue<Candidate> found = searchLayer(query, ep, Math.max(ef, k), 0);
+            List<Candidate> sorted = new ArrayList<>(found);
+            sorted.sort(BEST_FIRST);
+
+            List<Hit> hits = new ArrayList<>(k);
+            for (Candidate candidate : sorted) {
+                if (!deleted.get(candidate.node)) {
+                    hits.add(new Hit(keys[candidate.node], candidate.score));
+                    if (hits.size() == k) {
+                        break;
+                    }
+                }
+            }
+            return hits;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // ==================== 图构建 ====================
+
+    private int allocate(long key, float[] vector) {
+        float max = 0;
+        for (float v : vector) {
+            max = Math.max(max, Math.abs(v));
+        }
+        float scale = max > 0 ? max / 127f : 0f;
+        byte[] code = new byte[dimension];
+        if (scale > 0) {
+            for (int i = 0; i < dimension; i++) {
+                code[i] = (byte) Math.round(vector[i] / scale);
+            }
+        }
+        return store(key, code, scale);
+    }
+
+    private int store(long key, byte[] code, float scale) {
+        if (nodeCount == keys.length) {
+            int capacity = keys.length * 2;
+            keys = Arrays.copyOf(keys, capacity);
+            codes = Arrays.copyOf(codes, capacity);
+            scales = Arrays.copyOf(scales, capacity);
+            links = Arrays.copyOf(links, capacity);
+        }
+        int node = nodeCount++;
+        keys[node] = key;
+        codes[node] = code;
+        scales[node] = scale;
+        return node;
+    }
+
+    private float[] dequantize(byte[] code, float scale) {
+        float[] vector = new float[dimension];
+        for (int i = 0; i < dimension; i++) {
+            vector[i] = code[i] * scale;
+        }
+        return vector;
+    }
+
+    private void insert(int node, float[] vector) {
+        int level = randomLevel();
+        links[node] = new int[level + 1][];
+        for (int l = 0; l <= level; l++) {
+            links[node][l] = new int[(l == 0 ? maxM0 : m) + 1];
+        }
+        if (entryPoint < 0) {
+            entryPoint = node;
+            topLevel = level;
+            return;
+        }
+
+        int ep = entryPoint;
+        for (int l = topLevel; l > level; l--) {
+            ep = best(searchLayer(vector, ep, 1, l));
+        }
+        for (int l = Math.min(level, topLevel); l >= 0; l--) {
+            List<Candidate> found = new ArrayList<>(searchLayer(vector, ep, efConstruction, l));
+            found.sort(BEST_FIRST);
+            for (int neighbor : selectNeighbors(found, m)) {
+                link(node, neighbor, l);
+                link(neighbor, node, l);
+            }
+            ep = found.get(0).node;
+        }
+        if (level > topLevel) {
+            topLevel = level;
+            entryPoint = node;
+        }
+    }
+
+    /**
+     * 启发式选邻：优先保留与已选邻居不太相似的候选，使连边覆盖不同方向；不足时按相似度补齐
+     */
+    private List<Integer> selectNeighbors(List<Candidate> sortedCandidates, int limit) {
+        List<Integer> selected = new ArrayList<>(limit);
+        List<Integer> skipped = new ArrayList<>();
+        for (Candidate candidate : sortedCandidates) {
+            if (selected.size() >= limit) {
+                break;
+            }
+            boolean diverse = true;
+            for (int chosen : selected) {
+                if (similarity(candidate.node, chosen) > candidate.score) {
+                    diverse = false;
+                    break;
+                }
+            }
+            if (diverse) {
+                selected.add(candidate.node);
+            } else {
+                skipped.add(candidate.node);
+            }
+        }
+        for (int i = 0; i < skipped.size() && selected.size() < limit; i++) {
+            selected.add(skipped.get(i));
+        }
+        return selected;
+    }
+
+    /**
+     * 添加单向连边，超出度数上限时保留与该节点最相似的邻居
+     */
+    private void link(int from, int to, int level) {
+        int[] neighbors = links[from][level];
+        int count = neighbors[0];
+        int maxDegree = neighbors.length - 1;
+        if (count < maxDegree) {
+            neighbors[++count] = to;
+            neighbors[0] = count;
+            return;
+        }
+        List<Candidate> candidates = new ArrayList<>(count + 1);
+        for (int i = 1; i <= count; i++) {
+            candidates.add(new Candidate(neighbors[i], similarity(from, neighbors[i])));
+        }
+        candidates.add(new Candidate(to, similarity(from, to)));
+        candidates.sort(BEST_FIRST);
+        for (int i = 0; i < maxDegree; i++) {
+            neighbors[i + 1] = candidates.get(i).node;
+        }
+    }
+
+    /**
+     * 在单层内做贪心扩展搜索，返回以最差结果为堆顶的候选集
+     */
+    private PriorityQueue<Candidate> searchLayer(float[] query, int entry, int ef, int level) {
+        BitSet visited = new BitSet(nodeCount);
+        PriorityQueue<Candidate> candidates = new PriorityQueue<>(BEST_FIRST);
+        PriorityQueue<Candidate> results = new PriorityQueue<>(WORST_FIRST);
+
+        Candidate start = new Candidate(entry, similarity(query, entry));
+        visited.set(entry);
+        candidates.add(start);
+        results.add(start);
+
+        while (!candidates.isEmpty()) {
+            Candidate current = candidates.poll();
+            if (results.size() >= ef && current.score < results.peek().score) {
+                break;
+            }
+            int[] neighbors = links[current.node][level];
+            for (int i = 1; i <= neighbors[0]; i++) {
+                int neighbor = neighbors[i];
+                if (visited.get(neighbor)) {
+                    continue;
+                }
+                visited.set(neighbor);
+                float score = similarity(query, neighbor);
+                if (results.size() < ef || score > results.peek().score) {
+                    Candidate next = new Candidate(neighbor, score);
+                    candidates.add(next);
+                    results.add(next);
+                    if (results.size() > ef) {
+                        results.poll();
+                    }
+                }
+            }
+        }
+        return results;
+    }
+
+    private static int best(PriorityQueue<Candidate> results) {
+        Candidate best = null;
+        for (Candidate candidate : results) {
+            if (best == null || candidate.score > best.score) {
+                best = candidate;
+            }
+        }
+        return best.node;
+    }
+
+    private int randomLevel() {
+        double r = 1.0 - ThreadLocalRandom.current().nextDouble();
+        return Math.min(MAX_LEVEL, (int) (-Math.log(r) * levelFactor));
+    }
+
+    // ==================== 相似度 ====================
+
+    private float similarity(float[] query, int node) {
+        byte[] code = codes[node];
+        float dot = 0;
+        for (int i = 0; i < dimension; i++) {
+            dot += query[i] * code[i];
+        }
+        return dot * scales[node];
+    }
+
+    private float similarity(int a, int b) {
+        byte[] codeA = codes[a];
+        byte[] codeB = codes[b];
+        int dot = 0;
+        for (int i = 0; i < dimension; i++) {
+            dot += codeA[i] * codeB[i];
+        }
+        return dot * scales[a] * scales[b];
+    }
+}
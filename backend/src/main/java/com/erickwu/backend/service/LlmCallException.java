@@ -0,0 +1,41 @@
+package com.erickwu.backend.service;
+
+/**
+ * LLM 接口调用异常
+ * 携带 HTTP 状态码（网络异常时为 0）和服务端建议的重试等待时间
+ */
+public class LlmCallException extends RuntimeException {
+
+    private final int statusCode;
+    private final long retryAfterMillis;
+
+    public LlmCallException(String message, int statusCode, long retryAfterMillis) {
+        super(message);
+        this.statusCode = statusCode;
+        this.retryAfterMillis = retryAfterMillis;
+    }
+
+    public LlmCallException(String message, Throwable cause) {
+        super(message, cause);
+        this.statusCode = 0;
+        this.retryAfterMillis = -1;
+    }
+
+    public int getStatusCode() {
+        return statusCode;
+    }
+
+    /**
+     * 服务端 Retry-After 指定的等待时间，未指定时为 -1
+     */
+    public long getRetryAfterMillis() {
+        return retryAfterMillis;
+    }
+
+    /**
+     * 网络异常、限流（429）和服务端错误（5xx）可重试，也计入熔断统计
+     */
+    public boolean isRetryable() {
+        return statusCode == 0 || statusCode == 429 || statusCode >= 500;
+    }
+}
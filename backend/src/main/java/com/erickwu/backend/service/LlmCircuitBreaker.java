@@ -0,0 +1,78 @@
+package com.erickwu.backend.service;
+
+/**
+ * LLM 服务熔断器
+ * 连续失败达到阈值后打开，打开期间直接拒绝请求；
+ * 冷却时间过后进入半开状态，只放行一个探测请求，成功则关闭，失败则重新打开
+ */
+class LlmCircuitBreaker {
+
+    enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    private final int failureThreshold;
+    private final long openMillis;
+    private State state = State.CLOSED;
+    private int consecutiveFailures;
+    private long openedAt;
+    private boolean probeInFlight;
+    private long openCount;
+
+    LlmCircuitBreaker(int failureThreshold, long openMillis) {
+        this.failureThreshold = Math.max(1, failureThreshold);
+        this.openMillis = openMillis;
+    }
+
+    /**
+     * 判断是否允许发出请求，放行后调用方必须回报 onSuccess 或 onFailure
+     */
+    synchronized boolean tryAcquire() {
+        if (state == State.CLOSED) {
+            return true;
+        }
+        if (state == State.OPEN) {
+            if (System.currentTimeMillis() - openedAt < openMillis) {
+                return false;
+            }
+            state = State.HALF_OPEN;
+            probeInFlight = false;
+        }
+        if (probeInFlight) {
+            return false;
+        }
+        probeInFlight = true;
+        return true;
+    }
+
+    synchronized void onSuccess() {
+        state = State.CLOSED;
+        consecutiveFailures = 0;
+        probeInFlight = false;
+    }
+
+    synchronized void onFailure() {
+        probeInFlight = false;
+        if (state == State.HALF_OPEN || ++consecutiveFailures >= failureThreshold) {
+            state = State.OPEN;
+            openedAt = System.currentTimeMillis();
+            consecutiveFailures = 0;
+            openCount++;
+        }
+    }
+
+    /**
+     * 请求被调用方取消：不计入成功或失败，只释放半开状态的探测标记
+     */
+    synchronized void onCancel() {
+        probeInFlight = false;
+    }
+
+    synchronized State getState() {
+        return state;
+    }
+
+    synchronized long getOpenCount() {
+        return openCount;
+    }
+}
@@ -0,0 +1,100 @@
+package com.erickwu.backend.service;
+
+import com.erickwu.backend.config.BusinessException;
+import com.erickwu.backend.model.ErrorCode;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 单个模型的 LLM 并发限制器
+ * 同时在途请求数不超过 maxConcurrent，超出部分进入有界等待队列，
+ * 队列已满时立即拒绝，等待超时的请求自动出队
+ */
+class LlmConcurrencyLimiter {
+
+    private final int maxConcurrent;
+    private final int maxWaiting;
+    private final long waitTimeoutMillis;
+    private final Deque<CompletableFuture<Void>> waiting = new ArrayDeque<>();
+    private int active;
+
+    LlmConcurrencyLimiter(int maxConcurrent, int maxWaiting, long waitTimeoutMillis) {
+        this.maxConcurrent = Math.max(1, maxConcurrent);
+        this.maxWaiting = Math.max(0, maxWaiting);
+        this.waitTimeoutMillis = waitTimeoutMillis;
+    }
+
+    /**
+     * 申请一个执行许可
+     * 有空闲许可时返回已完成的 future；否则排队等待，超时后以 BusinessException 结束
+     *
+     * @throws BusinessException 等待队列已满
+     */
+    CompletableFuture<Void> acquire() {
+        CompletableFuture<Void> ticket;
+        synchronized (this) {
+            if (active < maxConcurrent) {
+                active++;
+                return CompletableFuture.completedFuture(null);
+            }
+            if (waiting.size() >= maxWaiting) {
+                throw new BusinessException(ErrorCode.LLM_BUSY);
+            }
+            ticket = new CompletableFuture<>();
+            waiting.addLast(ticket);
+        }
+
+        CompletableFuture.delayedExecutor(waitTimeoutMillis, TimeUnit.MILLISECONDS).execute(() -> {
+            if (ticket.completeExceptionally(new BusinessException(ErrorCode.LLM_BUSY, "AI 服务排队超时，请稍后重试"))) {
+                synchronized (this) {
+                    waiting.remove(ticket);
+                }
+            }
+        });
+        return ticket;
+    }
+
+    /**
+     * 尝试立即获取许可，不排队；有请求在等待时让给排队的请求
+     *
+     * @return 是否获得许可，获得后须调用 {@link #release()}
+     */
+    synchronized boolean tryAcquire() {
+        if (active < maxConcurrent && waiting.isEmpty()) {
+            active++;
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * 归还许可，优先移交给等待队列中仍然有效的请求
+     */
+    void release() {
+        while (true) {
+            CompletableFuture<Void> next;
+            synchronized (this) {
+                next = waiting.pollFirst();
+                if (next == null) {
+                    active--;
+                    return;
+                }
+            }
+            // 许可直接移交，active 不变；已超时的 ticket 会 complete 失败，继续尝试下一个
+            if (next.complete(null)) {
+                return;
+            }
+        }
+    }
+
+    synchronized int getActive() {
+        return active;
+    }
+
+    synchronized int getWaiting() {
+        return waiting.size();
+    }
+}
@@ -0,0 +1,184 @@
+package com.erickwu.backend.service;
+
+import com.erickwu.backend.config.LlmConfig;
+import com.erickwu.backend.mapper.LlmResultCacheMapper;
+import com.erickwu.backend.metrics.MetricsRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * LLM 结果缓存
+ * 以 SHA-256(类型 + 模型 + 系统提示词 + 规范化文本) 为键，
+ * 内存层为按访问顺序淘汰的有界 LRU（带过期时间），持久层为 MySQL，重启后仍可命中
+ */
+@Service
+public class LlmResultCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(LlmResultCache.class);
+
+    public static final String KIND_PARSE = "PARSE";
+    public static final String KIND_ANALYSIS = "ANALYSIS";
+
+    private final LlmConfig llmConfig;
+    private final LlmResultCacheMapper cacheMapper;
+    private final MetricsRegistry metrics;
+    private final Map<String, Entry> memory;
+
+    public LlmResultCache(LlmConfig llmConfig, LlmResultCacheMapper cacheMapper, MetricsRegistry metrics) {
+        this.llmConfig = llmConfig;
+        this.cacheMapper = cacheMapper;
+        this.metrics = metrics;
+        int maxEntries = llmConfig.getCache().getMaxEntries();
+        this.memory = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > maxEntries;
+            }
+        };
+        metrics.gauge("llm.cache.memory.size", this::memorySize);
+    }
+
+    /**
+     * 计算缓存键
+     *
+     * @param kind 缓存类型
+     * @param systemPrompt 系统提示词
+     * @param text 用户输入文本（会先做规范化）
+     */
+    public String key(String kind, String systemPrompt, String text) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(kind.getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+            digest.update(llmConfig.getQwen().getModel().getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+            digest.update(systemPrompt.getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+            digest.update(normalize(text).getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 不可用", e);
+        }
+    }
+
+    /**
+     * 查询缓存，内存层未命中时回查持久层并回填内存层
+     *
+     * @return 命中的内容，未命中返回 null
+     */
+    public String get(String kind, String key) {
+        if (!isEnabled()) {
+            return null;
+        }
+
+        String content = getFromMemory(key);
+        if (content != null) {
+            metrics.increment("llm.cache." + kind + ".hit.memory");
+            return content;
+        }
+
+        if (llmConfig.getCache().isPersistent()) {
+            try {
+                content = cacheMapper.findContent(key, llmConfig.getCache().getPersistentTtlDays());
+            } catch (Exception e) {
+                logger.warn("读取 LLM 持久缓存失败: {}", e.getMessage());
+            }
+            if (content != null) {
+                metrics.increment("llm.cache." + kind + ".hit.db");
+                putToMemory(key, content);
+                return content;
+            }
+        }
+
+        metrics.increment("llm.cache." + kind + ".miss");
+        return null;
+    }
+
+    /**
+     * 写入缓存（内存层 + 持久层）
+     */
+    public void put(String kind, String key, String content) {
+        if (!isEnabled() || content == null || content.isEmpty()) {
+            return;
+        }
+        putToMemory(key, content);
+        if (llmConfig.getCache().isPersistent()) {
+            try {
+                cacheMapper.upsert(key, kind, llmConfig.getQwen().getModel(), content);
+            } catch (Exception e) {
+                logger.warn("写入 LLM 持久缓存失败: {}", e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * 每天凌晨清理持久层过期数据
+     */
+    @Scheduled(cron = "0 30 3 * * *")
+    public void purgeExpired() {
+        if (!isEnabled() || !llmConfig.getCache().isPersistent()) {
+            return;
+        }
+        try {
+            int deleted = cacheMapper.deleteExpired(llmConfig.getCache().getPersistentTtlDays());
+            logger.info("清理过期 LLM 缓存 {} 条", deleted);
+        } catch (Exception e) {
+            logger.warn("清理过期 LLM 缓存失败: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Mock 模式下不缓存，避免模拟数据写入持久层
+     */
+    private boolean isEnabled() {
+        return llmConfig.getCache().isEnabled() && !llmConfig.isMockMode();
+    }
+
+    /**
+     * 规范化文本：统一换行、去除行尾空白、合并连续空行
+     */
+    static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        return text.replace("\r\n", "\n")
+                .replace('\r', '\n')
+                .replaceAll("[ \\t\\u00A0\\u3000]+", " ")
+                .replaceAll(" *\n *", "\n")
+                .replaceAll("\n{3,}", "\n\n")
+                .trim();
+    }
+
+    private synchronized String getFromMemory(String key) {
+        Entry entry = memory.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.expiresAt < System.currentTimeMillis()) {
+            memory.remove(key);
+            return null;
+        }
+        return entry.content;
+    }
+
+    private synchronized void putToMemory(String key, String content) {
+        long ttlMillis = llmConfig.getCache().getTtlMinutes() * 60_000L;
+        memory.put(key, new Entry(content, System.currentTimeMillis() + ttlMillis));
+    }
+
+    private synchronized int memorySize() {
+        return memory.size();
+    }
+
+    private record Entry(String content, long expiresAt) {
+    }
+}
@@ -0,0 +1,35 @@
+package com.erickwu.backend.service;
+
+import okhttp3.Call;
+
+/**
+ * 流式调用的取消句柄
+ * 客户端断开、SSE 超时或出错时调用 cancel()，中断上游 HTTP 连接并停止重试
+ */
+public class LlmStreamHandle {
+
+    private volatile boolean cancelled;
+    private volatile Call call;
+
+    public void cancel() {
+        cancelled = true;
+        Call current = call;
+        if (current != null) {
+            current.cancel();
+        }
+    }
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    /**
+     * 绑定当前正在执行的上游请求；绑定前已取消则立即中断
+     */
+    void attach(Call call) {
+        this.call = call;
+        if (cancelled) {
+            call.cancel();
+        }
+    }
+}
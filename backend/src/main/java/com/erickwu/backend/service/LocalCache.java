@@ -0,0 +1,199 @@
+package com.erickwu.backend.service;
+
+import com.erickwu.backend.config.MapperCacheConfig;
+import com.erickwu.backend.metrics.MetricsRegistry;
+import org.springframework.cache.support.AbstractValueAdaptingCache;
+import org.springframework.cache.support.NullValue;
+import org.springframework.core.serializer.support.SerializationDelegate;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 本地缓存（Spring Cache 实现）
+ * 按访问顺序淘汰的有界 LRU，写入后按 TTL 过期；同一个键的并发未命中只加载一次。
+ * 本身不感知事务，事务相关的延迟写入和二次失效由 CachingConfig 中的装饰器负责
+ */
+public class LocalCache extends AbstractValueAdaptingCache {
+
+    private final String name;
+    private final long ttlMs;
+    private final SerializationDelegate serialization;
+    private final Map<Object, Entry> entries;
+    private final Map<Object, CompletableFuture<Object>> loading = new ConcurrentHashMap<>();
+
+    /**
+     * 每次失效递增；加载期间发生过失效时不回填，避免旧数据覆盖新数据
+     */
+    private final AtomicLong generation = new AtomicLong();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public LocalCache(String name, MapperCacheConfig.Spec spec, boolean storeByValue, MetricsRegistry metrics) {
+        super(true);
+        this.name = name;
+        this.ttlMs = spec.getTtlMs();
+        this.serialization = storeByValue ? new SerializationDelegate(LocalCache.class.getClassLoader()) : null;
+        int maxEntries = spec.getMaxEntries();
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Object, Entry> eldest) {
+                return size() > maxEntries;
+            }
+        };
+        metrics.gauge("cache." + name + ".size", this::size);
+        metrics.gauge("cache." + name + ".hits", hits::sum);
+        metrics.gauge("cache." + name + ".misses", misses::sum);
+        metrics.gauge("cache." + name + ".hitRatio", this::hitRatio);
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return entries;
+    }
+
+    @Override
+    protected Object lookup(Object key) {
+        long now = System.currentTimeMillis();
+        Object storeValue;
+        synchronized (entries) {
+            Entry entry = entries.get(key);
+            if (entry == null) {
+                misses.increment();
+                return null;
+            }
+            if (entry.expiresAt() <= now) {
+                entries.remove(key);
+                misses.increment();
+                return null;
+            }
+            storeValue = entry.value();
+        }
+        hits.increment();
+        return storeValue;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        ValueWrapper cached = get(key);
+        if (cached != null) {
+            return (T) cached.get();
+        }
+
+        CompletableFuture<Object> future = new CompletableFuture<>();
+        CompletableFuture<Object> existing = loading.putIfAbsent(key, future);
+        if (existing != null) {
+            // 其他线程正在加载同一个键，等待其结果（按值存储时各自得到独立副本）
+            try {
+                return (T) fromStoreValue(existing.join());
+            } catch (CompletionException e) {
+                throw new ValueRetrievalException(key, valueLoader, e.getCause());
+            }
+        }
+
+        long startGeneration = generation.get();
+        try {
+            T value = valueLoader.call();
+            Object storeValue = toStoreValue(value);
+            if (generation.get() == startGeneration) {
+                store(key, storeValue);
+            }
+            future.complete(storeValue);
+            return value;
+        } catch (Exception e) {
+            future.completeExceptionally(e);
+            throw new ValueRetrievalException(key, valueLoader, e);
+        } finally {
+            loading.remove(key, future);
+        }
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        store(key, toStoreValue(value));
+    }
+
+    @Override
+    public void evict(Object key) {
+        remove(key);
+    }
+
+    @Override
+    public void clear() {
+        removeAll();
+    }
+
+    @Override
+    protected Object toStoreValue(Object userValue) {
+        Object storeValue = super.toStoreValue(userValue);
+        if (serialization == null || storeValue == NullValue.INSTANCE) {
+            return storeValue;
+        }
+        try {
+            return serialization.serializeToByteArray(storeValue);
+        } catch (Exception e) {
+            throw new IllegalArgumentException("缓存 " + name + " 的值无法序列化: " + userValue.getClass().getName(), e);
+        }
+    }
+
+    @Override
+    protected Object fromStoreValue(Object storeValue) {
+        if (serialization != null && storeValue instanceof byte[] bytes) {
+            try {
+                return super.fromStoreValue(serialization.deserializeFromByteArray(bytes));
+            } catch (Exception e) {
+                throw new IllegalStateException("缓存 " + name + " 的值反序列化失败", e);
+            }
+        }
+        return super.fromStoreValue(storeValue);
+    }
+
+    private void store(Object key, Object storeValue) {
+        Entry entry = new Entry(storeValue, System.currentTimeMillis() + ttlMs);
+        synchronized (entries) {
+            entries.put(key, entry);
+        }
+    }
+
+    private void remove(Object key) {
+        generation.incrementAndGet();
+        synchronized (entries) {
+            entries.remove(key);
+        }
+    }
+
+    private void removeAll() {
+        generation.incrementAndGet();
+        synchronized (entries) {
+            entries.clear();
+        }
+    }
+
+    private int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    private double hitRatio() {
+        long hitCount = hits.sum();
+        long total = hitCount + misses.sum();
+        return total == 0 ? 0 : (double) hitCount / total;
+    }
+
+    private record Entry(Object value, long expiresAt) {
+    }
+}
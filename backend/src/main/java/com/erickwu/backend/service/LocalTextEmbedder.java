@@ -0,0 +1,88 @@
+package com.erickwu.backend.service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * 本地确定性文本向量
+ * 对字符一元、二元组做特征哈希，不依赖外部服务，相同文本总是得到相同向量。
+ * 用于 Mock 模式和测试，语义能力仅限字面重合
+ */
+final class LocalTextEmbedder {
+
+    static final String MODEL = "local-hash";
+    static final int DEFAULT_DIMENSION = 512;
+
+    private final int dimension;
+
+    LocalTextEmbedder(int dimension) {
+        this.dimension = dimension;
+    }
+
+    List<float[]> embed(List<String> texts) {
+        List<float[]> vectors = new ArrayList<>(texts.size());
+        for (String text : texts) {
+            vectors.add(embed(text));
+        }
+        return vectors;
+    }
+
+    float[] embed(String text) {
+        float[] vector = new float[dimension];
+        if (text == null) {
+            return vector;
+        }
+        String normalized = text.toLowerCase(Locale.ROOT);
+        char prev = 0;
+        for (int i = 0; i < normalized.length(); i++) {
+            char c = normalized.charAt(i);
+            if (Character.isWhitespace(c) || Character.isISOControl(c)) {
+                prev = 0;
+                continue;
+            }
+            accumulate(vector, String.valueOf(c), 0.5f);
+            if (prev != 0) {
+                accumulate(vector, new String(new char[]{prev, c}), 1.0f);
+            }
+            prev = c;
+        }
+        return normalize(vector);
+    }
+
+    /**
+     * 带符号的特征哈希，降低不同特征落入同一维度时的相互抵消偏差
+     */
+    private void accumulate(float[] vector, String feature, float weight) {
+        int hash = fnv1a(feature);
+        int index = Math.floorMod(hash, dimension);
+        vector[index] += (hash >>> 31) == 0 ? weight : -weight;
+    }
+
+    private static int fnv1a(String feature) {
+        int hash = 0x811c9dc5;
+        for (byte b : feature.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b;
+            hash *= 0x01000193;
+        }
+        return hash;
+    }
+
+    /**
+     * 原地 L2 归一化，零向量保持不变
+     */
+    static float[] normalize(float[] vector) {
+        double norm = 0;
+        for (float v : vector) {
+            norm += v * v;
+        }
+        if (norm > 0) {
+            float inv = (float) (1.0 / Math.sqrt(norm));
+            for (int i = 0; i < vector.length; i++) {
+                vector[i] *= inv;
+            }
+        }
+        return vector;
+    }
+}
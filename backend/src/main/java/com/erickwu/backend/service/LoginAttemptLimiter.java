@@ -0,0 +1,115 @@
+package com.erickwu.backend.service;
+
+import com.erickwu.backend.config.BusinessException;
+import com.erickwu.backend.config.PasswordConfig;
+import com.erickwu.backend.metrics.MetricsRegistry;
+import com.erickwu.backend.model.ErrorCode;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 登录尝试限流
+ * 按固定时间窗口计数：同一 IP 的登录/注册次数、同一（用户名, IP）的连续失败次数，
+ * 超出上限时在计算 BCrypt 之前直接拒绝，避免被刷接口耗尽 CPU。
+ * 失败锁定按（用户名, IP）计，他人无法通过故意输错密码锁定任意账号；
+ * IP 取自 Tomcat RemoteIpValve 按可信代理解析后的客户端地址（server.forward-headers-strategy）
+ */
+@Service
+public class LoginAttemptLimiter {
+
+    private final PasswordConfig config;
+    private final MetricsRegistry metrics;
+    private final Map<String, Window> ipAttempts = new ConcurrentHashMap<>();
+    private final Map<String, Window> loginFailures = new ConcurrentHashMap<>();
+
+    public LoginAttemptLimiter(PasswordConfig config, MetricsRegistry metrics) {
+        this.config = config;
+        this.metrics = metrics;
+    }
+
+    /**
+     * 登录/注册前检查并计入一次尝试
+     *
+     * @param username 用户名，注册时传 null 只按 IP 限制
+     * @param ip 客户端 IP
+     * @throws BusinessException 超出限制
+     */
+    public void acquire(String username, String ip) {
+        long now = System.currentTimeMillis();
+        if (username != null) {
+            Window failures = loginFailures.get(failureKey(username, ip));
+            if (failures != null && failures.count(now, windowMillis()) >= config.getMaxFailuresPerUsername()) {
+                metrics.increment("login.throttled.username");
+                throw new BusinessException(ErrorCode.USER_LOGIN_LOCKED);
+            }
+        }
+        if (ip != null) {
+            Window attempts = ipAttempts.computeIfAbsent(ip, k -> new Window());
+            if (attempts.incrementAndGet(now, windowMillis()) > config.getMaxAttemptsPerIp()) {
+                metrics.increment("login.throttled.ip");
+                throw new BusinessException(ErrorCode.TOO_MANY_REQUESTS);
+            }
+        }
+    }
+
+    /**
+     * 记录一次密码错误（或用户不存在）
+     */
+    public void recordFailure(String username, String ip) {
+        loginFailures.computeIfAbsent(failureKey(username, ip), k -> new Window())
+                .incrementAndGet(System.currentTimeMillis(), windowMillis());
+    }
+
+    /**
+     * 登录成功后清除该用户名在该 IP 上的失败计数
+     */
+    public void recordSuccess(String username, String ip) {
+        loginFailures.remove(failureKey(username, ip));
+    }
+
+    /**
+     * 清理已过期的窗口
+     */
+    @Scheduled(fixedDelay = 60000)
+    public void evictExpired() {
+        long now = System.currentTimeMillis();
+        long window = windowMillis();
+        ipAttempts.values().removeIf(w -> w.isExpired(now, window));
+        loginFailures.values().removeIf(w -> w.isExpired(now, window));
+    }
+
+    private long windowMillis() {
+        return config.getWindowSeconds() * 1000L;
+    }
+
+    private static String failureKey(String username, String ip) {
+        return username.trim().toLowerCase() + '|' + ip;
+    }
+
+    /**
+     * 固定时间窗口计数器
+     */
+    private static final class Window {
+        private long start;
+        private int count;
+
+        synchronized int incrementAndGet(long now, long window) {
+            if (now - start >= window) {
+                start = now;
+                count = 0;
+            }
+            return ++count;
+        }
+
+        synchronized int count(long now, long window) {
+            return now - start >= window ? 0 : count;
+        }
+
+        synchronized boolean isExpired(long now, long window) {
+            return now - start >= window;
+        }
+    }
+}
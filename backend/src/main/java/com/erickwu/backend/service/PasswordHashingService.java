@@ -0,0 +1,154 @@
+package com.erickwu.backend.service;
+
+import com.erickwu.backend.config.BusinessException;
+import com.erickwu.backend.config.PasswordConfig;
+import com.erickwu.backend.metrics.MetricsRegistry;
+import com.erickwu.backend.model.ErrorCode;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.function.Supplier;
+
+/**
+ * 密码哈希服务
+ * 所有 BCrypt 计算都在有界的哈希线程池中执行，队列已满或排队超时时直接拒绝；
+ * 强度未配置时启动后按目标耗时基准校准，登录时发现存储的强度低于当前强度会在后台重新哈希
+ */
+@Service
+public class PasswordHashingService {
+
+    private static final Logger logger = LoggerFactory.getLogger(PasswordHashingService.class);
+
+    private static final String BUSY_MESSAGE = "登录请求繁忙，请稍后重试";
+
+    private final PasswordConfig config;
+    private final MetricsRegistry metrics;
+    private final ThreadPoolExecutor hashExecutor;
+
+    private volatile BCryptPasswordEncoder encoder;
+    private volatile int cost;
+
+    public PasswordHashingService(PasswordConfig config, MetricsRegistry metrics,
+                                  @Qualifier("passwordHashExecutor") ThreadPoolExecutor hashExecutor) {
+        this.config = config;
+        this.metrics = metrics;
+        this.hashExecutor = hashExecutor;
+        useCost(config.getCost() > 0 ? config.getCost() : config.getMinCost());
+        metrics.gauge("password.cost", this::getCost);
+        metrics.gauge("password.queue.size", () -> hashExecutor.getQueue().size());
+    }
+
+    /**
+     * 未配置固定强度时，按目标耗时校准：强度每加 1 耗时翻倍，取估算耗时不超过目标的最大强度
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void calibrate() {
+        if (config.getCost() > 0) {
+            return;
+        }
+        int minCost = config.getMinCost();
+        BCryptPasswordEncoder probe = new BCryptPasswordEncoder(minCost);
+        probe.encode("calibration");    // 预热
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < 3; i++) {
+            long start = System.nanoTime();
+            probe.encode("calibration");
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        double baseMillis = best / 1_000_000.0;
+
+        int cost = minCost;
+        while (cost < config.getMaxCost() && baseMillis * (1L << (cost + 1 - minCost)) <= config.getTargetHashMillis()) {
+            cost++;
+        }
+        useCost(cost);
+        logger.info("BCrypt 强度校准完成: 强度 {} 基准耗时 {} ms，选用强度 {}（目标 {} ms）",
+                minCost, String.format("%.1f", baseMillis), cost, config.getTargetHashMillis());
+    }
+
+    /**
+     * 在哈希线程池中计算密码哈希
+     *
+     * @return 哈希结果；线程池繁忙时以 BusinessException 结束
+     */
+    public CompletableFuture<String> encodeAsync(String rawPassword) {
+        BCryptPasswordEncoder current = encoder;
+        return submit(() -> current.encode(rawPassword));
+    }
+
+    /**
+     * 在哈希线程池中校验密码
+     *
+     * @return 是否匹配；线程池繁忙时以 BusinessException 结束
+     */
+    public CompletableFuture<Boolean> matchesAsync(String rawPassword, String encodedPassword) {
+        BCryptPasswordEncoder current = encoder;
+        return submit(() -> current.matches(rawPassword, encodedPassword));
+    }
+
+    /**
+     * 同步计算密码哈希（管理端等低频调用），计算仍在哈希线程池中进行
+     */
+    public String encode(String rawPassword) {
+        try {
+            return encodeAsync(rawPassword).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * 存储的哈希强度是否低于当前强度
+     */
+    public boolean needsRehash(String encodedPassword) {
+        return encodedPassword != null && encoder.upgradeEncoding(encodedPassword);
+    }
+
+    public int getCost() {
+        return cost;
+    }
+
+    private void useCost(int cost) {
+        this.encoder = new BCryptPasswordEncoder(cost);
+        this.cost = cost;
+    }
+
+    private <T> CompletableFuture<T> submit(Supplier<T> task) {
+        long submittedAt = System.currentTimeMillis();
+        CompletableFuture<T> future = new CompletableFuture<>();
+        try {
+            hashExecutor.execute(() -> {
+                // 排队过久的请求客户端大概率已放弃，不再消耗 CPU
+                if (System.currentTimeMillis() - submittedAt > config.getMaxWaitMillis()) {
+                    metrics.increment("password.expired");
+                    future.completeExceptionally(new BusinessException(ErrorCode.SERVICE_UNAVAILABLE, BUSY_MESSAGE));
+                    return;
+                }
+                long start = System.currentTimeMillis();
+                try {
+                    future.complete(task.get());
+                } catch (RuntimeException e) {
+                    future.completeExceptionally(e);
+                } finally {
+                    metrics.record("password.hash", System.currentTimeMillis() - start);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            metrics.increment("password.rejected");
+            future.completeExceptionally(new BusinessException(ErrorCode.SERVICE_UNAVAILABLE, BUSY_MESSAGE));
+        }
+        return future;
+    }
+}
@@ -1,17 +1,32 @@
 package com.erickwu.backend.service;
 
+import com.erickwu.backend.config.BusinessException;
 import com.erickwu.backend.config.LlmConfig;
+import com.erickwu.backend.metrics.MetricsRegistry;
+import com.erickwu.backend.model.ErrorCode;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import okhttp3.*;
+import okio.BufferedSource;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 
 import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
 
 /**
  * 通义千问 LLM 服务
@@ -26,14 +41,28 @@ public class QwenLlmService {
     private final LlmConfig llmConfig;
     private final OkHttpClient httpClient;
     private final ObjectMapper objectMapper;
+    private final MetricsRegistry metrics;
+    private final Map<String, LlmConcurrencyLimiter> limiters = new ConcurrentHashMap<>();
+    private final Map<String, LlmCircuitBreaker> breakers = new ConcurrentHashMap<>();
+    private final LocalTextEmbedder mockEmbedder = new LocalTextEmbedder(LocalTextEmbedder.DEFAULT_DIMENSION);
 
-    public QwenLlmService(LlmConfig llmConfig, ObjectMapper objectMapper) {
+    public QwenLlmService(LlmConfig llmConfig, ObjectMapper objectMapper, MetricsRegistry metrics) {
         this.llmConfig = llmConfig;
         this.objectMapper = objectMapper;
+        this.metrics = metrics;
+
+        LlmConfig.QwenConfig qwen = llmConfig.getQwen();
+        // 真正的并发上限由 LlmConcurrencyLimiter 控制，Dispatcher 只作兜底
+        Dispatcher dispatcher = new Dispatcher();
+        dispatcher.setMaxRequests(qwen.getDispatcherMaxRequests());
+        dispatcher.setMaxRequestsPerHost(qwen.getDispatcherMaxRequests());
         this.httpClient = new OkHttpClient.Builder()
-                .connectTimeout(llmConfig.getQwen().getTimeout(), TimeUnit.MILLISECONDS)
-                .readTimeout(llmConfig.getQwen().getTimeout(), TimeUnit.MILLISECONDS)
-                .writeTimeout(llmConfig.getQwen().getTimeout(), TimeUnit.MILLISECONDS)
+                .dispatcher(dispatcher)
+                .connectionPool(new ConnectionPool(qwen.getMaxIdleConnections(),
+                        qwen.getKeepAliveMinutes(), TimeUnit.MINUTES))
+                .connectTimeout(qwen.getTimeout(), TimeUnit.MILLISECONDS)
+                .readTimeout(qwen.getTimeout(), TimeUnit.MILLISECONDS)
+                .writeTimeout(qwen.getTimeout(), TimeUnit.MILLISECONDS)
                 .build();
     }
 
@@ -45,44 +74,567 @@ public class QwenLlmService {
      * @return LLM 响应文本
      */
     public String chat(String systemPrompt, String userMessage) {
+        try {
+            return chatAsync(systemPrompt, userMessage).join();
+        } catch (CompletionException e) {
+            throw unwrap(e);
+        }
+    }
+
+    /**
+     * 异步调用通义千问进行聊天补全
+     * 请求先经过按模型划分的并发限制器，排队已满时返回以 LLM_BUSY 失败的 future
+     *
+     * @param systemPrompt 系统提示词
+     * @param userMessage 用户消息
+     * @return LLM 响应文本的 future
+     */
+    public CompletableFuture<String> chatAsync(String systemPrompt, String userMessage) {
         if (llmConfig.isMockMode()) {
             logger.info("LLM Mock 模式，返回模拟响应");
-            return getMockResponse(userMessage);
+            return CompletableFuture.completedFuture(getMockResponse(userMessage));
+        }
+
+        Request request;
+        try {
+            request = newChatRequest(buildChatRequest(systemPrompt, userMessage, false), false);
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+
+        String model = llmConfig.getQwen().getModel();
+        LlmConcurrencyLimiter limiter = limiterFor(model);
+        LlmCircuitBreaker breaker = breakerFor(model);
+        long queuedAt = System.currentTimeMillis();
+        CompletableFuture<Void> permit;
+        try {
+            permit = limiter.acquire();
+        } catch (BusinessException e) {
+            metrics.increment("llm.limiter.rejected");
+            logger.warn("LLM 请求排队已满，拒绝请求");
+            return CompletableFuture.failedFuture(e);
+        }
+
+        return permit
+                .whenComplete((ignored, error) -> {
+                    if (error != null) {
+                        metrics.increment("llm.limiter.timeout");
+                    } else {
+                        metrics.record("llm.limiter.wait", System.currentTimeMillis() - queuedAt);
+                    }
+                })
+                .thenCompose(ignored -> executeWithRetry(request, limiter, breaker, "chat")
+                        .whenComplete((content, error) -> limiter.release()))
+                .thenApply(this::extractContent);
+    }
+
+    /**
+     * 调用向量模型，批量生成文本向量
+     * Mock 模式下使用本地确定性哈希向量，保证相同文本得到相同向量
+     *
+     * @param texts 待向量化文本，单次不超过接口批量上限
+     * @return 与输入顺序一致的 L2 归一化向量
+     */
+    public List<float[]> embed(List<String> texts) {
+        try {
+            return embedAsync(texts).join();
+        } catch (CompletionException e) {
+            throw unwrap(e);
+        }
+    }
+
+    /**
+     * 异步调用向量模型，与对话请求一样经过并发限制、熔断和重试，但按向量模型单独计数
+     */
+    public CompletableFuture<List<float[]>> embedAsync(List<String> texts) {
+        if (llmConfig.isMockMode()) {
+            return CompletableFuture.completedFuture(mockEmbedder.embed(texts));
+        }
+
+        Request request;
+        try {
+            request = newJsonRequest("/embeddings", buildEmbeddingRequest(texts));
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+
+        String model = llmConfig.getQwen().getEmbeddingModel();
+        LlmConcurrencyLimiter limiter = limiterFor(model);
+        LlmCircuitBreaker breaker = breakerFor(model);
+        CompletableFuture<Void> permit;
+        try {
+            permit = limiter.acquire();
+        } catch (BusinessException e) {
+            metrics.increment("llm.limiter.rejected");
+            return CompletableFuture.failedFuture(e);
+        }
+
+        metrics.add("llm.embedding.texts", texts.size());
+        return permit
+                .thenCompose(ignored -> executeWithRetry(request, limiter, breaker, "embedding")
+                        .whenComplete((body, error) -> limiter.release()))
+                .thenApply(body -> extractEmbeddings(body, texts.size()));
+    }
+
+    /**
+     * 当前生效的对话模型名称
+     */
+    public String getChatModel() {
+        return llmConfig.isMockMode() ? "mock" : llmConfig.getQwen().getModel();
+    }
+
+    /**
+     * 当前生效的向量模型名称，向量按模型区分存储
+     */
+    public String getEmbeddingModel() {
+        return llmConfig.isMockMode() ? LocalTextEmbedder.MODEL : llmConfig.getQwen().getEmbeddingModel();
+    }
+
+    /**
+     * 带熔断和重试的调用，整个重试过程占用同一个并发许可
+     */
+    private CompletableFuture<String> executeWithRetry(Request request, LlmConcurrencyLimiter limiter,
+                                                       LlmCircuitBreaker breaker, String op) {
+        CompletableFuture<String> result = new CompletableFuture<>();
+        attempt(request, limiter, breaker, op, 0, result);
+        return result;
+    }
+
+    private void attempt(Request request, LlmConcurrencyLimiter limiter, LlmCircuitBreaker breaker, String op,
+                         int attempt, CompletableFuture<String> result) {
+        if (!breaker.tryAcquire()) {
+            metrics.increment("llm.breaker.rejected");
+            result.completeExceptionally(new BusinessException(ErrorCode.LLM_UNAVAILABLE));
+            return;
+        }
+
+        executeHedged(request, limiter, breaker, op).whenComplete((content, error) -> {
+            if (error == null) {
+                breaker.onSuccess();
+                result.complete(content);
+                return;
+            }
+
+            Throwable cause = error instanceof CompletionException && error.getCause() != null
+                    ? error.getCause() : error;
+            if (!(cause instanceof LlmCallException callError) || !callError.isRetryable()) {
+                // 服务端已正常应答（如 4xx、响应格式异常），不计入熔断
+                breaker.onSuccess();
+                result.completeExceptionally(cause);
+                return;
+            }
+
+            breaker.onFailure();
+            long delay = retryDelay(attempt, callError);
+            if (attempt >= llmConfig.getQwen().getMaxRetries() || delay < 0) {
+                result.completeExceptionally(cause);
+                return;
+            }
+            metrics.increment("llm." + op + ".retries");
+            logger.warn("通义千问调用失败（{}），{} ms 后进行第 {} 次重试",
+                    callError.getMessage(), delay, attempt + 1);
+            CompletableFuture.delayedExecutor(delay, TimeUnit.MILLISECONDS)
+                    .execute(() -> attempt(request, limiter, breaker, op, attempt + 1, result));
+        });
+    }
+
+    /**
+     * 计算第 attempt 次失败后的退避时间：指数退避加随机抖动，且不少于 Retry-After
+     *
+     * @return 等待毫秒数，Retry-After 超过退避上限时返回 -1 表示放弃重试
+     */
+    private long retryDelay(int attempt, LlmCallException error) {
+        LlmConfig.QwenConfig qwen = llmConfig.getQwen();
+        long ceiling = Math.min(qwen.getRetryMaxDelayMillis(),
+                qwen.getRetryBaseDelayMillis() << Math.min(attempt, 16));
+        long delay = ThreadLocalRandom.current().nextLong(ceiling / 2, ceiling + 1);
+        long retryAfter = error.getRetryAfterMillis();
+        if (retryAfter > qwen.getRetryMaxDelayMillis()) {
+            return -1;
+        }
+        return Math.max(delay, retryAfter);
+    }
+
+    /**
+     * 对冲请求：首个请求超过 hedgeDelayMillis 仍未返回时再发一次，取先成功的结果并取消另一个
+     * 仅在熔断器关闭且有空闲并发许可时对冲（对冲请求单独占用一个许可），避免对不健康或已饱和的服务放大流量
+     */
+    private CompletableFuture<String> executeHedged(Request request, LlmConcurrencyLimiter limiter,
+                                                    LlmCircuitBreaker breaker, String op) {
+        LlmConfig.QwenConfig qwen = llmConfig.getQwen();
+        if (!qwen.isHedgeEnabled()) {
+            return execute(request, op);
+        }
+
+        CompletableFuture<String> result = new CompletableFuture<>();
+        AtomicInteger outstanding = new AtomicInteger(1);
+        AtomicReference<CompletableFuture<String>> hedge = new AtomicReference<>();
+        // 对冲定时器：首个请求结束时取消，completeOnTimeout 会同时撤销已登记的定时任务
+        CompletableFuture<Void> hedgeTimer = new CompletableFuture<Void>()
+                .completeOnTimeout(null, qwen.getHedgeDelayMillis(), TimeUnit.MILLISECONDS);
+
+        CompletableFuture<String> primary = execute(request, op);
+        primary.whenComplete((content, error) -> {
+            hedgeTimer.cancel(false);
+            if (error == null) {
+                result.complete(content);
+            } else if (outstanding.decrementAndGet() == 0) {
+                result.completeExceptionally(error);
+            }
+        });
+
+        hedgeTimer.thenRun(() -> {
+            if (result.isDone() || breaker.getState() != LlmCircuitBreaker.State.CLOSED) {
+                return;
+            }
+            if (!limiter.tryAcquire()) {
+                metrics.increment("llm.hedge.skipped");
+                return;
+            }
+            outstanding.incrementAndGet();
+            metrics.increment("llm.hedge.sent");
+            CompletableFuture<String> secondary = execute(request, op);
+            hedge.set(secondary);
+            secondary.whenComplete((content, error) -> {
+                limiter.release();
+                if (error == null) {
+                    if (result.complete(content)) {
+                        metrics.increment("llm.hedge.won");
+                    }
+                } else if (outstanding.decrementAndGet() == 0) {
+                    result.completeExceptionally(error);
+                }
+            });
+            if (result.isDone()) {
+                // 首个请求恰好在对冲发出时结束
+                secondary.cancel(true);
+            }
+        });
+
+        result.whenComplete((content, error) -> {
+            primary.cancel(true);
+            CompletableFuture<String> secondary = hedge.get();
+            if (secondary != null) {
+                secondary.cancel(true);
+            }
+        });
+        return result;
+    }
+
+    /**
+     * 异步发送请求，在 OkHttp 回调线程上以原始响应体完成 future
+     *
+     * @param op 调用类型（chat / embedding），用于区分指标
+     */
+    private CompletableFuture<String> execute(Request request, String op) {
+        CompletableFuture<String> future = new CompletableFuture<>();
+        long startTime = System.currentTimeMillis();
+        logger.debug("发送请求到通义千问: {}", request.url());
+
+        Call httpCall = httpClient.newCall(request);
+        httpCall.enqueue(new Callback() {
+            @Override
+            public void onFailure(Call call, IOException e) {
+                if (call.isCanceled()) {
+                    return;
+                }
+                metrics.increment("llm." + op + ".errors");
+                logger.error("调用通义千问 API 异常", e);
+                future.completeExceptionally(new LlmCallException("LLM API 调用异常: " + e.getMessage(), e));
+            }
+
+            @Override
+            public void onResponse(Call call, Response response) {
+                try (response) {
+                    if (!response.isSuccessful()) {
+                        String errorBody = response.body() != null ? response.body().string() : "No response body";
+                        logger.error("通义千问 API 调用失败: {} - {}", response.code(), errorBody);
+                        metrics.increment("llm." + op + ".errors");
+                        future.completeExceptionally(toCallException(response));
+                        return;
+                    }
+
+                    String responseBody = response.body() != null ? response.body().string() : "";
+                    metrics.record("llm." + op + ".duration", System.currentTimeMillis() - startTime);
+                    future.complete(responseBody);
+                } catch (IOException e) {
+                    metrics.increment("llm." + op + ".errors");
+                    future.completeExceptionally(new LlmCallException("LLM API 读取响应异常: " + e.getMessage(), e));
+                } catch (RuntimeException e) {
+                    metrics.increment("llm." + op + ".errors");
+                    future.completeExceptionally(e);
+                }
+            }
+        });
+        // 对冲落败或调用方取消时中断 HTTP 请求
+        future.whenComplete((content, error) -> {
+            if (future.isCancelled()) {
+                httpCall.cancel();
+            }
+        });
+        return future;
+    }
+
+    /**
+     * 根据非 2xx 响应构造调用异常，解析 Retry-After（秒）
+     */
+    private static LlmCallException toCallException(Response response) {
+        long retryAfterMillis = -1;
+        String retryAfter = response.header("Retry-After");
+        if (retryAfter != null) {
+            try {
+                retryAfterMillis = Long.parseLong(retryAfter.trim()) * 1000;
+            } catch (NumberFormatException ignored) {
+                // HTTP-date 格式不常见，按未指定处理
+            }
+        }
+        return new LlmCallException("LLM API 调用失败: " + response.code(), response.code(), retryAfterMillis);
+    }
+
+    /**
+     * 以流式方式调用通义千问（OpenAI 兼容接口 stream=true）
+     * 在调用线程上阻塞读取 SSE 数据块，每收到一段增量文本即回调 onToken
+     *
+     * @param systemPrompt 系统提示词
+     * @param userMessage 用户消息
+     * @param onToken 增量文本回调
+     * @return 完整的响应文本
+     */
+    public String chatStream(String systemPrompt, String userMessage, Consumer<String> onToken) {
+        return chatStream(systemPrompt, userMessage, onToken, new LlmStreamHandle());
+    }
+
+    /**
+     * 可取消的流式对话：handle 被取消后中断上游连接，抛出 CancellationException，不计入熔断失败
+     */
+    public String chatStream(String systemPrompt, String userMessage, Consumer<String> onToken,
+                             LlmStreamHandle handle) {
+        long startTime = System.currentTimeMillis();
+
+        if (llmConfig.isMockMode()) {
+            logger.info("LLM Mock 模式，返回模拟流式响应");
+            String mock = getMockResponse(userMessage);
+            for (int i = 0; i < mock.length(); i += 16) {
+                if (handle.isCancelled()) {
+                    throw new CancellationException("流式调用已取消");
+                }
+                onToken.accept(mock.substring(i, Math.min(mock.length(), i + 16)));
+            }
+            return mock;
+        }
+
+        Request request = newChatRequest(buildChatRequest(systemPrompt, userMessage, true), true);
+        logger.debug("发送流式请求到通义千问: {}", request.url());
+
+        // 流式请求同样占用模型并发许可，在当前线程上等待
+        String model = llmConfig.getQwen().getModel();
+        LlmConcurrencyLimiter limiter = limiterFor(model);
+        LlmCircuitBreaker breaker = breakerFor(model);
+        try {
+            limiter.acquire().join();
+        } catch (BusinessException e) {
+            metrics.increment("llm.limiter.rejected");
+            throw e;
+        } catch (CompletionException e) {
+            metrics.increment("llm.limiter.timeout");
+            throw unwrap(e);
         }
 
         try {
-            String requestBody = buildChatRequest(systemPrompt, userMessage);
-            String url = llmConfig.getQwen().getBaseUrl() + "/chat/completions";
-
-            Request request = new Request.Builder()
-                    .url(url)
-                    .addHeader("Authorization", "Bearer " + llmConfig.getQwen().getApiKey())
-                    .addHeader("Content-Type", "application/json")
-                    .post(RequestBody.create(requestBody, JSON_MEDIA_TYPE))
-                    .build();
-
-            logger.debug("发送请求到通义千问: {}", url);
-
-            try (Response response = httpClient.newCall(request).execute()) {
-                if (!response.isSuccessful()) {
-                    String errorBody = response.body() != null ? response.body().string() : "No response body";
-                    logger.error("通义千问 API 调用失败: {} - {}", response.code(), errorBody);
-                    throw new RuntimeException("LLM API 调用失败: " + response.code());
+            StreamState state = new StreamState(startTime);
+            for (int attempt = 0; ; attempt++) {
+                if (handle.isCancelled()) {
+                    throw new CancellationException("流式调用已取消");
+                }
+                if (!breaker.tryAcquire()) {
+                    metrics.increment("llm.breaker.rejected");
+                    throw new BusinessException(ErrorCode.LLM_UNAVAILABLE);
                 }
+                try {
+                    String content = streamOnce(request, onToken, state, handle);
+                    breaker.onSuccess();
+                    metrics.record("llm.chat.stream.duration", System.currentTimeMillis() - startTime);
+                    return content;
+                } catch (LlmCallException e) {
+                    if (!e.isRetryable()) {
+                        breaker.onSuccess();
+                        throw e;
+                    }
+                    breaker.onFailure();
+                    // 已向客户端输出内容后不再重试，避免重复文本
+                    long delay = retryDelay(attempt, e);
+                    if (state.firstTokenSent || attempt >= llmConfig.getQwen().getMaxRetries() || delay < 0) {
+                        throw e;
+                    }
+                    metrics.increment("llm.chat.stream.retries");
+                    logger.warn("通义千问流式调用失败（{}），{} ms 后重试", e.getMessage(), delay);
+                    sleepQuietly(delay, e);
+                } catch (RuntimeException e) {
+                    // 解析异常、回调异常等同样要回报熔断器，否则半开状态的探测标记无法释放；
+                    // 调用方主动取消不代表上游故障，只释放探测标记
+                    if (handle.isCancelled()) {
+                        breaker.onCancel();
+                        metrics.increment("llm.chat.stream.cancelled");
+                    } else {
+                        breaker.onFailure();
+                    }
+                    throw e;
+                }
+            }
+        } finally {
+            limiter.release();
+        }
+    }
+
+    /**
+     * 单次流式请求，读取 SSE 数据块直至 [DONE]
+     */
+    private String streamOnce(Request request, Consumer<String> onToken, StreamState state, LlmStreamHandle handle) {
+        StringBuilder content = new StringBuilder();
+        Call call = httpClient.newCall(request);
+        handle.attach(call);
+        try (Response response = call.execute()) {
+            if (!response.isSuccessful()) {
+                String errorBody = response.body() != null ? response.body().string() : "No response body";
+                logger.error("通义千问流式 API 调用失败: {} - {}", response.code(), errorBody);
+                metrics.increment("llm.chat.stream.errors");
+                throw toCallException(response);
+            }
+            if (response.body() == null) {
+                throw new RuntimeException("LLM API 响应为空");
+            }
 
-                String responseBody = response.body() != null ? response.body().string() : "";
-                return extractContent(responseBody);
+            BufferedSource source = response.body().source();
+            String line;
+            while ((line = source.readUtf8Line()) != null) {
+                if (!line.startsWith("data:")) {
+                    continue;
+                }
+                String data = line.substring(5).trim();
+                if ("[DONE]".equals(data)) {
+                    break;
+                }
+                String delta = extractDelta(data);
+                if (delta == null || delta.isEmpty()) {
+                    continue;
+                }
+                if (!state.firstTokenSent) {
+                    state.firstTokenSent = true;
+                    metrics.record("llm.chat.stream.ttft", System.currentTimeMillis() - state.startTime);
+                }
+                content.append(delta);
+                onToken.accept(delta);
             }
         } catch (IOException e) {
-            logger.error("调用通义千问 API 异常", e);
-            throw new RuntimeException("LLM API 调用异常: " + e.getMessage(), e);
+            if (handle.isCancelled()) {
+                throw new CancellationException("流式调用已取消");
+            }
+            metrics.increment("llm.chat.stream.errors");
+            logger.error("调用通义千问流式 API 异常", e);
+            throw new LlmCallException("LLM API 调用异常: " + e.getMessage(), e);
+        }
+        return content.toString();
+    }
+
+    private static void sleepQuietly(long millis, RuntimeException onInterrupt) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw onInterrupt;
+        }
+    }
+
+    /**
+     * 流式调用在多次重试间共享的状态
+     */
+    private static class StreamState {
+        private final long startTime;
+        private boolean firstTokenSent;
+
+        StreamState(long startTime) {
+            this.startTime = startTime;
+        }
+    }
+
+    /**
+     * 构建 chat/completions HTTP 请求
+     */
+    private Request newChatRequest(String requestBody, boolean stream) {
+        if (!stream) {
+            return newJsonRequest("/chat/completions", requestBody);
+        }
+        return newJsonRequest("/chat/completions", requestBody).newBuilder()
+                .addHeader("Accept", "text/event-stream")
+                .build();
+    }
+
+    private Request newJsonRequest(String path, String requestBody) {
+        return new Request.Builder()
+                .url(llmConfig.getQwen().getBaseUrl() + path)
+                .addHeader("Authorization", "Bearer " + llmConfig.getQwen().getApiKey())
+                .addHeader("Content-Type", "application/json")
+                .post(RequestBody.create(requestBody, JSON_MEDIA_TYPE))
+                .build();
+    }
+
+    /**
+     * 获取模型对应的并发限制器，首次使用时注册排队指标
+     */
+    private LlmConcurrencyLimiter limiterFor(String model) {
+        return limiters.computeIfAbsent(model, m -> {
+            LlmConfig.QwenConfig qwen = llmConfig.getQwen();
+            LlmConcurrencyLimiter limiter = new LlmConcurrencyLimiter(qwen.getMaxConcurrentRequests(),
+                    qwen.getMaxWaitingRequests(), qwen.getMaxWaitMillis());
+            metrics.gauge("llm.limiter." + m + ".active", limiter::getActive);
+            metrics.gauge("llm.limiter." + m + ".waiting", limiter::getWaiting);
+            return limiter;
+        });
+    }
+
+    /**
+     * 获取模型对应的熔断器，首次使用时注册状态指标（0 关闭 / 1 打开 / 2 半开）
+     */
+    private LlmCircuitBreaker breakerFor(String model) {
+        return breakers.computeIfAbsent(model, m -> {
+            LlmConfig.QwenConfig qwen = llmConfig.getQwen();
+            LlmCircuitBreaker breaker = new LlmCircuitBreaker(qwen.getBreakerFailureThreshold(),
+                    qwen.getBreakerOpenMillis());
+            metrics.gauge("llm.breaker." + m + ".state", () -> breaker.getState().ordinal());
+            metrics.gauge("llm.breaker." + m + ".opened", breaker::getOpenCount);
+            return breaker;
+        });
+    }
+
+    private static RuntimeException unwrap(CompletionException e) {
+        Throwable cause = e.getCause();
+        if (cause instanceof RuntimeException runtimeException) {
+            return runtimeException;
+        }
+        return new RuntimeException(cause != null ? cause.getMessage() : e.getMessage(), cause);
+    }
+
+    /**
+     * 从流式数据块中提取增量文本
+     */
+    private String extractDelta(String data) {
+        try {
+            JsonNode choices = objectMapper.readTree(data).path("choices");
+            if (choices.isArray() && choices.size() > 0) {
+                JsonNode delta = choices.get(0).path("delta").path("content");
+                return delta.isMissingNode() || delta.isNull() ? null : delta.asText();
+            }
+            return null;
+        } catch (IOException e) {
+            logger.warn("解析流式数据块失败: {}", data);
+            return null;
         }
     }
 
     /**
      * 构建聊天请求体
      */
-    private String buildChatRequest(String systemPrompt, String userMessage) {
+    private String buildChatRequest(String systemPrompt, String userMessage, boolean stream) {
         try {
             ObjectNode root = objectMapper.createObjectNode();
             root.put("model", llmConfig.getQwen().getModel());
@@ -104,6 +656,9 @@ public class QwenLlmService {
             root.set("messages", messages);
             root.put("temperature", 0.7);
             root.put("max_tokens", 4096);
+            if (stream) {
+                root.put("stream", true);
+            }
 
             return objectMapper.writeValueAsString(root);
         } catch (Exception e) {
@@ -128,6 +683,50 @@ public class QwenLlmService {
         }
     }
 
+    /**
+     * 构建向量请求体
+     */
+    private String buildEmbeddingRequest(List<String> texts) {
+        try {
+            ObjectNode root = objectMapper.createObjectNode();
+            root.put("model", llmConfig.getQwen().getEmbeddingModel());
+            ArrayNode input = root.putArray("input");
+            texts.forEach(input::add);
+            root.put("encoding_format", "float");
+            return objectMapper.writeValueAsString(root);
+        } catch (Exception e) {
+            throw new RuntimeException("构建请求体失败", e);
+        }
+    }
+
+    /**
+     * 从向量响应中按 index 还原输入顺序，并做 L2 归一化
+     */
+    private List<float[]> extractEmbeddings(String responseBody, int expected) {
+        try {
+            JsonNode data = objectMapper.readTree(responseBody).path("data");
+            float[][] vectors = new float[expected][];
+            for (JsonNode item : data) {
+                int index = item.path("index").asInt();
+                JsonNode embedding = item.path("embedding");
+                float[] vector = new float[embedding.size()];
+                for (int i = 0; i < vector.length; i++) {
+                    vector[i] = (float) embedding.get(i).asDouble();
+                }
+                vectors[index] = LocalTextEmbedder.normalize(vector);
+            }
+            for (float[] vector : vectors) {
+                if (vector == null) {
+                    throw new RuntimeException("向量响应条数不足");
+                }
+            }
+            return Arrays.asList(vectors);
+        } catch (Exception e) {
+            logger.error("解析向量响应失败", e);
+            throw new RuntimeException("解析向量响应失败", e);
+        }
+    }
+
     /**
      * Mock 模式响应
      */
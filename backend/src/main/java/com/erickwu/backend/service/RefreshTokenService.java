@@ -0,0 +1,208 @@
+package com.erickwu.backend.service;
+
+import com.erickwu.backend.config.BusinessException;
+import com.erickwu.backend.config.JwtConfig;
+import com.erickwu.backend.entity.RefreshToken;
+import com.erickwu.backend.mapper.RefreshTokenMapper;
+import com.erickwu.backend.metrics.MetricsRegistry;
+import com.erickwu.backend.model.ErrorCode;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.UUID;
+
+/**
+ * 刷新令牌服务
+ * 刷新令牌为随机不透明字符串，库中只保存 SHA-256；每次使用即轮换并顺延有效期（不超过会话最长时长）。
+ * 后继令牌由服务端密钥对原令牌做 HMAC 得到，宽限期内重复提交刚轮换的令牌（多个标签页同时刷新）
+ * 可在任一实例上算出并返回同一个后继令牌；超过宽限期再次出现说明可能被盗用，整个登录会话随即吊销
+ */
+@Service
+public class RefreshTokenService {
+
+    private static final Logger logger = LoggerFactory.getLogger(RefreshTokenService.class);
+
+    private static final int TOKEN_BYTES = 32;
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+
+    private final RefreshTokenMapper tokenMapper;
+    private final JwtConfig jwtConfig;
+    private final MetricsRegistry metrics;
+    private final SecureRandom random = new SecureRandom();
+
+    public RefreshTokenService(RefreshTokenMapper tokenMapper, JwtConfig jwtConfig, MetricsRegistry metrics) {
+        this.tokenMapper = tokenMapper;
+        this.jwtConfig = jwtConfig;
+        this.metrics = metrics;
+    }
+
+    /**
+     * 登录时开启新会话并签发刷新令牌
+     *
+     * @return 刷新令牌原文
+     */
+    public String issue(Long userId) {
+        byte[] bytes = new byte[TOKEN_BYTES];
+        random.nextBytes(bytes);
+        String rawToken = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+        LocalDateTime now = LocalDateTime.now();
+        store(userId, UUID.randomUUID().toString(), now, now, rawToken);
+        return rawToken;
+    }
+
+    /**
+     * 轮换刷新令牌
+     *
+     * @param rawToken 客户端提交的刷新令牌
+     * @return 轮换结果（用户ID 和新的刷新令牌）
+     * @throws BusinessException 令牌无效、过期或已被使用
+     */
+    @Transactional(noRollbackFor = BusinessException.class)
+    public Rotation rotate(String rawToken) {
+        RefreshToken token = rawToken != null && !rawToken.isEmpty() ? tokenMapper.findByHashForUpdate(hash(rawToken)) : null;
+        if (token == null) {
+            throw invalid();
+        }
+        LocalDateTime now = LocalDateTime.now();
+        String next = successorOf(rawToken);
+        if (Boolean.TRUE.equals(token.getRevoked())) {
+            if (inGraceWindow(token, now)) {
+                RefreshToken successor = tokenMapper.findByHashForUpdate(hash(next));
+                if (successor != null && !Boolean.TRUE.equals(successor.getRevoked())
+                        && successor.getExpiresAt().isAfter(now)) {
+                    metrics.increment("auth.refresh.grace");
+                    return new Rotation(token.getUserId(), next);
+                }
+            }
+            // 已轮换的令牌被再次使用，吊销整个会话（不随异常回滚）
+            revokeReused(token);
+            throw invalid();
+        }
+        if (!token.getExpiresAt().isAfter(now)) {
+            throw invalid();
+        }
+        if (tokenMapper.markRotated(token.getId()) == 0) {
+            // 行锁下不应出现，防御性按重放处理
+            revokeReused(token);
+            throw invalid();
+        }
+
+        store(token.getUserId(), token.getFamilyId(), token.getSessionStartedAt(), now, next);
+        metrics.increment("auth.refresh.rotated");
+        return new Rotation(token.getUserId(), next);
+    }
+
+    /**
+     * 吊销刷新令牌所在的登录会话（退出登录）
+     */
+    public void revoke(String rawToken) {
+        if (rawToken == null || rawToken.isEmpty()) {
+            return;
+        }
+        RefreshToken token = tokenMapper.findByHash(hash(rawToken));
+        if (token != null) {
+            tokenMapper.revokeFamily(token.getFamilyId());
+        }
+    }
+
+    /**
+     * 吊销用户的全部刷新令牌（禁用、删除、重置密码）
+     */
+    public void revokeUser(Long userId) {
+        tokenMapper.revokeByUser(userId);
+    }
+
+    public long getRefreshExpiresInSeconds() {
+        return jwtConfig.getRefreshExpiration() / 1000;
+    }
+
+    /**
+     * 清理已过期的刷新令牌
+     */
+    @Scheduled(cron = "${jwt.refresh-purge-cron:0 45 3 * * *}")
+    public void purgeExpired() {
+        try {
+            int deleted = tokenMapper.deleteExpired();
+            if (deleted > 0) {
+                logger.info("已清理 {} 个过期的刷新令牌", deleted);
+            }
+        } catch (Exception e) {
+            logger.warn("清理过期刷新令牌失败: {}", e.getMessage());
+        }
+    }
+
+    private void store(Long userId, String familyId, LocalDateTime sessionStartedAt, LocalDateTime now, String rawToken) {
+        LocalDateTime slidingExpiry = now.plus(jwtConfig.getRefreshExpiration(), ChronoUnit.MILLIS);
+        LocalDateTime sessionEnd = sessionStartedAt.plus(jwtConfig.getSessionMaxAge(), ChronoUnit.MILLIS);
+
+        RefreshToken token = new RefreshToken();
+        token.setUserId(userId);
+        token.setTokenHash(hash(rawToken));
+        token.setFamilyId(familyId);
+        token.setSessionStartedAt(sessionStartedAt);
+        token.setExpiresAt(slidingExpiry.isBefore(sessionEnd) ? slidingExpiry : sessionEnd);
+        tokenMapper.insert(token);
+    }
+
+    /**
+     * 令牌刚被轮换（而非退出登录等原因吊销）且仍在宽限期内
+     */
+    private boolean inGraceWindow(RefreshToken token, LocalDateTime now) {
+        return token.getUsedAt() != null
+                && token.getUsedAt().plus(jwtConfig.getRefreshReuseGraceMs(), ChronoUnit.MILLIS).isAfter(now);
+    }
+
+    /**
+     * 由原令牌确定性地派生后继令牌，不持有服务端密钥无法计算
+     */
+    private String successorOf(String rawToken) {
+        try {
+            Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+            mac.init(new SecretKeySpec(jwtConfig.getSecret().getBytes(StandardCharsets.UTF_8), HMAC_ALGORITHM));
+            byte[] digest = mac.doFinal(rawToken.getBytes(StandardCharsets.UTF_8));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(digest);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HmacSHA256 不可用", e);
+        }
+    }
+
+    private void revokeReused(RefreshToken token) {
+        metrics.increment("auth.refresh.reused");
+        logger.warn("用户 {} 的刷新令牌被重复使用，吊销会话 {}", token.getUserId(), token.getFamilyId());
+        tokenMapper.revokeFamily(token.getFamilyId());
+    }
+
+    private static BusinessException invalid() {
+        return new BusinessException(ErrorCode.USER_TOKEN_INVALID, "登录已失效，请重新登录");
+    }
+
+    private static String hash(String rawToken) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(rawToken.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 不可用", e);
+        }
+    }
+
+    /**
+     * 轮换结果
+     */
+    public record Rotation(Long userId, String refreshToken) {
+    }
+}
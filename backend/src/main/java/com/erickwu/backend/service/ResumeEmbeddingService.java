@@ -0,0 +1,615 @@
+package com.erickwu.backend.service;
+
+import com.erickwu.backend.config.BusinessException;
+import com.erickwu.backend.config.EmbeddingConfig;
+import com.erickwu.backend.entity.Resume;
+import com.erickwu.backend.entity.ResumeEmbedding;
+import com.erickwu.backend.entity.ResumeVersion;
+import com.erickwu.backend.entity.Skill;
+import com.erickwu.backend.mapper.EmbeddingBackfillJobMapper;
+import com.erickwu.backend.mapper.ResumeEmbeddingMapper;
+import com.erickwu.backend.mapper.ResumeMapper;
+import com.erickwu.backend.mapper.ResumeVersionMapper;
+import com.erickwu.backend.mapper.SkillMapper;
+import com.erickwu.backend.metrics.MetricsRegistry;
+import com.erickwu.backend.model.ErrorCode;
+import com.erickwu.backend.util.TransactionHooks;
+import com.erickwu.backend.vo.SimilarCandidateVO;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 简历向量服务
+ * 版本保存后异步将原始文本分块和技能向量化，合并为一个版本向量落库，
+ * 并维护按简历划分的内存 HNSW 索引（每份简历取最新已向量化版本），提供相似候选人检索。
+ * 向量按 (版本, 模型) 存储；切换向量模型后继续使用旧模型的索引对外检索，
+ * 新模型的回填任务完成后在后台构建新索引并整体替换
+ */
+@Service
+public class ResumeEmbeddingService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ResumeEmbeddingService.class);
+    /** 软删除节点少于该数量时不压缩，避免小索引频繁重建 */
+    private static final int COMPACT_MIN_DELETED = 256;
+
+    private final EmbeddingConfig config;
+    private final QwenLlmService llmService;
+    private final ResumeEmbeddingMapper embeddingMapper;
+    private final EmbeddingBackfillJobMapper backfillJobMapper;
+    private final ResumeVersionMapper versionMapper;
+    private final ResumeMapper resumeMapper;
+    private final SkillMapper skillMapper;
+    private final MetricsRegistry metrics;
+    private final ThreadPoolExecutor embeddingExecutor;
+
+    /** 对外检索的索引 */
+    private volatile ModelIndex serving;
+    /** 后台构建中的新模型索引，构建期间的写入同时进入两个索引；由本对象锁保护 */
+    private ModelIndex building;
+    private volatile boolean ready;
+    private final AtomicBoolean compacting = new AtomicBoolean();
+
+    public ResumeEmbeddingService(EmbeddingConfig config,
+                                  QwenLlmService llmService,
+                                  ResumeEmbeddingMapper embeddingMapper,
+                                  EmbeddingBackfillJobMapper backfillJobMapper,
+                                  ResumeVersionMapper versionMapper,
+                                  ResumeMapper resumeMapper,
+                                  SkillMapper skillMapper,
+                                  MetricsRegistry metrics,
+                                  @Qualifier("embeddingExecutor") ThreadPoolExecutor embeddingExecutor) {
+        this.config = config;
+        this.llmService = llmService;
+        this.embeddingMapper = embeddingMapper;
+        this.backfillJobMapper = backfillJobMapper;
+        this.versionMapper = versionMapper;
+        this.resumeMapper = resumeMapper;
+        this.skillMapper = skillMapper;
+        this.metrics = metrics;
+        this.embeddingExecutor = embeddingExecutor;
+
+        metrics.gauge("embedding.index.size", () -> hnswOf(serving) != null ? hnswOf(serving).size() : 0);
+        metrics.gauge("embedding.index.deleted", () -> hnswOf(serving) != null ? hnswOf(serving).deletedCount() : 0);
+        metrics.gauge("embedding.index.ready", () -> ready ? 1 : 0);
+        metrics.gauge("embedding.queue", () -> embeddingExecutor.getQueue().size());
+    }
+
+    /**
+     * 启动后在向量线程上分页加载已有向量构建索引，加载期间检索返回已加载部分。
+     * 当前模型尚未完成回填、且库中有其他模型的向量时，先加载旧模型的索引
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadIndex() {
+        if (!config.isEnabled()) {
+            return;
+        }
+        try {
+            embeddingExecutor.execute(() -> {
+                try {
+                    rebuildIndex(servingModelOnStartup());
+                } catch (RuntimeException e) {
+                    logger.error("向量索引加载失败", e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            logger.warn("向量索引加载任务提交失败", e);
+        }
+    }
+
+    /**
+     * 回填任务完成后调用：在后台构建该模型的索引，完成前继续使用原索引
+     */
+    public void activateModel(String model) {
+        ModelIndex current = serving;
+        if (current != null && current.model.equals(model)) {
+            return;
+        }
+        try {
+            embeddingExecutor.execute(() -> rebuildIndex(model));
+        } catch (RejectedExecutionException e) {
+            logger.warn("向量索引切换任务提交失败，模型 {}", model, e);
+        }
+    }
+
+    /**
+     * 从数据库重建指定模型的索引：首次加载时直接对外提供已加载部分，否则构建完成后整体替换
+     */
+    public void rebuildIndex(String model) {
+        long startTime = System.currentTimeMillis();
+        ModelIndex next = new ModelIndex(model);
+        boolean initial;
+        synchronized (this) {
+            initial = serving == null;
+            if (initial) {
+                serving = next;
+            } else {
+                building = next;
+            }
+        }
+
+        int loaded = 0;
+        long cursor = 0;
+        try {
+            while (true) {
+                List<ResumeEmbedding> page = embeddingMapper.findLatestPage(model, cursor, config.getLoadPageSize());
+                for (ResumeEmbedding embedding : page) {
+                    indexVector(model, embedding.getResumeId(), embedding.getVersionId(), decode(embedding.getVector()));
+                    cursor = embedding.getResumeId();
+                }
+                loaded += page.size();
+                if (page.size() < config.getLoadPageSize()) {
+                    break;
+                }
+            }
+            synchronized (this) {
+                if (building == next) {
+                    serving = next;
+                    building = null;
+                }
+            }
+            ready = true;
+            metrics.record("embedding.index.load", System.currentTimeMillis() - startTime);
+            logger.info("向量索引加载完成: 模型 {}, {} 份简历, 耗时 {} ms",
+                    model, loaded, System.currentTimeMillis() - startTime);
+        } catch (RuntimeException e) {
+            synchronized (this) {
+                if (building == next) {
+                    building = null;
+                }
+            }
+            logger.error("向量索引加载失败，模型 {}，已加载 {} 份简历", model, loaded, e);
+        }
+    }
+
+    /**
+     * 当前模型已完成回填或库中没有其他模型的向量时使用当前模型，否则沿用向量最多的旧模型
+     */
+    private String servingModelOnStartup() {
+        String target = llmService.getEmbeddingModel();
+        String previous = embeddingMapper.findOtherModel(target);
+        if (previous == null || backfillJobMapper.countDone(target) > 0) {
+            return target;
+        }
+        logger.info("向量模型 {} 尚未完成回填，继续使用 {} 的索引，回填完成后自动切换", target, previous);
+        return previous;
+    }
+
+    // ==================== 写入 ====================
+
+    /**
+     * 版本保存后调用，事务提交后异步向量化；队列已满时跳过，由回填任务补齐
+     */
+    public void versionStored(Long versionId) {
+        if (!config.isEnabled()) {
+            return;
+        }
+        TransactionHooks.afterCommit(() -> {
+            try {
+                embeddingExecutor.execute(() -> {
+                    try {
+                        ResumeVersion version = versionMapper.findRawTextById(versionId);
+                        if (version != null) {
+                            embedVersions(List.of(version));
+                        }
+                    } catch (RuntimeException e) {
+                        metrics.increment("embedding.errors");
+                        logger.error("简历版本向量化失败，版本ID: {}", versionId, e);
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                metrics.increment("embedding.rejected");
+                logger.warn("向量化队列已满，跳过版本 {}", versionId);
+            }
+        });
+    }
+
+    /**
+     * 批量向量化版本：各版本的分块和技能文本合并后按 batchSize 填满每次请求
+     *
+     * @return 成功写入的版本数
+     */
+    public int embedVersions(List<ResumeVersion> versions) {
+        return embedVersions(versions, () -> { });
+    }
+
+    /**
+     * 批量向量化版本
+     *
+     * @param beforeRequest 每次调用向量接口前执行，供回填任务限速
+     * @return 成功写入的版本数
+     */
+    public int embedVersions(List<ResumeVersion> versions, Runnable beforeRequest) {
+        if (versions.isEmpty()) {
+            return 0;
+        }
+        long startTime = System.currentTimeMillis();
+        String model = llmService.getEmbeddingModel();
+
+        // 整批一次查询简历和技能，不逐版本查询，也不经过技能的单点缓存（回填时会冲掉热点数据）
+        List<Long> resumeIds = versions.stream().map(ResumeVersion::getResumeId).distinct().toList();
+        Map<Long, Resume> resumes = resumeMapper.findByIds(resumeIds).stream()
+                .collect(Collectors.toMap(Resume::getId, Function.identity()));
+        Map<Long, List<Skill>> skillsByResume = skillMapper.findByResumeIds(resumeIds).stream()
+                .collect(Collectors.groupingBy(Skill::getResumeId));
+
+        List<String> texts = new ArrayList<>();
+        List<VersionTexts> pending = new ArrayList<>();
+        for (ResumeVersion version : versions) {
+            Resume resume = resumes.get(version.getResumeId());
+            if (resume == null) {
+                continue;
+            }
+            VersionTexts entry = new VersionTexts(version, resume.getUserId(), texts.size());
+            for (String chunk : chunk(version.getRawText())) {
+                texts.add(chunk);
+                entry.chunkCount++;
+            }
+            String skillText = skillText(skillsByResume.get(resume.getId()));
+            if (skillText != null) {
+                texts.add(skillText);
+                entry.hasSkills = true;
+            }
+            if (entry.chunkCount > 0 || entry.hasSkills) {
+                pending.add(entry);
+            }
+        }
+        if (texts.isEmpty()) {
+            return 0;
+        }
+
+        List<float[]> vectors = new ArrayList<>(texts.size());
+        for (int from = 0; from < texts.size(); from += config.getBatchSize()) {
+            int to = Math.min(texts.size(), from + config.getBatchSize());
+            beforeRequest.run();
+            vectors.addAll(llmService.embed(texts.subList(from, to)));
+        }
+
+        for (VersionTexts entry : pending) {
+            float[] vector = combine(vectors, entry);
+            ResumeEmbedding embedding = new ResumeEmbedding();
+            embedding.setVersionId(entry.version.getId());
+            embedding.setResumeId(entry.version.getResumeId());
+            embedding.setUserId(entry.userId);
+            embedding.setModel(model);
+            embedding.setDimension(vector.length);
+            embedding.setVector(encode(vector));
+            embeddingMapper.upsert(embedding);
+            indexVector(model, entry.version.getResumeId(), entry.version.getId(), vector);
+        }
+
+        metrics.add("embedding.versions", pending.size());
+        metrics.add("embedding.texts", texts.size());
+        metrics.record("embedding.duration", System.currentTimeMillis() - startTime);
+        return pending.size();
+    }
+
+    /**
+     * 版本删除后调用：删除向量，若该版本正在索引中则回退到简历的上一个已向量化版本
+     */
+    public void versionRemoved(Long versionId, Long resumeId) {
+        TransactionHooks.afterCommit(() -> {
+            embeddingMapper.deleteByVersionId(versionId);
+            ModelIndex current = serving;
+            ModelIndex next;
+            synchronized (this) {
+                next = building;
+            }
+            fallBackToPreviousVersion(current, versionId, resumeId);
+            fallBackToPreviousVersion(next, versionId, resumeId);
+            compactIfNeeded();
+        });
+    }
+
+    /**
+     * 简历删除后调用：删除全部向量并移出索引
+     */
+    public void resumeRemoved(Long resumeId) {
+        TransactionHooks.afterCommit(() -> {
+            embeddingMapper.deleteByResumeId(resumeId);
+            synchronized (this) {
+                for (ModelIndex target : new ModelIndex[]{serving, building}) {
+                    if (target != null && target.versions.remove(resumeId) != null) {
+                        target.hnsw.remove(resumeId);
+                    }
+                }
+            }
+            compactIfNeeded();
+        });
+    }
+
+    // ==================== 检索 ====================
+
+    /**
+     * 查询与指定简历最相似的候选人
+     *
+     * @param resumeId 作为查询的简历
+     * @param topK 返回条数，不超过 maxTopK
+     */
+    public List<SimilarCandidateVO> findSimilar(Long resumeId, int topK) {
+        ModelIndex state = serving;
+        HnswIndex current = hnswOf(state);
+        float[] query = current != null ? current.get(resumeId) : null;
+        if (query == null) {
+            String model = state != null ? state.model : llmService.getEmbeddingModel();
+            ResumeEmbedding embedding = embeddingMapper.findLatestByResumeId(resumeId, model);
+            if (embedding == null) {
+                throw new BusinessException(ErrorCode.NOT_FOUND, "该简历尚未生成向量");
+            }
+            query = decode(embedding.getVector());
+        }
+        if (current == null || current.dimension() != query.length) {
+            return List.of();
+        }
+
+        int k = Math.max(1, Math.min(topK, config.getMaxTopK()));
+        long startTime = System.nanoTime();
+        List<HnswIndex.Hit> hits = current.search(query, k + 1, Math.max(config.getHnswEfSearch(), k + 1));
+        metrics.record("embedding.search", (System.nanoTime() - startTime) / 1_000_000);
+
+        // 命中的简历一次 IN 查询批量加载
+        List<Long> ids = new ArrayList<>(hits.size());
+        for (HnswIndex.Hit hit : hits) {
+            if (hit.key() != resumeId) {
+                ids.add(hit.key());
+            }
+        }
+        Map<Long, Resume> resumes = ids.isEmpty() ? Map.of() : resumeMapper.findByIds(ids).stream()
+                .collect(Collectors.toMap(Resume::getId, Function.identity()));
+
+        List<SimilarCandidateVO> result = new ArrayList<>(k);
+        for (HnswIndex.Hit hit : hits) {
+            if (hit.key() == resumeId || result.size() >= k) {
+                continue;
+            }
+            Resume resume = resumes.get(hit.key());
+            if (resume == null) {
+                continue;
+            }
+            SimilarCandidateVO vo = new SimilarCandidateVO();
+            vo.setResumeId(resume.getId());
+            vo.setUserId(resume.getUserId());
+            vo.setRealName(resume.getRealName());
+            vo.setTargetPosition(resume.getTargetPosition());
+            vo.setScore(hit.score());
+            result.add(vo);
+        }
+        return result;
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    // ==================== 私有辅助方法 ====================
+
+    /**
+     * 写入该模型对应的索引（对外索引和构建中的索引），较旧版本不覆盖较新版本；
+     * 其他模型的向量只落库，等回填完成切换索引时加载
+     */
+    private void indexVector(String model, Long resumeId, Long versionId, float[] vector) {
+        synchronized (this) {
+            for (ModelIndex target : new ModelIndex[]{serving, building}) {
+                if (target == null || !target.model.equals(model)) {
+                    continue;
+                }
+                if (target.hnsw == null) {
+                    target.hnsw = new HnswIndex(vector.length, config.getHnswM(), config.getHnswEfConstruction());
+                } else if (target.hnsw.dimension() != vector.length) {
+                    metrics.increment("embedding.index.dimensionMismatch");
+                    continue;
+                }
+                Long indexed = target.versions.get(resumeId);
+                if (indexed == null || indexed <= versionId) {
+                    target.hnsw.upsert(resumeId, vector);
+                    target.versions.put(resumeId, versionId);
+                }
+            }
+        }
+        compactIfNeeded();
+    }
+
+    /**
+     * 被删版本正在索引中时回退到简历在该模型下的上一个已向量化版本
+     */
+    private void fallBackToPreviousVersion(ModelIndex target, Long versionId, Long resumeId) {
+        if (target == null) {
+            return;
+        }
+        synchronized (this) {
+            if (!versionId.equals(target.versions.get(resumeId))) {
+                return;
+            }
+        }
+        ResumeEmbedding latest = embeddingMapper.findLatestByResumeId(resumeId, target.model);
+        synchronized (this) {
+            if (!versionId.equals(target.versions.get(resumeId))) {
+                return;
+            }
+            if (latest == null) {
+                target.versions.remove(resumeId);
+                target.hnsw.remove(resumeId);
+            } else {
+                target.hnsw.upsert(resumeId, decode(latest.getVector()));
+                target.versions.put(resumeId, latest.getVersionId());
+            }
+        }
+    }
+
+    private static HnswIndex hnswOf(ModelIndex state) {
+        return state != null ? state.hnsw : null;
+    }
+
+    /**
+     * 软删除节点超过配置比例时提交压缩任务；被删节点仍参与遍历，积累过多会拖慢查询并降低召回
+     */
+    private void compactIfNeeded() {
+        HnswIndex current = hnswOf(serving);
+        if (current == null) {
+            return;
+        }
+        int deleted = current.deletedCount();
+        if (deleted < COMPACT_MIN_DELETED
+                || deleted < (current.size() + deleted) * config.getHnswCompactRatio()
+                || !compacting.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            embeddingExecutor.execute(this::compactIndex);
+        } catch (RejectedExecutionException e) {
+            compacting.set(false);
+        }
+    }
+
+    /**
+     * 复制存活节点重建索引后替换；持有本对象锁，复制期间写入等待，查询照常读取旧索引
+     */
+    private void compactIndex() {
+        long startTime = System.currentTimeMillis();
+        try {
+            int deleted;
+            synchronized (this) {
+                ModelIndex state = serving;
+                if (state == null || state.hnsw == null) {
+                    return;
+                }
+                deleted = state.hnsw.deletedCount();
+                state.hnsw = state.hnsw.compacted();
+            }
+            metrics.increment("embedding.index.compactions");
+            logger.info("向量索引压缩完成: 清理 {} 个已删除节点, 耗时 {} ms",
+                    deleted, System.currentTimeMillis() - startTime);
+        } catch (RuntimeException e) {
+            logger.error("向量索引压缩失败", e);
+        } finally {
+            compacting.set(false);
+        }
+    }
+
+    /**
+     * 原始文本按固定长度分块，优先在换行处切分
+     */
+    private List<String> chunk(String rawText) {
+        List<String> chunks = new ArrayList<>();
+        if (rawText == null || rawText.isBlank()) {
+            return chunks;
+        }
+        String text = rawText.strip();
+        int size = config.getChunkChars();
+        int start = 0;
+        while (start < text.length() && chunks.size() < config.getMaxChunks()) {
+            int end = Math.min(text.length(), start + size);
+            if (end < text.length()) {
+                int newline = text.lastIndexOf('\n', end);
+                if (newline > start + size / 2) {
+                    end = newline;
+                }
+            }
+            String chunk = text.substring(start, end).strip();
+            if (!chunk.isEmpty()) {
+                chunks.add(chunk);
+            }
+            start = end;
+        }
+        return chunks;
+    }
+
+    private static String skillText(List<Skill> skills) {
+        if (skills == null || skills.isEmpty()) {
+            return null;
+        }
+        StringBuilder sb = new StringBuilder("技能：");
+        for (Skill skill : skills) {
+            sb.append(skill.getName());
+            if (skill.getLevel() != null) {
+                sb.append("（熟练度").append(skill.getLevel()).append("）");
+            }
+            sb.append("；");
+        }
+        return sb.toString();
+    }
+
+    /**
+     * 正文分块取均值，再与技能向量按权重合并并归一化
+     */
+    private float[] combine(List<float[]> vectors, VersionTexts entry) {
+        int dimension = vectors.get(entry.offset).length;
+        float[] combined = new float[dimension];
+        double skillWeight = entry.chunkCount == 0 ? 1.0 : entry.hasSkills ? config.getSkillWeight() : 0.0;
+        if (entry.chunkCount > 0) {
+            float weight = (float) ((1.0 - skillWeight) / entry.chunkCount);
+            for (int c = 0; c < entry.chunkCount; c++) {
+                float[] vector = vectors.get(entry.offset + c);
+                for (int i = 0; i < dimension; i++) {
+                    combined[i] += vector[i] * weight;
+                }
+            }
+        }
+        if (entry.hasSkills) {
+            float[] vector = vectors.get(entry.offset + entry.chunkCount);
+            for (int i = 0; i < dimension; i++) {
+                combined[i] += (float) (vector[i] * skillWeight);
+            }
+        }
+        return LocalTextEmbedder.normalize(combined);
+    }
+
+    static byte[] encode(float[] vector) {
+        ByteBuffer buffer = ByteBuffer.allocate(vector.length * Float.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.asFloatBuffer().put(vector);
+        return buffer.array();
+    }
+
+    static float[] decode(byte[] bytes) {
+        float[] vector = new float[bytes.length / Float.BYTES];
+        ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN).asFloatBuffer().get(vector);
+        return vector;
+    }
+
+
+    /**
+     * 一个向量模型的索引，以及每份简历已索引的版本ID（防止较旧的版本覆盖较新的版本）
+     */
+    private static final class ModelIndex {
+        private final String model;
+        private final Map<Long, Long> versions = new HashMap<>();
+        /** 首个向量写入时按其维度创建；检索线程无锁读取 */
+        private volatile HnswIndex hnsw;
+
+        ModelIndex(String model) {
+            this.model = model;
+        }
+    }
+
+    /**
+     * 单个版本在批量文本中的位置：offset 起 chunkCount 个正文分块，随后可能有一条技能文本
+     */
+    private static class VersionTexts {
+        private final ResumeVersion version;
+        private final Long userId;
+        private final int offset;
+        private int chunkCount;
+        private boolean hasSkills;
+
+        VersionTexts(ResumeVersion version, Long userId, int offset) {
+            this.version = version;
+            this.userId = userId;
+            this.offset = offset;
+        }
+    }
+}
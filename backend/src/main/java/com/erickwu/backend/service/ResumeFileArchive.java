@@ -0,0 +1,514 @@
+package com.erickwu.backend.service;
+
+import com.erickwu.backend.config.ResumeArchiveConfig;
+import com.erickwu.backend.entity.ResumeFile;
+import com.erickwu.backend.mapper.ResumeFileMapper;
+import com.erickwu.backend.metrics.MetricsRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.InputStreamSource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.Inflater;
+
+/**
+ * 简历原始文件归档
+ * 文件按 SHA-256 去重，追加写入分段文件（seg-000001.dat ...），每条记录为
+ * [魔数 4B][压缩方式 1B][保留 3B][存储长度 8B][原始长度 8B][SHA-256 32B][数据]，
+ * 位置索引保存在 resume_file 表；记录头可在索引丢失时用于校验和重建。
+ * 读取时按记录位置做内存映射，未压缩的文件下载走 FileChannel.transferTo。
+ * 版本删除后不再被引用的文件由每日回收任务删除索引，并压缩无效数据过多的分段
+ */
+@Service
+public class ResumeFileArchive {
+
+    private static final Logger logger = LoggerFactory.getLogger(ResumeFileArchive.class);
+
+    private static final int MAGIC = 0x52534631; // "RSF1"
+    private static final int HEADER_SIZE = 4 + 1 + 3 + 8 + 8 + 32;
+    private static final byte CODE_NONE = 0;
+    private static final byte CODE_DEFLATE = 1;
+    private static final int COPY_CHUNK = 64 * 1024;
+    private static final int GC_BATCH = 500;
+    private static final String UPLOAD_PREFIX = "upload-";
+
+    private final ResumeArchiveConfig config;
+    private final ResumeFileMapper fileMapper;
+    private final MetricsRegistry metrics;
+    private final Path root;
+    private final Map<Integer, FileChannel> readChannels = new ConcurrentHashMap<>();
+
+    /** 当前追加写入的分段，由 this 锁保护 */
+    private int currentSegment;
+    private FileChannel writeChannel;
+
+    public ResumeFileArchive(ResumeArchiveConfig config, ResumeFileMapper fileMapper, MetricsRegistry metrics) {
+        this.config = config;
+        this.fileMapper = fileMapper;
+        this.metrics = metrics;
+        this.root = Paths.get(config.getStorageDir()).toAbsolutePath().normalize();
+    }
+
+    public boolean isEnabled() {
+        return config.isEnabled();
+    }
+
+    /**
+     * 归档文件内容，相同内容只存一份
+     *
+     * @return 内容哈希
+     */
+    public String store(byte[] content) throws IOException {
+        return store(new ByteArrayInputStream(content));
+    }
+
+    /**
+     * 流式归档文件内容：一次读取同时计算哈希、写出原文和压缩结果到临时文件，
+     * 再从临时文件追加到分段，不在堆上持有整个文件
+     *
+     * @return 内容哈希
+     */
+    public String store(InputStream in) throws IOException {
+        long start = System.currentTimeMillis();
+        Files.createDirectories(root);
+        Path raw = Files.createTempFile(root, UPLOAD_PREFIX, ".tmp");
+        Path packed = Files.createTempFile(root, UPLOAD_PREFIX, ".tmp");
+        try {
+            MessageDigest digest = sha256Digest();
+            long originalSize = 0;
+            Deflater deflater = new Deflater(config.getCompressionLevel());
+            try (OutputStream rawOut = Files.newOutputStream(raw);
+                 OutputStream packedOut = new DeflaterOutputStream(Files.newOutputStream(packed), deflater, COPY_CHUNK)) {
+                byte[] chunk = new byte[COPY_CHUNK];
+                int n;
+                while ((n = in.read(chunk)) > 0) {
+                    digest.update(chunk, 0, n);
+                    rawOut.write(chunk, 0, n);
+                    packedOut.write(chunk, 0, n);
+                    originalSize += n;
+                }
+            } finally {
+                deflater.end();
+            }
+
+            String sha256 = HexFormat.of().formatHex(digest.digest());
+            if (fileMapper.touch(sha256) > 0) {
+                metrics.increment("resume.archive.dedup");
+                return sha256;
+            }
+
+            Path payload = raw;
+            byte code = CODE_NONE;
+            long payloadSize = originalSize;
+            long packedSize = Files.size(packed);
+            if (packedSize <= originalSize * (1 - config.getMinCompressionSaving())) {
+                payload = packed;
+                code = CODE_DEFLATE;
+                payloadSize = packedSize;
+            }
+
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            header.putInt(MAGIC).put(code).put(new byte[3])
+                    .putLong(payloadSize).putLong(originalSize)
+                    .put(HexFormat.of().parseHex(sha256))
+                    .flip();
+
+            ResumeFile file = new ResumeFile();
+            file.setSha256(sha256);
+            file.setStoredSize(payloadSize);
+            file.setOriginalSize(originalSize);
+            file.setCompression(code == CODE_DEFLATE ? ResumeFile.COMPRESSION_DEFLATE : ResumeFile.COMPRESSION_NONE);
+            try (FileChannel source = FileChannel.open(payload, StandardOpenOption.READ)) {
+                synchronized (this) {
+                    FileChannel channel = channelForAppend(HEADER_SIZE + payloadSize);
+                    long offset = channel.size();
+                    while (header.hasRemaining()) {
+                        channel.write(header);
+                    }
+                    copy(source, 0, payloadSize, channel, sha256);
+                    // 先落盘再写索引，索引存在即保证数据完整
+                    channel.force(false);
+                    file.setSegmentId(currentSegment);
+                    file.setSegmentOffset(offset);
+                }
+            }
+            // 并发归档同一内容时只有一条索引生效，另一条记录成为无引用数据，由回收任务清理
+            fileMapper.insertIgnore(file);
+
+            metrics.increment("resume.archive.store");
+            metrics.add("resume.archive.bytes.original", originalSize);
+            metrics.add("resume.archive.bytes.stored", payloadSize);
+            metrics.record("resume.archive.store", System.currentTimeMillis() - start);
+            return sha256;
+        } finally {
+            Files.deleteIfExists(raw);
+            Files.deleteIfExists(packed);
+        }
+    }
+
+    /**
+     * 归档文件内容，归档未开启或写入失败时返回 null（不影响上传流程）
+     */
+    public String storeQuietly(byte[] content) {
+        if (content == null || content.length == 0) {
+            return null;
+        }
+        return storeQuietly(() -> new ByteArrayInputStream(content));
+    }
+
+    /**
+     * 流式归档上传文件，归档未开启或写入失败时返回 null（不影响上传流程）
+     */
+    public String storeQuietly(InputStreamSource source) {
+        if (!config.isEnabled()) {
+            return null;
+        }
+        try (InputStream in = source.getInputStream()) {
+            return store(in);
+        } catch (IOException | RuntimeException e) {
+            metrics.increment("resume.archive.error");
+            logger.warn("简历原始文件归档失败: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * 读取归档文件的原始内容（重新解析用）
+     *
+     * @return 文件内容，不存在时返回 null
+     */
+    public byte[] read(String sha256) throws IOException {
+        ResumeFile file = sha256 != null ? fileMapper.findBySha256(sha256) : null;
+        if (file == null) {
+            return null;
+        }
+        MappedByteBuffer buffer = map(file);
+        byte[] content = new byte[Math.toIntExact(file.getOriginalSize())];
+        if (ResumeFile.COMPRESSION_DEFLATE.equals(file.getCompression())) {
+            Inflater inflater = new Inflater();
+            try {
+                inflater.setInput(buffer);
+                int n = 0;
+                while (n < content.length && !inflater.finished()) {
+                    int read = inflater.inflate(content, n, content.length - n);
+                    if (read == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                        break;
+                    }
+                    n += read;
+                }
+                if (n != content.length) {
+                    throw new IOException("归档文件解压长度不符: " + sha256);
+                }
+            } catch (DataFormatException e) {
+                throw new IOException("归档文件已损坏: " + sha256, e);
+            } finally {
+                inflater.end();
+            }
+        } else {
+            buffer.get(content);
+        }
+        return content;
+    }
+
+    /**
+     * 查询归档索引
+     */
+    public ResumeFile find(String sha256) {
+        return sha256 != null ? fileMapper.findBySha256(sha256) : null;
+    }
+
+    /**
+     * 将归档文件的原始内容写入输出流
+     * 未压缩的记录直接由 FileChannel.transferTo 从分段文件发送，压缩的记录从映射区流式解压
+     */
+    public void transferTo(ResumeFile file, OutputStream out) throws IOException {
+        if (ResumeFile.COMPRESSION_DEFLATE.equals(file.getCompression())) {
+            MappedByteBuffer buffer = map(file);
+            Inflater inflater = new Inflater();
+            try {
+                inflater.setInput(buffer);
+                byte[] chunk = new byte[COPY_CHUNK];
+                while (!inflater.finished()) {
+                    int read = inflater.inflate(chunk);
+                    if (read == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                        throw new IOException("归档文件已截断: " + file.getSha256());
+                    }
+                    out.write(chunk, 0, read);
+                }
+            } catch (DataFormatException e) {
+                throw new IOException("归档文件已损坏: " + file.getSha256(), e);
+            } finally {
+                inflater.end();
+            }
+            return;
+        }
+
+        FileChannel channel = readChannel(file.getSegmentId());
+        copy(channel, file.getSegmentOffset() + HEADER_SIZE, file.getStoredSize(), Channels.newChannel(out), file.getSha256());
+    }
+
+    /**
+     * 回收无引用的归档文件：删除宽限期外没有版本引用的索引，
+     * 无效数据过多的历史分段将有效记录迁移到当前分段后删除，并清理中断上传留下的临时文件
+     */
+    @Scheduled(cron = "${resume.archive.gc-cron:0 30 4 * * *}")
+    public void collectGarbage() {
+        if (!config.isEnabled() || !Files.isDirectory(root)) {
+            return;
+        }
+        try {
+            LocalDateTime before = LocalDateTime.now().minus(config.getGcGraceMs(), ChronoUnit.MILLIS);
+            int deleted = deleteUnreferenced(before);
+            int compacted = compactSegments();
+            deleteStaleUploads();
+            metrics.add("resume.archive.gc.deleted", deleted);
+            if (deleted > 0 || compacted > 0) {
+                logger.info("简历归档回收完成: 删除无引用文件 {}, 压缩分段 {}", deleted, compacted);
+            }
+        } catch (IOException | RuntimeException e) {
+            metrics.increment("resume.archive.error");
+            logger.warn("简历归档回收失败: {}", e.getMessage());
+        }
+    }
+
+    private int deleteUnreferenced(LocalDateTime before) {
+        int deleted = 0;
+        String afterSha256 = "";
+        while (true) {
+            List<String> batch = fileMapper.findUnreferenced(before, afterSha256, GC_BATCH);
+            for (String sha256 : batch) {
+                deleted += fileMapper.deleteIfUnreferenced(sha256, before);
+            }
+            if (batch.size() < GC_BATCH) {
+                return deleted;
+            }
+            afterSha256 = batch.get(batch.size() - 1);
+        }
+    }
+
+    /**
+     * @return 删除的分段数
+     */
+    private int compactSegments() throws IOException {
+        int active;
+        synchronized (this) {
+            active = writeChannel != null ? currentSegment : Math.max(1, latestSegmentId());
+        }
+        Map<Integer, Long> liveBytes = new HashMap<>();
+        for (Map<String, Object> row : fileMapper.sumBySegment()) {
+            long records = ((Number) row.get("records")).longValue();
+            long stored = ((Number) row.get("stored")).longValue();
+            liveBytes.put(((Number) row.get("segment_id")).intValue(), stored + records * HEADER_SIZE);
+        }
+
+        int removed = 0;
+        for (int segmentId : segmentIds()) {
+            // 当前追加的分段不参与压缩
+            if (segmentId >= active) {
+                continue;
+            }
+            long size = Files.size(segmentPath(segmentId));
+            long live = liveBytes.getOrDefault(segmentId, 0L);
+            if (live > 0 && size - live < size * config.getGcCompactRatio()) {
+                continue;
+            }
+            if (live > 0) {
+                relocateRecords(segmentId);
+            }
+            if (fileMapper.countBySegment(segmentId) == 0) {
+                retireSegment(segmentId);
+                removed++;
+            }
+        }
+        return removed;
+    }
+
+    /**
+     * 将分段中的有效记录原样复制到当前分段，再更新索引位置
+     */
+    private void relocateRecords(int segmentId) throws IOException {
+        FileChannel source = readChannel(segmentId);
+        for (ResumeFile file : fileMapper.findBySegment(segmentId)) {
+            checkHeader(source, file);
+            long recordSize = HEADER_SIZE + file.getStoredSize();
+            int newSegment;
+            long newOffset;
+            synchronized (this) {
+                FileChannel channel = channelForAppend(recordSize);
+                newOffset = channel.size();
+                copy(source, file.getSegmentOffset(), recordSize, channel, file.getSha256());
+                channel.force(false);
+                newSegment = currentSegment;
+            }
+            // 索引已被删除或迁移时，新复制的记录成为无引用数据，下次回收
+            fileMapper.relocate(file.getSha256(), segmentId, file.getSegmentOffset(), newSegment, newOffset);
+        }
+        metrics.increment("resume.archive.gc.compacted");
+    }
+
+    private void retireSegment(int segmentId) throws IOException {
+        FileChannel channel = readChannels.remove(segmentId);
+        closeQuietly(channel);
+        Files.deleteIfExists(segmentPath(segmentId));
+        logger.info("已删除无有效数据的简历归档分段: {}", segmentPath(segmentId).getFileName());
+    }
+
+    private void deleteStaleUploads() throws IOException {
+        long cutoff = System.currentTimeMillis() - config.getGcGraceMs();
+        try (DirectoryStream<Path> uploads = Files.newDirectoryStream(root, UPLOAD_PREFIX + "*")) {
+            for (Path upload : uploads) {
+                if (Files.getLastModifiedTime(upload).toMillis() < cutoff) {
+                    Files.deleteIfExists(upload);
+                }
+            }
+        }
+    }
+
+    private static void copy(FileChannel source, long position, long size, WritableByteChannel target,
+                             String sha256) throws IOException {
+        long remaining = size;
+        while (remaining > 0) {
+            long sent = source.transferTo(position, remaining, target);
+            if (sent <= 0) {
+                throw new IOException("归档文件已截断: " + sha256);
+            }
+            position += sent;
+            remaining -= sent;
+        }
+    }
+
+    /**
+     * 映射记录数据区，并校验记录头
+     */
+    private MappedByteBuffer map(ResumeFile file) throws IOException {
+        FileChannel channel = readChannel(file.getSegmentId());
+        checkHeader(channel, file);
+        return channel.map(FileChannel.MapMode.READ_ONLY, file.getSegmentOffset() + HEADER_SIZE, file.getStoredSize());
+    }
+
+    private static void checkHeader(FileChannel channel, ResumeFile file) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        if (channel.read(header, file.getSegmentOffset()) != HEADER_SIZE || header.getInt(0) != MAGIC
+                || header.getLong(8) != file.getStoredSize()) {
+            throw new IOException("归档记录头校验失败: " + file.getSha256());
+        }
+    }
+
+    private FileChannel readChannel(int segmentId) throws IOException {
+        FileChannel channel = readChannels.get(segmentId);
+        if (channel != null && channel.isOpen()) {
+            return channel;
+        }
+        synchronized (readChannels) {
+            channel = readChannels.get(segmentId);
+            if (channel == null || !channel.isOpen()) {
+                channel = FileChannel.open(segmentPath(segmentId), StandardOpenOption.READ);
+                readChannels.put(segmentId, channel);
+            }
+            return channel;
+        }
+    }
+
+    /**
+     * 返回可追加 recordSize 字节的分段，当前分段写满时切换到新分段
+     */
+    private FileChannel channelForAppend(long recordSize) throws IOException {
+        if (writeChannel == null) {
+            Files.createDirectories(root);
+            currentSegment = Math.max(1, latestSegmentId());
+            writeChannel = openForAppend(currentSegment);
+        }
+        if (writeChannel.size() > 0 && writeChannel.size() + recordSize > config.getSegmentMaxBytes()) {
+            writeChannel.close();
+            currentSegment++;
+            writeChannel = openForAppend(currentSegment);
+            logger.info("简历归档切换到新分段: {}", segmentPath(currentSegment).getFileName());
+        }
+        return writeChannel;
+    }
+
+    private FileChannel openForAppend(int segmentId) throws IOException {
+        return FileChannel.open(segmentPath(segmentId),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+    }
+
+    private int latestSegmentId() throws IOException {
+        return segmentIds().stream().max(Integer::compare).orElse(0);
+    }
+
+    private List<Integer> segmentIds() throws IOException {
+        List<Integer> ids = new ArrayList<>();
+        try (DirectoryStream<Path> segments = Files.newDirectoryStream(root, "seg-*.dat")) {
+            for (Path segment : segments) {
+                String name = segment.getFileName().toString();
+                try {
+                    ids.add(Integer.parseInt(name.substring(4, name.length() - 4)));
+                } catch (NumberFormatException ignored) {
+                    // 非分段文件
+                }
+            }
+        }
+        return ids;
+    }
+
+    private Path segmentPath(int segmentId) {
+        return root.resolve(String.format("seg-%06d.dat", segmentId));
+    }
+
+    private static MessageDigest sha256Digest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        synchronized (this) {
+            closeQuietly(writeChannel);
+            writeChannel = null;
+        }
+        readChannels.values().forEach(ResumeFileArchive::closeQuietly);
+        readChannels.clear();
+    }
+
+    private static void closeQuietly(FileChannel channel) {
+        if (channel != null) {
+            try {
+                channel.close();
+            } catch (IOException ignored) {
+                // 关闭时忽略
+            }
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.erickwu.backend.service;
+
+import com.erickwu.backend.vo.ResumeParseJobVO;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+
+/**
+ * 简历异步解析任务服务接口
+ */
+public interface ResumeJobService {
+
+    /**
+     * 提交简历解析任务，立即返回任务信息
+     * @param userId 用户ID
+     * @param file 简历文件
+     * @param versionNote 版本备注
+     * @return 任务状态
+     */
+    ResumeParseJobVO submitUpload(Long userId, MultipartFile file, String versionNote) throws IOException;
+
+    /**
+     * 查询任务状态
+     * @param userId 用户ID
+     * @param jobId 任务ID
+     * @return 任务状态
+     */
+    ResumeParseJobVO getJob(Long userId, Long jobId);
+}
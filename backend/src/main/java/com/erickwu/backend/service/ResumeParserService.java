@@ -3,20 +3,22 @@ package com.erickwu.backend.service;
 import com.erickwu.backend.vo.ResumeParseResultVO;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import org.apache.tika.Tika;
-import org.apache.tika.exception.TikaException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.core.io.ByteArrayResource;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
-import java.io.InputStream;
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
+import java.util.HexFormat;
 import java.util.List;
 
 /**
@@ -29,8 +31,9 @@ public class ResumeParserService {
     private static final Logger logger = LoggerFactory.getLogger(ResumeParserService.class);
 
     private final QwenLlmService llmService;
+    private final LlmResultCache resultCache;
     private final ObjectMapper objectMapper;
-    private final Tika tika;
+    private final DocumentTextExtractor textExtractor;
 
     /**
      * 简历解析的系统提示词
@@ -97,10 +100,30 @@ public class ResumeParserService {
             4. 只返回JSON，不要有任何额外说明文字
             """;
 
-    public ResumeParserService(QwenLlmService llmService, ObjectMapper objectMapper) {
+    public ResumeParserService(QwenLlmService llmService, LlmResultCache resultCache, ObjectMapper objectMapper,
+                               DocumentTextExtractor textExtractor) {
         this.llmService = llmService;
+        this.resultCache = resultCache;
         this.objectMapper = objectMapper;
-        this.tika = new Tika();
+        this.textExtractor = textExtractor;
+    }
+
+    /**
+     * 当前解析/分析提示词与模型的版本标识（SHA-256 前 16 位）
+     * 提示词或模型变更后该值随之变化，批量重新解析据此判断哪些版本需要刷新
+     */
+    public String getPromptVersion() {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(llmService.getChatModel().getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+            digest.update(RESUME_PARSE_SYSTEM_PROMPT.getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+            digest.update(RESUME_ANALYSIS_SYSTEM_PROMPT.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest.digest()).substring(0, 16);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 不可用", e);
+        }
     }
 
     /**
@@ -114,9 +137,8 @@ public class ResumeParserService {
         String rawText = extractText(file);
         logger.info("从文件 {} 提取到 {} 个字符", file.getOriginalFilename(), rawText.length());
 
-        // 2. 调用 LLM 解析
-        String llmResponse = llmService.chat(RESUME_PARSE_SYSTEM_PROMPT, 
-                "请解析以下简历内容：\n\n" + rawText);
+        // 2. 调用 LLM 解析（相同内容命中缓存）
+        String llmResponse = chatForParse(rawText);
         logger.debug("LLM 解析响应: {}", llmResponse);
 
         // 3. 解析 JSON 响应
@@ -135,8 +157,7 @@ public class ResumeParserService {
      * @return 解析结果
      */
     public ResumeParseResultVO parseText(String text) {
-        String llmResponse = llmService.chat(RESUME_PARSE_SYSTEM_PROMPT, 
-                "请解析以下简历内容：\n\n" + text);
+        String llmResponse = chatForParse(text);
         
         ResumeParseResultVO result = parseJsonResponse(llmResponse);
         result.setRawText(text);
@@ -144,28 +165,54 @@ public class ResumeParserService {
     }
 
     /**
-     * 使用 Tika 提取文档文本
+     * 调用 LLM 解析简历文本，结果按内容哈希缓存
+     * 仅缓存可解析为 JSON 的响应，避免重复返回错误结果
      */
-    private String extractText(MultipartFile file) throws IOException {
-        String filename = file.getOriginalFilename();
-        String contentType = file.getContentType();
-
-        logger.info("解析文件: {}, 类型: {}", filename, contentType);
+    private String chatForParse(String text) {
+        String cacheKey = resultCache.key(LlmResultCache.KIND_PARSE, RESUME_PARSE_SYSTEM_PROMPT, text);
+        String cached = resultCache.get(LlmResultCache.KIND_PARSE, cacheKey);
+        if (cached != null) {
+            logger.info("简历解析命中缓存: {}", cacheKey);
+            return cached;
+        }
 
-        // TXT 文件直接读取
-        if (filename != null && filename.toLowerCase().endsWith(".txt")) {
-            return new String(file.getBytes(), "UTF-8");
+        String llmResponse = llmService.chat(RESUME_PARSE_SYSTEM_PROMPT,
+                "请解析以下简历内容：\n\n" + text);
+        if (isValidJson(llmResponse)) {
+            resultCache.put(LlmResultCache.KIND_PARSE, cacheKey, llmResponse);
         }
+        return llmResponse;
+    }
 
-        // 其他格式使用 Tika 解析
-        try (InputStream is = file.getInputStream()) {
-            return tika.parseToString(is);
-        } catch (TikaException e) {
-            logger.error("Tika 解析文件失败", e);
-            throw new IOException("无法解析文件内容: " + e.getMessage(), e);
+    private boolean isValidJson(String response) {
+        try {
+            return response != null && objectMapper.readTree(cleanJsonString(response)).isObject();
+        } catch (IOException e) {
+            return false;
         }
     }
 
+    /**
+     * 提取上传文件的文本，直接从上传的临时文件流式读取
+     */
+    private String extractText(MultipartFile file) throws IOException {
+        logger.info("解析文件: {}, 类型: {}", file.getOriginalFilename(), file.getContentType());
+        return textExtractor.extract(file.getOriginalFilename(), file.getSize(), file);
+    }
+
+    /**
+     * 从已读入内存的文件内容中提取文本
+     * 供异步解析任务使用（请求结束后 MultipartFile 的临时文件会被清理）
+     *
+     * @param filename 原始文件名
+     * @param content 文件内容
+     * @return 提取的文本
+     */
+    public String extractText(String filename, byte[] content) throws IOException {
+        logger.info("解析文件: {}, 大小: {} 字节", filename, content.length);
+        return textExtractor.extract(filename, content.length, new ByteArrayResource(content));
+    }
+
     /**
      * 解析 LLM 返回的 JSON 响应
      */
@@ -464,10 +511,19 @@ public class ResumeParserService {
         // 原始简历文本
         resumeSummary.append("\n原始简历内容：\n").append(parseResult.getRawText());
 
+        String cacheKey = resultCache.key(LlmResultCache.KIND_ANALYSIS,
+                RESUME_ANALYSIS_SYSTEM_PROMPT, resumeSummary.toString());
+        String cached = resultCache.get(LlmResultCache.KIND_ANALYSIS, cacheKey);
+        if (cached != null) {
+            logger.info("简历分析报告命中缓存: {}", cacheKey);
+            return cached;
+        }
+
         logger.info("开始生成简历分析报告...");
         String report = llmService.chat(RESUME_ANALYSIS_SYSTEM_PROMPT,
                 "请根据以下简历信息生成智能分析报告：\n\n" + resumeSummary.toString());
         logger.info("简历分析报告生成完成");
+        resultCache.put(LlmResultCache.KIND_ANALYSIS, cacheKey, report);
 
         return report;
     }
@@ -0,0 +1,29 @@
+package com.erickwu.backend.service;
+
+import com.erickwu.backend.vo.ReparseJobVO;
+
+/**
+ * 简历批量重新解析服务接口
+ */
+public interface ResumeReparseService {
+
+    /**
+     * 启动批量重新解析，刷新解析结果不是当前提示词版本的所有简历版本；
+     * 上一次同版本任务未完成时从其检查点继续
+     * @param reextract true 时优先从归档的原始文件重新提取文本
+     * @return 任务状态
+     */
+    ReparseJobVO start(boolean reextract);
+
+    /**
+     * 暂停正在运行的任务，当前页处理完后停止
+     * @return 任务状态
+     */
+    ReparseJobVO pause();
+
+    /**
+     * 查询最近一次任务状态
+     * @return 任务状态，没有任务时返回 null
+     */
+    ReparseJobVO getLatest();
+}
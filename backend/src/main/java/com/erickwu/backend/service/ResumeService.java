@@ -2,6 +2,7 @@ package com.erickwu.backend.service;
 
 import com.erickwu.backend.dto.*;
 import com.erickwu.backend.vo.*;
+import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
@@ -170,6 +171,14 @@ public interface ResumeService {
      */
     void deleteVersion(Long versionId);
 
+    /**
+     * 下载版本的原始上传文件（仅限简历所有者）
+     * @param userId 当前用户ID
+     * @param versionId 版本ID
+     * @param response 响应，直接写入文件内容
+     */
+    void downloadVersionFile(Long userId, Long versionId, HttpServletResponse response) throws IOException;
+
     // ==================== 简历上传解析 ====================
 
     /**
@@ -181,6 +190,27 @@ public interface ResumeService {
      */
     ResumeParseResultVO uploadAndParseResume(Long userId, MultipartFile file, String versionNote) throws IOException;
 
+    /**
+     * 将上传文件的解析结果保存为新版本（短事务：简历、版本记录、技能）
+     * 不包含分析报告，报告由 {@link #saveAnalysisReport} 单独写入
+     * @param userId 用户ID
+     * @param fileName 文件名
+     * @param fileSize 文件大小
+     * @param fileSha256 原始文件归档哈希，未归档时为 null
+     * @param parseResult 解析结果
+     * @param versionNote 版本备注
+     * @return 新版本ID
+     */
+    Long saveUploadedVersion(Long userId, String fileName, Long fileSize, String fileSha256,
+                             ResumeParseResultVO parseResult, String versionNote);
+
+    /**
+     * 保存版本的智能分析报告
+     * @param versionId 版本ID
+     * @param analysisReport 分析报告（Markdown格式）
+     */
+    void saveAnalysisReport(Long versionId, String analysisReport);
+
     /**
      * 将解析结果保存到简历
      * @param userId 用户ID
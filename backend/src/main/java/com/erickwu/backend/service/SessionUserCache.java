@@ -0,0 +1,81 @@
+package com.erickwu.backend.service;
+
+import com.erickwu.backend.config.JwtConfig;
+import com.erickwu.backend.entity.SessionUser;
+import com.erickwu.backend.mapper.UserMapper;
+import com.erickwu.backend.metrics.MetricsRegistry;
+import com.erickwu.backend.util.TransactionHooks;
+import org.springframework.stereotype.Service;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 会话用户投影缓存
+ * 刷新令牌时只需要用户名、昵称、头像和状态，按用户ID缓存精简投影，避免每次刷新都加载完整用户；
+ * 按访问顺序淘汰的有界 LRU，带过期时间，用户资料或状态变更时主动失效
+ */
+@Service
+public class SessionUserCache {
+
+    private final UserMapper userMapper;
+    private final JwtConfig jwtConfig;
+    private final MetricsRegistry metrics;
+    private final Map<Long, Entry> entries;
+
+    public SessionUserCache(UserMapper userMapper, JwtConfig jwtConfig, MetricsRegistry metrics) {
+        this.userMapper = userMapper;
+        this.jwtConfig = jwtConfig;
+        this.metrics = metrics;
+        int maxEntries = jwtConfig.getSessionUserCacheMaxEntries();
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Entry> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    /**
+     * 获取会话用户投影
+     *
+     * @return 用户不存在时返回 null
+     */
+    public SessionUser get(Long userId) {
+        long now = System.currentTimeMillis();
+        synchronized (entries) {
+            Entry entry = entries.get(userId);
+            if (entry != null && entry.expiresAt() > now) {
+                metrics.increment("auth.session.user.hit");
+                return entry.user();
+            }
+        }
+        metrics.increment("auth.session.user.miss");
+        SessionUser user = userMapper.findSessionUserById(userId);
+        if (user != null) {
+            synchronized (entries) {
+                entries.put(userId, new Entry(user, now + jwtConfig.getSessionUserCacheTtlMs()));
+            }
+        }
+        return user;
+    }
+
+    /**
+     * 使用户投影失效；在事务中调用时，提交后再失效一次，防止并发读取把未提交前的数据重新缓存
+     */
+    public void evict(Long userId) {
+        if (userId == null) {
+            return;
+        }
+        TransactionHooks.nowAndAfterCompletion(() -> remove(userId));
+    }
+
+    private void remove(Long userId) {
+        synchronized (entries) {
+            entries.remove(userId);
+        }
+    }
+
+    private record Entry(SessionUser user, long expiresAt) {
+    }
+}
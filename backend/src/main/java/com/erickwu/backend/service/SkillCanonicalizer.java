@@ -0,0 +1,444 @@
+package com.erickwu.backend.service;
+
+import com.erickwu.backend.entity.Skill;
+import com.erickwu.backend.entity.SkillAlias;
+import com.erickwu.backend.mapper.ResumeMapper;
+import com.erickwu.backend.mapper.SkillAliasMapper;
+import com.erickwu.backend.mapper.SkillMapper;
+import com.erickwu.backend.metrics.MetricsRegistry;
+import com.erickwu.backend.vo.SkillCanonicalizeResultVO;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+/**
+ * 技能名标准化
+ * 别名表编译为前缀树：先做整词匹配，再做最长前缀匹配并允许尾部带"框架""语言"等修饰词；
+ * 均未命中时保留原名，并按编辑距离在长度相近的别名中查找近似项作为建议。
+ * 模糊结果只作建议，不会写回技能数据，也不参与合并（短词误匹配率高，如 mssql → MySQL）
+ */
+@Service
+public class SkillCanonicalizer {
+
+    private static final Logger logger = LoggerFactory.getLogger(SkillCanonicalizer.class);
+
+    /** 可在别名之后出现的修饰词，如 "SpringBoot框架"、"MySQL数据库" */
+    private static final String[] NOISE_SUFFIXES = {"框架", "语言", "开发", "编程", "技术", "数据库", "工具", "应用"};
+    /** 参与模糊匹配的最短长度，过短的词误匹配率高 */
+    private static final int FUZZY_MIN_LENGTH = 4;
+    /** 存量标准化每批处理的简历数 */
+    private static final int BATCH_RESUMES = 200;
+
+    private final SkillAliasMapper aliasMapper;
+    private final SkillMapper skillMapper;
+    private final ResumeMapper resumeMapper;
+    private final DashboardSnapshotCache dashboardCache;
+    private final CandidateSearchService candidateSearch;
+    private final StatsRecorder statsRecorder;
+    private final MetricsRegistry metrics;
+    private final TransactionTemplate transactionTemplate;
+
+    private volatile Dictionary dictionary = Dictionary.EMPTY;
+
+    public SkillCanonicalizer(SkillAliasMapper aliasMapper,
+                              SkillMapper skillMapper,
+                              ResumeMapper resumeMapper,
+                              DashboardSnapshotCache dashboardCache,
+                              CandidateSearchService candidateSearch,
+                              StatsRecorder statsRecorder,
+                              MetricsRegistry metrics,
+                              TransactionTemplate transactionTemplate) {
+        this.aliasMapper = aliasMapper;
+        this.skillMapper = skillMapper;
+        this.resumeMapper = resumeMapper;
+        this.dashboardCache = dashboardCache;
+        this.candidateSearch = candidateSearch;
+        this.statsRecorder = statsRecorder;
+        this.metrics = metrics;
+        this.transactionTemplate = transactionTemplate;
+        metrics.gauge("skill.alias.size", () -> dictionary.size);
+    }
+
+    /**
+     * 标准化结果
+     *
+     * @param name 标准技能名（未命中时为去除首尾空白的原名）
+     * @param category 标准分类，未知时为 null
+     * @param matched 是否命中别名表（整词或前缀匹配）
+     * @param suggestion 未命中时模糊匹配到的近似标准名，仅供提示，可能为 null
+     */
+    public record Canonical(String name, String category, boolean matched, String suggestion) {
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void init() {
+        try {
+            reload();
+        } catch (RuntimeException e) {
+            logger.warn("加载技能别名表失败: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 重新加载别名表，构建完成后整体替换
+     *
+     * @return 别名数量
+     */
+    public int reload() {
+        List<SkillAlias> aliases = aliasMapper.findAll();
+        dictionary = Dictionary.build(aliases);
+        logger.info("技能别名表已加载: {} 个别名", dictionary.size);
+        return dictionary.size;
+    }
+
+    public String canonicalize(String name) {
+        return resolve(name).name();
+    }
+
+    public Canonical resolve(String name) {
+        if (name == null || name.isBlank()) {
+            return new Canonical(name, null, false, null);
+        }
+        Dictionary current = dictionary;
+        String key = normalizeKey(name);
+
+        Entry entry = current.exact(key);
+        if (entry == null) {
+            entry = current.prefixWithNoiseSuffix(key);
+        }
+        if (entry != null) {
+            metrics.increment("skill.canonical.alias");
+            return new Canonical(entry.canonicalName, entry.category, true, null);
+        }
+
+        // 模糊匹配只作为建议，名称保持原样
+        entry = current.fuzzy(key);
+        if (entry != null) {
+            metrics.increment("skill.canonical.fuzzy");
+            return new Canonical(name.trim(), null, false, entry.canonicalName);
+        }
+        metrics.increment("skill.canonical.miss");
+        return new Canonical(name.trim(), null, false, null);
+    }
+
+    /**
+     * 就地标准化单条技能：命中别名时名称替换为标准名，有标准分类时一并覆盖分类；模糊建议不写入
+     */
+    public void apply(Skill skill) {
+        Canonical canonical = resolve(skill.getName());
+        skill.setName(canonical.name());
+        if (canonical.category() != null) {
+            skill.setCategory(canonical.category());
+        }
+    }
+
+    /**
+     * 标准化同一份简历的技能列表，标准名相同的条目合并为一条（保留较高的熟练度和年限）
+     */
+    public List<Skill> applyAll(List<Skill> skills) {
+        Map<String, Skill> merged = new LinkedHashMap<>();
+        for (Skill skill : skills) {
+            apply(skill);
+            if (skill.getName() == null || skill.getName().isBlank()) {
+                continue;
+            }
+            merged.merge(normalizeKey(skill.getName()), skill, SkillCanonicalizer::mergeInto);
+        }
+        return new ArrayList<>(merged.values());
+    }
+
+    /**
+     * 标准化存量技能数据
+     * 按简历ID游标分批处理：修正名称/分类，合并同一简历内的重复技能（仅依据别名表命中，不使用模糊建议）
+     */
+    public SkillCanonicalizeResultVO canonicalizeExisting() {
+        SkillCanonicalizeResultVO result = new SkillCanonicalizeResultVO();
+        long afterId = 0;
+        while (true) {
+            List<Long> resumeIds = resumeMapper.findIdsAfter(afterId, BATCH_RESUMES);
+            if (resumeIds.isEmpty()) {
+                break;
+            }
+            afterId = resumeIds.get(resumeIds.size() - 1);
+            result.setScannedResumes(result.getScannedResumes() + resumeIds.size());
+
+            Map<Long, List<Skill>> byResume = skillMapper.findByResumeIds(resumeIds).stream()
+                    .collect(Collectors.groupingBy(Skill::getResumeId, LinkedHashMap::new, Collectors.toList()));
+            for (Map.Entry<Long, List<Skill>> entry : byResume.entrySet()) {
+                result.setScannedSkills(result.getScannedSkills() + entry.getValue().size());
+                if (canonicalizeResume(entry.getValue(), result)) {
+                    result.setAffectedResumes(result.getAffectedResumes() + 1);
+                    dashboardCache.evictByResumeId(entry.getKey());
+                    candidateSearch.markDirty(entry.getKey());
+                }
+            }
+        }
+        logger.info("存量技能标准化完成: 简历 {}, 技能 {}, 修正 {}, 合并 {}",
+                result.getScannedResumes(), result.getScannedSkills(),
+                result.getRenamedSkills(), result.getMergedSkills());
+        return result;
+    }
+
+    /**
+     * @return 该简历的技能是否有变更
+     */
+    private boolean canonicalizeResume(List<Skill> skills, SkillCanonicalizeResultVO result) {
+        List<String> oldNames = skills.stream().map(Skill::getName).collect(Collectors.toList());
+        Map<String, Skill> kept = new LinkedHashMap<>();
+        List<Skill> changed = new ArrayList<>();
+        List<Skill> removed = new ArrayList<>();
+        for (Skill skill : skills) {
+            String oldName = skill.getName();
+            String oldCategory = skill.getCategory();
+            apply(skill);
+            boolean renamed = !Objects.equals(oldName, skill.getName()) || !Objects.equals(oldCategory, skill.getCategory());
+
+            String key = normalizeKey(skill.getName());
+            Skill existing = kept.get(key);
+            if (existing == null) {
+                kept.put(key, skill);
+                if (renamed) {
+                    changed.add(skill);
+                    result.setRenamedSkills(result.getRenamedSkills() + 1);
+                }
+                continue;
+            }
+            // 重复条目：合并到先出现的一条，删除当前条
+            Integer keptLevel = existing.getLevel();
+            Integer keptYears = existing.getYears();
+            mergeInto(existing, skill);
+            if (!Objects.equals(keptLevel, existing.getLevel()) || !Objects.equals(keptYears, existing.getYears())) {
+                if (!changed.contains(existing)) {
+                    changed.add(existing);
+                }
+            }
+            removed.add(skill);
+            result.setMergedSkills(result.getMergedSkills() + 1);
+        }
+        if (changed.isEmpty() && removed.isEmpty()) {
+            return false;
+        }
+        // 同一份简历的更新与删除在一个事务中完成，避免合并一半留下重复或丢失的技能
+        transactionTemplate.executeWithoutResult(status -> {
+            for (Skill skill : changed) {
+                skillMapper.update(skill);
+            }
+            for (Skill skill : removed) {
+                skillMapper.delete(skill.getId(), skill.getResumeId());
+            }
+            statsRecorder.skillsChanged(oldNames,
+                    kept.values().stream().map(Skill::getName).collect(Collectors.toList()));
+        });
+        return true;
+    }
+
+    private static Skill mergeInto(Skill target, Skill other) {
+        target.setLevel(max(target.getLevel(), other.getLevel()));
+        target.setYears(max(target.getYears(), other.getYears()));
+        if (target.getCategory() == null) {
+            target.setCategory(other.getCategory());
+        }
+        return target;
+    }
+
+    private static Integer max(Integer a, Integer b) {
+        if (a == null) {
+            return b;
+        }
+        return b == null ? a : Math.max(a, b);
+    }
+
+    /**
+     * 别名键规范化：小写，去除空白和 - _ .
+     */
+    public static String normalizeKey(String name) {
+        if (name == null) {
+            return "";
+        }
+        StringBuilder sb = new StringBuilder(name.length());
+        for (char c : name.toLowerCase(Locale.ROOT).toCharArray()) {
+            if (!Character.isWhitespace(c) && c != '-' && c != '_' && c != '.') {
+                sb.append(c);
+            }
+        }
+        return sb.toString();
+    }
+
+    private record Entry(String canonicalName, String category) {
+    }
+
+    /**
+     * 前缀树节点
+     */
+    private static final class Node {
+        private final Map<Character, Node> children = new HashMap<>(4);
+        private Entry entry;
+    }
+
+    /**
+     * 不可变的别名字典：前缀树 + 按长度分桶的别名列表（模糊匹配用）
+     */
+    private static final class Dictionary {
+
+        static final Dictionary EMPTY = new Dictionary(new Node(), new HashMap<>(), 0);
+
+        private final Node root;
+        private final Map<Integer, List<String>> keysByLength;
+        private int size;
+
+        private Dictionary(Node root, Map<Integer, List<String>> keysByLength, int size) {
+            this.root = root;
+            this.keysByLength = keysByLength;
+            this.size = size;
+        }
+
+        static Dictionary build(List<SkillAlias> aliases) {
+            Dictionary dict = new Dictionary(new Node(), new HashMap<>(), 0);
+            for (SkillAlias alias : aliases) {
+                if (alias.getCanonicalName() != null) {
+                    dict.put(normalizeKey(alias.getAliasKey()), new Entry(alias.getCanonicalName(), alias.getCategory()), true);
+                }
+            }
+            // 标准名自身也视为别名，但不覆盖显式配置的别名
+            for (SkillAlias alias : aliases) {
+                if (alias.getCanonicalName() != null) {
+                    dict.put(normalizeKey(alias.getCanonicalName()), new Entry(alias.getCanonicalName(), alias.getCategory()), false);
+                }
+            }
+            return dict;
+        }
+
+        private void put(String key, Entry entry, boolean overwrite) {
+            if (key.isEmpty()) {
+                return;
+            }
+            Node node = root;
+            for (int i = 0; i < key.length(); i++) {
+                node = node.children.computeIfAbsent(key.charAt(i), c -> new Node());
+            }
+            if (node.entry == null) {
+                keysByLength.computeIfAbsent(key.length(), l -> new ArrayList<>()).add(key);
+                size++;
+            } else if (!overwrite) {
+                return;
+            }
+            node.entry = entry;
+        }
+
+        Entry exact(String key) {
+            Node node = root;
+            for (int i = 0; i < key.length() && node != null; i++) {
+                node = node.children.get(key.charAt(i));
+            }
+            return node != null ? node.entry : null;
+        }
+
+        /**
+         * 最长前缀匹配，剩余部分须由修饰词组成
+         */
+        Entry prefixWithNoiseSuffix(String key) {
+            Node node = root;
+            Entry best = null;
+            int bestEnd = 0;
+            for (int i = 0; i < key.length(); i++) {
+                node = node.children.get(key.charAt(i));
+                if (node == null) {
+                    break;
+                }
+                if (node.entry != null) {
+                    best = node.entry;
+                    bestEnd = i + 1;
+                }
+            }
+            if (best == null) {
+                return null;
+            }
+            String rest = key.substring(bestEnd);
+            while (!rest.isEmpty()) {
+                boolean stripped = false;
+                for (String suffix : NOISE_SUFFIXES) {
+                    if (rest.startsWith(suffix)) {
+                        rest = rest.substring(suffix.length());
+                        stripped = true;
+                        break;
+                    }
+                }
+                if (!stripped) {
+                    return null;
+                }
+            }
+            return best;
+        }
+
+        /**
+         * 编辑距离模糊匹配：长度不超过 6 允许 1 处差异，更长允许 2 处，取距离最小者
+         */
+        Entry fuzzy(String key) {
+            if (key.length() < FUZZY_MIN_LENGTH) {
+                return null;
+            }
+            int maxDistance = key.length() <= 6 ? 1 : 2;
+            String bestKey = null;
+            int bestDistance = maxDistance + 1;
+            for (int length = key.length() - maxDistance; length <= key.length() + maxDistance; length++) {
+                List<String> candidates = keysByLength.get(length);
+                if (candidates == null) {
+                    continue;
+                }
+                for (String candidate : candidates) {
+                    if (candidate.length() < FUZZY_MIN_LENGTH) {
+                        continue;
+                    }
+                    int distance = boundedDistance(key, candidate, bestDistance - 1);
+                    if (distance < bestDistance) {
+                        bestDistance = distance;
+                        bestKey = candidate;
+                    }
+                }
+            }
+            return bestKey != null ? exact(bestKey) : null;
+        }
+
+        /**
+         * 带上限的编辑距离，超过上限时提前返回 limit + 1
+         */
+        private static int boundedDistance(String a, String b, int limit) {
+            if (Math.abs(a.length() - b.length()) > limit) {
+                return limit + 1;
+            }
+            int[] previous = new int[b.length() + 1];
+            int[] current = new int[b.length() + 1];
+            for (int j = 0; j <= b.length(); j++) {
+                previous[j] = j;
+            }
+            for (int i = 1; i <= a.length(); i++) {
+                current[0] = i;
+                int rowMin = current[0];
+                for (int j = 1; j <= b.length(); j++) {
+                    int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                    current[j] = Math.min(Math.min(current[j - 1] + 1, previous[j] + 1), previous[j - 1] + cost);
+                    rowMin = Math.min(rowMin, current[j]);
+                }
+                if (rowMin > limit) {
+                    return limit + 1;
+                }
+                int[] swap = previous;
+                previous = current;
+                current = swap;
+            }
+            return previous[b.length()];
+        }
+    }
+}
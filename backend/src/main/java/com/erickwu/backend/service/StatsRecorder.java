@@ -0,0 +1,265 @@
+package com.erickwu.backend.service;
+
+import com.erickwu.backend.mapper.StatsRollupMapper;
+import com.erickwu.backend.metrics.MetricsRegistry;
+import com.erickwu.backend.util.TransactionHooks;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 管理员统计事件记录器
+ * 业务写入时累加内存增量（事务中则在提交后累加），定时批量合并到汇总表，
+ * 使统计查询不再扫描业务表
+ */
+@Component
+public class StatsRecorder {
+
+    private static final Logger logger = LoggerFactory.getLogger(StatsRecorder.class);
+
+    // 全局计数器
+    public static final String USERS_TOTAL = "users.total";
+    public static final String RESUMES_TOTAL = "resumes.total";
+    public static final String VERSIONS_TOTAL = "versions.total";
+    public static final String VERSIONS_ANALYZED = "versions.analyzed";
+
+    // 按天指标
+    public static final String DAILY_NEW_USERS = "new_users";
+    public static final String DAILY_NEW_RESUMES = "new_resumes";
+    public static final String DAILY_NEW_VERSIONS = "new_versions";
+    public static final String DAILY_NEW_SESSIONS = "new_sessions";
+
+    // 按小时指标
+    public static final String HOURLY_CHAT_MESSAGES = "chat_messages";
+
+    // 分布维度
+    public static final String BREAKDOWN_SKILL = "skill";
+    public static final String BREAKDOWN_MAJOR = "major";
+
+    private record DailyKey(LocalDate date, String metric) {
+    }
+
+    private record HourlyKey(LocalDateTime hour, String metric) {
+    }
+
+    private record BreakdownKey(String dimension, String item) {
+    }
+
+    private final StatsRollupMapper rollupMapper;
+    private final Map<String, Long> pendingCounters = new ConcurrentHashMap<>();
+    private final Map<DailyKey, Long> pendingDaily = new ConcurrentHashMap<>();
+    private final Map<HourlyKey, Long> pendingHourly = new ConcurrentHashMap<>();
+    private final Map<BreakdownKey, Long> pendingBreakdown = new ConcurrentHashMap<>();
+    private final Map<Long, LocalDateTime> pendingActive = new ConcurrentHashMap<>();
+
+    public StatsRecorder(StatsRollupMapper rollupMapper, MetricsRegistry metrics) {
+        this.rollupMapper = rollupMapper;
+        metrics.gauge("stats.pending.size",
+                () -> pendingCounters.size() + pendingDaily.size() + pendingHourly.size()
+                        + pendingBreakdown.size() + pendingActive.size());
+    }
+
+    public void userCreated(boolean enabled) {
+        TransactionHooks.afterCommit(() -> {
+            if (enabled) {
+                addCounter(USERS_TOTAL, 1);
+            }
+            addDaily(DAILY_NEW_USERS);
+        });
+    }
+
+    public void userRemoved(boolean wasEnabled) {
+        if (wasEnabled) {
+            TransactionHooks.afterCommit(() -> addCounter(USERS_TOTAL, -1));
+        }
+    }
+
+    public void userStatusChanged(Integer oldStatus, Integer newStatus) {
+        boolean wasEnabled = Integer.valueOf(1).equals(oldStatus);
+        boolean enabled = Integer.valueOf(1).equals(newStatus);
+        if (wasEnabled != enabled) {
+            TransactionHooks.afterCommit(() -> addCounter(USERS_TOTAL, enabled ? 1 : -1));
+        }
+    }
+
+    public void resumeCreated() {
+        TransactionHooks.afterCommit(() -> {
+            addCounter(RESUMES_TOTAL, 1);
+            addDaily(DAILY_NEW_RESUMES);
+        });
+    }
+
+    public void resumeRemoved() {
+        TransactionHooks.afterCommit(() -> addCounter(RESUMES_TOTAL, -1));
+    }
+
+    public void versionCreated() {
+        TransactionHooks.afterCommit(() -> {
+            addCounter(VERSIONS_TOTAL, 1);
+            addDaily(DAILY_NEW_VERSIONS);
+        });
+    }
+
+    public void versionAnalyzed() {
+        TransactionHooks.afterCommit(() -> addCounter(VERSIONS_ANALYZED, 1));
+    }
+
+    public void versionRemoved(boolean analyzed) {
+        TransactionHooks.afterCommit(() -> {
+            addCounter(VERSIONS_TOTAL, -1);
+            if (analyzed) {
+                addCounter(VERSIONS_ANALYZED, -1);
+            }
+        });
+    }
+
+    public void chatSessionCreated() {
+        TransactionHooks.afterCommit(() -> addDaily(DAILY_NEW_SESSIONS));
+    }
+
+    public void chatMessageCreated() {
+        TransactionHooks.afterCommit(() -> pendingHourly.merge(
+                new HourlyKey(LocalDateTime.now().truncatedTo(ChronoUnit.HOURS), HOURLY_CHAT_MESSAGES), 1L, Long::sum));
+    }
+
+    /**
+     * 用户发起对话，计入24小时活跃用户
+     */
+    public void userActive(Long userId) {
+        if (userId != null) {
+            LocalDateTime now = LocalDateTime.now();
+            TransactionHooks.afterCommit(() -> pendingActive.merge(userId, now, (a, b) -> a.isAfter(b) ? a : b));
+        }
+    }
+
+    /**
+     * 简历技能变更：removed 为删除或改名前的技能名，added 为新增或改名后的技能名
+     */
+    public void skillsChanged(Collection<String> removed, Collection<String> added) {
+        Map<String, Long> deltas = new HashMap<>();
+        removed.forEach(name -> mergeItem(deltas, name, -1));
+        added.forEach(name -> mergeItem(deltas, name, 1));
+        deltas.values().removeIf(delta -> delta == 0);
+        if (!deltas.isEmpty()) {
+            TransactionHooks.afterCommit(
+                    () -> deltas.forEach((name, delta) -> addBreakdown(BREAKDOWN_SKILL, name, delta)));
+        }
+    }
+
+    /**
+     * 简历专业变更（新建时 oldMajor 为 null，删除时 newMajor 为 null）
+     */
+    public void majorChanged(String oldMajor, String newMajor) {
+        Map<String, Long> deltas = new HashMap<>();
+        mergeItem(deltas, oldMajor, -1);
+        mergeItem(deltas, newMajor, 1);
+        deltas.values().removeIf(delta -> delta == 0);
+        if (!deltas.isEmpty()) {
+            TransactionHooks.afterCommit(
+                    () -> deltas.forEach((major, delta) -> addBreakdown(BREAKDOWN_MAJOR, major, delta)));
+        }
+    }
+
+    /**
+     * 将内存增量合并到汇总表；写入失败的增量放回队列，下次重试
+     */
+    @Scheduled(fixedDelayString = "${admin.stats.flush-millis:10000}")
+    public synchronized void flush() {
+        for (String name : pendingCounters.keySet()) {
+            Long delta = pendingCounters.remove(name);
+            if (delta == null || delta == 0) {
+                continue;
+            }
+            try {
+                rollupMapper.addCounter(name, delta);
+            } catch (Exception e) {
+                pendingCounters.merge(name, delta, Long::sum);
+                logger.warn("写入统计计数器失败: {}", e.getMessage());
+                return;
+            }
+        }
+        for (DailyKey key : pendingDaily.keySet()) {
+            Long delta = pendingDaily.remove(key);
+            if (delta == null || delta == 0) {
+                continue;
+            }
+            try {
+                rollupMapper.addDaily(key.date(), key.metric(), delta);
+            } catch (Exception e) {
+                pendingDaily.merge(key, delta, Long::sum);
+                logger.warn("写入按天统计失败: {}", e.getMessage());
+                return;
+            }
+        }
+        for (HourlyKey key : pendingHourly.keySet()) {
+            Long delta = pendingHourly.remove(key);
+            if (delta == null || delta == 0) {
+                continue;
+            }
+            try {
+                rollupMapper.addHourly(key.hour(), key.metric(), delta);
+            } catch (Exception e) {
+                pendingHourly.merge(key, delta, Long::sum);
+                logger.warn("写入按小时统计失败: {}", e.getMessage());
+                return;
+            }
+        }
+        for (BreakdownKey key : pendingBreakdown.keySet()) {
+            Long delta = pendingBreakdown.remove(key);
+            if (delta == null || delta == 0) {
+                continue;
+            }
+            try {
+                rollupMapper.addBreakdown(key.dimension(), key.item(), delta);
+            } catch (Exception e) {
+                pendingBreakdown.merge(key, delta, Long::sum);
+                logger.warn("写入分布统计失败: {}", e.getMessage());
+                return;
+            }
+        }
+        if (!pendingActive.isEmpty()) {
+            Map<Long, LocalDateTime> batch = new HashMap<>();
+            for (Long userId : pendingActive.keySet()) {
+                LocalDateTime activeAt = pendingActive.remove(userId);
+                if (activeAt != null) {
+                    batch.put(userId, activeAt);
+                }
+            }
+            try {
+                if (!batch.isEmpty()) {
+                    rollupMapper.touchActiveUsers(batch);
+                }
+            } catch (Exception e) {
+                batch.forEach((userId, activeAt) -> pendingActive.merge(userId, activeAt, (a, b) -> a.isAfter(b) ? a : b));
+                logger.warn("写入活跃用户失败: {}", e.getMessage());
+            }
+        }
+    }
+
+    private void addCounter(String name, long delta) {
+        pendingCounters.merge(name, delta, Long::sum);
+    }
+
+    private void addBreakdown(String dimension, String item, long delta) {
+        pendingBreakdown.merge(new BreakdownKey(dimension, item), delta, Long::sum);
+    }
+
+    private static void mergeItem(Map<String, Long> deltas, String item, long delta) {
+        if (item != null && !item.isBlank()) {
+            deltas.merge(item, delta, Long::sum);
+        }
+    }
+
+    private void addDaily(String metric) {
+        pendingDaily.merge(new DailyKey(LocalDate.now(), metric), 1L, Long::sum);
+    }
+}
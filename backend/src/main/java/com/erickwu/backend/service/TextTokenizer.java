@@ -0,0 +1,71 @@
+package com.erickwu.backend.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * 中英文混合分词
+ * 连续汉字切成二元组（单个汉字保留为一元），字母数字串整体小写作为一个词，
+ * 保留词内的 + # . 以便匹配 C++、C#、Node.js 等技能名
+ */
+final class TextTokenizer {
+
+    private TextTokenizer() {
+    }
+
+    static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null || text.isEmpty()) {
+            return tokens;
+        }
+        String lower = text.toLowerCase(Locale.ROOT);
+        int length = lower.length();
+        int i = 0;
+        while (i < length) {
+            char c = lower.charAt(i);
+            if (isCjk(c)) {
+                int start = i;
+                while (i < length && isCjk(lower.charAt(i))) {
+                    i++;
+                }
+                if (i - start == 1) {
+                    tokens.add(String.valueOf(c));
+                } else {
+                    for (int j = start; j < i - 1; j++) {
+                        tokens.add(lower.substring(j, j + 2));
+                    }
+                }
+            } else if (Character.isLetterOrDigit(c)) {
+                int start = i;
+                while (i < length && isWordPart(lower.charAt(i))) {
+                    i++;
+                }
+                String word = trimTrailingDots(lower.substring(start, i));
+                if (!word.isEmpty()) {
+                    tokens.add(word);
+                }
+            } else {
+                i++;
+            }
+        }
+        return tokens;
+    }
+
+    private static boolean isCjk(char c) {
+        Character.UnicodeScript script = Character.UnicodeScript.of(c);
+        return script == Character.UnicodeScript.HAN;
+    }
+
+    private static boolean isWordPart(char c) {
+        return (Character.isLetterOrDigit(c) && !isCjk(c)) || c == '+' || c == '#' || c == '.';
+    }
+
+    private static String trimTrailingDots(String word) {
+        int end = word.length();
+        while (end > 0 && word.charAt(end - 1) == '.') {
+            end--;
+        }
+        return word.substring(0, end);
+    }
+}
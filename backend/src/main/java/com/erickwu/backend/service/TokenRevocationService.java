@@ -0,0 +1,265 @@
+package com.erickwu.backend.service;
+
+import com.erickwu.backend.config.JwtConfig;
+import com.erickwu.backend.entity.TokenRevocation;
+import com.erickwu.backend.mapper.TokenRevocationMapper;
+import com.erickwu.backend.metrics.MetricsRegistry;
+import com.erickwu.backend.util.AuthPrincipal;
+import com.erickwu.backend.util.TransactionHooks;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Token 吊销
+ * 内存中维护两类状态，请求路径上的检查为 O(1) 且不分配对象：
+ * 1. 用户级 not-before：禁用、删除、重置密码时记录吊销时间，早于该时间签发的 Token 失效；
+ * 2. 单个 Token 的拒绝列表（jti）：退出登录时写入，先查布隆过滤器，命中后再查精确集合确认。
+ * 吊销记录写入 token_revocation 表，各实例每次轮询回看最近一段时间的记录（按 id 去重）同步；
+ * 记录在相关 Token 自然过期后清理
+ */
+@Service
+public class TokenRevocationService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TokenRevocationService.class);
+
+    private static final int POLL_BATCH_SIZE = 500;
+
+    private final TokenRevocationMapper revocationMapper;
+    private final JwtConfig jwtConfig;
+    private final MetricsRegistry metrics;
+    private final RefreshTokenService refreshTokenService;
+
+    // 用户ID -> 吊销时间（毫秒，截断到秒，与 Token 的 iat 精度一致）
+    private final Map<Long, Long> notBefore = new ConcurrentHashMap<>();
+    // jti -> Token 过期时间（毫秒）
+    private final Map<String, Long> revokedTokens = new ConcurrentHashMap<>();
+    private volatile BloomFilter revokedFilter;
+
+    // 回看窗口内已应用的记录：id -> 吊销时间，用于去重
+    private final Map<Long, Long> appliedIds = new ConcurrentHashMap<>();
+    // 上次轮询（或加载）开始时间，下次从该时间减去回看窗口处开始读取
+    private volatile long lastPollAt;
+    private volatile boolean loaded;
+
+    public TokenRevocationService(TokenRevocationMapper revocationMapper, JwtConfig jwtConfig, MetricsRegistry metrics,
+                                  RefreshTokenService refreshTokenService) {
+        this.revocationMapper = revocationMapper;
+        this.jwtConfig = jwtConfig;
+        this.metrics = metrics;
+        this.refreshTokenService = refreshTokenService;
+        this.revokedFilter = new BloomFilter(jwtConfig.getRevocationBloomBits());
+        metrics.gauge("auth.revocation.users", notBefore::size);
+        metrics.gauge("auth.revocation.tokens", revokedTokens::size);
+    }
+
+    /**
+     * 启动时加载仍在有效期内的吊销记录
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        try {
+            long startedAt = System.currentTimeMillis();
+            List<TokenRevocation> active = revocationMapper.findActive();
+            long since = startedAt - jwtConfig.getRevocationPollOverlapMs();
+            for (TokenRevocation revocation : active) {
+                apply(revocation);
+                if (revocation.getRevokedAt() >= since) {
+                    appliedIds.put(revocation.getId(), revocation.getRevokedAt());
+                }
+            }
+            lastPollAt = startedAt;
+            loaded = true;
+            logger.info("已加载 {} 条 Token 吊销记录", active.size());
+        } catch (Exception e) {
+            logger.warn("加载 Token 吊销记录失败，将在下次轮询时重试: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 判断登录身份对应的 Token 是否已被吊销
+     */
+    public boolean isRevoked(AuthPrincipal principal) {
+        Long revokedAt = notBefore.get(principal.getUserId());
+        // iat 精度为秒，吊销时间同样截断到秒：同一秒内签发的 Token 也视为已吊销
+        if (revokedAt != null && principal.getIssuedAt() <= revokedAt) {
+            return true;
+        }
+        String tokenId = principal.getTokenId();
+        return tokenId != null && revokedFilter.mightContain(tokenId) && revokedTokens.containsKey(tokenId);
+    }
+
+    /**
+     * 吊销用户此前签发的全部 Token 及刷新令牌（禁用、删除、重置密码）
+     * 在事务中调用时记录随事务提交，提交后才在本实例生效
+     */
+    public void revokeUser(Long userId, String reason) {
+        refreshTokenService.revokeUser(userId);
+        long revokedAt = System.currentTimeMillis() / 1000 * 1000;
+        TokenRevocation revocation = new TokenRevocation();
+        revocation.setUserId(userId);
+        revocation.setRevokedAt(revokedAt);
+        revocation.setReason(reason);
+        revocation.setExpiresAt(toDateTime(revokedAt + jwtConfig.getExpiration()));
+        record(revocation);
+    }
+
+    /**
+     * 吊销单个 Token（退出登录）
+     */
+    public void revokeToken(AuthPrincipal principal, String reason) {
+        if (principal.getTokenId() == null) {
+            // 旧版本签发的 Token 没有 jti，无法单独吊销
+            return;
+        }
+        TokenRevocation revocation = new TokenRevocation();
+        revocation.setUserId(principal.getUserId());
+        revocation.setTokenId(principal.getTokenId());
+        revocation.setRevokedAt(System.currentTimeMillis());
+        revocation.setReason(reason);
+        revocation.setExpiresAt(toDateTime(principal.getExpiresAt()));
+        record(revocation);
+    }
+
+    /**
+     * 轮询其他实例写入的吊销记录
+     */
+    @Scheduled(fixedDelayString = "${jwt.revocation-poll-ms:5000}")
+    public void poll() {
+        if (!loaded) {
+            load();
+            return;
+        }
+        try {
+            long startedAt = System.currentTimeMillis();
+            long since = lastPollAt - jwtConfig.getRevocationPollOverlapMs();
+            long afterId = 0;
+            List<TokenRevocation> page;
+            do {
+                page = revocationMapper.findSince(since, afterId, POLL_BATCH_SIZE);
+                for (TokenRevocation revocation : page) {
+                    if (appliedIds.putIfAbsent(revocation.getId(), revocation.getRevokedAt()) == null) {
+                        apply(revocation);
+                    }
+                }
+                if (!page.isEmpty()) {
+                    afterId = page.get(page.size() - 1).getId();
+                }
+            } while (page.size() == POLL_BATCH_SIZE);
+            appliedIds.values().removeIf(revokedAt -> revokedAt < since);
+            lastPollAt = startedAt;
+        } catch (Exception e) {
+            logger.warn("同步 Token 吊销记录失败: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 清理已失效的记录，并重建布隆过滤器（布隆过滤器不支持删除）
+     */
+    @Scheduled(cron = "${jwt.revocation-purge-cron:0 30 * * * *}")
+    public void purge() {
+        long now = System.currentTimeMillis();
+        long lifetime = jwtConfig.getExpiration();
+        notBefore.values().removeIf(revokedAt -> revokedAt + lifetime <= now);
+        revokedTokens.values().removeIf(expiresAt -> expiresAt <= now);
+
+        BloomFilter rebuilt = new BloomFilter(jwtConfig.getRevocationBloomBits());
+        revokedTokens.keySet().forEach(rebuilt::add);
+        revokedFilter = rebuilt;
+        // 重建期间新增的 jti 可能只写入了旧过滤器，补写一次
+        revokedTokens.keySet().forEach(rebuilt::add);
+
+        try {
+            int deleted = revocationMapper.deleteExpired();
+            if (deleted > 0) {
+                logger.info("已清理 {} 条失效的 Token 吊销记录", deleted);
+            }
+        } catch (Exception e) {
+            logger.warn("清理 Token 吊销记录失败: {}", e.getMessage());
+        }
+    }
+
+    private void record(TokenRevocation revocation) {
+        revocationMapper.insert(revocation);
+        metrics.increment("auth.revocation." + revocation.getReason().toLowerCase());
+        TransactionHooks.afterCommit(() -> apply(revocation));
+    }
+
+    private void apply(TokenRevocation revocation) {
+        if (revocation.getTokenId() == null) {
+            notBefore.merge(revocation.getUserId(), revocation.getRevokedAt(), Math::max);
+        } else {
+            long expiresAt = revocation.getExpiresAt().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+            revokedTokens.put(revocation.getTokenId(), expiresAt);
+            revokedFilter.add(revocation.getTokenId());
+        }
+    }
+
+    private static LocalDateTime toDateTime(long epochMillis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), ZoneId.systemDefault());
+    }
+
+    /**
+     * 定长布隆过滤器，位数组大小取不小于配置值的 2 的幂，按 FNV-1a 64 位哈希做双重散列
+     */
+    private static final class BloomFilter {
+        private static final int HASHES = 4;
+
+        private final AtomicLongArray words;
+        private final int mask;
+
+        BloomFilter(int bits) {
+            int size = Math.max(64, Integer.highestOneBit(Math.max(1, bits - 1)) << 1);
+            this.words = new AtomicLongArray(size >>> 6);
+            this.mask = size - 1;
+        }
+
+        void add(String value) {
+            long hash = hash(value);
+            int h1 = (int) hash;
+            int h2 = (int) (hash >>> 32);
+            for (int i = 0; i < HASHES; i++) {
+                int bit = (h1 + i * h2) & mask;
+                long flag = 1L << bit;
+                int index = bit >>> 6;
+                long word;
+                do {
+                    word = words.get(index);
+                } while ((word & flag) == 0 && !words.compareAndSet(index, word, word | flag));
+            }
+        }
+
+        boolean mightContain(String value) {
+            long hash = hash(value);
+            int h1 = (int) hash;
+            int h2 = (int) (hash >>> 32);
+            for (int i = 0; i < HASHES; i++) {
+                int bit = (h1 + i * h2) & mask;
+                if ((words.get(bit >>> 6) & (1L << bit)) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private static long hash(String value) {
+            long hash = 0xcbf29ce484222325L;
+            for (int i = 0; i < value.length(); i++) {
+                hash ^= value.charAt(i);
+                hash *= 0x100000001b3L;
+            }
+            return hash;
+        }
+    }
+}
@@ -1,7 +1,9 @@
 package com.erickwu.backend.service;
 
 import com.erickwu.backend.dto.UserManageDTO;
+import com.erickwu.backend.model.CursorPage;
 import com.erickwu.backend.vo.UserManageVO;
+import com.erickwu.backend.vo.UserSummaryVO;
 
 import java.util.List;
 
@@ -10,6 +12,16 @@ import java.util.List;
  */
 public interface UserManageService {
     
+    /**
+     * 游标分页查询用户列表（不返回头像内容）
+     *
+     * @param cursor 上一页返回的 nextCursor，首页传 null
+     * @param size 每页数量
+     * @param keyword 搜索关键词，为空时不过滤
+     * @param fulltext true 时按全文索引做包含匹配，否则按前缀匹配
+     */
+    CursorPage<UserSummaryVO> pageUsers(String cursor, int size, String keyword, boolean fulltext);
+
     /**
      * 获取所有用户列表
      */
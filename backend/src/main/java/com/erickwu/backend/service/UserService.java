@@ -3,8 +3,13 @@ package com.erickwu.backend.service;
 import com.erickwu.backend.dto.LoginDTO;
 import com.erickwu.backend.dto.RegisterDTO;
 import com.erickwu.backend.dto.UpdateUserDTO;
+import com.erickwu.backend.util.AuthPrincipal;
 import com.erickwu.backend.vo.LoginVO;
 import com.erickwu.backend.vo.UserVO;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * 用户服务接口
@@ -12,20 +17,22 @@ import com.erickwu.backend.vo.UserVO;
 public interface UserService {
 
     /**
-     * 用户注册
+     * 用户注册（密码哈希在哈希线程池中异步完成）
      *
-     * @param dto 注册请求参数
+     * @param dto      注册请求参数
+     * @param clientIp 客户端 IP，用于限流
      * @return 登录响应（包含token）
      */
-    LoginVO register(RegisterDTO dto);
+    CompletableFuture<LoginVO> register(RegisterDTO dto, String clientIp);
 
     /**
-     * 用户登录
+     * 用户登录（密码校验在哈希线程池中异步完成）
      *
-     * @param dto 登录请求参数
+     * @param dto      登录请求参数
+     * @param clientIp 客户端 IP，用于限流
      * @return 登录响应（包含token）
      */
-    LoginVO login(LoginDTO dto);
+    CompletableFuture<LoginVO> login(LoginDTO dto, String clientIp);
 
     /**
      * 获取用户信息
@@ -43,6 +50,31 @@ public interface UserService {
      */
     void updateUser(Long userId, UpdateUserDTO dto);
 
+    /**
+     * 上传头像
+     *
+     * @param userId 用户ID
+     * @param file   头像图片
+     * @return 头像访问地址
+     */
+    String uploadAvatar(Long userId, MultipartFile file) throws IOException;
+
+    /**
+     * 使用刷新令牌换取新的 Token，刷新令牌随之轮换
+     *
+     * @param refreshToken 刷新令牌
+     * @return 新的登录信息
+     */
+    LoginVO refresh(String refreshToken);
+
+    /**
+     * 退出登录，吊销当前 Token 及刷新令牌所在会话
+     *
+     * @param principal    当前登录身份
+     * @param refreshToken 刷新令牌，可为 null
+     */
+    void logout(AuthPrincipal principal, String refreshToken);
+
     /**
      * 检查用户名是否存在
      *
@@ -2,18 +2,26 @@ package com.erickwu.backend.service.impl;
 
 import com.erickwu.backend.entity.User;
 import com.erickwu.backend.mapper.AdminStatsMapper;
+import com.erickwu.backend.mapper.StatsRollupMapper;
 import com.erickwu.backend.mapper.UserMapper;
 import com.erickwu.backend.service.AdminStatsService;
+import com.erickwu.backend.service.StatsRecorder;
 import com.erickwu.backend.vo.AdminStatsVO;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.BeanUtils;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
 import java.lang.management.ManagementFactory;
 import java.lang.management.MemoryMXBean;
 import java.lang.management.OperatingSystemMXBean;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
 import java.util.*;
 
 /**
@@ -23,37 +31,90 @@ import java.util.*;
 public class AdminStatsServiceImpl implements AdminStatsService {
 
     private static final Logger logger = LoggerFactory.getLogger(AdminStatsServiceImpl.class);
+    private static final DateTimeFormatter HOUR_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
 
     private final AdminStatsMapper statsMapper;
+    private final StatsRollupMapper rollupMapper;
+    private final StatsRecorder statsRecorder;
     private final UserMapper userMapper;
 
-    public AdminStatsServiceImpl(AdminStatsMapper statsMapper, UserMapper userMapper) {
+    // 后台刷新的统计快照，请求直接读取
+    private volatile AdminStatsVO snapshot;
+
+    public AdminStatsServiceImpl(AdminStatsMapper statsMapper,
+                                 StatsRollupMapper rollupMapper,
+                                 StatsRecorder statsRecorder,
+                                 UserMapper userMapper) {
         this.statsMapper = statsMapper;
+        this.rollupMapper = rollupMapper;
+        this.statsRecorder = statsRecorder;
         this.userMapper = userMapper;
     }
 
     @Override
     public AdminStatsVO getStats() {
+        AdminStatsVO current = snapshot;
+        if (current == null) {
+            current = refreshSnapshot();
+        }
+
+        // 快照为共享对象，复制后再填充实时的系统资源数据
         AdminStatsVO stats = new AdminStatsVO();
+        BeanUtils.copyProperties(current, stats);
+        setSystemResourceData(stats);
+        return stats;
+    }
+
+    @Override
+    public boolean isAdmin(Long userId) {
+        User user = userMapper.findById(userId);
+        return user != null && "admin".equals(user.getUsername());
+    }
 
+    /**
+     * 启动时若汇总表为空（首次部署或新增分布汇总后），先从业务表校准一次
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
         try {
+            if (rollupMapper.findCounters().isEmpty()
+                    || rollupMapper.findTopBreakdown(StatsRecorder.BREAKDOWN_SKILL, 1).isEmpty()) {
+                reconcile();
+            }
+        } catch (Exception e) {
+            logger.warn("初始化统计汇总表失败: {}", e.getMessage());
+        }
+        refreshSnapshot();
+    }
+
+    /**
+     * 定时刷新统计快照：读取汇总表，耗时与业务表大小无关
+     */
+    @Scheduled(fixedDelayString = "${admin.stats.refresh-millis:60000}")
+    public synchronized AdminStatsVO refreshSnapshot() {
+        AdminStatsVO stats = new AdminStatsVO();
+        try {
+            statsRecorder.flush();
+
+            Map<String, Long> counters = new HashMap<>();
+            for (Map<String, Object> row : rollupMapper.findCounters()) {
+                counters.put(row.get("name").toString(), ((Number) row.get("value")).longValue());
+            }
+            long totalVersions = counters.getOrDefault(StatsRecorder.VERSIONS_TOTAL, 0L);
+            long analyzedVersions = counters.getOrDefault(StatsRecorder.VERSIONS_ANALYZED, 0L);
+
             // 基础统计
-            stats.setTotalUsers(safeCount(() -> statsMapper.countTotalUsers()));
-            stats.setTotalResumes(safeCount(() -> statsMapper.countTotalResumes()));
-            stats.setActiveUsers(safeCount(() -> statsMapper.countActiveUsers()));
+            stats.setTotalUsers(counters.getOrDefault(StatsRecorder.USERS_TOTAL, 0L));
+            stats.setTotalResumes(counters.getOrDefault(StatsRecorder.RESUMES_TOTAL, 0L));
+            stats.setActiveUsers(safeCount(() -> rollupMapper.countActiveUsersSince(LocalDateTime.now().minusHours(24))));
             stats.setSystemHealth(100.0);  // 系统健康度
 
             // 简历处理状态
-            stats.setProcessedResumes(safeCount(() -> statsMapper.countProcessedResumes()));
-            stats.setPendingResumes(safeCount(() -> statsMapper.countPendingResumes()));
-
-            // 今日统计
-            stats.setTodayNewUsers(safeCount(() -> statsMapper.countTodayNewUsers()));
-            stats.setTodayNewResumes(safeCount(() -> statsMapper.countTodayNewResumes()));
-            stats.setTodayAnalysis(safeCount(() -> statsMapper.countTodayAnalysis()));
+            stats.setProcessedResumes(analyzedVersions);
+            stats.setPendingResumes(Math.max(0L, totalVersions - analyzedVersions));
 
-            // 用户增长趋势（最近7天）
-            setUserGrowthData(stats);
+            // 今日统计与用户增长趋势（最近7天）
+            setDailyData(stats);
 
             // 24小时活跃度
             setHourlyActivityData(stats);
@@ -64,22 +125,74 @@ public class AdminStatsServiceImpl implements AdminStatsService {
             // 专业分布
             setMajorDistributionData(stats);
 
-            // 系统资源
-            setSystemResourceData(stats);
-
         } catch (Exception e) {
-            logger.error("获取统计数据失败", e);
+            logger.error("刷新统计快照失败", e);
+            if (snapshot != null) {
+                return snapshot;
+            }
             // 设置默认值
             setDefaultValues(stats);
         }
 
+        snapshot = stats;
         return stats;
     }
 
-    @Override
-    public boolean isAdmin(Long userId) {
-        User user = userMapper.findById(userId);
-        return user != null && "admin".equals(user.getUsername());
+    /**
+     * 每日从业务表校准汇总数据，修正级联删除等未经事件记录的变化
+     */
+    @Scheduled(cron = "${admin.stats.reconcile-cron:0 15 4 * * *}")
+    public synchronized void reconcile() {
+        long startTime = System.currentTimeMillis();
+        statsRecorder.flush();
+
+        rollupMapper.setCounter(StatsRecorder.USERS_TOTAL, safeCount(() -> statsMapper.countTotalUsers()));
+        rollupMapper.setCounter(StatsRecorder.RESUMES_TOTAL, safeCount(() -> statsMapper.countTotalResumes()));
+        rollupMapper.setCounter(StatsRecorder.VERSIONS_TOTAL, safeCount(() -> statsMapper.countTotalVersions()));
+        rollupMapper.setCounter(StatsRecorder.VERSIONS_ANALYZED, safeCount(() -> statsMapper.countProcessedResumes()));
+
+        LocalDate since = LocalDate.now().minusDays(6);
+        reconcileDaily(StatsRecorder.DAILY_NEW_USERS, since, statsMapper.countDailyNewUsers(since));
+        reconcileDaily(StatsRecorder.DAILY_NEW_RESUMES, since, statsMapper.countDailyNewResumes(since));
+        reconcileDaily(StatsRecorder.DAILY_NEW_VERSIONS, since, statsMapper.countDailyNewVersions(since));
+        reconcileDaily(StatsRecorder.DAILY_NEW_SESSIONS, since, statsMapper.countDailyNewSessions(since));
+
+        LocalDateTime hourSince = LocalDateTime.now().truncatedTo(ChronoUnit.HOURS).minusHours(23);
+        for (Map<String, Object> row : statsMapper.countHourlyChatMessages(hourSince)) {
+            LocalDateTime hour = LocalDateTime.parse(row.get("hour").toString(), HOUR_FORMATTER);
+            rollupMapper.setHourly(hour, StatsRecorder.HOURLY_CHAT_MESSAGES, ((Number) row.get("count")).longValue());
+        }
+        rollupMapper.deleteHourlyBefore(hourSince.minusDays(1));
+
+        reconcileBreakdown(StatsRecorder.BREAKDOWN_SKILL, statsMapper.countSkillsByName());
+        reconcileBreakdown(StatsRecorder.BREAKDOWN_MAJOR, statsMapper.countResumesByMajor());
+
+        LocalDateTime activeSince = LocalDateTime.now().minusHours(24);
+        rollupMapper.rebuildActiveUsers(activeSince);
+        rollupMapper.deleteActiveUsersBefore(activeSince);
+
+        logger.info("统计汇总表校准完成，耗时 {} ms", System.currentTimeMillis() - startTime);
+    }
+
+    private void reconcileDaily(String metric, LocalDate since, List<Map<String, Object>> rows) {
+        Map<LocalDate, Long> counts = new HashMap<>();
+        for (Map<String, Object> row : rows) {
+            counts.put(LocalDate.parse(row.get("date").toString()), ((Number) row.get("count")).longValue());
+        }
+        for (LocalDate date = since; !date.isAfter(LocalDate.now()); date = date.plusDays(1)) {
+            rollupMapper.setDaily(date, metric, counts.getOrDefault(date, 0L));
+        }
+    }
+
+    /**
+     * 以业务表全量统计覆盖分布汇总，清除已归零的条目
+     */
+    private void reconcileBreakdown(String dimension, List<Map<String, Object>> rows) {
+        rollupMapper.resetBreakdown(dimension);
+        for (Map<String, Object> row : rows) {
+            rollupMapper.setBreakdown(dimension, row.get("item").toString(), ((Number) row.get("count")).longValue());
+        }
+        rollupMapper.deleteEmptyBreakdown(dimension);
     }
 
     /**
@@ -96,41 +209,32 @@ public class AdminStatsServiceImpl implements AdminStatsService {
     }
 
     /**
-     * 设置用户增长数据
+     * 设置今日统计和用户增长数据
      */
-    private void setUserGrowthData(AdminStatsVO stats) {
+    private void setDailyData(AdminStatsVO stats) {
         List<String> dates = new ArrayList<>();
         List<Long> counts = new ArrayList<>();
+        LocalDate today = LocalDate.now();
 
+        Map<String, Long> dataMap = new HashMap<>();
         try {
-            List<Map<String, Object>> growthData = statsMapper.getUserGrowthLast7Days();
-            Map<String, Long> dataMap = new HashMap<>();
-
-            if (growthData != null) {
-                for (Map<String, Object> row : growthData) {
-                    String date = row.get("date").toString();
-                    Long count = ((Number) row.get("count")).longValue();
-                    dataMap.put(date, count);
-                }
-            }
-
-            // 填充最近7天数据
-            DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd");
-            DateTimeFormatter displayFormatter = DateTimeFormatter.ofPattern("MM-dd");
-            for (int i = 6; i >= 0; i--) {
-                LocalDate date = LocalDate.now().minusDays(i);
-                String dateStr = date.format(formatter);
-                dates.add(date.format(displayFormatter));
-                counts.add(dataMap.getOrDefault(dateStr, 0L));
+            for (Map<String, Object> row : rollupMapper.findDailySince(today.minusDays(6))) {
+                dataMap.put(row.get("stat_date") + "/" + row.get("metric"), ((Number) row.get("value")).longValue());
             }
         } catch (Exception e) {
-            logger.warn("获取用户增长数据失败: {}", e.getMessage());
-            // 生成模拟数据
-            DateTimeFormatter displayFormatter = DateTimeFormatter.ofPattern("MM-dd");
-            for (int i = 6; i >= 0; i--) {
-                dates.add(LocalDate.now().minusDays(i).format(displayFormatter));
-                counts.add(0L);
-            }
+            logger.warn("获取按天统计数据失败: {}", e.getMessage());
+        }
+
+        stats.setTodayNewUsers(dataMap.getOrDefault(today + "/" + StatsRecorder.DAILY_NEW_USERS, 0L));
+        stats.setTodayNewResumes(dataMap.getOrDefault(today + "/" + StatsRecorder.DAILY_NEW_RESUMES, 0L));
+        stats.setTodayAnalysis(dataMap.getOrDefault(today + "/" + StatsRecorder.DAILY_NEW_VERSIONS, 0L));
+
+        // 填充最近7天数据
+        DateTimeFormatter displayFormatter = DateTimeFormatter.ofPattern("MM-dd");
+        for (int i = 6; i >= 0; i--) {
+            LocalDate date = today.minusDays(i);
+            dates.add(date.format(displayFormatter));
+            counts.add(dataMap.getOrDefault(date + "/" + StatsRecorder.DAILY_NEW_USERS, 0L));
         }
 
         stats.setUserGrowthDates(dates);
@@ -138,21 +242,22 @@ public class AdminStatsServiceImpl implements AdminStatsService {
     }
 
     /**
-     * 设置24小时活跃度数据
+     * 设置24小时活跃度数据（每小时对话消息数）
      */
     private void setHourlyActivityData(AdminStatsVO stats) {
         List<String> labels = new ArrayList<>();
         List<Long> counts = new ArrayList<>();
 
         try {
-            List<Map<String, Object>> hourlyData = statsMapper.getHourlyActivity();
+            LocalDateTime since = LocalDateTime.now().truncatedTo(ChronoUnit.HOURS).minusHours(23);
+            List<Map<String, Object>> hourlyData = rollupMapper.findHourlySince(StatsRecorder.HOURLY_CHAT_MESSAGES, since);
             Map<Integer, Long> dataMap = new HashMap<>();
 
             if (hourlyData != null) {
                 for (Map<String, Object> row : hourlyData) {
-                    Integer hour = ((Number) row.get("hour")).intValue();
-                    Long count = ((Number) row.get("count")).longValue();
-                    dataMap.put(hour, count);
+                    Integer hour = toLocalDateTime(row.get("stat_hour")).getHour();
+                    Long count = ((Number) row.get("value")).longValue();
+                    dataMap.merge(hour, count, Long::sum);
                 }
             }
 
@@ -163,6 +268,8 @@ public class AdminStatsServiceImpl implements AdminStatsService {
             }
         } catch (Exception e) {
             logger.warn("获取小时活跃度数据失败: {}", e.getMessage());
+            labels.clear();
+            counts.clear();
             for (int i = 0; i < 24; i++) {
                 labels.add(String.format("%02d:00", i));
                 counts.add(0L);
@@ -173,6 +280,16 @@ public class AdminStatsServiceImpl implements AdminStatsService {
         stats.setHourlyCounts(counts);
     }
 
+    private static LocalDateTime toLocalDateTime(Object value) {
+        if (value instanceof LocalDateTime localDateTime) {
+            return localDateTime;
+        }
+        if (value instanceof java.sql.Timestamp timestamp) {
+            return timestamp.toLocalDateTime();
+        }
+        return LocalDateTime.parse(value.toString().replace(' ', 'T'));
+    }
+
     /**
      * 设置热门技能数据
      */
@@ -181,15 +298,9 @@ public class AdminStatsServiceImpl implements AdminStatsService {
         List<Long> counts = new ArrayList<>();
 
         try {
-            // 检查 resume_skill 表是否存在
-            if (statsMapper.tableExists("resume_skill") > 0) {
-                List<Map<String, Object>> skillData = statsMapper.getTopSkills();
-                if (skillData != null && !skillData.isEmpty()) {
-                    for (Map<String, Object> row : skillData) {
-                        names.add(row.get("skill_name").toString());
-                        counts.add(((Number) row.get("count")).longValue());
-                    }
-                }
+            for (Map<String, Object> row : rollupMapper.findTopBreakdown(StatsRecorder.BREAKDOWN_SKILL, 6)) {
+                names.add(row.get("item").toString());
+                counts.add(((Number) row.get("value")).longValue());
             }
         } catch (Exception e) {
             logger.warn("获取热门技能数据失败: {}", e.getMessage());
@@ -213,12 +324,9 @@ public class AdminStatsServiceImpl implements AdminStatsService {
         List<Long> counts = new ArrayList<>();
 
         try {
-            List<Map<String, Object>> majorData = statsMapper.getMajorDistribution();
-            if (majorData != null && !majorData.isEmpty()) {
-                for (Map<String, Object> row : majorData) {
-                    names.add(row.get("major").toString());
-                    counts.add(((Number) row.get("count")).longValue());
-                }
+            for (Map<String, Object> row : rollupMapper.findTopBreakdown(StatsRecorder.BREAKDOWN_MAJOR, 5)) {
+                names.add(row.get("item").toString());
+                counts.add(((Number) row.get("value")).longValue());
             }
         } catch (Exception e) {
             logger.warn("获取专业分布数据失败: {}", e.getMessage());
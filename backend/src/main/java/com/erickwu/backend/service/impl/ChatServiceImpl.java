@@ -1,22 +1,35 @@
 package com.erickwu.backend.service.impl;
 
 import com.erickwu.backend.config.BusinessException;
+import com.erickwu.backend.config.LlmConfig;
 import com.erickwu.backend.dto.ChatMessageDTO;
 import com.erickwu.backend.entity.ChatMessage;
 import com.erickwu.backend.entity.ChatSession;
 import com.erickwu.backend.mapper.ChatMessageMapper;
 import com.erickwu.backend.mapper.ChatSessionMapper;
+import com.erickwu.backend.model.ErrorCode;
+import com.erickwu.backend.service.ChatContextManager;
 import com.erickwu.backend.service.ChatService;
+import com.erickwu.backend.service.LlmStreamHandle;
 import com.erickwu.backend.service.QwenLlmService;
+import com.erickwu.backend.service.StatsRecorder;
 import com.erickwu.backend.vo.ChatMessageVO;
 import com.erickwu.backend.vo.ChatSessionVO;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.stream.Collectors;
 
 /**
@@ -30,6 +43,10 @@ public class ChatServiceImpl implements ChatService {
     private final ChatSessionMapper sessionMapper;
     private final ChatMessageMapper messageMapper;
     private final QwenLlmService llmService;
+    private final ChatContextManager contextManager;
+    private final StatsRecorder statsRecorder;
+    private final LlmConfig llmConfig;
+    private final ThreadPoolExecutor chatStreamExecutor;
 
     /**
      * AI 助手系统提示词
@@ -55,10 +72,18 @@ public class ChatServiceImpl implements ChatService {
 
     public ChatServiceImpl(ChatSessionMapper sessionMapper, 
                           ChatMessageMapper messageMapper,
-                          QwenLlmService llmService) {
+                          QwenLlmService llmService,
+                          ChatContextManager contextManager,
+                          StatsRecorder statsRecorder,
+                          LlmConfig llmConfig,
+                          @Qualifier("chatStreamExecutor") ThreadPoolExecutor chatStreamExecutor) {
         this.sessionMapper = sessionMapper;
         this.messageMapper = messageMapper;
         this.llmService = llmService;
+        this.contextManager = contextManager;
+        this.statsRecorder = statsRecorder;
+        this.llmConfig = llmConfig;
+        this.chatStreamExecutor = chatStreamExecutor;
     }
 
     @Override
@@ -91,6 +116,8 @@ public class ChatServiceImpl implements ChatService {
         session.setUserId(userId);
         session.setTitle("新对话");
         sessionMapper.insert(session);
+        statsRecorder.chatSessionCreated();
+        statsRecorder.userActive(userId);
         
         ChatSessionVO vo = convertToVO(session);
         vo.setMessages(new ArrayList<>());
@@ -100,62 +127,132 @@ public class ChatServiceImpl implements ChatService {
     @Override
     @Transactional
     public ChatMessageVO sendMessage(Long userId, ChatMessageDTO dto) {
-        Long sessionId = dto.getSessionId();
-        
-        // 如果没有指定会话，创建新会话
+        Long sessionId = resolveSession(userId, dto.getSessionId());
+
+        // 保存用户消息
+        saveMessage(sessionId, "user", dto.getContent());
+
+        // 构建上下文：会话摘要 + token 预算内的最近消息
+        ChatContextManager.ChatContext context = contextManager.build(sessionId);
+
+        // 调用 AI 生成回复
+        logger.info("开始调用 AI 生成回复，会话ID: {}", sessionId);
+        String aiResponse = llmService.chat(SYSTEM_PROMPT, context.prompt());
+        logger.info("AI 回复生成完成");
+
+        ChatMessageVO reply = saveAssistantReply(sessionId, aiResponse, context.firstMessage(), dto.getContent());
+        contextManager.summarizeIfNeeded(sessionId, context);
+        return reply;
+    }
+
+    @Override
+    public SseEmitter streamMessage(Long userId, ChatMessageDTO dto) {
+        Long sessionId = resolveSession(userId, dto.getSessionId());
+        saveMessage(sessionId, "user", dto.getContent());
+
+        ChatContextManager.ChatContext context = contextManager.build(sessionId);
+
+        SseEmitter emitter = new SseEmitter((long) llmConfig.getQwen().getTimeout() * 2);
+        // 连接超时、出错或结束时中断上游流式请求，释放工作线程和模型并发许可
+        LlmStreamHandle handle = new LlmStreamHandle();
+        emitter.onTimeout(() -> {
+            logger.info("流式连接超时，会话ID: {}", sessionId);
+            handle.cancel();
+            emitter.complete();
+        });
+        emitter.onError(e -> handle.cancel());
+        emitter.onCompletion(handle::cancel);
+        try {
+            chatStreamExecutor.execute(() -> runStream(emitter, handle, sessionId, context, dto.getContent()));
+        } catch (RejectedExecutionException e) {
+            logger.warn("流式对话线程池已满，会话ID: {}", sessionId);
+            throw new BusinessException(ErrorCode.SERVICE_UNAVAILABLE, "AI 助手繁忙，请稍后重试");
+        }
+        return emitter;
+    }
+
+    /**
+     * 在工作线程中转发模型输出，生成结束后保存助手消息
+     */
+    private void runStream(SseEmitter emitter, LlmStreamHandle handle, Long sessionId,
+                           ChatContextManager.ChatContext context, String userContent) {
+        try {
+            emitter.send(SseEmitter.event().name("session").data(Map.of("sessionId", sessionId)));
+
+            logger.info("开始流式生成 AI 回复，会话ID: {}", sessionId);
+            String aiResponse = llmService.chatStream(SYSTEM_PROMPT, context.prompt(), token -> {
+                try {
+                    emitter.send(SseEmitter.event().name("token").data(Map.of("content", token)));
+                } catch (IOException e) {
+                    // 客户端已断开，中止读取上游响应
+                    handle.cancel();
+                    throw new UncheckedIOException(e);
+                }
+            }, handle);
+            logger.info("AI 流式回复生成完成，会话ID: {}", sessionId);
+
+            ChatMessageVO reply = saveAssistantReply(sessionId, aiResponse, context.firstMessage(), userContent);
+            contextManager.summarizeIfNeeded(sessionId, context);
+            emitter.send(SseEmitter.event().name("done").data(reply));
+            emitter.complete();
+        } catch (UncheckedIOException e) {
+            logger.info("客户端断开流式连接，会话ID: {}", sessionId);
+            emitter.completeWithError(e.getCause());
+        } catch (CancellationException e) {
+            // 连接已超时或关闭，emitter 已结束，无需再写出
+            logger.info("流式对话已取消，会话ID: {}", sessionId);
+        } catch (Exception e) {
+            logger.error("流式对话失败，会话ID: {}", sessionId, e);
+            try {
+                emitter.send(SseEmitter.event().name("error").data(Map.of("message", "AI 回复生成失败，请稍后重试")));
+            } catch (IOException ignored) {
+                // 客户端已断开
+            }
+            emitter.completeWithError(e);
+        }
+    }
+
+    /**
+     * 获取会话ID：未指定时创建新会话，指定时校验归属
+     */
+    private Long resolveSession(Long userId, Long sessionId) {
+        statsRecorder.userActive(userId);
         if (sessionId == null) {
             ChatSession newSession = new ChatSession();
             newSession.setUserId(userId);
             newSession.setTitle("新对话");
             sessionMapper.insert(newSession);
-            sessionId = newSession.getId();
-        } else {
-            // 验证会话归属
-            ChatSession session = sessionMapper.findById(sessionId);
-            if (session == null || !session.getUserId().equals(userId)) {
-                throw new BusinessException(404, "会话不存在");
-            }
+            statsRecorder.chatSessionCreated();
+            return newSession.getId();
         }
-
-        // 保存用户消息
-        ChatMessage userMessage = new ChatMessage();
-        userMessage.setSessionId(sessionId);
-        userMessage.setRole("user");
-        userMessage.setContent(dto.getContent());
-        messageMapper.insert(userMessage);
-
-        // 获取历史消息用于上下文
-        List<ChatMessage> history = messageMapper.findBySessionId(sessionId);
-        
-        // 构建对话历史
-        StringBuilder contextBuilder = new StringBuilder();
-        // 只保留最近10条消息作为上下文
-        int startIdx = Math.max(0, history.size() - 10);
-        for (int i = startIdx; i < history.size(); i++) {
-            ChatMessage msg = history.get(i);
-            if ("user".equals(msg.getRole())) {
-                contextBuilder.append("用户: ").append(msg.getContent()).append("\n\n");
-            } else {
-                contextBuilder.append("助手: ").append(msg.getContent()).append("\n\n");
-            }
+        ChatSession session = sessionMapper.findById(sessionId);
+        if (session == null || !session.getUserId().equals(userId)) {
+            throw new BusinessException(404, "会话不存在");
         }
+        return sessionId;
+    }
 
-        // 调用 AI 生成回复
-        logger.info("开始调用 AI 生成回复，会话ID: {}", sessionId);
-        String aiResponse = llmService.chat(SYSTEM_PROMPT, contextBuilder.toString());
-        logger.info("AI 回复生成完成");
+    private ChatMessage saveMessage(Long sessionId, String role, String content) {
+        ChatMessage message = new ChatMessage();
+        message.setSessionId(sessionId);
+        message.setRole(role);
+        message.setContent(content);
+        message.setTokenCount(ChatContextManager.estimateTokens(content));
+        messageMapper.insert(message);
+        statsRecorder.chatMessageCreated();
+        return message;
+    }
 
-        // 保存 AI 回复
-        ChatMessage assistantMessage = new ChatMessage();
-        assistantMessage.setSessionId(sessionId);
-        assistantMessage.setRole("assistant");
-        assistantMessage.setContent(aiResponse);
-        messageMapper.insert(assistantMessage);
+    /**
+     * 保存 AI 回复并更新会话
+     */
+    private ChatMessageVO saveAssistantReply(Long sessionId, String aiResponse,
+                                             boolean firstMessage, String userContent) {
+        ChatMessage assistantMessage = saveMessage(sessionId, "assistant", aiResponse);
 
         // 如果是第一条消息，根据内容更新会话标题
-        if (history.size() == 1) {
-            String title = generateTitle(dto.getContent());
-            sessionMapper.updateTitle(sessionId, title);
+        if (firstMessage) {
+            sessionMapper.updateTitle(sessionId, generateTitle(userContent));
         }
 
         // 更新会话时间
@@ -167,7 +264,6 @@ public class ChatServiceImpl implements ChatService {
         responseVO.setRole("assistant");
         responseVO.setContent(aiResponse);
         responseVO.setCreatedAt(assistantMessage.getCreatedAt());
-        
         return responseVO;
     }
 
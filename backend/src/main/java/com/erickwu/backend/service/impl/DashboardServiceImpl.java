@@ -4,6 +4,7 @@ import com.erickwu.backend.entity.Resume;
 import com.erickwu.backend.entity.Skill;
 import com.erickwu.backend.mapper.*;
 import com.erickwu.backend.service.DashboardService;
+import com.erickwu.backend.service.DashboardSnapshotCache;
 import com.erickwu.backend.vo.CategoryDataVO;
 import com.erickwu.backend.vo.DashboardOverviewVO;
 import com.erickwu.backend.vo.RecentActivityVO;
@@ -25,6 +26,7 @@ public class DashboardServiceImpl implements DashboardService {
     private final SkillMapper skillMapper;
     private final EducationMapper educationMapper;
     private final WorkExperienceMapper workExperienceMapper;
+    private final DashboardSnapshotCache snapshotCache;
 
     // 技能等级名称映射
     private static final Map<Integer, String> SKILL_LEVEL_NAMES = Map.of(
@@ -38,25 +40,47 @@ public class DashboardServiceImpl implements DashboardService {
     public DashboardServiceImpl(ResumeMapper resumeMapper,
                                 SkillMapper skillMapper,
                                 EducationMapper educationMapper,
-                                WorkExperienceMapper workExperienceMapper) {
+                                WorkExperienceMapper workExperienceMapper,
+                                DashboardSnapshotCache snapshotCache) {
         this.resumeMapper = resumeMapper;
         this.skillMapper = skillMapper;
         this.educationMapper = educationMapper;
         this.workExperienceMapper = workExperienceMapper;
+        this.snapshotCache = snapshotCache;
     }
 
     @Override
     public DashboardOverviewVO getOverview(Long userId) {
-        DashboardOverviewVO overview = new DashboardOverviewVO();
+        return snapshotCache.get(userId, this::buildSnapshot).overview();
+    }
 
-        // 获取用户简历
+    /**
+     * 一次读取简历、技能、教育和工作经历数据，计算全部 Dashboard 聚合结果
+     */
+    private DashboardSnapshotCache.Snapshot buildSnapshot(Long userId) {
         Resume resume = resumeMapper.findByUserId(userId);
+        if (resume == null) {
+            return new DashboardSnapshotCache.Snapshot(null, buildOverview(null, List.of(), 0, 0),
+                    List.of(), List.of(), List.of());
+        }
 
-        if (resume != null) {
-            Long resumeId = resume.getId();
+        Long resumeId = resume.getId();
+        List<Skill> skills = skillMapper.findByResumeId(resumeId);
+        int eduCount = educationMapper.countByResumeId(resumeId);
+        int workCount = workExperienceMapper.countByResumeId(resumeId);
+
+        return new DashboardSnapshotCache.Snapshot(
+                resumeId,
+                buildOverview(resume, skills, eduCount, workCount),
+                List.copyOf(buildSkillDistribution(skills)),
+                List.copyOf(buildSkillLevelDistribution(skills)),
+                List.copyOf(buildActivities(resume, skills)));
+    }
 
-            // 获取技能列表
-            List<Skill> skills = skillMapper.findByResumeId(resumeId);
+    private DashboardOverviewVO buildOverview(Resume resume, List<Skill> skills, int eduCount, int workCount) {
+        DashboardOverviewVO overview = new DashboardOverviewVO();
+
+        if (resume != null) {
             overview.setTotalSkills(skills.size());
 
             // 统计精通及以上的技能（level >= 4）
@@ -66,11 +90,9 @@ public class DashboardServiceImpl implements DashboardService {
             overview.setExpertSkills((int) expertCount);
 
             // 教育经历数
-            int eduCount = educationMapper.countByResumeId(resumeId);
             overview.setEducationCount(eduCount);
 
             // 工作经历数
-            int workCount = workExperienceMapper.countByResumeId(resumeId);
             overview.setWorkExperienceCount(workCount);
 
             // 计算简历完成度
@@ -133,14 +155,25 @@ public class DashboardServiceImpl implements DashboardService {
 
     @Override
     public List<CategoryDataVO> getSkillDistribution(Long userId) {
-        List<CategoryDataVO> distribution = new ArrayList<>();
+        return snapshotCache.get(userId, this::buildSnapshot).skillDistribution();
+    }
 
-        Resume resume = resumeMapper.findByUserId(userId);
-        if (resume == null) {
-            return distribution;
+    @Override
+    public List<CategoryDataVO> getSkillLevelDistribution(Long userId) {
+        return snapshotCache.get(userId, this::buildSnapshot).skillLevelDistribution();
+    }
+
+    @Override
+    public List<RecentActivityVO> getRecentActivities(Long userId, int limit) {
+        List<RecentActivityVO> activities = snapshotCache.get(userId, this::buildSnapshot).activities();
+        if (activities.size() > limit) {
+            return new ArrayList<>(activities.subList(0, Math.max(0, limit)));
         }
+        return new ArrayList<>(activities);
+    }
 
-        List<Skill> skills = skillMapper.findByResumeId(resume.getId());
+    private List<CategoryDataVO> buildSkillDistribution(List<Skill> skills) {
+        List<CategoryDataVO> distribution = new ArrayList<>();
         if (skills.isEmpty()) {
             return distribution;
         }
@@ -165,16 +198,8 @@ public class DashboardServiceImpl implements DashboardService {
         return distribution;
     }
 
-    @Override
-    public List<CategoryDataVO> getSkillLevelDistribution(Long userId) {
+    private List<CategoryDataVO> buildSkillLevelDistribution(List<Skill> skills) {
         List<CategoryDataVO> distribution = new ArrayList<>();
-
-        Resume resume = resumeMapper.findByUserId(userId);
-        if (resume == null) {
-            return distribution;
-        }
-
-        List<Skill> skills = skillMapper.findByResumeId(resume.getId());
         if (skills.isEmpty()) {
             return distribution;
         }
@@ -203,15 +228,12 @@ public class DashboardServiceImpl implements DashboardService {
         return distribution;
     }
 
-    @Override
-    public List<RecentActivityVO> getRecentActivities(Long userId, int limit) {
+    /**
+     * 构建按时间降序排列的全部活动，读取时再按 limit 截取
+     */
+    private List<RecentActivityVO> buildActivities(Resume resume, List<Skill> skills) {
         List<RecentActivityVO> activities = new ArrayList<>();
 
-        Resume resume = resumeMapper.findByUserId(userId);
-        if (resume == null) {
-            return activities;
-        }
-
         // 添加简历更新活动
         if (resume.getUpdatedAt() != null) {
             activities.add(new RecentActivityVO(
@@ -222,8 +244,7 @@ public class DashboardServiceImpl implements DashboardService {
             ));
         }
 
-        // 获取最近添加的技能
-        List<Skill> skills = skillMapper.findByResumeId(resume.getId());
+        // 最近添加的技能
         for (Skill skill : skills) {
             if (skill.getCreatedAt() != null) {
                 activities.add(new RecentActivityVO(
@@ -235,17 +256,13 @@ public class DashboardServiceImpl implements DashboardService {
             }
         }
 
-        // 按时间降序排列，取前limit条
+        // 按时间降序排列
         activities.sort((a, b) -> {
             if (a.getTime() == null) return 1;
             if (b.getTime() == null) return -1;
             return b.getTime().compareTo(a.getTime());
         });
 
-        if (activities.size() > limit) {
-            activities = activities.subList(0, limit);
-        }
-
         return activities;
     }
 
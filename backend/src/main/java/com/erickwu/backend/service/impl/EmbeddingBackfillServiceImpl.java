@@ -0,0 +1,273 @@
+package com.erickwu.backend.service.impl;
+
+import com.erickwu.backend.config.BusinessException;
+import com.erickwu.backend.config.EmbeddingConfig;
+import com.erickwu.backend.entity.EmbeddingBackfillJob;
+import com.erickwu.backend.entity.ResumeVersion;
+import com.erickwu.backend.mapper.EmbeddingBackfillJobMapper;
+import com.erickwu.backend.mapper.ResumeVersionMapper;
+import com.erickwu.backend.metrics.MetricsRegistry;
+import com.erickwu.backend.model.ErrorCode;
+import com.erickwu.backend.service.EmbeddingBackfillService;
+import com.erickwu.backend.service.QwenLlmService;
+import com.erickwu.backend.service.ResumeEmbeddingService;
+import com.erickwu.backend.vo.EmbeddingBackfillJobVO;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 简历向量回填任务服务实现
+ * 按版本ID游标分页读取历史版本，批量向量化并在每页后写入检查点；
+ * 调用向量接口受速率上限约束，服务重启后从检查点继续。
+ * 切换向量模型后，新模型下的向量均视为缺失，直接启动回填即可在线重新生成；
+ * 回填期间相似检索继续使用旧模型的索引，完成后切换到新模型
+ */
+@Service
+public class EmbeddingBackfillServiceImpl implements EmbeddingBackfillService {
+
+    private static final Logger logger = LoggerFactory.getLogger(EmbeddingBackfillServiceImpl.class);
+
+    private final EmbeddingBackfillJobMapper jobMapper;
+    private final ResumeVersionMapper versionMapper;
+    private final ResumeEmbeddingService embeddingService;
+    private final QwenLlmService llmService;
+    private final EmbeddingConfig config;
+    private final MetricsRegistry metrics;
+    private final ThreadPoolExecutor backfillExecutor;
+
+    private volatile Long runningJobId;
+    private volatile boolean pauseRequested;
+
+    public EmbeddingBackfillServiceImpl(EmbeddingBackfillJobMapper jobMapper,
+                                        ResumeVersionMapper versionMapper,
+                                        ResumeEmbeddingService embeddingService,
+                                        QwenLlmService llmService,
+                                        EmbeddingConfig config,
+                                        MetricsRegistry metrics,
+                                        @Qualifier("embeddingBackfillExecutor") ThreadPoolExecutor backfillExecutor) {
+        this.jobMapper = jobMapper;
+        this.versionMapper = versionMapper;
+        this.embeddingService = embeddingService;
+        this.llmService = llmService;
+        this.config = config;
+        this.metrics = metrics;
+        this.backfillExecutor = backfillExecutor;
+    }
+
+    /**
+     * 服务启动时继续上次运行中断的任务；模型已变更的任务标记失败
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeInterruptedJob() {
+        if (!config.isEnabled()) {
+            return;
+        }
+        try {
+            EmbeddingBackfillJob job = jobMapper.findLatest();
+            if (job == null || !EmbeddingBackfillJob.STATUS_RUNNING.equals(job.getStatus())) {
+                return;
+            }
+            if (!job.getModel().equals(llmService.getEmbeddingModel())) {
+                jobMapper.updateStatus(job.getId(), EmbeddingBackfillJob.STATUS_FAILED, "向量模型已变更，请重新启动回填");
+                return;
+            }
+            logger.info("继续中断的向量回填任务 {}，检查点版本ID: {}", job.getId(), job.getLastVersionId());
+            submit(job);
+        } catch (Exception e) {
+            logger.warn("恢复向量回填任务失败: {}", e.getMessage());
+        }
+    }
+
+    @Override
+    public synchronized EmbeddingBackfillJobVO start(boolean forceAll) {
+        if (!config.isEnabled()) {
+            throw new BusinessException(ErrorCode.SERVICE_UNAVAILABLE, "向量检索未启用");
+        }
+        if (runningJobId != null) {
+            throw new BusinessException(ErrorCode.CONFLICT, "已有向量回填任务在运行");
+        }
+
+        String model = llmService.getEmbeddingModel();
+        EmbeddingBackfillJob latest = jobMapper.findLatest();
+        EmbeddingBackfillJob job;
+        if (latest != null
+                && !EmbeddingBackfillJob.STATUS_DONE.equals(latest.getStatus())
+                && latest.getModel().equals(model)
+                && Boolean.TRUE.equals(latest.getForceAll()) == forceAll) {
+            job = latest;
+            jobMapper.updateStatus(job.getId(), EmbeddingBackfillJob.STATUS_RUNNING, null);
+            logger.info("从检查点 {} 继续向量回填任务 {}", job.getLastVersionId(), job.getId());
+        } else {
+            job = new EmbeddingBackfillJob();
+            job.setModel(model);
+            job.setForceAll(forceAll);
+            job.setStatus(EmbeddingBackfillJob.STATUS_RUNNING);
+            job.setLastVersionId(0L);
+            job.setProcessed(0);
+            jobMapper.insert(job);
+            logger.info("启动向量回填任务 {}: 模型 {}, 全量 {}", job.getId(), model, forceAll);
+        }
+        submit(job);
+        return convertToVO(jobMapper.findById(job.getId()));
+    }
+
+    @Override
+    public EmbeddingBackfillJobVO pause() {
+        if (runningJobId != null) {
+            pauseRequested = true;
+        }
+        return getLatest();
+    }
+
+    @Override
+    public EmbeddingBackfillJobVO getLatest() {
+        EmbeddingBackfillJob job = jobMapper.findLatest();
+        return job != null ? convertToVO(job) : null;
+    }
+
+    private void submit(EmbeddingBackfillJob job) {
+        runningJobId = job.getId();
+        pauseRequested = false;
+        try {
+            backfillExecutor.execute(() -> runJob(job));
+        } catch (RejectedExecutionException e) {
+            runningJobId = null;
+            jobMapper.updateStatus(job.getId(), EmbeddingBackfillJob.STATUS_FAILED, "回填线程繁忙");
+            throw new BusinessException(ErrorCode.CONFLICT, "已有向量回填任务在运行");
+        }
+    }
+
+    /**
+     * 逐页处理，每页结束写入检查点；单页失败按退避重试，仍失败则任务标记失败，可再次启动从检查点继续
+     */
+    private void runJob(EmbeddingBackfillJob job) {
+        Long jobId = job.getId();
+        long cursor = job.getLastVersionId();
+        int processed = job.getProcessed();
+        Throttle throttle = new Throttle(config.getBackfillRequestsPerSecond());
+        try {
+            while (true) {
+                if (pauseRequested) {
+                    jobMapper.updateStatus(jobId, EmbeddingBackfillJob.STATUS_PAUSED, null);
+                    logger.info("向量回填任务 {} 已暂停，检查点版本ID: {}", jobId, cursor);
+                    return;
+                }
+
+                List<ResumeVersion> page = Boolean.TRUE.equals(job.getForceAll())
+                        ? versionMapper.findPageAfter(cursor, config.getBackfillPageSize())
+                        : versionMapper.findMissingEmbeddingPage(job.getModel(), cursor, config.getBackfillPageSize());
+                if (page.isEmpty()) {
+                    jobMapper.updateStatus(jobId, EmbeddingBackfillJob.STATUS_DONE, null);
+                    logger.info("向量回填任务 {} 完成，共处理 {} 个版本", jobId, processed);
+                    embeddingService.activateModel(job.getModel());
+                    return;
+                }
+
+                long startTime = System.currentTimeMillis();
+                processed += embedPage(page, throttle);
+                cursor = page.get(page.size() - 1).getId();
+                jobMapper.updateCheckpoint(jobId, cursor, processed);
+                metrics.add("embedding.backfill.versions", page.size());
+                metrics.record("embedding.backfill.page", System.currentTimeMillis() - startTime);
+            }
+        } catch (RuntimeException e) {
+            metrics.increment("embedding.backfill.failed");
+            logger.error("向量回填任务 {} 失败，检查点版本ID: {}", jobId, cursor, e);
+            jobMapper.updateStatus(jobId, EmbeddingBackfillJob.STATUS_FAILED, truncate(e.getMessage()));
+        } finally {
+            runningJobId = null;
+            pauseRequested = false;
+        }
+    }
+
+    private int embedPage(List<ResumeVersion> page, Throttle throttle) {
+        for (int attempt = 0; ; attempt++) {
+            try {
+                return embeddingService.embedVersions(page, throttle::acquire);
+            } catch (RuntimeException e) {
+                if (attempt >= config.getBackfillMaxRetries()) {
+                    throw e;
+                }
+                long delay = 2000L << attempt;
+                logger.warn("向量回填单页失败（{}），{} ms 后重试", e.getMessage(), delay);
+                Throttle.sleep(delay);
+            }
+        }
+    }
+
+    private EmbeddingBackfillJobVO convertToVO(EmbeddingBackfillJob job) {
+        EmbeddingBackfillJobVO vo = new EmbeddingBackfillJobVO();
+        vo.setJobId(job.getId());
+        vo.setModel(job.getModel());
+        vo.setForceAll(job.getForceAll());
+        vo.setStatus(job.getStatus());
+        vo.setLastVersionId(job.getLastVersionId());
+        vo.setProcessed(job.getProcessed());
+        vo.setRemaining(remaining(job));
+        vo.setErrorMessage(job.getErrorMessage());
+        vo.setCreatedAt(job.getCreatedAt());
+        vo.setUpdatedAt(job.getUpdatedAt());
+        return vo;
+    }
+
+    /**
+     * 剩余版本数：全量任务为检查点之后的全部版本，补缺任务只计检查点之后缺少目标模型向量的版本
+     */
+    private long remaining(EmbeddingBackfillJob job) {
+        if (EmbeddingBackfillJob.STATUS_DONE.equals(job.getStatus())) {
+            return 0L;
+        }
+        return Boolean.TRUE.equals(job.getForceAll())
+                ? versionMapper.countAfter(job.getLastVersionId())
+                : versionMapper.countMissingEmbeddingAfter(job.getModel(), job.getLastVersionId());
+    }
+
+    private static String truncate(String message) {
+        if (message == null) {
+            return "向量回填失败";
+        }
+        return message.length() > 500 ? message.substring(0, 500) : message;
+    }
+
+    /**
+     * 固定间隔限速：相邻两次向量接口调用至少间隔 1/rps 秒
+     */
+    private static final class Throttle {
+        private final long intervalNanos;
+        private long next = System.nanoTime();
+
+        Throttle(double requestsPerSecond) {
+            this.intervalNanos = requestsPerSecond > 0 ? (long) (TimeUnit.SECONDS.toNanos(1) / requestsPerSecond) : 0;
+        }
+
+        void acquire() {
+            if (intervalNanos == 0) {
+                return;
+            }
+            long now = System.nanoTime();
+            if (next > now) {
+                sleep(TimeUnit.NANOSECONDS.toMillis(next - now));
+                now = System.nanoTime();
+            }
+            next = Math.max(now, next) + intervalNanos;
+        }
+
+        static void sleep(long millis) {
+            try {
+                Thread.sleep(millis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("向量回填任务被中断", e);
+            }
+        }
+    }
+}
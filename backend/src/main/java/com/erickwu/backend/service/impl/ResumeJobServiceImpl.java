@@ -0,0 +1,199 @@
+package com.erickwu.backend.service.impl;
+
+import com.erickwu.backend.config.BusinessException;
+import com.erickwu.backend.config.InstanceConfig;
+import com.erickwu.backend.entity.ResumeParseJob;
+import com.erickwu.backend.mapper.ResumeParseJobMapper;
+import com.erickwu.backend.model.ErrorCode;
+import com.erickwu.backend.service.ResumeFileArchive;
+import com.erickwu.backend.service.ResumeJobService;
+import com.erickwu.backend.service.ResumeParserService;
+import com.erickwu.backend.service.ResumeService;
+import com.erickwu.backend.vo.ResumeParseJobVO;
+import com.erickwu.backend.vo.ResumeParseResultVO;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * 简历异步解析任务服务实现
+ * 流水线：提取文本 → LLM 解析 → 短事务落库 → 生成分析报告，
+ * 每个阶段结束后更新任务进度，LLM 调用期间不占用数据库连接
+ */
+@Service
+public class ResumeJobServiceImpl implements ResumeJobService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ResumeJobServiceImpl.class);
+
+    private static final String INTERRUPTED_MESSAGE = "服务重启，任务已中断，请重新上传";
+
+    private final ResumeParseJobMapper jobMapper;
+    private final ResumeParserService resumeParserService;
+    private final ResumeService resumeService;
+    private final ThreadPoolExecutor resumeJobExecutor;
+    private final ResumeFileArchive fileArchive;
+    private final InstanceConfig instanceConfig;
+
+    public ResumeJobServiceImpl(ResumeParseJobMapper jobMapper,
+                                ResumeParserService resumeParserService,
+                                ResumeService resumeService,
+                                @Qualifier("resumeJobExecutor") ThreadPoolExecutor resumeJobExecutor,
+                                ResumeFileArchive fileArchive,
+                                InstanceConfig instanceConfig) {
+        this.jobMapper = jobMapper;
+        this.resumeParserService = resumeParserService;
+        this.resumeService = resumeService;
+        this.resumeJobExecutor = resumeJobExecutor;
+        this.fileArchive = fileArchive;
+        this.instanceConfig = instanceConfig;
+    }
+
+    /**
+     * 服务启动时，上次运行中断的任务无法恢复（文件内容仅保存在内存中），标记失败。
+     * 只处理本实例名下的任务和心跳超时的任务，其他存活实例上的任务不受影响
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void failInterruptedJobs() {
+        try {
+            int count = jobMapper.failUnfinished(instanceConfig.getId(),
+                    instanceConfig.getLeaseTimeoutSeconds(), INTERRUPTED_MESSAGE);
+            if (count > 0) {
+                logger.warn("已将 {} 个中断的简历解析任务标记为失败", count);
+            }
+        } catch (Exception e) {
+            logger.warn("清理中断的简历解析任务失败: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 定期刷新本实例任务的心跳，并回收已失联实例遗留的任务
+     */
+    @Scheduled(fixedDelayString = "${resume.instance.heartbeat-millis:30000}")
+    public void heartbeat() {
+        try {
+            jobMapper.heartbeat(instanceConfig.getId());
+            int count = jobMapper.failStale(instanceConfig.getLeaseTimeoutSeconds(), INTERRUPTED_MESSAGE);
+            if (count > 0) {
+                logger.warn("已将 {} 个心跳超时的简历解析任务标记为失败", count);
+            }
+        } catch (Exception e) {
+            logger.warn("刷新简历解析任务心跳失败: {}", e.getMessage());
+        }
+    }
+
+    @Override
+    public ResumeParseJobVO submitUpload(Long userId, MultipartFile file, String versionNote) throws IOException {
+        if (file == null || file.isEmpty()) {
+            throw new BusinessException(ErrorCode.BAD_REQUEST, "上传文件不能为空");
+        }
+
+        // 请求结束后临时文件会被清理，提交前先读入内存（受 multipart 大小限制约束）
+        String fileName = file.getOriginalFilename();
+        byte[] content = file.getBytes();
+
+        ResumeParseJob job = new ResumeParseJob();
+        job.setUserId(userId);
+        job.setFileName(fileName);
+        job.setFileSize(file.getSize());
+        job.setVersionNote(versionNote);
+        job.setStatus(ResumeParseJob.STATUS_PENDING);
+        job.setStage(ResumeParseJob.STAGE_QUEUED);
+        job.setProgress(0);
+        job.setOwner(instanceConfig.getId());
+        jobMapper.insert(job);
+
+        try {
+            resumeJobExecutor.execute(() -> runJob(job, content));
+        } catch (RejectedExecutionException e) {
+            logger.warn("简历解析队列已满，拒绝任务: {}", job.getId());
+            jobMapper.markFailed(job.getId(), ErrorCode.RESUME_JOB_REJECTED.getMessage());
+            throw new BusinessException(ErrorCode.RESUME_JOB_REJECTED);
+        }
+
+        logger.info("用户 {} 提交简历解析任务 {}: {}", userId, job.getId(), fileName);
+        return convertToVO(jobMapper.findById(job.getId()));
+    }
+
+    @Override
+    public ResumeParseJobVO getJob(Long userId, Long jobId) {
+        ResumeParseJob job = jobMapper.findById(jobId);
+        if (job == null || !job.getUserId().equals(userId)) {
+            throw new BusinessException(ErrorCode.RESUME_JOB_NOT_FOUND);
+        }
+        return convertToVO(job);
+    }
+
+    /**
+     * 在工作线程中执行解析流水线
+     */
+    private void runJob(ResumeParseJob job, byte[] content) {
+        Long jobId = job.getId();
+        String stage = ResumeParseJob.STAGE_EXTRACT;
+        try {
+            // 1. 提取文本
+            jobMapper.updateStage(jobId, ResumeParseJob.STATUS_RUNNING, stage, 10);
+            String rawText = resumeParserService.extractText(job.getFileName(), content);
+
+            // 2. LLM 结构化解析
+            stage = ResumeParseJob.STAGE_PARSE;
+            jobMapper.updateStage(jobId, ResumeParseJob.STATUS_RUNNING, stage, 30);
+            ResumeParseResultVO parseResult = resumeParserService.parseText(rawText);
+            parseResult.setFileName(job.getFileName());
+            parseResult.setFileSize(job.getFileSize());
+
+            // 3. 归档原始文件，短事务落库
+            stage = ResumeParseJob.STAGE_PERSIST;
+            jobMapper.updateStage(jobId, ResumeParseJob.STATUS_RUNNING, stage, 60);
+            String fileSha256 = fileArchive.storeQuietly(content);
+            Long versionId = resumeService.saveUploadedVersion(job.getUserId(), job.getFileName(),
+                    job.getFileSize(), fileSha256, parseResult, job.getVersionNote());
+            jobMapper.updateVersionId(jobId, versionId);
+
+            // 4. 生成分析报告（AI 服务不可用时保留解析结果，报告待生成）
+            stage = ResumeParseJob.STAGE_ANALYZE;
+            jobMapper.updateStage(jobId, ResumeParseJob.STATUS_RUNNING, stage, 70);
+            try {
+                String analysisReport = resumeParserService.generateAnalysisReport(parseResult);
+                resumeService.saveAnalysisReport(versionId, analysisReport);
+            } catch (RuntimeException e) {
+                logger.warn("简历解析任务 {} 分析报告生成失败，报告待生成: {}", jobId, e.getMessage());
+            }
+
+            jobMapper.updateStage(jobId, ResumeParseJob.STATUS_SUCCESS, ResumeParseJob.STAGE_DONE, 100);
+            logger.info("简历解析任务 {} 完成，版本ID: {}", jobId, versionId);
+        } catch (Exception e) {
+            logger.error("简历解析任务 {} 在 {} 阶段失败", jobId, stage, e);
+            jobMapper.markFailed(jobId, truncate(stage + ": " + e.getMessage(), 500));
+        }
+    }
+
+    private String truncate(String text, int maxLength) {
+        return text.length() > maxLength ? text.substring(0, maxLength) : text;
+    }
+
+    /**
+     * 转换为任务 VO
+     */
+    private ResumeParseJobVO convertToVO(ResumeParseJob job) {
+        ResumeParseJobVO vo = new ResumeParseJobVO();
+        vo.setJobId(job.getId());
+        vo.setFileName(job.getFileName());
+        vo.setStatus(job.getStatus());
+        vo.setStage(job.getStage());
+        vo.setProgress(job.getProgress());
+        vo.setVersionId(job.getVersionId());
+        vo.setErrorMessage(job.getErrorMessage());
+        vo.setCreatedAt(job.getCreatedAt());
+        vo.setUpdatedAt(job.getUpdatedAt());
+        return vo;
+    }
+}
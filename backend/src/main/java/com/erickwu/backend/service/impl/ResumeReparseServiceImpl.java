@@ -0,0 +1,423 @@
+package com.erickwu.backend.service.impl;
+
+import com.erickwu.backend.config.BusinessException;
+import com.erickwu.backend.config.InstanceConfig;
+import com.erickwu.backend.config.ReparseConfig;
+import com.erickwu.backend.entity.ReparseItem;
+import com.erickwu.backend.entity.ReparseJob;
+import com.erickwu.backend.entity.ResumeVersion;
+import com.erickwu.backend.mapper.ReparseJobMapper;
+import com.erickwu.backend.mapper.ResumeVersionMapper;
+import com.erickwu.backend.metrics.MetricsRegistry;
+import com.erickwu.backend.model.ErrorCode;
+import com.erickwu.backend.service.CandidateSearchService;
+import com.erickwu.backend.service.DashboardSnapshotCache;
+import com.erickwu.backend.service.ResumeFileArchive;
+import com.erickwu.backend.service.ResumeParserService;
+import com.erickwu.backend.service.ResumeReparseService;
+import com.erickwu.backend.vo.ReparseJobVO;
+import com.erickwu.backend.vo.ResumeParseResultVO;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 简历批量重新解析服务实现
+ * 提示词或模型变更后，按版本ID游标分页读取解析结果不是当前提示词版本的历史版本，
+ * 每页在工作线程池中并发调用 LLM，整页完成后单条 UPDATE 批量写回并写入检查点；
+ * 单行失败只记录到 reparse_item，不中断任务，服务重启后从检查点继续。
+ * 多实例部署时任务行带租约（所属实例 + 心跳），只有抢到租约的实例执行，
+ * 租约被接管后原实例停止写回
+ */
+@Service
+public class ResumeReparseServiceImpl implements ResumeReparseService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ResumeReparseServiceImpl.class);
+
+    private static final int RECENT_ERROR_LIMIT = 10;
+
+    private final ReparseJobMapper jobMapper;
+    private final ResumeVersionMapper versionMapper;
+    private final ResumeParserService parserService;
+    private final ResumeFileArchive fileArchive;
+    private final CandidateSearchService candidateSearch;
+    private final DashboardSnapshotCache dashboardCache;
+    private final ReparseConfig config;
+    private final InstanceConfig instanceConfig;
+    private final MetricsRegistry metrics;
+    private final ThreadPoolExecutor reparseExecutor;
+    private final ThreadPoolExecutor workerExecutor;
+
+    private volatile Long runningJobId;
+    private volatile boolean pauseRequested;
+    private volatile boolean leaseLost;
+
+    // 本次运行的统计，用于吞吐量和错误率
+    private volatile long runStartedAt;
+    private final AtomicInteger runProcessed = new AtomicInteger();
+    private final AtomicInteger runFailed = new AtomicInteger();
+
+    public ResumeReparseServiceImpl(ReparseJobMapper jobMapper,
+                                    ResumeVersionMapper versionMapper,
+                                    ResumeParserService parserService,
+                                    ResumeFileArchive fileArchive,
+                                    CandidateSearchService candidateSearch,
+                                    DashboardSnapshotCache dashboardCache,
+                                    ReparseConfig config,
+                                    InstanceConfig instanceConfig,
+                                    MetricsRegistry metrics,
+                                    @Qualifier("reparseExecutor") ThreadPoolExecutor reparseExecutor,
+                                    @Qualifier("reparseWorkerExecutor") ThreadPoolExecutor workerExecutor) {
+        this.jobMapper = jobMapper;
+        this.versionMapper = versionMapper;
+        this.parserService = parserService;
+        this.fileArchive = fileArchive;
+        this.candidateSearch = candidateSearch;
+        this.dashboardCache = dashboardCache;
+        this.config = config;
+        this.instanceConfig = instanceConfig;
+        this.metrics = metrics;
+        this.reparseExecutor = reparseExecutor;
+        this.workerExecutor = workerExecutor;
+
+        metrics.gauge("resume.reparse.throughput.per.minute", () -> {
+            Double value = currentThroughput();
+            return value != null ? value : 0;
+        });
+        metrics.gauge("resume.reparse.error.rate", () -> {
+            Double value = currentErrorRate();
+            return value != null ? value : 0;
+        });
+    }
+
+    /**
+     * 服务启动时继续上次运行中断的任务；只有抢到租约的实例继续，
+     * 其他实例仍在执行（心跳未过期）时不处理。提示词版本已变更的任务标记失败
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void resumeInterruptedJob() {
+        if (runningJobId != null) {
+            return;
+        }
+        try {
+            ReparseJob job = jobMapper.findLatest();
+            if (job == null || !ReparseJob.STATUS_RUNNING.equals(job.getStatus())) {
+                return;
+            }
+            String owner = instanceConfig.getId();
+            if (jobMapper.claimStale(job.getId(), owner, instanceConfig.getLeaseTimeoutSeconds()) == 0) {
+                return;
+            }
+            if (!job.getPromptVersion().equals(parserService.getPromptVersion())) {
+                jobMapper.release(job.getId(), owner, ReparseJob.STATUS_FAILED, "提示词版本已变更，请重新启动");
+                return;
+            }
+            logger.info("继续中断的重新解析任务 {}，检查点版本ID: {}", job.getId(), job.getLastVersionId());
+            submit(job);
+        } catch (Exception e) {
+            logger.warn("恢复重新解析任务失败: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 运行中定期续约，续约失败说明租约已被接管，停止写回；
+     * 空闲时检查其他实例遗留的、租约已过期的任务并接管
+     */
+    @Scheduled(fixedDelayString = "${resume.instance.heartbeat-millis:30000}")
+    public void heartbeat() {
+        Long jobId = runningJobId;
+        if (jobId == null) {
+            resumeInterruptedJob();
+            return;
+        }
+        try {
+            if (jobMapper.heartbeat(jobId, instanceConfig.getId()) == 0) {
+                logger.warn("重新解析任务 {} 的租约已失效，停止执行", jobId);
+                leaseLost = true;
+            }
+        } catch (Exception e) {
+            logger.warn("重新解析任务 {} 续约失败: {}", jobId, e.getMessage());
+        }
+    }
+
+    @Override
+    public synchronized ReparseJobVO start(boolean reextract) {
+        if (runningJobId != null) {
+            throw new BusinessException(ErrorCode.CONFLICT, "已有重新解析任务在运行");
+        }
+        if (reextract && !fileArchive.isEnabled()) {
+            throw new BusinessException(ErrorCode.SERVICE_UNAVAILABLE, "原始文件归档未启用，无法重新提取文本");
+        }
+
+        String promptVersion = parserService.getPromptVersion();
+        ReparseJob latest = jobMapper.findLatest();
+        ReparseJob job;
+        String owner = instanceConfig.getId();
+        boolean running = latest != null && ReparseJob.STATUS_RUNNING.equals(latest.getStatus());
+        boolean resumable = latest != null
+                && !ReparseJob.STATUS_DONE.equals(latest.getStatus())
+                && latest.getPromptVersion().equals(promptVersion)
+                && Boolean.TRUE.equals(latest.getReextract()) == reextract;
+        // 运行中的任务需租约过期才能接管，避免与其他实例同时处理同一游标区间
+        if ((running || resumable)
+                && jobMapper.acquire(latest.getId(), owner, instanceConfig.getLeaseTimeoutSeconds()) == 0) {
+            throw new BusinessException(ErrorCode.CONFLICT, "已有重新解析任务在其他实例运行");
+        }
+        if (resumable) {
+            job = latest;
+            logger.info("从检查点 {} 继续重新解析任务 {}", job.getLastVersionId(), job.getId());
+        } else {
+            if (running) {
+                jobMapper.release(latest.getId(), owner, ReparseJob.STATUS_FAILED, "已被新的重新解析任务取代");
+            }
+            job = new ReparseJob();
+            job.setPromptVersion(promptVersion);
+            job.setReextract(reextract);
+            job.setStatus(ReparseJob.STATUS_RUNNING);
+            job.setLastVersionId(0L);
+            job.setSucceeded(0);
+            job.setFailed(0);
+            job.setOwner(owner);
+            jobMapper.insert(job);
+            logger.info("启动重新解析任务 {}: 提示词版本 {}, 重新提取 {}", job.getId(), promptVersion, reextract);
+        }
+        submit(job);
+        return convertToVO(jobMapper.findById(job.getId()));
+    }
+
+    @Override
+    public ReparseJobVO pause() {
+        if (runningJobId != null) {
+            pauseRequested = true;
+        }
+        return getLatest();
+    }
+
+    @Override
+    public ReparseJobVO getLatest() {
+        ReparseJob job = jobMapper.findLatest();
+        return job != null ? convertToVO(job) : null;
+    }
+
+    private void submit(ReparseJob job) {
+        runningJobId = job.getId();
+        pauseRequested = false;
+        leaseLost = false;
+        runStartedAt = System.currentTimeMillis();
+        runProcessed.set(0);
+        runFailed.set(0);
+        try {
+            reparseExecutor.execute(() -> runJob(job));
+        } catch (RejectedExecutionException e) {
+            runningJobId = null;
+            jobMapper.release(job.getId(), instanceConfig.getId(), ReparseJob.STATUS_FAILED, "重新解析线程繁忙");
+            throw new BusinessException(ErrorCode.CONFLICT, "已有重新解析任务在运行");
+        }
+    }
+
+    /**
+     * 逐页处理，每页结束批量写回并写入检查点；
+     * 数据库异常等整页失败时任务标记失败，可再次启动从检查点继续；
+     * 每页写回前确认仍持有租约，租约被接管后直接退出，不覆盖新持有者的检查点
+     */
+    private void runJob(ReparseJob job) {
+        Long jobId = job.getId();
+        String owner = instanceConfig.getId();
+        String promptVersion = job.getPromptVersion();
+        boolean reextract = Boolean.TRUE.equals(job.getReextract());
+        long cursor = job.getLastVersionId();
+        int succeeded = job.getSucceeded();
+        int failed = job.getFailed();
+        try {
+            while (true) {
+                if (leaseLost) {
+                    logger.warn("重新解析任务 {} 租约已被接管，本实例停止，检查点版本ID: {}", jobId, cursor);
+                    return;
+                }
+                if (pauseRequested) {
+                    jobMapper.release(jobId, owner, ReparseJob.STATUS_PAUSED, null);
+                    logger.info("重新解析任务 {} 已暂停，检查点版本ID: {}", jobId, cursor);
+                    return;
+                }
+
+                List<ResumeVersion> page = versionMapper.findStalePromptPage(promptVersion, cursor, config.getPageSize());
+                if (page.isEmpty()) {
+                    jobMapper.release(jobId, owner, ReparseJob.STATUS_DONE, null);
+                    logger.info("重新解析任务 {} 完成，成功 {}，失败 {}", jobId, succeeded, failed);
+                    return;
+                }
+
+                long startTime = System.currentTimeMillis();
+                List<ReparseItem> items = reparsePage(jobId, promptVersion, reextract, page);
+                if (leaseLost || jobMapper.heartbeat(jobId, owner) == 0) {
+                    logger.warn("重新解析任务 {} 租约已被接管，丢弃本页结果，检查点版本ID: {}", jobId, cursor);
+                    return;
+                }
+
+                List<ResumeVersion> updated = new ArrayList<>();
+                for (int i = 0; i < page.size(); i++) {
+                    if (ReparseItem.STATUS_SUCCESS.equals(items.get(i).getStatus())) {
+                        updated.add(page.get(i));
+                    }
+                }
+                if (!updated.isEmpty()) {
+                    versionMapper.batchUpdateReparsed(updated, promptVersion, reextract);
+                    afterUpdate(updated, reextract);
+                }
+                jobMapper.batchUpsertItems(items);
+
+                int pageFailed = page.size() - updated.size();
+                succeeded += updated.size();
+                failed += pageFailed;
+                cursor = page.get(page.size() - 1).getId();
+                if (jobMapper.updateCheckpoint(jobId, owner, cursor, succeeded, failed) == 0) {
+                    logger.warn("重新解析任务 {} 租约已被接管，停止于检查点版本ID: {}", jobId, cursor);
+                    return;
+                }
+
+                runProcessed.addAndGet(page.size());
+                runFailed.addAndGet(pageFailed);
+                metrics.add("resume.reparse.succeeded", updated.size());
+                metrics.add("resume.reparse.failed", pageFailed);
+                metrics.record("resume.reparse.page", System.currentTimeMillis() - startTime);
+            }
+        } catch (RuntimeException e) {
+            logger.error("重新解析任务 {} 失败，检查点版本ID: {}", jobId, cursor, e);
+            jobMapper.release(jobId, owner, ReparseJob.STATUS_FAILED, truncate(e.getMessage()));
+        } finally {
+            runningJobId = null;
+            pauseRequested = false;
+            leaseLost = false;
+        }
+    }
+
+    /**
+     * 整页并发处理，结果顺序与输入一致；成功行的新结果直接写回 page 中的对象
+     */
+    private List<ReparseItem> reparsePage(Long jobId, String promptVersion, boolean reextract,
+                                          List<ResumeVersion> page) {
+        List<CompletableFuture<ReparseItem>> futures = new ArrayList<>(page.size());
+        for (ResumeVersion version : page) {
+            futures.add(CompletableFuture.supplyAsync(
+                    () -> reparseOne(jobId, promptVersion, reextract, version), workerExecutor));
+        }
+        List<ReparseItem> items = new ArrayList<>(page.size());
+        for (CompletableFuture<ReparseItem> future : futures) {
+            items.add(future.join());
+        }
+        return items;
+    }
+
+    private ReparseItem reparseOne(Long jobId, String promptVersion, boolean reextract, ResumeVersion version) {
+        ReparseItem item = new ReparseItem();
+        item.setJobId(jobId);
+        item.setVersionId(version.getId());
+        item.setPromptVersion(promptVersion);
+        long startTime = System.currentTimeMillis();
+        try {
+            String text = version.getRawText();
+            if (reextract && version.getFileSha256() != null) {
+                byte[] content = fileArchive.read(version.getFileSha256());
+                if (content != null) {
+                    text = parserService.extractText(version.getFileName(), content);
+                }
+            }
+            if (text == null || text.isBlank()) {
+                throw new IllegalStateException("版本没有可解析的文本");
+            }
+
+            ResumeParseResultVO result = parserService.parseText(text);
+            String analysisReport = parserService.generateAnalysisReport(result);
+            version.setRawText(text);
+            version.setParsedData(result.getParsedJson());
+            version.setAnalysisReport(analysisReport);
+            version.setHasAnalysis(analysisReport != null && !analysisReport.isEmpty());
+            item.setStatus(ReparseItem.STATUS_SUCCESS);
+        } catch (Exception e) {
+            logger.warn("重新解析版本 {} 失败: {}", version.getId(), e.getMessage());
+            item.setStatus(ReparseItem.STATUS_FAILED);
+            item.setErrorMessage(truncate(e.getMessage()));
+        }
+        long duration = System.currentTimeMillis() - startTime;
+        item.setDurationMs(duration);
+        metrics.record("resume.reparse.item", duration);
+        return item;
+    }
+
+    /**
+     * 写回后清理依赖版本内容的缓存；重新提取文本时候选人索引也需要重建
+     */
+    private void afterUpdate(List<ResumeVersion> updated, boolean reextract) {
+        Set<Long> resumeIds = new LinkedHashSet<>();
+        for (ResumeVersion version : updated) {
+            resumeIds.add(version.getResumeId());
+        }
+        for (Long resumeId : resumeIds) {
+            dashboardCache.evictByResumeId(resumeId);
+            if (reextract) {
+                candidateSearch.markDirty(resumeId);
+            }
+        }
+    }
+
+    private Double currentThroughput() {
+        if (runningJobId == null) {
+            return null;
+        }
+        long elapsed = System.currentTimeMillis() - runStartedAt;
+        return elapsed > 0 ? runProcessed.get() * 60000.0 / elapsed : 0.0;
+    }
+
+    private Double currentErrorRate() {
+        int processed = runProcessed.get();
+        return processed > 0 ? (double) runFailed.get() / processed : null;
+    }
+
+    private ReparseJobVO convertToVO(ReparseJob job) {
+        ReparseJobVO vo = new ReparseJobVO();
+        vo.setJobId(job.getId());
+        vo.setPromptVersion(job.getPromptVersion());
+        vo.setCurrentPromptVersion(parserService.getPromptVersion());
+        vo.setReextract(job.getReextract());
+        vo.setStatus(job.getStatus());
+        vo.setLastVersionId(job.getLastVersionId());
+        vo.setSucceeded(job.getSucceeded());
+        vo.setFailed(job.getFailed());
+        vo.setRemaining(ReparseJob.STATUS_DONE.equals(job.getStatus())
+                ? 0L : versionMapper.countStalePromptAfter(job.getPromptVersion(), job.getLastVersionId()));
+        if (job.getId().equals(runningJobId)) {
+            vo.setThroughputPerMinute(currentThroughput());
+        }
+        int total = job.getSucceeded() + job.getFailed();
+        vo.setErrorRate(total > 0 ? (double) job.getFailed() / total : null);
+        List<String> recentErrors = new ArrayList<>();
+        for (ReparseItem item : jobMapper.findFailedItems(job.getId(), RECENT_ERROR_LIMIT)) {
+            recentErrors.add(item.getVersionId() + ": " + item.getErrorMessage());
+        }
+        vo.setRecentErrors(recentErrors);
+        vo.setErrorMessage(job.getErrorMessage());
+        vo.setCreatedAt(job.getCreatedAt());
+        vo.setUpdatedAt(job.getUpdatedAt());
+        return vo;
+    }
+
+    private static String truncate(String message) {
+        if (message == null) {
+            return "重新解析失败";
+        }
+        return message.length() > 500 ? message.substring(0, 500) : message;
+    }
+}
@@ -5,17 +5,32 @@ import com.erickwu.backend.entity.*;
 import com.erickwu.backend.config.BusinessException;
 import com.erickwu.backend.model.ErrorCode;
 import com.erickwu.backend.mapper.*;
+import com.erickwu.backend.service.CandidateSearchService;
+import com.erickwu.backend.service.DashboardSnapshotCache;
+import com.erickwu.backend.service.ResumeEmbeddingService;
+import com.erickwu.backend.service.ResumeFileArchive;
 import com.erickwu.backend.service.ResumeParserService;
 import com.erickwu.backend.service.ResumeService;
+import com.erickwu.backend.service.SkillCanonicalizer;
+import com.erickwu.backend.service.StatsRecorder;
 import com.erickwu.backend.vo.*;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.BeanUtils;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -26,25 +41,48 @@ import java.util.stream.Collectors;
 @SuppressWarnings("null") // 抑制 BeanUtils.copyProperties 的 null 安全警告
 public class ResumeServiceImpl implements ResumeService {
 
+    private static final Logger logger = LoggerFactory.getLogger(ResumeServiceImpl.class);
+
     private final ResumeMapper resumeMapper;
     private final SkillMapper skillMapper;
     private final EducationMapper educationMapper;
     private final WorkExperienceMapper workExperienceMapper;
     private final ResumeVersionMapper resumeVersionMapper;
     private final ResumeParserService resumeParserService;
+    private final TransactionTemplate transactionTemplate;
+    private final DashboardSnapshotCache dashboardCache;
+    private final StatsRecorder statsRecorder;
+    private final ResumeEmbeddingService embeddingService;
+    private final CandidateSearchService candidateSearch;
+    private final SkillCanonicalizer skillCanonicalizer;
+    private final ResumeFileArchive fileArchive;
 
     public ResumeServiceImpl(ResumeMapper resumeMapper,
                              SkillMapper skillMapper,
                              EducationMapper educationMapper,
                              WorkExperienceMapper workExperienceMapper,
                              ResumeVersionMapper resumeVersionMapper,
-                             ResumeParserService resumeParserService) {
+                             ResumeParserService resumeParserService,
+                             TransactionTemplate transactionTemplate,
+                             DashboardSnapshotCache dashboardCache,
+                             StatsRecorder statsRecorder,
+                             ResumeEmbeddingService embeddingService,
+                             CandidateSearchService candidateSearch,
+                             SkillCanonicalizer skillCanonicalizer,
+                             ResumeFileArchive fileArchive) {
         this.resumeMapper = resumeMapper;
         this.skillMapper = skillMapper;
         this.educationMapper = educationMapper;
         this.workExperienceMapper = workExperienceMapper;
         this.resumeVersionMapper = resumeVersionMapper;
         this.resumeParserService = resumeParserService;
+        this.transactionTemplate = transactionTemplate;
+        this.dashboardCache = dashboardCache;
+        this.statsRecorder = statsRecorder;
+        this.embeddingService = embeddingService;
+        this.candidateSearch = candidateSearch;
+        this.skillCanonicalizer = skillCanonicalizer;
+        this.fileArchive = fileArchive;
     }
 
     // ==================== 简历基本操作 ====================
@@ -63,6 +101,10 @@ public class ResumeServiceImpl implements ResumeService {
         resume.setUserId(userId);
         BeanUtils.copyProperties(dto, resume);
         resumeMapper.insert(resume);
+        dashboardCache.evict(userId);
+        candidateSearch.markDirty(resume.getId());
+        statsRecorder.resumeCreated();
+        statsRecorder.majorChanged(null, resume.getMajor());
 
         return getResumeDetail(resume.getId());
     }
@@ -94,9 +136,13 @@ public class ResumeServiceImpl implements ResumeService {
             throw new BusinessException(ErrorCode.RESUME_NOT_FOUND);
         }
 
+        String oldMajor = resume.getMajor();
         BeanUtils.copyProperties(dto, resume);
         resume.setId(resumeId);
         resumeMapper.update(resume);
+        dashboardCache.evict(resume.getUserId());
+        candidateSearch.markDirty(resumeId);
+        statsRecorder.majorChanged(oldMajor, resume.getMajor());
     }
 
     @Override
@@ -108,12 +154,17 @@ public class ResumeServiceImpl implements ResumeService {
         }
 
         // 删除关联的技能、教育经历、工作经历
-        skillMapper.deleteByResumeId(resumeId);
+        deleteSkillsOfResume(resumeId);
         educationMapper.deleteByResumeId(resumeId);
         workExperienceMapper.deleteByResumeId(resumeId);
 
         // 删除简历
-        resumeMapper.delete(resumeId);
+        resumeMapper.delete(resumeId, resume.getUserId());
+        dashboardCache.evict(resume.getUserId());
+        candidateSearch.markDirty(resumeId);
+        statsRecorder.resumeRemoved();
+        statsRecorder.majorChanged(resume.getMajor(), null);
+        embeddingService.resumeRemoved(resumeId);
     }
 
     // ==================== 技能管理 ====================
@@ -126,7 +177,11 @@ public class ResumeServiceImpl implements ResumeService {
         Skill skill = new Skill();
         skill.setResumeId(resumeId);
         BeanUtils.copyProperties(dto, skill);
+        skillCanonicalizer.apply(skill);
         skillMapper.insert(skill);
+        dashboardCache.evictByResumeId(resumeId);
+        candidateSearch.markDirty(resumeId);
+        statsRecorder.skillsChanged(List.of(), Collections.singletonList(skill.getName()));
 
         return convertToSkillVO(skill);
     }
@@ -145,7 +200,13 @@ public class ResumeServiceImpl implements ResumeService {
                 })
                 .collect(Collectors.toList());
 
-        skillMapper.batchInsert(skills);
+        skills = skillCanonicalizer.applyAll(skills);
+        if (!skills.isEmpty()) {
+            skillMapper.batchInsert(skills);
+            statsRecorder.skillsChanged(List.of(), skillNames(skills));
+        }
+        dashboardCache.evictByResumeId(resumeId);
+        candidateSearch.markDirty(resumeId);
 
         // 重新查询以获取ID
         return skillMapper.findByResumeId(resumeId).stream()
@@ -161,9 +222,14 @@ public class ResumeServiceImpl implements ResumeService {
             throw new BusinessException(ErrorCode.NOT_FOUND, "技能不存在");
         }
 
+        String oldName = skill.getName();
         BeanUtils.copyProperties(dto, skill);
         skill.setId(skillId);
+        skillCanonicalizer.apply(skill);
         skillMapper.update(skill);
+        dashboardCache.evictByResumeId(skill.getResumeId());
+        candidateSearch.markDirty(skill.getResumeId());
+        statsRecorder.skillsChanged(Collections.singletonList(oldName), Collections.singletonList(skill.getName()));
     }
 
     @Override
@@ -173,7 +239,25 @@ public class ResumeServiceImpl implements ResumeService {
         if (skill == null) {
             throw new BusinessException(ErrorCode.NOT_FOUND, "技能不存在");
         }
-        skillMapper.delete(skillId);
+        skillMapper.delete(skillId, skill.getResumeId());
+        dashboardCache.evictByResumeId(skill.getResumeId());
+        candidateSearch.markDirty(skill.getResumeId());
+        statsRecorder.skillsChanged(Collections.singletonList(skill.getName()), List.of());
+    }
+
+    /**
+     * 删除简历的全部技能，并从技能分布统计中扣除
+     */
+    private void deleteSkillsOfResume(Long resumeId) {
+        List<Skill> oldSkills = skillMapper.findByResumeId(resumeId);
+        if (!oldSkills.isEmpty()) {
+            skillMapper.deleteByResumeId(resumeId);
+            statsRecorder.skillsChanged(skillNames(oldSkills), List.of());
+        }
+    }
+
+    private static List<String> skillNames(List<Skill> skills) {
+        return skills.stream().map(Skill::getName).collect(Collectors.toList());
     }
 
     @Override
@@ -194,6 +278,8 @@ public class ResumeServiceImpl implements ResumeService {
         education.setResumeId(resumeId);
         BeanUtils.copyProperties(dto, education);
         educationMapper.insert(education);
+        dashboardCache.evictByResumeId(resumeId);
+        candidateSearch.markDirty(resumeId);
 
         return convertToEducationVO(education);
     }
@@ -209,6 +295,8 @@ public class ResumeServiceImpl implements ResumeService {
         BeanUtils.copyProperties(dto, education);
         education.setId(educationId);
         educationMapper.update(education);
+        dashboardCache.evictByResumeId(education.getResumeId());
+        candidateSearch.markDirty(education.getResumeId());
     }
 
     @Override
@@ -218,7 +306,9 @@ public class ResumeServiceImpl implements ResumeService {
         if (education == null) {
             throw new BusinessException(ErrorCode.NOT_FOUND, "教育经历不存在");
         }
-        educationMapper.delete(educationId);
+        educationMapper.delete(educationId, education.getResumeId());
+        dashboardCache.evictByResumeId(education.getResumeId());
+        candidateSearch.markDirty(education.getResumeId());
     }
 
     @Override
@@ -239,6 +329,8 @@ public class ResumeServiceImpl implements ResumeService {
         workExp.setResumeId(resumeId);
         BeanUtils.copyProperties(dto, workExp);
         workExperienceMapper.insert(workExp);
+        dashboardCache.evictByResumeId(resumeId);
+        candidateSearch.markDirty(resumeId);
 
         return convertToWorkExperienceVO(workExp);
     }
@@ -254,6 +346,8 @@ public class ResumeServiceImpl implements ResumeService {
         BeanUtils.copyProperties(dto, workExp);
         workExp.setId(workExperienceId);
         workExperienceMapper.update(workExp);
+        dashboardCache.evictByResumeId(workExp.getResumeId());
+        candidateSearch.markDirty(workExp.getResumeId());
     }
 
     @Override
@@ -263,7 +357,9 @@ public class ResumeServiceImpl implements ResumeService {
         if (workExp == null) {
             throw new BusinessException(ErrorCode.NOT_FOUND, "工作经历不存在");
         }
-        workExperienceMapper.delete(workExperienceId);
+        workExperienceMapper.delete(workExperienceId, workExp.getResumeId());
+        dashboardCache.evictByResumeId(workExp.getResumeId());
+        candidateSearch.markDirty(workExp.getResumeId());
     }
 
     @Override
@@ -297,6 +393,14 @@ public class ResumeServiceImpl implements ResumeService {
             throw new BusinessException(ErrorCode.NOT_FOUND, "版本不存在");
         }
 
+        // 大文本存于 resume_version_content，仅在查看详情时加载
+        ResumeVersionContent content = resumeVersionMapper.findContent(versionId);
+        if (content != null) {
+            version.setRawText(content.getRawText());
+            version.setParsedData(content.getParsedData());
+            version.setAnalysisReport(content.getAnalysisReport());
+        }
+
         Resume resume = resumeMapper.findById(version.getResumeId());
         return convertToVersionDetailVO(version, resume != null ? resume.getRealName() : null);
     }
@@ -309,6 +413,30 @@ public class ResumeServiceImpl implements ResumeService {
             throw new BusinessException(ErrorCode.NOT_FOUND, "版本不存在");
         }
         resumeVersionMapper.delete(versionId);
+        statsRecorder.versionRemoved(Boolean.TRUE.equals(version.getHasAnalysis()));
+        embeddingService.versionRemoved(versionId, version.getResumeId());
+        candidateSearch.markDirty(version.getResumeId());
+    }
+
+    @Override
+    public void downloadVersionFile(Long userId, Long versionId, HttpServletResponse response) throws IOException {
+        ResumeVersion version = resumeVersionMapper.findById(versionId);
+        Resume resume = version != null ? resumeMapper.findById(version.getResumeId()) : null;
+        if (resume == null || !resume.getUserId().equals(userId)) {
+            throw new BusinessException(ErrorCode.NOT_FOUND, "版本不存在");
+        }
+        ResumeFile file = fileArchive.find(version.getFileSha256());
+        if (file == null) {
+            throw new BusinessException(ErrorCode.NOT_FOUND, "该版本未保存原始文件");
+        }
+
+        String fileName = version.getFileName() != null ? version.getFileName() : "resume";
+        response.setContentType(MediaType.APPLICATION_OCTET_STREAM_VALUE);
+        response.setContentLengthLong(file.getOriginalSize());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                ContentDisposition.attachment().filename(fileName, StandardCharsets.UTF_8).build().toString());
+        response.setHeader(HttpHeaders.ETAG, "\"" + file.getSha256() + "\"");
+        fileArchive.transferTo(file, response.getOutputStream());
     }
 
     // ==================== 私有辅助方法 ====================
@@ -388,7 +516,8 @@ public class ResumeServiceImpl implements ResumeService {
         vo.setUploadTime(version.getUploadTime());
         vo.setVersionNote(version.getVersionNote());
         vo.setCandidateName(candidateName);
-        vo.setHasAnalysis(version.getAnalysisReport() != null && !version.getAnalysisReport().isEmpty());
+        vo.setHasAnalysis(Boolean.TRUE.equals(version.getHasAnalysis()));
+        vo.setHasOriginalFile(version.getFileSha256() != null);
         return vo;
     }
 
@@ -405,73 +534,110 @@ public class ResumeServiceImpl implements ResumeService {
 
     // ==================== 简历上传解析 ====================
 
+    /**
+     * 同步上传解析：LLM 调用期间不持有数据库事务，
+     * 解析完成后短事务落库，分析报告生成后再单独写入
+     */
     @Override
-    @Transactional
     public ResumeParseResultVO uploadAndParseResume(Long userId, MultipartFile file, String versionNote) throws IOException {
         // 1. 解析简历文件
         ResumeParseResultVO parseResult = resumeParserService.parseResume(file);
 
-        // 2. 获取或创建简历
-        Resume resume = resumeMapper.findByUserId(userId);
-        boolean isNewResume = (resume == null);
-        
-        if (isNewResume) {
-            // 创建新简历
-            resume = new Resume();
-            resume.setUserId(userId);
-            resume.setTitle("我的简历");
-            resume.setRealName(parseResult.getCandidateName());
-            resume.setTargetPosition(parseResult.getTargetPosition());
-            resume.setSelfIntroduction(parseResult.getSummary());
-            resumeMapper.insert(resume);
-        }
-
-        // 3. 生成智能分析报告
-        String analysisReport = resumeParserService.generateAnalysisReport(parseResult);
-
-        // 4. 创建版本记录
-        Integer maxVersion = resumeVersionMapper.getMaxVersionNumber(resume.getId());
-        int newVersionNumber = (maxVersion == null ? 0 : maxVersion) + 1;
-
-        ResumeVersion version = new ResumeVersion();
-        version.setResumeId(resume.getId());
-        version.setVersionNumber(newVersionNumber);
-        version.setFileName(file.getOriginalFilename());
-        version.setFileSize(file.getSize());
-        version.setRawText(parseResult.getRawText());
-        version.setParsedData(parseResult.getParsedJson());
-        version.setAnalysisReport(analysisReport);  // 保存分析报告
-        version.setUploadTime(LocalDateTime.now());
-        version.setVersionNote(versionNote);
-        resumeVersionMapper.insert(version);
-
-        // 5. 自动保存技能数据到数据库（用于仪表盘技能分布展示）
-        final Long resumeId = resume.getId();
-        if (parseResult.getSkills() != null && !parseResult.getSkills().isEmpty()) {
-            // 清除旧的技能数据（每次上传新简历都更新技能）
-            skillMapper.deleteByResumeId(resumeId);
-            
-            // 保存新的技能数据
-            List<Skill> skills = parseResult.getSkills().stream()
-                    .map(s -> {
-                        Skill skill = new Skill();
-                        skill.setResumeId(resumeId);
-                        skill.setName(s.getName());
-                        skill.setLevel(s.getLevel());
-                        skill.setCategory(s.getCategory());
-                        skill.setYears(s.getYears());
-                        return skill;
-                    })
-                    .collect(Collectors.toList());
-            skillMapper.batchInsert(skills);
+        // 2. 归档原始文件，保存简历、版本记录和技能
+        String fileSha256 = fileArchive.storeQuietly(file);
+        Long versionId = saveUploadedVersion(userId, file.getOriginalFilename(), file.getSize(),
+                fileSha256, parseResult, versionNote);
+
+        // 3. 生成智能分析报告（失败不影响已保存的解析结果）
+        try {
+            String analysisReport = resumeParserService.generateAnalysisReport(parseResult);
+            saveAnalysisReport(versionId, analysisReport);
+        } catch (RuntimeException e) {
+            logger.error("简历分析报告生成失败，版本ID: {}", versionId, e);
         }
 
-        // 6. 设置版本ID到返回结果，便于前端跳转
-        parseResult.setVersionId(version.getId());
+        // 4. 设置版本ID到返回结果，便于前端跳转
+        parseResult.setVersionId(versionId);
 
         return parseResult;
     }
 
+    @Override
+    public Long saveUploadedVersion(Long userId, String fileName, Long fileSize, String fileSha256,
+                                    ResumeParseResultVO parseResult, String versionNote) {
+        // 通过 TransactionTemplate 开启事务，保证类内调用同样生效
+        return transactionTemplate.execute(status -> {
+            // 获取或创建简历
+            Resume resume = resumeMapper.findByUserId(userId);
+            if (resume == null) {
+                resume = new Resume();
+                resume.setUserId(userId);
+                resume.setTitle("我的简历");
+                resume.setRealName(parseResult.getCandidateName());
+                resume.setTargetPosition(parseResult.getTargetPosition());
+                resume.setSelfIntroduction(parseResult.getSummary());
+                resumeMapper.insert(resume);
+                statsRecorder.resumeCreated();
+            }
+
+            // 创建版本记录
+            Integer maxVersion = resumeVersionMapper.getMaxVersionNumber(resume.getId());
+            int newVersionNumber = (maxVersion == null ? 0 : maxVersion) + 1;
+
+            ResumeVersion version = new ResumeVersion();
+            version.setResumeId(resume.getId());
+            version.setVersionNumber(newVersionNumber);
+            version.setFileName(fileName);
+            version.setFileSize(fileSize);
+            version.setFileSha256(fileSha256);
+            version.setRawText(parseResult.getRawText());
+            version.setParsedData(parseResult.getParsedJson());
+            version.setUploadTime(LocalDateTime.now());
+            version.setVersionNote(versionNote);
+            resumeVersionMapper.insert(version);
+            resumeVersionMapper.insertContent(version);
+            statsRecorder.versionCreated();
+
+            // 自动保存技能数据到数据库（用于仪表盘技能分布展示）
+            final Long resumeId = resume.getId();
+            if (parseResult.getSkills() != null && !parseResult.getSkills().isEmpty()) {
+                // 清除旧的技能数据（每次上传新简历都更新技能）
+                deleteSkillsOfResume(resumeId);
+
+                List<Skill> skills = parseResult.getSkills().stream()
+                        .map(s -> {
+                            Skill skill = new Skill();
+                            skill.setResumeId(resumeId);
+                            skill.setName(s.getName());
+                            skill.setLevel(s.getLevel());
+                            skill.setCategory(s.getCategory());
+                            skill.setYears(s.getYears());
+                            return skill;
+                        })
+                        .collect(Collectors.toList());
+                skills = skillCanonicalizer.applyAll(skills);
+                if (!skills.isEmpty()) {
+                    skillMapper.batchInsert(skills);
+                    statsRecorder.skillsChanged(List.of(), skillNames(skills));
+                }
+            }
+            dashboardCache.evict(userId);
+            candidateSearch.markDirty(resumeId);
+            embeddingService.versionStored(version.getId());
+
+            return version.getId();
+        });
+    }
+
+    @Override
+    public void saveAnalysisReport(Long versionId, String analysisReport) {
+        // 分析报告写入后该版本的解析和分析均为当前提示词版本，批量重新解析时跳过
+        resumeVersionMapper.updateAnalysisReport(versionId, analysisReport, resumeParserService.getPromptVersion());
+        if (analysisReport != null && !analysisReport.isEmpty()) {
+            statsRecorder.versionAnalyzed();
+        }
+    }
+
     @Override
     @Transactional
     public ResumeDetailVO saveParseResult(Long userId, ResumeParseResultVO parseResult) {
@@ -499,10 +665,11 @@ public class ResumeServiceImpl implements ResumeService {
 
         if (isNew) {
             resumeMapper.insert(resume);
+            statsRecorder.resumeCreated();
         } else {
             resumeMapper.update(resume);
             // 清除旧的技能、教育、工作经历
-            skillMapper.deleteByResumeId(resume.getId());
+            deleteSkillsOfResume(resume.getId());
             educationMapper.deleteByResumeId(resume.getId());
             workExperienceMapper.deleteByResumeId(resume.getId());
         }
@@ -523,7 +690,11 @@ public class ResumeServiceImpl implements ResumeService {
                         return skill;
                     })
                     .collect(Collectors.toList());
-            skillMapper.batchInsert(skills);
+            skills = skillCanonicalizer.applyAll(skills);
+            if (!skills.isEmpty()) {
+                skillMapper.batchInsert(skills);
+                statsRecorder.skillsChanged(List.of(), skillNames(skills));
+            }
         }
 
         // 保存教育经历
@@ -563,6 +734,8 @@ public class ResumeServiceImpl implements ResumeService {
                     .collect(Collectors.toList());
             workExperienceMapper.batchInsert(workExps);
         }
+        dashboardCache.evict(userId);
+        candidateSearch.markDirty(resumeId);
 
         return getResumeDetail(resume.getId());
     }
@@ -2,14 +2,26 @@ package com.erickwu.backend.service.impl;
 
 import com.erickwu.backend.config.BusinessException;
 import com.erickwu.backend.dto.UserManageDTO;
+import com.erickwu.backend.entity.TokenRevocation;
 import com.erickwu.backend.entity.User;
+import com.erickwu.backend.entity.UserSummary;
 import com.erickwu.backend.mapper.UserMapper;
+import com.erickwu.backend.model.CursorPage;
+import com.erickwu.backend.model.ErrorCode;
+import com.erickwu.backend.service.AvatarStore;
+import com.erickwu.backend.service.PasswordHashingService;
+import com.erickwu.backend.service.SessionUserCache;
+import com.erickwu.backend.service.StatsRecorder;
+import com.erickwu.backend.service.TokenRevocationService;
 import com.erickwu.backend.service.UserManageService;
 import com.erickwu.backend.vo.UserManageVO;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import com.erickwu.backend.vo.UserSummaryVO;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -19,12 +31,79 @@ import java.util.stream.Collectors;
 @Service
 public class UserManageServiceImpl implements UserManageService {
 
+    private static final int DEFAULT_PAGE_SIZE = 20;
+    private static final int MAX_PAGE_SIZE = 100;
+    /** 搜索结果计数上限，超过后只返回下限值 */
+    private static final int SEARCH_COUNT_CAP = 10000;
+    /** ngram 全文索引的最小词长（ngram_token_size 默认 2） */
+    private static final int FULLTEXT_MIN_LENGTH = 2;
+
     private final UserMapper userMapper;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHashingService passwordHasher;
+    private final StatsRecorder statsRecorder;
+    private final AvatarStore avatarStore;
+    private final TokenRevocationService revocationService;
+    private final SessionUserCache sessionUserCache;
 
-    public UserManageServiceImpl(UserMapper userMapper, PasswordEncoder passwordEncoder) {
+    public UserManageServiceImpl(UserMapper userMapper, PasswordHashingService passwordHasher,
+                                 StatsRecorder statsRecorder, AvatarStore avatarStore,
+                                 TokenRevocationService revocationService, SessionUserCache sessionUserCache) {
         this.userMapper = userMapper;
-        this.passwordEncoder = passwordEncoder;
+        this.passwordHasher = passwordHasher;
+        this.statsRecorder = statsRecorder;
+        this.avatarStore = avatarStore;
+        this.revocationService = revocationService;
+        this.sessionUserCache = sessionUserCache;
+    }
+
+    @Override
+    public CursorPage<UserSummaryVO> pageUsers(String cursor, int size, String keyword, boolean fulltext) {
+        int pageSize = size <= 0 ? DEFAULT_PAGE_SIZE : Math.min(size, MAX_PAGE_SIZE);
+
+        String mode = null;
+        String pattern = null;
+        if (keyword != null && !keyword.trim().isEmpty()) {
+            String trimmed = keyword.trim();
+            if (fulltext && trimmed.length() >= FULLTEXT_MIN_LENGTH) {
+                mode = "fulltext";
+                // 整体作为短语匹配，去掉会被解释为布尔运算符的引号
+                pattern = "\"" + trimmed.replace("\"", "") + "\"";
+            } else {
+                mode = "prefix";
+                pattern = escapeLike(trimmed) + "%";
+            }
+        }
+
+        Cursor before = cursor != null && !cursor.isEmpty() ? Cursor.decode(cursor) : null;
+
+        // 多取一条用于判断是否还有下一页
+        List<UserSummary> rows = userMapper.findSummaryPage(mode, pattern,
+                before != null ? before.createdAt() : null, before != null ? before.id() : null, pageSize + 1);
+        boolean hasMore = rows.size() > pageSize;
+        if (hasMore) {
+            rows = rows.subList(0, pageSize);
+        }
+        String nextCursor = null;
+        if (hasMore) {
+            UserSummary last = rows.get(rows.size() - 1);
+            nextCursor = new Cursor(last.getCreatedAt(), last.getId()).encode();
+        }
+
+        long total;
+        boolean totalExact;
+        if (mode == null) {
+            Long estimate = userMapper.estimateCount();
+            total = estimate != null ? estimate : 0;
+            totalExact = false;
+        } else {
+            total = userMapper.countSearchCapped(mode, pattern, SEARCH_COUNT_CAP);
+            totalExact = total < SEARCH_COUNT_CAP;
+        }
+
+        List<UserSummaryVO> list = rows.stream()
+                .map(this::convertToSummaryVO)
+                .collect(Collectors.toList());
+        return new CursorPage<>(list, pageSize, nextCursor, total, totalExact);
     }
 
     @Override
@@ -77,16 +156,17 @@ public class UserManageServiceImpl implements UserManageService {
 
         User user = new User();
         user.setUsername(dto.getUsername());
-        user.setPassword(passwordEncoder.encode(dto.getPassword()));
+        user.setPassword(passwordHasher.encode(dto.getPassword()));
         user.setEmail(dto.getEmail());
         user.setPhone(dto.getPhone());
         user.setNickname(dto.getNickname() != null ? dto.getNickname() : dto.getUsername());
-        user.setAvatar(dto.getAvatar());
+        avatarStore.assign(user, dto.getAvatar());
         user.setGender(dto.getGender() != null ? dto.getGender() : 0);
         user.setBirthday(dto.getBirthday());
         user.setStatus(dto.getStatus() != null ? dto.getStatus() : 1);
 
         userMapper.insert(user);
+        statsRecorder.userCreated(Integer.valueOf(1).equals(user.getStatus()));
         return convertToVO(user);
     }
 
@@ -112,7 +192,7 @@ public class UserManageServiceImpl implements UserManageService {
         // 更新用户信息
         existingUser.setNickname(dto.getNickname());
         existingUser.setPhone(dto.getPhone());
-        existingUser.setAvatar(dto.getAvatar());
+        avatarStore.assign(existingUser, dto.getAvatar());
         existingUser.setGender(dto.getGender());
         existingUser.setBirthday(dto.getBirthday());
 
@@ -120,13 +200,19 @@ public class UserManageServiceImpl implements UserManageService {
 
         // 如果提供了新密码，更新密码
         if (dto.getPassword() != null && !dto.getPassword().isEmpty()) {
-            userMapper.updatePassword(dto.getId(), passwordEncoder.encode(dto.getPassword()));
+            userMapper.updatePassword(dto.getId(), passwordHasher.encode(dto.getPassword()));
+            revocationService.revokeUser(dto.getId(), TokenRevocation.REASON_PASSWORD);
         }
 
         // 如果修改了状态
         if (dto.getStatus() != null && !dto.getStatus().equals(existingUser.getStatus())) {
             userMapper.updateStatus(dto.getId(), dto.getStatus());
+            statsRecorder.userStatusChanged(existingUser.getStatus(), dto.getStatus());
+            if (dto.getStatus() != 1) {
+                revocationService.revokeUser(dto.getId(), TokenRevocation.REASON_DISABLED);
+            }
         }
+        sessionUserCache.evict(dto.getId());
 
         return getUserById(dto.getId());
     }
@@ -145,6 +231,9 @@ public class UserManageServiceImpl implements UserManageService {
         }
 
         userMapper.delete(id);
+        statsRecorder.userRemoved(Integer.valueOf(1).equals(user.getStatus()));
+        revocationService.revokeUser(id, TokenRevocation.REASON_DELETED);
+        sessionUserCache.evict(id);
     }
 
     @Override
@@ -161,6 +250,12 @@ public class UserManageServiceImpl implements UserManageService {
         }
 
         userMapper.updateStatus(id, status);
+        statsRecorder.userStatusChanged(user.getStatus(), status);
+        sessionUserCache.evict(id);
+        // 禁用后已签发的 Token 立即失效
+        if (status != 1) {
+            revocationService.revokeUser(id, TokenRevocation.REASON_DISABLED);
+        }
     }
 
     @Override
@@ -175,7 +270,53 @@ public class UserManageServiceImpl implements UserManageService {
             throw new BusinessException(400, "新密码不能为空");
         }
 
-        userMapper.updatePassword(id, passwordEncoder.encode(newPassword));
+        userMapper.updatePassword(id, passwordHasher.encode(newPassword));
+        revocationService.revokeUser(id, TokenRevocation.REASON_PASSWORD);
+        sessionUserCache.evict(id);
+    }
+
+    /**
+     * 分页游标：上一页最后一条的 (created_at, id)，编码为 Base64URL("创建时间|ID")
+     */
+    private record Cursor(LocalDateTime createdAt, Long id) {
+
+        String encode() {
+            String raw = createdAt + "|" + id;
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+        }
+
+        static Cursor decode(String cursor) {
+            try {
+                String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+                int sep = raw.lastIndexOf('|');
+                return new Cursor(LocalDateTime.parse(raw.substring(0, sep)), Long.valueOf(raw.substring(sep + 1)));
+            } catch (RuntimeException e) {
+                throw new BusinessException(ErrorCode.BAD_REQUEST, "无效的分页游标");
+            }
+        }
+    }
+
+    /**
+     * 转义 LIKE 通配符，避免用户输入的 % _ 触发任意匹配
+     */
+    private static String escapeLike(String keyword) {
+        return keyword.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+
+    private UserSummaryVO convertToSummaryVO(UserSummary user) {
+        UserSummaryVO vo = new UserSummaryVO();
+        vo.setId(user.getId());
+        vo.setUsername(user.getUsername());
+        vo.setEmail(user.getEmail());
+        vo.setPhone(user.getPhone());
+        vo.setNickname(user.getNickname());
+        vo.setHasAvatar(Boolean.TRUE.equals(user.getHasAvatar()));
+        vo.setGender(user.getGender());
+        vo.setBirthday(user.getBirthday());
+        vo.setStatus(user.getStatus());
+        vo.setCreatedAt(user.getCreatedAt());
+        vo.setUpdatedAt(user.getUpdatedAt());
+        return vo;
     }
 
     /**
@@ -188,7 +329,7 @@ public class UserManageServiceImpl implements UserManageService {
         vo.setEmail(user.getEmail());
         vo.setPhone(user.getPhone());
         vo.setNickname(user.getNickname());
-        vo.setAvatar(user.getAvatar());
+        vo.setAvatar(AvatarStore.displayUrl(user));
         vo.setGender(user.getGender());
         vo.setBirthday(user.getBirthday());
         vo.setStatus(user.getStatus());
@@ -5,15 +5,32 @@ import com.erickwu.backend.config.JwtConfig;
 import com.erickwu.backend.dto.LoginDTO;
 import com.erickwu.backend.dto.RegisterDTO;
 import com.erickwu.backend.dto.UpdateUserDTO;
+import com.erickwu.backend.entity.SessionUser;
+import com.erickwu.backend.entity.TokenRevocation;
 import com.erickwu.backend.entity.User;
 import com.erickwu.backend.mapper.UserMapper;
 import com.erickwu.backend.model.ErrorCode;
+import com.erickwu.backend.service.AvatarStore;
+import com.erickwu.backend.service.LoginAttemptLimiter;
+import com.erickwu.backend.service.PasswordHashingService;
+import com.erickwu.backend.service.RefreshTokenService;
+import com.erickwu.backend.service.SessionUserCache;
+import com.erickwu.backend.service.StatsRecorder;
+import com.erickwu.backend.service.TokenRevocationService;
 import com.erickwu.backend.service.UserService;
+import com.erickwu.backend.util.AuthPrincipal;
 import com.erickwu.backend.util.JwtUtil;
 import com.erickwu.backend.vo.LoginVO;
 import com.erickwu.backend.vo.UserVO;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadPoolExecutor;
 
 /**
  * 用户服务实现类
@@ -21,20 +38,43 @@ import org.springframework.stereotype.Service;
 @Service
 public class UserServiceImpl implements UserService {
 
+    private static final Logger logger = LoggerFactory.getLogger(UserServiceImpl.class);
+
     private final UserMapper userMapper;
     private final JwtUtil jwtUtil;
     private final JwtConfig jwtConfig;
-    private final BCryptPasswordEncoder passwordEncoder;
+    private final PasswordHashingService passwordHasher;
+    private final LoginAttemptLimiter attemptLimiter;
+    private final StatsRecorder statsRecorder;
+    private final AvatarStore avatarStore;
+    private final TokenRevocationService revocationService;
+    private final RefreshTokenService refreshTokenService;
+    private final SessionUserCache sessionUserCache;
+    private final ThreadPoolExecutor loginExecutor;
 
-    public UserServiceImpl(UserMapper userMapper, JwtUtil jwtUtil, JwtConfig jwtConfig) {
+    public UserServiceImpl(UserMapper userMapper, JwtUtil jwtUtil, JwtConfig jwtConfig,
+                           StatsRecorder statsRecorder, AvatarStore avatarStore,
+                           TokenRevocationService revocationService,
+                           PasswordHashingService passwordHasher, LoginAttemptLimiter attemptLimiter,
+                           RefreshTokenService refreshTokenService, SessionUserCache sessionUserCache,
+                           @Qualifier("loginExecutor") ThreadPoolExecutor loginExecutor) {
         this.userMapper = userMapper;
         this.jwtUtil = jwtUtil;
         this.jwtConfig = jwtConfig;
-        this.passwordEncoder = new BCryptPasswordEncoder();
+        this.statsRecorder = statsRecorder;
+        this.avatarStore = avatarStore;
+        this.revocationService = revocationService;
+        this.passwordHasher = passwordHasher;
+        this.attemptLimiter = attemptLimiter;
+        this.refreshTokenService = refreshTokenService;
+        this.sessionUserCache = sessionUserCache;
+        this.loginExecutor = loginExecutor;
     }
 
     @Override
-    public LoginVO register(RegisterDTO dto) {
+    public CompletableFuture<LoginVO> register(RegisterDTO dto, String clientIp) {
+        attemptLimiter.acquire(null, clientIp);
+
         // 检查用户名是否已存在
         if (existsByUsername(dto.getUsername())) {
             throw new BusinessException(ErrorCode.USER_ALREADY_EXISTS, "用户名已存在");
@@ -45,42 +85,58 @@ public class UserServiceImpl implements UserService {
             throw new BusinessException(ErrorCode.USER_ALREADY_EXISTS, "邮箱已被注册");
         }
 
-        // 创建用户实体
-        User user = new User();
-        user.setUsername(dto.getUsername());
-        user.setPassword(passwordEncoder.encode(dto.getPassword()));
-        user.setEmail(dto.getEmail());
-        user.setNickname(dto.getNickname() != null ? dto.getNickname() : dto.getUsername());
-        user.setStatus(1); // 正常状态
+        // 哈希完成后切换到登录线程池写库，不占用密码哈希线程
+        return passwordHasher.encodeAsync(dto.getPassword()).thenApplyAsync(encoded -> {
+            // 创建用户实体
+            User user = new User();
+            user.setUsername(dto.getUsername());
+            user.setPassword(encoded);
+            user.setEmail(dto.getEmail());
+            user.setNickname(dto.getNickname() != null ? dto.getNickname() : dto.getUsername());
+            user.setStatus(1); // 正常状态
 
-        // 保存用户
-        userMapper.insert(user);
+            // 保存用户
+            userMapper.insert(user);
+            statsRecorder.userCreated(true);
 
-        // 生成 Token 并返回
-        return createLoginVO(user);
+            // 生成 Token 并返回
+            return createLoginVO(user.getId(), user.getUsername(), user.getNickname(),
+                    AvatarStore.displayUrl(user), refreshTokenService.issue(user.getId()));
+        }, loginExecutor);
     }
 
     @Override
-    public LoginVO login(LoginDTO dto) {
+    public CompletableFuture<LoginVO> login(LoginDTO dto, String clientIp) {
+        // 先限流再查询和计算 BCrypt
+        attemptLimiter.acquire(dto.getUsername(), clientIp);
+
         // 根据用户名查询用户
         User user = userMapper.findByUsername(dto.getUsername());
         
         if (user == null) {
+            attemptLimiter.recordFailure(dto.getUsername(), clientIp);
             throw new BusinessException(ErrorCode.USER_NOT_FOUND, "用户不存在");
         }
 
         // 验证密码
-        if (!passwordEncoder.matches(dto.getPassword(), user.getPassword())) {
-            throw new BusinessException(ErrorCode.USER_PASSWORD_ERROR, "密码错误");
-        }
+        return passwordHasher.matchesAsync(dto.getPassword(), user.getPassword()).thenApplyAsync(matched -> {
+            if (!matched) {
+                attemptLimiter.recordFailure(dto.getUsername(), clientIp);
+                throw new BusinessException(ErrorCode.USER_PASSWORD_ERROR, "密码错误");
+            }
+            attemptLimiter.recordSuccess(dto.getUsername(), clientIp);
 
-        // 检查用户状态
-        if (user.getStatus() != 1) {
-            throw new BusinessException(ErrorCode.USER_DISABLED, "账号已被禁用");
-        }
+            // 检查用户状态
+            if (user.getStatus() != 1) {
+                throw new BusinessException(ErrorCode.USER_DISABLED, "账号已被禁用");
+            }
+
+            rehashIfOutdated(user, dto.getPassword());
 
-        // 生成 Token 并返回
-        return createLoginVO(user);
+            // 生成 Token 并返回
+            return createLoginVO(user.getId(), user.getUsername(), user.getNickname(),
+                    AvatarStore.displayUrl(user), refreshTokenService.issue(user.getId()));
+        }, loginExecutor);
     }
 
     @Override
@@ -118,7 +174,7 @@ public class UserServiceImpl implements UserService {
             user.setPhone(dto.getPhone());
         }
         if (dto.getAvatar() != null) {
-            user.setAvatar(dto.getAvatar());
+            avatarStore.assign(user, dto.getAvatar());
         }
         if (dto.getSchool() != null) {
             user.setSchool(dto.getSchool());
@@ -137,6 +193,42 @@ public class UserServiceImpl implements UserService {
         }
 
         userMapper.update(user);
+        sessionUserCache.evict(userId);
+    }
+
+    @Override
+    public String uploadAvatar(Long userId, MultipartFile file) throws IOException {
+        User user = userMapper.findById(userId);
+        if (user == null) {
+            throw new BusinessException(ErrorCode.USER_NOT_FOUND, "用户不存在");
+        }
+        if (file == null || file.isEmpty()) {
+            throw new BusinessException(ErrorCode.BAD_REQUEST, "请选择头像图片");
+        }
+
+        String hash = avatarStore.store(file.getBytes());
+        userMapper.updateAvatar(userId, null, hash);
+        sessionUserCache.evict(userId);
+        return AvatarStore.url(hash);
+    }
+
+    @Override
+    public LoginVO refresh(String refreshToken) {
+        RefreshTokenService.Rotation rotation = refreshTokenService.rotate(refreshToken);
+        // 刷新频繁，只读取缓存的精简用户投影，不加载完整用户
+        SessionUser user = sessionUserCache.get(rotation.userId());
+        if (user == null || user.getStatus() == null || user.getStatus() != 1) {
+            refreshTokenService.revoke(rotation.refreshToken());
+            throw new BusinessException(ErrorCode.USER_DISABLED, "账号已被禁用");
+        }
+        return createLoginVO(user.getId(), user.getUsername(), user.getNickname(),
+                AvatarStore.displayUrl(user), rotation.refreshToken());
+    }
+
+    @Override
+    public void logout(AuthPrincipal principal, String refreshToken) {
+        revocationService.revokeToken(principal, TokenRevocation.REASON_LOGOUT);
+        refreshTokenService.revoke(refreshToken);
     }
 
     @Override
@@ -149,22 +241,33 @@ public class UserServiceImpl implements UserService {
         return userMapper.findByEmail(email) != null;
     }
 
+    /**
+     * 存储的哈希强度低于当前强度时在后台重新哈希，失败不影响本次登录
+     */
+    private void rehashIfOutdated(User user, String rawPassword) {
+        if (!passwordHasher.needsRehash(user.getPassword())) {
+            return;
+        }
+        passwordHasher.encodeAsync(rawPassword)
+                .thenAcceptAsync(encoded -> userMapper.updatePassword(user.getId(), encoded), loginExecutor)
+                .exceptionally(e -> {
+                    logger.warn("用户 {} 密码重新哈希失败: {}", user.getId(), e.getMessage());
+                    return null;
+                });
+    }
+
     /**
      * 创建登录响应 VO
      */
-    private LoginVO createLoginVO(User user) {
-        String token = jwtUtil.generateToken(user.getId(), user.getUsername());
+    private LoginVO createLoginVO(Long userId, String username, String nickname, String avatar, String refreshToken) {
+        String token = jwtUtil.generateToken(userId, username);
         // 过期时间转换为秒
         Long expiresIn = jwtConfig.getExpiration() / 1000;
 
-        return new LoginVO(
-                user.getId(),
-                user.getUsername(),
-                user.getNickname(),
-                user.getAvatar(),
-                token,
-                expiresIn
-        );
+        LoginVO vo = new LoginVO(userId, username, nickname, avatar, token, expiresIn);
+        vo.setRefreshToken(refreshToken);
+        vo.setRefreshExpiresIn(refreshTokenService.getRefreshExpiresInSeconds());
+        return vo;
     }
 
     /**
@@ -177,7 +280,7 @@ public class UserServiceImpl implements UserService {
         vo.setEmail(user.getEmail());
         vo.setPhone(user.getPhone());
         vo.setNickname(user.getNickname());
-        vo.setAvatar(user.getAvatar());
+        vo.setAvatar(AvatarStore.displayUrl(user));
         vo.setSchool(user.getSchool());
         vo.setMajor(user.getMajor());
         vo.setIntro(user.getIntro());
@@ -0,0 +1,42 @@
+package com.erickwu.backend.util;
+
+/**
+ * 已验证的登录身份
+ * 由 {@link JwtAuthenticator} 从 Token 中解析得到，请求期间保存在 {@link UserContext}
+ */
+public class AuthPrincipal {
+
+    private final Long userId;
+    private final String username;
+    private final String tokenId;   // Token ID（jti），旧版本签发的 Token 为 null
+    private final long issuedAt;    // Token 签发时间（毫秒时间戳）
+    private final long expiresAt;   // Token 过期时间（毫秒时间戳）
+
+    public AuthPrincipal(Long userId, String username, String tokenId, long issuedAt, long expiresAt) {
+        this.userId = userId;
+        this.username = username;
+        this.tokenId = tokenId;
+        this.issuedAt = issuedAt;
+        this.expiresAt = expiresAt;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public String getTokenId() {
+        return tokenId;
+    }
+
+    public long getIssuedAt() {
+        return issuedAt;
+    }
+
+    public long getExpiresAt() {
+        return expiresAt;
+    }
+}
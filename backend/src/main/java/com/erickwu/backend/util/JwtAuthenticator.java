@@ -0,0 +1,107 @@
+package com.erickwu.backend.util;
+
+import com.erickwu.backend.config.JwtConfig;
+import com.erickwu.backend.metrics.MetricsRegistry;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Date;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 请求认证
+ * 每个 Token 只做一次签名校验和解析，结果按 SHA-256(Token) 缓存到 Token 的 exp 为止；
+ * 缓存为按访问顺序淘汰的有界 LRU，满时淘汰最久未使用的条目，写入开销为 O(1)
+ */
+@Component
+public class JwtAuthenticator {
+
+    private final JwtUtil jwtUtil;
+    private final JwtConfig jwtConfig;
+    private final MetricsRegistry metrics;
+    private final Map<String, AuthPrincipal> verified;
+
+    public JwtAuthenticator(JwtUtil jwtUtil, JwtConfig jwtConfig, MetricsRegistry metrics) {
+        this.jwtUtil = jwtUtil;
+        this.jwtConfig = jwtConfig;
+        this.metrics = metrics;
+        int maxEntries = jwtConfig.getCacheMaxEntries();
+        this.verified = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, AuthPrincipal> eldest) {
+                return size() > maxEntries;
+            }
+        };
+        metrics.gauge("auth.cache.size", () -> {
+            synchronized (verified) {
+                return verified.size();
+            }
+        });
+    }
+
+    /**
+     * 校验 Token 并返回登录身份
+     *
+     * @param token JWT Token 字符串
+     * @return 登录身份，Token 无效或已过期时返回 null
+     */
+    public AuthPrincipal authenticate(String token) {
+        if (token == null || token.isEmpty()) {
+            return null;
+        }
+        String key = digest(token);
+        long now = System.currentTimeMillis();
+        AuthPrincipal cached;
+        synchronized (verified) {
+            cached = verified.get(key);
+            if (cached != null && cached.getExpiresAt() <= now) {
+                verified.remove(key);
+                cached = null;
+            }
+        }
+        if (cached != null) {
+            metrics.increment("auth.cache.hit");
+            return cached;
+        }
+        metrics.increment("auth.cache.miss");
+
+        Claims claims;
+        try {
+            claims = jwtUtil.parseToken(token);
+        } catch (JwtException | IllegalArgumentException e) {
+            metrics.increment("auth.rejected");
+            return null;
+        }
+        Long userId = claims.get("userId", Long.class);
+        Date expiration = claims.getExpiration();
+        if (userId == null || expiration == null) {
+            metrics.increment("auth.rejected");
+            return null;
+        }
+
+        Date issuedAt = claims.getIssuedAt();
+        AuthPrincipal principal = new AuthPrincipal(userId, claims.getSubject(), claims.getId(),
+                issuedAt != null ? issuedAt.getTime() : 0L, expiration.getTime());
+        if (jwtConfig.getCacheMaxEntries() > 0) {
+            synchronized (verified) {
+                verified.put(key, principal);
+            }
+        }
+        return principal;
+    }
+
+    private static String digest(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 不可用", e);
+        }
+    }
+}
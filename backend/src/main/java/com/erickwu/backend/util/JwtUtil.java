@@ -10,6 +10,7 @@ import java.nio.charset.StandardCharsets;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.UUID;
 
 /**
  * JWT 工具类
@@ -20,11 +21,14 @@ public class JwtUtil {
 
     private final JwtConfig jwtConfig;
     private final SecretKey secretKey;
+    private final JwtParser parser;
 
     public JwtUtil(JwtConfig jwtConfig) {
         this.jwtConfig = jwtConfig;
         // 使用配置的密钥生成 SecretKey
         this.secretKey = Keys.hmacShaKeyFor(jwtConfig.getSecret().getBytes(StandardCharsets.UTF_8));
+        // 解析器线程安全，构建一次后复用
+        this.parser = Jwts.parser().verifyWith(secretKey).build();
     }
 
     /**
@@ -44,6 +48,7 @@ public class JwtUtil {
 
         return Jwts.builder()
                 .claims(claims)
+                .id(UUID.randomUUID().toString())
                 .subject(username)
                 .issuedAt(now)
                 .expiration(expiration)
@@ -58,11 +63,7 @@ public class JwtUtil {
      * @return Claims 对象，包含 Token 中的所有声明
      */
     public Claims parseToken(String token) {
-        return Jwts.parser()
-                .verifyWith(secretKey)
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+        return parser.parseSignedClaims(token).getPayload();
     }
 
     /**
@@ -105,21 +106,4 @@ public class JwtUtil {
         Claims claims = parseToken(token);
         return claims.getSubject();
     }
-
-    /**
-     * 检查 Token 是否即将过期（距离过期时间小于1小时）
-     *
-     * @param token JWT Token 字符串
-     * @return true 如果即将过期
-     */
-    public boolean isTokenExpiringSoon(String token) {
-        try {
-            Claims claims = parseToken(token);
-            Date expiration = claims.getExpiration();
-            // 如果距离过期时间小于1小时，认为即将过期
-            return expiration.getTime() - System.currentTimeMillis() < 3600000;
-        } catch (JwtException e) {
-            return true;
-        }
-    }
 }
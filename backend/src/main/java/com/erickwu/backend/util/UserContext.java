@@ -2,39 +2,40 @@ package com.erickwu.backend.util;
 
 /**
  * 用户上下文工具类
- * 使用 ThreadLocal 存储当前请求的用户信息
+ * 使用 ThreadLocal 存储当前请求的登录身份，由 JwtInterceptor 写入，Controller 统一从这里读取
  */
 public class UserContext {
 
-    private static final ThreadLocal<Long> currentUserId = new ThreadLocal<>();
-    private static final ThreadLocal<String> currentUsername = new ThreadLocal<>();
+    private static final ThreadLocal<AuthPrincipal> currentPrincipal = new ThreadLocal<>();
 
     /**
-     * 设置当前用户ID
+     * 设置当前登录身份
      */
-    public static void setCurrentUserId(Long userId) {
-        currentUserId.set(userId);
+    public static void setCurrentPrincipal(AuthPrincipal principal) {
+        currentPrincipal.set(principal);
     }
 
     /**
-     * 获取当前用户ID
+     * 获取当前登录身份
      */
-    public static Long getCurrentUserId() {
-        return currentUserId.get();
+    public static AuthPrincipal getCurrentPrincipal() {
+        return currentPrincipal.get();
     }
 
     /**
-     * 设置当前用户名
+     * 获取当前用户ID
      */
-    public static void setCurrentUsername(String username) {
-        currentUsername.set(username);
+    public static Long getCurrentUserId() {
+        AuthPrincipal principal = currentPrincipal.get();
+        return principal != null ? principal.getUserId() : null;
     }
 
     /**
      * 获取当前用户名
      */
     public static String getCurrentUsername() {
-        return currentUsername.get();
+        AuthPrincipal principal = currentPrincipal.get();
+        return principal != null ? principal.getUsername() : null;
     }
 
     /**
@@ -42,7 +43,6 @@ public class UserContext {
      * 在请求结束后调用，防止内存泄漏
      */
     public static void clear() {
-        currentUserId.remove();
-        currentUsername.remove();
+        currentPrincipal.remove();
     }
 }
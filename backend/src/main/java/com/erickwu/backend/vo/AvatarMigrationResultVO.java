@@ -0,0 +1,20 @@
+package com.erickwu.backend.vo;
+
+/**
+ * 头像迁移结果 VO
+ */
+public class AvatarMigrationResultVO {
+    private int scanned;      // 扫描到的内联头像数
+    private int migrated;     // 成功迁移数
+    private int failed;       // 无法解析而跳过的数量
+
+    // Getters and Setters
+    public int getScanned() { return scanned; }
+    public void setScanned(int scanned) { this.scanned = scanned; }
+
+    public int getMigrated() { return migrated; }
+    public void setMigrated(int migrated) { this.migrated = migrated; }
+
+    public int getFailed() { return failed; }
+    public void setFailed(int failed) { this.failed = failed; }
+}
@@ -0,0 +1,42 @@
+package com.erickwu.backend.vo;
+
+import java.util.List;
+
+/**
+ * 候选人检索结果 VO
+ */
+public class CandidateSearchVO {
+    private Long resumeId;
+    private Long userId;
+    private String realName;
+    private String targetPosition;
+    private String highestDegree;
+    private Integer workYears;
+    private List<String> topSkills;   // 熟练度最高的若干技能
+    private Double score;             // BM25 相关度，无关键词时为 0
+
+    // Getters and Setters
+    public Long getResumeId() { return resumeId; }
+    public void setResumeId(Long resumeId) { this.resumeId = resumeId; }
+
+    public Long getUserId() { return userId; }
+    public void setUserId(Long userId) { this.userId = userId; }
+
+    public String getRealName() { return realName; }
+    public void setRealName(String realName) { this.realName = realName; }
+
+    public String getTargetPosition() { return targetPosition; }
+    public void setTargetPosition(String targetPosition) { this.targetPosition = targetPosition; }
+
+    public String getHighestDegree() { return highestDegree; }
+    public void setHighestDegree(String highestDegree) { this.highestDegree = highestDegree; }
+
+    public Integer getWorkYears() { return workYears; }
+    public void setWorkYears(Integer workYears) { this.workYears = workYears; }
+
+    public List<String> getTopSkills() { return topSkills; }
+    public void setTopSkills(List<String> topSkills) { this.topSkills = topSkills; }
+
+    public Double getScore() { return score; }
+    public void setScore(Double score) { this.score = score; }
+}
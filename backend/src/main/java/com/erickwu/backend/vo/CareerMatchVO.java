@@ -0,0 +1,42 @@
+package com.erickwu.backend.vo;
+
+import java.util.List;
+
+/**
+ * 职业匹配结果 VO
+ */
+public class CareerMatchVO {
+    private Long careerId;
+    private String name;
+    private String category;
+    private String salaryRange;
+    private Integer score;                 // 匹配度 0-100
+    private List<String> matchedSkills;    // 已具备的技能要求
+    private List<String> weakSkills;       // 已具备但熟练度偏低的技能要求
+    private List<String> missingSkills;    // 尚未具备的技能要求
+
+    // Getters and Setters
+    public Long getCareerId() { return careerId; }
+    public void setCareerId(Long careerId) { this.careerId = careerId; }
+
+    public String getName() { return name; }
+    public void setName(String name) { this.name = name; }
+
+    public String getCategory() { return category; }
+    public void setCategory(String category) { this.category = category; }
+
+    public String getSalaryRange() { return salaryRange; }
+    public void setSalaryRange(String salaryRange) { this.salaryRange = salaryRange; }
+
+    public Integer getScore() { return score; }
+    public void setScore(Integer score) { this.score = score; }
+
+    public List<String> getMatchedSkills() { return matchedSkills; }
+    public void setMatchedSkills(List<String> matchedSkills) { this.matchedSkills = matchedSkills; }
+
+    public List<String> getWeakSkills() { return weakSkills; }
+    public void setWeakSkills(List<String> weakSkills) { this.weakSkills = weakSkills; }
+
+    public List<String> getMissingSkills() { return missingSkills; }
+    public void setMissingSkills(List<String> missingSkills) { this.missingSkills = missingSkills; }
+}
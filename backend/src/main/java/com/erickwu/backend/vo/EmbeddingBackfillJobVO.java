@@ -0,0 +1,50 @@
+package com.erickwu.backend.vo;
+
+import java.time.LocalDateTime;
+
+/**
+ * 向量回填任务状态 VO
+ */
+public class EmbeddingBackfillJobVO {
+    private Long jobId;
+    private String model;
+    private Boolean forceAll;      // 是否重新生成全部版本
+    private String status;         // RUNNING / PAUSED / DONE / FAILED
+    private Long lastVersionId;    // 检查点
+    private Integer processed;
+    private Long remaining;        // 检查点之后待处理的版本数（估算）
+    private String errorMessage;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+
+    // Getters and Setters
+    public Long getJobId() { return jobId; }
+    public void setJobId(Long jobId) { this.jobId = jobId; }
+
+    public String getModel() { return model; }
+    public void setModel(String model) { this.model = model; }
+
+    public Boolean getForceAll() { return forceAll; }
+    public void setForceAll(Boolean forceAll) { this.forceAll = forceAll; }
+
+    public String getStatus() { return status; }
+    public void setStatus(String status) { this.status = status; }
+
+    public Long getLastVersionId() { return lastVersionId; }
+    public void setLastVersionId(Long lastVersionId) { this.lastVersionId = lastVersionId; }
+
+    public Integer getProcessed() { return processed; }
+    public void setProcessed(Integer processed) { this.processed = processed; }
+
+    public Long getRemaining() { return remaining; }
+    public void setRemaining(Long remaining) { this.remaining = remaining; }
+
+    public String getErrorMessage() { return errorMessage; }
+    public void setErrorMessage(String errorMessage) { this.errorMessage = errorMessage; }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
+}
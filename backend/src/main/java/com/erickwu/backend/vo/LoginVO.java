@@ -2,7 +2,7 @@ package com.erickwu.backend.vo;
 
 /**
  * 登录响应 VO
- * 包含用户信息和 JWT Token
+ * 包含用户信息、JWT Token 和刷新令牌
  */
 public class LoginVO {
 
@@ -41,6 +41,16 @@ public class LoginVO {
      */
     private Long expiresIn;
 
+    /**
+     * 刷新令牌，每次刷新后更换
+     */
+    private String refreshToken;
+
+    /**
+     * 刷新令牌过期时间（秒）
+     */
+    private Long refreshExpiresIn;
+
     public LoginVO() {
     }
 
@@ -108,4 +118,20 @@ public class LoginVO {
     public void setExpiresIn(Long expiresIn) {
         this.expiresIn = expiresIn;
     }
+
+    public String getRefreshToken() {
+        return refreshToken;
+    }
+
+    public void setRefreshToken(String refreshToken) {
+        this.refreshToken = refreshToken;
+    }
+
+    public Long getRefreshExpiresIn() {
+        return refreshExpiresIn;
+    }
+
+    public void setRefreshExpiresIn(Long refreshExpiresIn) {
+        this.refreshExpiresIn = refreshExpiresIn;
+    }
 }
@@ -0,0 +1,71 @@
+package com.erickwu.backend.vo;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 批量重新解析任务状态 VO
+ */
+public class ReparseJobVO {
+    private Long jobId;
+    private String promptVersion;          // 任务目标提示词版本
+    private String currentPromptVersion;   // 当前生效的提示词版本
+    private Boolean reextract;             // 是否从原始文件重新提取文本
+    private String status;                 // RUNNING / PAUSED / DONE / FAILED
+    private Long lastVersionId;            // 检查点
+    private Integer succeeded;
+    private Integer failed;
+    private Long remaining;                // 检查点之后待处理的版本数
+    private Double throughputPerMinute;    // 本次运行的处理速度（版本/分钟），未运行时为 null
+    private Double errorRate;              // 失败占比
+    private List<String> recentErrors;     // 最近的失败行（版本ID: 原因）
+    private String errorMessage;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+
+    // Getters and Setters
+    public Long getJobId() { return jobId; }
+    public void setJobId(Long jobId) { this.jobId = jobId; }
+
+    public String getPromptVersion() { return promptVersion; }
+    public void setPromptVersion(String promptVersion) { this.promptVersion = promptVersion; }
+
+    public String getCurrentPromptVersion() { return currentPromptVersion; }
+    public void setCurrentPromptVersion(String currentPromptVersion) { this.currentPromptVersion = currentPromptVersion; }
+
+    public Boolean getReextract() { return reextract; }
+    public void setReextract(Boolean reextract) { this.reextract = reextract; }
+
+    public String getStatus() { return status; }
+    public void setStatus(String status) { this.status = status; }
+
+    public Long getLastVersionId() { return lastVersionId; }
+    public void setLastVersionId(Long lastVersionId) { this.lastVersionId = lastVersionId; }
+
+    public Integer getSucceeded() { return succeeded; }
+    public void setSucceeded(Integer succeeded) { this.succeeded = succeeded; }
+
+    public Integer getFailed() { return failed; }
+    public void setFailed(Integer failed) { this.failed = failed; }
+
+    public Long getRemaining() { return remaining; }
+    public void setRemaining(Long remaining) { this.remaining = remaining; }
+
+    public Double getThroughputPerMinute() { return throughputPerMinute; }
+    public void setThroughputPerMinute(Double throughputPerMinute) { this.throughputPerMinute = throughputPerMinute; }
+
+    public Double getErrorRate() { return errorRate; }
+    public void setErrorRate(Double errorRate) { this.errorRate = errorRate; }
+
+    public List<String> getRecentErrors() { return recentErrors; }
+    public void setRecentErrors(List<String> recentErrors) { this.recentErrors = recentErrors; }
+
+    public String getErrorMessage() { return errorMessage; }
+    public void setErrorMessage(String errorMessage) { this.errorMessage = errorMessage; }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
+}
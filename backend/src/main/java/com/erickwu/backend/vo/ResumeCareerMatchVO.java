@@ -0,0 +1,26 @@
+package com.erickwu.backend.vo;
+
+import java.util.List;
+
+/**
+ * 单份简历的职业匹配结果 VO（管理员批量视图）
+ */
+public class ResumeCareerMatchVO {
+    private Long resumeId;
+    private Long userId;
+    private String realName;
+    private List<CareerMatchVO> matches;
+
+    // Getters and Setters
+    public Long getResumeId() { return resumeId; }
+    public void setResumeId(Long resumeId) { this.resumeId = resumeId; }
+
+    public Long getUserId() { return userId; }
+    public void setUserId(Long userId) { this.userId = userId; }
+
+    public String getRealName() { return realName; }
+    public void setRealName(String realName) { this.realName = realName; }
+
+    public List<CareerMatchVO> getMatches() { return matches; }
+    public void setMatches(List<CareerMatchVO> matches) { this.matches = matches; }
+}
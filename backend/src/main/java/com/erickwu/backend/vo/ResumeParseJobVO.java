@@ -0,0 +1,46 @@
+package com.erickwu.backend.vo;
+
+import java.time.LocalDateTime;
+
+/**
+ * 简历解析任务状态 VO
+ */
+public class ResumeParseJobVO {
+    private Long jobId;
+    private String fileName;
+    private String status;    // PENDING / RUNNING / SUCCESS / FAILED
+    private String stage;     // QUEUED / EXTRACT / PARSE / PERSIST / ANALYZE / DONE
+    private Integer progress; // 0-100
+    private Long versionId;   // 解析结果落库后的版本ID，用于前端跳转
+    private String errorMessage;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+
+    // Getters and Setters
+    public Long getJobId() { return jobId; }
+    public void setJobId(Long jobId) { this.jobId = jobId; }
+
+    public String getFileName() { return fileName; }
+    public void setFileName(String fileName) { this.fileName = fileName; }
+
+    public String getStatus() { return status; }
+    public void setStatus(String status) { this.status = status; }
+
+    public String getStage() { return stage; }
+    public void setStage(String stage) { this.stage = stage; }
+
+    public Integer getProgress() { return progress; }
+    public void setProgress(Integer progress) { this.progress = progress; }
+
+    public Long getVersionId() { return versionId; }
+    public void setVersionId(Long versionId) { this.versionId = versionId; }
+
+    public String getErrorMessage() { return errorMessage; }
+    public void setErrorMessage(String errorMessage) { this.errorMessage = errorMessage; }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
+}
@@ -25,6 +25,11 @@ public class ResumeVersionVO {
      */
     private Boolean hasAnalysis;
 
+    /**
+     * 是否已归档原始文件（可下载、可重新解析）
+     */
+    private Boolean hasOriginalFile;
+
     // ==================== Getters and Setters ====================
 
     public Long getId() {
@@ -98,4 +103,12 @@ public class ResumeVersionVO {
     public void setHasAnalysis(Boolean hasAnalysis) {
         this.hasAnalysis = hasAnalysis;
     }
+
+    public Boolean getHasOriginalFile() {
+        return hasOriginalFile;
+    }
+
+    public void setHasOriginalFile(Boolean hasOriginalFile) {
+        this.hasOriginalFile = hasOriginalFile;
+    }
 }
@@ -0,0 +1,28 @@
+package com.erickwu.backend.vo;
+
+/**
+ * 相似候选人 VO
+ */
+public class SimilarCandidateVO {
+    private Long resumeId;
+    private Long userId;
+    private String realName;
+    private String targetPosition;
+    private Float score;      // 余弦相似度，越接近 1 越相似
+
+    // Getters and Setters
+    public Long getResumeId() { return resumeId; }
+    public void setResumeId(Long resumeId) { this.resumeId = resumeId; }
+
+    public Long getUserId() { return userId; }
+    public void setUserId(Long userId) { this.userId = userId; }
+
+    public String getRealName() { return realName; }
+    public void setRealName(String realName) { this.realName = realName; }
+
+    public String getTargetPosition() { return targetPosition; }
+    public void setTargetPosition(String targetPosition) { this.targetPosition = targetPosition; }
+
+    public Float getScore() { return score; }
+    public void setScore(Float score) { this.score = score; }
+}
@@ -0,0 +1,28 @@
+package com.erickwu.backend.vo;
+
+/**
+ * 存量技能标准化结果 VO
+ */
+public class SkillCanonicalizeResultVO {
+    private int scannedResumes;     // 扫描的简历数
+    private int scannedSkills;      // 扫描的技能数
+    private int renamedSkills;      // 名称或分类被修正的技能数
+    private int mergedSkills;       // 合并后删除的重复技能数
+    private int affectedResumes;    // 有变更的简历数
+
+    // Getters and Setters
+    public int getScannedResumes() { return scannedResumes; }
+    public void setScannedResumes(int scannedResumes) { this.scannedResumes = scannedResumes; }
+
+    public int getScannedSkills() { return scannedSkills; }
+    public void setScannedSkills(int scannedSkills) { this.scannedSkills = scannedSkills; }
+
+    public int getRenamedSkills() { return renamedSkills; }
+    public void setRenamedSkills(int renamedSkills) { this.renamedSkills = renamedSkills; }
+
+    public int getMergedSkills() { return mergedSkills; }
+    public void setMergedSkills(int mergedSkills) { this.mergedSkills = mergedSkills; }
+
+    public int getAffectedResumes() { return affectedResumes; }
+    public void setAffectedResumes(int affectedResumes) { this.affectedResumes = affectedResumes; }
+}
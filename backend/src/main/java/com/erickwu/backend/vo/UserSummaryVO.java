@@ -0,0 +1,55 @@
+package com.erickwu.backend.vo;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * 用户列表项 VO（不含密码和头像内容，仅标记是否有头像）
+ */
+public class UserSummaryVO {
+    private Long id;
+    private String username;
+    private String email;
+    private String phone;
+    private String nickname;
+    private Boolean hasAvatar;
+    private Integer gender;
+    private LocalDate birthday;
+    private Integer status;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public String getUsername() { return username; }
+    public void setUsername(String username) { this.username = username; }
+
+    public String getEmail() { return email; }
+    public void setEmail(String email) { this.email = email; }
+
+    public String getPhone() { return phone; }
+    public void setPhone(String phone) { this.phone = phone; }
+
+    public String getNickname() { return nickname; }
+    public void setNickname(String nickname) { this.nickname = nickname; }
+
+    public Boolean getHasAvatar() { return hasAvatar; }
+    public void setHasAvatar(Boolean hasAvatar) { this.hasAvatar = hasAvatar; }
+
+    public Integer getGender() { return gender; }
+    public void setGender(Integer gender) { this.gender = gender; }
+
+    public LocalDate getBirthday() { return birthday; }
+    public void setBirthday(LocalDate birthday) { this.birthday = birthday; }
+
+    public Integer getStatus() { return status; }
+    public void setStatus(Integer status) { this.status = status; }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
+}
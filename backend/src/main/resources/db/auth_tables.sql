@@ -0,0 +1,33 @@
+-- Token 吊销变更表
+-- 各实例启动时加载未过期记录，运行中按 revoked_at 回看窗口轮询（按 id 去重）同步到内存
+CREATE TABLE IF NOT EXISTS token_revocation (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    user_id BIGINT NOT NULL COMMENT '用户ID',
+    token_id VARCHAR(64) DEFAULT NULL COMMENT '被吊销的 Token ID（jti），为空表示吊销该用户此前签发的全部 Token',
+    revoked_at BIGINT NOT NULL COMMENT '吊销时间（毫秒时间戳），用户级吊销时早于该时间签发的 Token 失效',
+    reason VARCHAR(32) NOT NULL COMMENT '吊销原因: DISABLED/PASSWORD/DELETED/LOGOUT',
+    expires_at DATETIME NOT NULL COMMENT '记录失效时间，此后受影响的 Token 均已自然过期',
+    created_at DATETIME DEFAULT CURRENT_TIMESTAMP COMMENT '创建时间',
+    INDEX idx_expires_at (expires_at),
+    INDEX idx_revoked_at (revoked_at)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='Token 吊销变更表';
+
+-- 已有表补充索引：
+-- ALTER TABLE token_revocation ADD INDEX idx_revoked_at (revoked_at);
+
+-- 刷新令牌表（只保存 SHA-256 哈希；每次刷新轮换，同一登录会话的令牌属于同一 family）
+CREATE TABLE IF NOT EXISTS refresh_token (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    user_id BIGINT NOT NULL COMMENT '用户ID',
+    token_hash CHAR(64) NOT NULL COMMENT '刷新令牌 SHA-256',
+    family_id CHAR(36) NOT NULL COMMENT '登录会话ID，检测到旧令牌被重放时整组吊销',
+    session_started_at DATETIME NOT NULL COMMENT '会话开始时间（用于会话最长时长）',
+    expires_at DATETIME NOT NULL COMMENT '过期时间（每次刷新顺延）',
+    revoked TINYINT(1) NOT NULL DEFAULT 0 COMMENT '是否已轮换或吊销',
+    used_at DATETIME DEFAULT NULL COMMENT '轮换时间',
+    created_at DATETIME DEFAULT CURRENT_TIMESTAMP COMMENT '创建时间',
+    UNIQUE KEY uk_token_hash (token_hash),
+    INDEX idx_family_id (family_id),
+    INDEX idx_user_id (user_id),
+    INDEX idx_expires_at (expires_at)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='刷新令牌表';
@@ -3,6 +3,8 @@ CREATE TABLE IF NOT EXISTS chat_session (
     id BIGINT PRIMARY KEY AUTO_INCREMENT,
     user_id BIGINT NOT NULL COMMENT '用户ID',
     title VARCHAR(255) DEFAULT '新对话' COMMENT '对话标题',
+    summary TEXT DEFAULT NULL COMMENT '早期消息的滚动摘要',
+    summary_until_id BIGINT NOT NULL DEFAULT 0 COMMENT '已合并进摘要的最后一条消息ID',
     created_at DATETIME DEFAULT CURRENT_TIMESTAMP COMMENT '创建时间',
     updated_at DATETIME DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP COMMENT '更新时间',
     INDEX idx_user_id (user_id),
@@ -15,7 +17,17 @@ CREATE TABLE IF NOT EXISTS chat_message (
     session_id BIGINT NOT NULL COMMENT '会话ID',
     role VARCHAR(20) NOT NULL COMMENT '角色: user/assistant',
     content TEXT NOT NULL COMMENT '消息内容',
+    token_count INT NOT NULL DEFAULT 0 COMMENT '估算的 token 数',
     created_at DATETIME DEFAULT CURRENT_TIMESTAMP COMMENT '创建时间',
-    INDEX idx_session_id (session_id),
+    INDEX idx_session_id_id (session_id, id),
     FOREIGN KEY (session_id) REFERENCES chat_session(id) ON DELETE CASCADE
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='AI对话消息表';
+
+-- 已有库升级：上下文摘要与 token 统计
+-- ALTER TABLE chat_session
+--     ADD COLUMN summary TEXT DEFAULT NULL COMMENT '早期消息的滚动摘要' AFTER title,
+--     ADD COLUMN summary_until_id BIGINT NOT NULL DEFAULT 0 COMMENT '已合并进摘要的最后一条消息ID' AFTER summary;
+-- ALTER TABLE chat_message
+--     ADD COLUMN token_count INT NOT NULL DEFAULT 0 COMMENT '估算的 token 数' AFTER content,
+--     ADD INDEX idx_session_id_id (session_id, id),
+--     DROP INDEX idx_session_id;
@@ -0,0 +1,31 @@
+-- 简历向量表（每个简历版本在每个模型下一条，向量为 float32 小端序二进制）
+-- 切换模型期间新旧模型的向量并存，旧模型的索引继续对外检索直至回填完成
+CREATE TABLE IF NOT EXISTS resume_embedding (
+    version_id BIGINT NOT NULL COMMENT '简历版本ID',
+    resume_id BIGINT NOT NULL COMMENT '简历ID',
+    user_id BIGINT NOT NULL COMMENT '用户ID',
+    model VARCHAR(64) NOT NULL COMMENT '向量模型名称',
+    dimension INT NOT NULL COMMENT '向量维度',
+    vector MEDIUMBLOB NOT NULL COMMENT 'L2 归一化向量，float32 小端序',
+    updated_at DATETIME DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP COMMENT '更新时间',
+    PRIMARY KEY (version_id, model),
+    INDEX idx_model_resume (model, resume_id, version_id),
+    INDEX idx_resume_id (resume_id)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='简历向量表';
+
+-- 已有表改为按 (版本, 模型) 存储：
+-- ALTER TABLE resume_embedding DROP PRIMARY KEY, ADD PRIMARY KEY (version_id, model);
+
+-- 向量回填任务表（记录进度检查点，服务重启后从检查点继续）
+CREATE TABLE IF NOT EXISTS embedding_backfill_job (
+    id BIGINT PRIMARY KEY AUTO_INCREMENT,
+    model VARCHAR(64) NOT NULL COMMENT '目标向量模型',
+    force_all TINYINT NOT NULL DEFAULT 0 COMMENT '是否重新生成全部版本（否则只补缺失的）',
+    status VARCHAR(20) NOT NULL DEFAULT 'RUNNING' COMMENT '状态: RUNNING/PAUSED/DONE/FAILED',
+    last_version_id BIGINT NOT NULL DEFAULT 0 COMMENT '检查点：已处理的最大版本ID',
+    processed INT NOT NULL DEFAULT 0 COMMENT '已写入向量的版本数',
+    error_message VARCHAR(500) DEFAULT NULL COMMENT '失败原因',
+    created_at DATETIME DEFAULT CURRENT_TIMESTAMP COMMENT '创建时间',
+    updated_at DATETIME DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP COMMENT '更新时间',
+    INDEX idx_status (status)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='向量回填任务表';
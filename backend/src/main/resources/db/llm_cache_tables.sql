@@ -0,0 +1,9 @@
+-- LLM 结果持久化缓存表（按内容哈希寻址）
+CREATE TABLE IF NOT EXISTS llm_result_cache (
+    cache_key CHAR(64) PRIMARY KEY COMMENT 'SHA-256(类型 + 模型 + 系统提示词 + 规范化文本)',
+    kind VARCHAR(20) NOT NULL COMMENT '缓存类型: PARSE/ANALYSIS',
+    model VARCHAR(50) NOT NULL COMMENT '模型名称',
+    content LONGTEXT NOT NULL COMMENT 'LLM 响应内容',
+    created_at DATETIME DEFAULT CURRENT_TIMESTAMP COMMENT '创建时间',
+    INDEX idx_created_at (created_at)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='LLM 结果缓存表';
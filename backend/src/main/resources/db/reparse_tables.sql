@@ -0,0 +1,38 @@
+-- 批量重新解析任务表（记录检查点和计数，服务重启后从检查点继续）
+CREATE TABLE IF NOT EXISTS reparse_job (
+    id BIGINT PRIMARY KEY AUTO_INCREMENT,
+    prompt_version VARCHAR(16) NOT NULL COMMENT '目标提示词版本（提示词 + 模型的哈希）',
+    reextract TINYINT NOT NULL DEFAULT 0 COMMENT '是否从归档原始文件重新提取文本',
+    status VARCHAR(20) NOT NULL DEFAULT 'RUNNING' COMMENT '状态: RUNNING/PAUSED/DONE/FAILED',
+    last_version_id BIGINT NOT NULL DEFAULT 0 COMMENT '检查点：已处理的最大版本ID',
+    succeeded INT NOT NULL DEFAULT 0 COMMENT '成功数',
+    failed INT NOT NULL DEFAULT 0 COMMENT '失败数',
+    error_message VARCHAR(500) DEFAULT NULL COMMENT '任务失败原因',
+    owner VARCHAR(64) DEFAULT NULL COMMENT '持有租约的服务实例ID',
+    heartbeat_at DATETIME DEFAULT NULL COMMENT '租约心跳时间',
+    created_at DATETIME DEFAULT CURRENT_TIMESTAMP COMMENT '创建时间',
+    updated_at DATETIME DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP COMMENT '更新时间',
+    INDEX idx_status (status)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='批量重新解析任务表';
+
+-- 重新解析逐行结果
+CREATE TABLE IF NOT EXISTS reparse_item (
+    job_id BIGINT NOT NULL COMMENT '任务ID',
+    version_id BIGINT NOT NULL COMMENT '简历版本ID',
+    status VARCHAR(20) NOT NULL COMMENT '状态: SUCCESS/FAILED',
+    prompt_version VARCHAR(16) NOT NULL COMMENT '处理时的提示词版本',
+    duration_ms BIGINT DEFAULT NULL COMMENT '处理耗时（毫秒）',
+    error_message VARCHAR(500) DEFAULT NULL COMMENT '失败原因',
+    updated_at DATETIME DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP COMMENT '更新时间',
+    PRIMARY KEY (job_id, version_id),
+    INDEX idx_job_status (job_id, status)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='重新解析逐行结果表';
+
+-- 简历版本记录解析结果对应的提示词版本（schema.sql 已包含；已有数据库执行一次即可）
+-- ALTER TABLE resume_version
+--     ADD COLUMN prompt_version VARCHAR(16) DEFAULT NULL COMMENT '解析/分析所用提示词版本' AFTER analysis_metadata;
+
+-- 任务租约：只有抢到租约的实例执行任务（已有数据库执行一次即可）
+-- ALTER TABLE reparse_job
+--     ADD COLUMN owner VARCHAR(64) DEFAULT NULL COMMENT '持有租约的服务实例ID' AFTER error_message,
+--     ADD COLUMN heartbeat_at DATETIME DEFAULT NULL COMMENT '租约心跳时间' AFTER owner;
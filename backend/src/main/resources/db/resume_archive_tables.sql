@@ -0,0 +1,22 @@
+-- 简历原始文件归档索引（文件内容按 SHA-256 去重，追加写入分段文件）
+CREATE TABLE IF NOT EXISTS resume_file (
+    sha256 CHAR(64) PRIMARY KEY COMMENT '原始文件内容哈希',
+    segment_id INT NOT NULL COMMENT '所在分段文件编号',
+    segment_offset BIGINT NOT NULL COMMENT '记录在分段文件中的起始偏移（含记录头）',
+    stored_size BIGINT NOT NULL COMMENT '存储字节数（压缩后，不含记录头）',
+    original_size BIGINT NOT NULL COMMENT '原始字节数',
+    compression VARCHAR(16) NOT NULL COMMENT '压缩方式: deflate/none',
+    created_at DATETIME DEFAULT CURRENT_TIMESTAMP COMMENT '首次归档时间',
+    last_used_at DATETIME DEFAULT CURRENT_TIMESTAMP COMMENT '最近归档或复用时间（回收宽限期依据）',
+    INDEX idx_segment_id (segment_id)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='简历原始文件归档表';
+
+-- 简历版本引用归档文件（schema.sql 已包含；已有数据库执行一次即可）
+-- ALTER TABLE resume_version
+--     ADD COLUMN file_sha256 CHAR(64) DEFAULT NULL COMMENT '原始文件哈希（resume_file）' AFTER file_size;
+
+-- 回收无引用归档文件（已有数据库执行一次即可）
+-- ALTER TABLE resume_file
+--     ADD COLUMN last_used_at DATETIME DEFAULT CURRENT_TIMESTAMP COMMENT '最近归档或复用时间（回收宽限期依据）',
+--     ADD INDEX idx_segment_id (segment_id);
+-- ALTER TABLE resume_version ADD INDEX idx_file_sha256 (file_sha256);
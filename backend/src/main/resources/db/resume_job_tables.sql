@@ -0,0 +1,26 @@
+-- 简历异步解析任务表
+CREATE TABLE IF NOT EXISTS resume_parse_job (
+    id BIGINT PRIMARY KEY AUTO_INCREMENT,
+    user_id BIGINT NOT NULL COMMENT '用户ID',
+    file_name VARCHAR(255) DEFAULT NULL COMMENT '上传的文件名',
+    file_size BIGINT DEFAULT NULL COMMENT '文件大小（字节）',
+    version_note VARCHAR(500) DEFAULT NULL COMMENT '版本备注',
+    status VARCHAR(20) NOT NULL DEFAULT 'PENDING' COMMENT '状态: PENDING/RUNNING/SUCCESS/FAILED',
+    stage VARCHAR(20) NOT NULL DEFAULT 'QUEUED' COMMENT '阶段: QUEUED/EXTRACT/PARSE/PERSIST/ANALYZE/DONE',
+    progress INT NOT NULL DEFAULT 0 COMMENT '进度（百分比）',
+    version_id BIGINT DEFAULT NULL COMMENT '生成的简历版本ID',
+    error_message VARCHAR(500) DEFAULT NULL COMMENT '失败原因',
+    owner VARCHAR(64) DEFAULT NULL COMMENT '执行任务的服务实例ID',
+    heartbeat_at DATETIME DEFAULT NULL COMMENT '所属实例最近心跳时间',
+    created_at DATETIME DEFAULT CURRENT_TIMESTAMP COMMENT '创建时间',
+    updated_at DATETIME DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP COMMENT '更新时间',
+    INDEX idx_user_id (user_id),
+    INDEX idx_status (status),
+    INDEX idx_owner_status (owner, status)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='简历异步解析任务表';
+
+-- 任务记录所属实例与心跳，重启时只中断本实例或心跳超时的任务（已有数据库执行一次即可）
+-- ALTER TABLE resume_parse_job
+--     ADD COLUMN owner VARCHAR(64) DEFAULT NULL COMMENT '执行任务的服务实例ID' AFTER error_message,
+--     ADD COLUMN heartbeat_at DATETIME DEFAULT NULL COMMENT '所属实例最近心跳时间' AFTER owner,
+--     ADD INDEX idx_owner_status (owner, status);
@@ -0,0 +1,18 @@
+-- 简历版本大文本分表（schema.sql 已包含）
+-- 版本列表只读取 resume_version 的元数据，raw_text / parsed_data / analysis_report 仅在查看详情时按需加载
+CREATE TABLE IF NOT EXISTS resume_version_content (
+    version_id BIGINT NOT NULL PRIMARY KEY COMMENT '版本ID',
+    raw_text LONGTEXT DEFAULT NULL COMMENT '原始文本内容',
+    parsed_data JSON DEFAULT NULL COMMENT '解析后的结构化数据（JSON格式）',
+    analysis_report LONGTEXT DEFAULT NULL COMMENT 'AI分析报告（Markdown格式）',
+    CONSTRAINT fk_content_version FOREIGN KEY (version_id) REFERENCES resume_version (id) ON DELETE CASCADE
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='简历版本内容表';
+
+-- 已有数据库迁移（按顺序执行一次即可；迁移期间应停止写入简历版本）
+-- ALTER TABLE resume_version
+--     ADD COLUMN has_analysis TINYINT(1) NOT NULL DEFAULT 0 COMMENT '是否有分析报告' AFTER file_sha256,
+--     ADD KEY idx_resume_upload_time (resume_id, upload_time);
+-- INSERT INTO resume_version_content (version_id, raw_text, parsed_data, analysis_report)
+--     SELECT id, raw_text, parsed_data, analysis_report FROM resume_version;
+-- UPDATE resume_version SET has_analysis = (analysis_report IS NOT NULL AND analysis_report <> '');
+-- ALTER TABLE resume_version DROP COLUMN raw_text, DROP COLUMN parsed_data, DROP COLUMN analysis_report;
@@ -22,7 +22,8 @@ CREATE TABLE `users` (
     `email` VARCHAR(100) NOT NULL COMMENT '邮箱',
     `phone` VARCHAR(20) DEFAULT NULL COMMENT '手机号',
     `nickname` VARCHAR(50) DEFAULT NULL COMMENT '昵称',
-    `avatar` LONGTEXT DEFAULT NULL COMMENT '头像（支持Base64或URL）',
+    `avatar` LONGTEXT DEFAULT NULL COMMENT '外部头像URL（历史Base64数据迁移后清空）',
+    `avatar_hash` CHAR(64) DEFAULT NULL COMMENT '头像文件内容哈希（SHA-256）',
     `school` VARCHAR(100) DEFAULT NULL COMMENT '学校',
     `major` VARCHAR(100) DEFAULT NULL COMMENT '专业',
     `intro` TEXT DEFAULT NULL COMMENT '个人简介',
@@ -34,7 +35,11 @@ CREATE TABLE `users` (
     PRIMARY KEY (`id`),
     UNIQUE KEY `uk_username` (`username`),
     UNIQUE KEY `uk_email` (`email`),
-    KEY `idx_status` (`status`)
+    KEY `idx_status` (`status`),
+    KEY `idx_created_at_id` (`created_at`, `id`),
+    KEY `idx_nickname` (`nickname`),
+    KEY `idx_phone` (`phone`),
+    FULLTEXT KEY `ft_user_search` (`username`, `nickname`, `email`) WITH PARSER ngram
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='用户表';
 
 -- =====================================================
@@ -212,6 +217,7 @@ CREATE TABLE `career_dict` (
 -- =====================================================
 -- 10. 简历版本表（用于版本管理和分析历史）
 -- =====================================================
+DROP TABLE IF EXISTS `resume_version_content`;
 DROP TABLE IF EXISTS `resume_version`;
 CREATE TABLE `resume_version` (
     `id` BIGINT NOT NULL AUTO_INCREMENT COMMENT '版本ID',
@@ -219,15 +225,29 @@ CREATE TABLE `resume_version` (
     `version_number` INT NOT NULL DEFAULT 1 COMMENT '版本号',
     `file_name` VARCHAR(255) DEFAULT NULL COMMENT '上传的文件名',
     `file_size` BIGINT DEFAULT NULL COMMENT '文件大小（字节）',
-    `raw_text` LONGTEXT DEFAULT NULL COMMENT '原始文本内容',
-    `parsed_data` JSON DEFAULT NULL COMMENT '解析后的结构化数据（JSON格式）',
-    `analysis_report` LONGTEXT DEFAULT NULL COMMENT 'AI分析报告（Markdown格式）',
+    `file_sha256` CHAR(64) DEFAULT NULL COMMENT '原始文件哈希（resume_file）',
+    `has_analysis` TINYINT(1) NOT NULL DEFAULT 0 COMMENT '是否有分析报告',
     `analysis_metadata` JSON DEFAULT NULL COMMENT '分析元数据（用时、评分等）',
+    `prompt_version` VARCHAR(16) DEFAULT NULL COMMENT '解析/分析所用提示词版本',
     `upload_time` DATETIME DEFAULT CURRENT_TIMESTAMP COMMENT '上传时间',
     `version_note` VARCHAR(500) DEFAULT NULL COMMENT '版本备注',
     PRIMARY KEY (`id`),
     KEY `idx_resume_id` (`resume_id`),
+    KEY `idx_resume_upload_time` (`resume_id`, `upload_time`),
     KEY `idx_version_number` (`version_number`),
     KEY `idx_upload_time` (`upload_time`),
+    KEY `idx_file_sha256` (`file_sha256`),
     CONSTRAINT `fk_version_resume` FOREIGN KEY (`resume_id`) REFERENCES `resume` (`id`) ON DELETE CASCADE
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='简历版本表';
+
+-- =====================================================
+-- 11. 简历版本内容表（大文本与版本元数据分表，列表查询不读取）
+-- =====================================================
+CREATE TABLE `resume_version_content` (
+    `version_id` BIGINT NOT NULL COMMENT '版本ID',
+    `raw_text` LONGTEXT DEFAULT NULL COMMENT '原始文本内容',
+    `parsed_data` JSON DEFAULT NULL COMMENT '解析后的结构化数据（JSON格式）',
+    `analysis_report` LONGTEXT DEFAULT NULL COMMENT 'AI分析报告（Markdown格式）',
+    PRIMARY KEY (`version_id`),
+    CONSTRAINT `fk_content_version` FOREIGN KEY (`version_id`) REFERENCES `resume_version` (`id`) ON DELETE CASCADE
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='简历版本内容表';
@@ -0,0 +1,75 @@
+-- 技能别名表（别名规范化后作为主键：小写、去除空白及 - _ .）
+CREATE TABLE IF NOT EXISTS skill_alias (
+    alias_key VARCHAR(100) PRIMARY KEY COMMENT '规范化后的别名',
+    canonical_name VARCHAR(100) NOT NULL COMMENT '标准技能名',
+    category VARCHAR(50) DEFAULT NULL COMMENT '标准技能分类',
+    created_at DATETIME DEFAULT CURRENT_TIMESTAMP COMMENT '创建时间',
+    INDEX idx_canonical_name (canonical_name)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='技能别名表';
+
+INSERT IGNORE INTO skill_alias (alias_key, canonical_name, category) VALUES
+('java', 'Java', '编程语言'),
+('jdk', 'Java', '编程语言'),
+('python', 'Python', '编程语言'),
+('python3', 'Python', '编程语言'),
+('go', 'Go', '编程语言'),
+('golang', 'Go', '编程语言'),
+('c++', 'C++', '编程语言'),
+('cpp', 'C++', '编程语言'),
+('c#', 'C#', '编程语言'),
+('csharp', 'C#', '编程语言'),
+('javascript', 'JavaScript', '编程语言'),
+('js', 'JavaScript', '编程语言'),
+('es6', 'JavaScript', '编程语言'),
+('ecmascript', 'JavaScript', '编程语言'),
+('typescript', 'TypeScript', '编程语言'),
+('ts', 'TypeScript', '编程语言'),
+('springboot', 'Spring Boot', '框架'),
+('springcloud', 'Spring Cloud', '框架'),
+('spring', 'Spring', '框架'),
+('springmvc', 'Spring MVC', '框架'),
+('mybatis', 'MyBatis', '框架'),
+('mybatisplus', 'MyBatis-Plus', '框架'),
+('vue', 'Vue', '前端'),
+('vuejs', 'Vue', '前端'),
+('vue2', 'Vue', '前端'),
+('vue3', 'Vue', '前端'),
+('react', 'React', '前端'),
+('reactjs', 'React', '前端'),
+('nodejs', 'Node.js', '前端'),
+('node', 'Node.js', '前端'),
+('html', 'HTML', '前端'),
+('html5', 'HTML', '前端'),
+('css', 'CSS', '前端'),
+('css3', 'CSS', '前端'),
+('mysql', 'MySQL', '数据库'),
+('postgresql', 'PostgreSQL', '数据库'),
+('postgres', 'PostgreSQL', '数据库'),
+('redis', 'Redis', '数据库'),
+('mongodb', 'MongoDB', '数据库'),
+('mongo', 'MongoDB', '数据库'),
+('oracle', 'Oracle', '数据库'),
+('sql', 'SQL', '数据库'),
+('elasticsearch', 'Elasticsearch', '中间件'),
+('kafka', 'Kafka', '中间件'),
+('rabbitmq', 'RabbitMQ', '中间件'),
+('docker', 'Docker', '运维'),
+('kubernetes', 'Kubernetes', '运维'),
+('k8s', 'Kubernetes', '运维'),
+('linux', 'Linux', '运维'),
+('git', 'Git', '工具'),
+('excel', 'Excel', '工具'),
+('figma', 'Figma', '设计'),
+('photoshop', 'Photoshop', '设计'),
+('ps', 'Photoshop', '设计'),
+('sketch', 'Sketch', '设计'),
+('机器学习', '机器学习', '人工智能'),
+('machinelearning', '机器学习', '人工智能'),
+('深度学习', '深度学习', '人工智能'),
+('deeplearning', '深度学习', '人工智能'),
+('tensorflow', 'TensorFlow', '人工智能'),
+('pytorch', 'PyTorch', '人工智能'),
+('数据分析', '数据分析', '数据'),
+('数据可视化', '数据可视化', '数据'),
+('项目管理', '项目管理', '管理'),
+('需求分析', '需求分析', '产品');
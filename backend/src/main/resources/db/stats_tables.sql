@@ -0,0 +1,38 @@
+-- 统计计数器表（全局累计值）
+CREATE TABLE IF NOT EXISTS stats_counter (
+    name VARCHAR(64) PRIMARY KEY COMMENT '计数器名称',
+    value BIGINT NOT NULL DEFAULT 0 COMMENT '当前值',
+    updated_at DATETIME DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP COMMENT '更新时间'
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='统计计数器表';
+
+-- 按天汇总表
+CREATE TABLE IF NOT EXISTS stats_daily (
+    stat_date DATE NOT NULL COMMENT '统计日期',
+    metric VARCHAR(32) NOT NULL COMMENT '指标: new_users/new_resumes/new_versions/new_sessions',
+    value BIGINT NOT NULL DEFAULT 0 COMMENT '当日累计值',
+    PRIMARY KEY (stat_date, metric)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='按天汇总统计表';
+
+-- 按小时汇总表
+CREATE TABLE IF NOT EXISTS stats_hourly (
+    stat_hour DATETIME NOT NULL COMMENT '统计小时（整点）',
+    metric VARCHAR(32) NOT NULL COMMENT '指标: chat_messages',
+    value BIGINT NOT NULL DEFAULT 0 COMMENT '该小时累计值',
+    PRIMARY KEY (stat_hour, metric)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='按小时汇总统计表';
+
+-- 分布汇总表（热门技能、专业分布）
+CREATE TABLE IF NOT EXISTS stats_breakdown (
+    dimension VARCHAR(16) NOT NULL COMMENT '维度: skill/major',
+    item VARCHAR(100) NOT NULL COMMENT '技能名或专业名',
+    value BIGINT NOT NULL DEFAULT 0 COMMENT '当前计数',
+    PRIMARY KEY (dimension, item),
+    INDEX idx_dimension_value (dimension, value)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='分布汇总统计表';
+
+-- 活跃用户表（每个用户最近一次对话时间）
+CREATE TABLE IF NOT EXISTS stats_active_user (
+    user_id BIGINT PRIMARY KEY COMMENT '用户ID',
+    last_active_at DATETIME NOT NULL COMMENT '最近活跃时间',
+    INDEX idx_last_active_at (last_active_at)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='活跃用户统计表';
@@ -0,0 +1,15 @@
+-- 用户表增量变更（分页/搜索索引、头像哈希列）
+-- schema.sql 已包含以下变更；已有数据库执行一次即可
+
+ALTER TABLE users
+    ADD INDEX idx_created_at_id (created_at, id),
+    ADD INDEX idx_nickname (nickname),
+    ADD INDEX idx_phone (phone);
+
+-- 全文索引单独建立（ngram 分词，支持中文昵称）
+ALTER TABLE users
+    ADD FULLTEXT INDEX ft_user_search (username, nickname, email) WITH PARSER ngram;
+
+-- 头像改为文件存储，表中只保存内容哈希
+ALTER TABLE users
+    ADD COLUMN avatar_hash CHAR(64) DEFAULT NULL COMMENT '头像文件内容哈希（SHA-256）' AFTER avatar;
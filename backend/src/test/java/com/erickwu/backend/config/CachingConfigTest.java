@@ -0,0 +1,80 @@
+package com.erickwu.backend.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class CachingConfigTest {
+
+    private final ConcurrentMapCache target = new ConcurrentMapCache("test");
+    private final Cache cache = new CachingConfig.AfterCommitEvictingCache(target);
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void putOutsideTransactionIsImmediate() {
+        cache.put(1, "a");
+
+        assertEquals("a", target.get(1).get());
+    }
+
+    @Test
+    void loadInsideTransactionIsCachedOnlyAfterCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+        assertEquals("uncommitted", cache.get(1, () -> "uncommitted"));
+        assertNull(target.get(1));
+
+        complete(true);
+
+        assertEquals("uncommitted", target.get(1).get());
+    }
+
+    @Test
+    void rolledBackPutIsDiscarded() {
+        TransactionSynchronizationManager.initSynchronization();
+        cache.put(1, "a");
+
+        complete(false);
+
+        assertNull(target.get(1));
+    }
+
+    @Test
+    void evictInsideTransactionRunsAgainAfterCompletion() {
+        target.put(1, "old");
+        TransactionSynchronizationManager.initSynchronization();
+        cache.evict(1);
+        assertNull(target.get(1));
+
+        // 提交前并发读取把旧值写回
+        target.put(1, "old");
+        complete(true);
+
+        assertNull(target.get(1));
+    }
+
+    private static void complete(boolean committed) {
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        for (TransactionSynchronization synchronization : synchronizations) {
+            if (committed) {
+                synchronization.afterCommit();
+            }
+            synchronization.afterCompletion(committed
+                    ? TransactionSynchronization.STATUS_COMMITTED : TransactionSynchronization.STATUS_ROLLED_BACK);
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package com.erickwu.backend.service;
+
+import com.erickwu.backend.config.AvatarConfig;
+import com.erickwu.backend.config.BusinessException;
+import com.erickwu.backend.entity.User;
+import com.erickwu.backend.metrics.MetricsRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AvatarStoreTest {
+
+    @TempDir
+    Path tempDir;
+
+    private final AvatarConfig config = new AvatarConfig();
+    private final MetricsRegistry metrics = new MetricsRegistry();
+    private AvatarStore store;
+
+    @BeforeEach
+    void setUp() {
+        config.setStorageDir(tempDir.toString());
+        store = new AvatarStore(config, metrics);
+    }
+
+    @Test
+    void variantsAreShardedByHashAndCroppedToSquare() throws IOException {
+        String hash = store.store(image(400, 300, BufferedImage.TYPE_INT_RGB));
+
+        assertTrue(AvatarStore.isValidHash(hash));
+        Path large = store.resolve(hash, 100);
+        Path small = store.resolve(hash, 64);
+        assertEquals(tempDir.resolve(hash.substring(0, 2)).resolve(hash.substring(2, 4))
+                .resolve(hash + "-256.jpg"), large);
+        assertEquals(hash + "-64.jpg", small.getFileName().toString());
+        assertEquals(256, ImageIO.read(large.toFile()).getWidth());
+        assertEquals(256, ImageIO.read(large.toFile()).getHeight());
+        assertEquals(large, store.resolve(hash, 1024));
+    }
+
+    @Test
+    void sameContentIsStoredOnce() throws IOException {
+        byte[] data = image(100, 100, BufferedImage.TYPE_INT_RGB);
+
+        String first = store.store(data);
+        String second = store.store(data);
+
+        assertEquals(first, second);
+        assertEquals(1, metrics.count("avatar.store"));
+        assertEquals(1, metrics.count("avatar.store.dedup"));
+        // 小图不放大
+        assertEquals(100, ImageIO.read(store.resolve(first, 256).toFile()).getWidth());
+    }
+
+    @Test
+    void transparentImagesAreKeptAsPng() throws IOException {
+        String hash = store.store(image(80, 80, BufferedImage.TYPE_INT_ARGB));
+
+        assertEquals(hash + "-256.png", store.resolve(hash, 256).getFileName().toString());
+    }
+
+    @Test
+    void invalidUploadsAreRejected() throws IOException {
+        config.setMaxUploadBytes(10);
+        assertThrows(BusinessException.class, () -> store.store(new byte[11]));
+
+        config.setMaxUploadBytes(1024 * 1024);
+        assertThrows(BusinessException.class, () -> store.store("not an image".getBytes()));
+
+        config.setMaxSourcePixels(100);
+        byte[] data = image(20, 20, BufferedImage.TYPE_INT_RGB);
+        assertThrows(BusinessException.class, () -> store.store(data));
+        assertThrows(BusinessException.class, () -> store.storeInline("data:image/png;base64,%%%"));
+    }
+
+    @Test
+    void assignStoresInlineImagesAndKeepsUrls() throws IOException {
+        User user = new User();
+        String dataUri = "data:image/png;base64,"
+                + Base64.getEncoder().encodeToString(image(50, 50, BufferedImage.TYPE_INT_RGB));
+
+        store.assign(user, dataUri);
+        String hash = user.getAvatarHash();
+        assertTrue(AvatarStore.isValidHash(hash));
+        assertNull(user.getAvatar());
+
+        store.assign(user, AvatarStore.url(hash));
+        assertEquals(hash, user.getAvatarHash());
+
+        store.assign(user, "https://example.com/a.png");
+        assertEquals("https://example.com/a.png", AvatarStore.displayUrl(user));
+        assertNull(user.getAvatarHash());
+
+        store.assign(user, "");
+        assertNull(AvatarStore.displayUrl(user));
+    }
+
+    @Test
+    void resolveIgnoresInvalidHashes() {
+        assertNull(store.resolve("../../etc/passwd", 64));
+        assertNull(store.resolve("a".repeat(64), 64));
+    }
+
+    private static byte[] image(int width, int height, int type) throws IOException {
+        BufferedImage image = new BufferedImage(width, height, type);
+        for (int x = 0; x < width; x++) {
+            for (int y = 0; y < height; y++) {
+                image.setRGB(x, y, type == BufferedImage.TYPE_INT_ARGB ? (x * 3) << 24 | 0xff0000 : x * y);
+            }
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(image, "png", out);
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,113 @@
+package com.erickwu.backend.service;
+
+import com.erickwu.backend.config.SearchConfig;
+import com.erickwu.backend.dto.CandidateSearchDTO;
+import com.erickwu.backend.entity.Resume;
+import com.erickwu.backend.entity.Skill;
+import com.erickwu.backend.mapper.EducationMapper;
+import com.erickwu.backend.mapper.ResumeMapper;
+import com.erickwu.backend.mapper.ResumeVersionMapper;
+import com.erickwu.backend.mapper.SkillMapper;
+import com.erickwu.backend.mapper.WorkExperienceMapper;
+import com.erickwu.backend.metrics.MetricsRegistry;
+import com.erickwu.backend.model.PageResult;
+import com.erickwu.backend.vo.CandidateSearchVO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class CandidateSearchServiceTest {
+
+    private final ResumeMapper resumeMapper = mock(ResumeMapper.class);
+    private final SkillMapper skillMapper = mock(SkillMapper.class);
+    private CandidateSearchService searchService;
+
+    @BeforeEach
+    void setUp() {
+        when(resumeMapper.findPageAfter(eq(0L), anyInt())).thenReturn(List.of(
+                resume(1L, "后端工程师", "熟悉 Kubernetes，负责 Kubernetes 集群运维"),
+                resume(2L, "前端工程师", "熟悉 React 和 TypeScript"),
+                resume(3L, "全栈工程师", "做过很多项目，涉及 Java、Go、Python、React、Vue、MySQL、Redis、"
+                        + "Kafka、Elasticsearch 以及 Kubernetes 部署，负责需求分析、方案设计和上线维护")));
+        when(skillMapper.findByResumeIds(anyList())).thenReturn(List.of(
+                skill(2L, "React", 4), skill(3L, "React", 2)));
+        searchService = new CandidateSearchService(new SearchConfig(), resumeMapper, skillMapper,
+                mock(EducationMapper.class), mock(WorkExperienceMapper.class), mock(ResumeVersionMapper.class),
+                new MetricsRegistry(), mock(ThreadPoolExecutor.class));
+        searchService.rebuild();
+    }
+
+    @Test
+    void rebuildMarksIndexReady() {
+        assertTrue(searchService.isReady());
+    }
+
+    @Test
+    void keywordMatchesOnlyDocumentsContainingTerm() {
+        assertEquals(List.of(1L, 3L), ids(search("kubernetes", null, null)));
+    }
+
+    @Test
+    void higherTermFrequencyInShorterDocumentRanksFirst() {
+        List<CandidateSearchVO> list = search("Kubernetes", null, null).getList();
+        assertEquals(1L, list.get(0).getResumeId());
+        assertTrue(list.get(0).getScore() > list.get(1).getScore());
+    }
+
+    @Test
+    void chineseKeywordMatchesByBigram() {
+        assertEquals(3, search("工程师", null, null).getTotal());
+        assertEquals(List.of(2L), ids(search("前端", null, null)));
+    }
+
+    @Test
+    void skillFilterAppliesMinimumLevel() {
+        assertEquals(List.of(2L, 3L), ids(search("react", "React", null)));
+        assertEquals(List.of(2L), ids(search("react", "React", 3)));
+    }
+
+    @Test
+    void emptyKeywordListsNewestFirst() {
+        assertEquals(List.of(3L, 2L, 1L), ids(search(null, null, null)));
+    }
+
+    private PageResult<CandidateSearchVO> search(String keyword, String skill, Integer minSkillLevel) {
+        CandidateSearchDTO query = new CandidateSearchDTO();
+        query.setKeyword(keyword);
+        query.setSkill(skill);
+        query.setMinSkillLevel(minSkillLevel);
+        return searchService.search(query);
+    }
+
+    private static List<Long> ids(PageResult<CandidateSearchVO> page) {
+        return page.getList().stream().map(CandidateSearchVO::getResumeId).collect(Collectors.toList());
+    }
+
+    private static Resume resume(Long id, String targetPosition, String introduction) {
+        Resume resume = new Resume();
+        resume.setId(id);
+        resume.setUserId(id * 100);
+        resume.setTargetPosition(targetPosition);
+        resume.setSelfIntroduction(introduction);
+        return resume;
+    }
+
+    private static Skill skill(Long resumeId, String name, Integer level) {
+        Skill skill = new Skill();
+        skill.setResumeId(resumeId);
+        skill.setName(name);
+        skill.setLevel(level);
+        return skill;
+    }
+}
@@ -0,0 +1,133 @@
+package com.erickwu.backend.service;
+
+import com.erickwu.backend.entity.CareerDict;
+import com.erickwu.backend.entity.Resume;
+import com.erickwu.backend.entity.Skill;
+import com.erickwu.backend.mapper.CareerDictMapper;
+import com.erickwu.backend.mapper.ResumeMapper;
+import com.erickwu.backend.mapper.SkillMapper;
+import com.erickwu.backend.metrics.MetricsRegistry;
+import com.erickwu.backend.vo.CareerMatchVO;
+import com.erickwu.backend.vo.ResumeCareerMatchVO;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class CareerMatchServiceTest {
+
+    private final CareerDictMapper careerDictMapper = mock(CareerDictMapper.class);
+    private final ResumeMapper resumeMapper = mock(ResumeMapper.class);
+    private final SkillMapper skillMapper = mock(SkillMapper.class);
+    private final CareerMatchService service = new CareerMatchService(careerDictMapper, resumeMapper, skillMapper,
+            new ObjectMapper(), new MetricsRegistry());
+
+    @BeforeEach
+    void setUp() {
+        when(careerDictMapper.findSignature()).thenReturn("2:2:100");
+        when(careerDictMapper.findAllForMatching()).thenReturn(List.of(
+                career(1L, "后端工程师", "[\"Java\", \"Spring Boot\", \"MySQL\"]"),
+                career(2L, "前端工程师", "[\"Vue/React\", \"CSS\"]")));
+        service.reloadIfChanged();
+    }
+
+    @Test
+    void skillNamesAreNormalized() {
+        assertEquals("springboot", CareerMatchService.normalizeSkill(" Spring-Boot "));
+        assertEquals("nodejs", CareerMatchService.normalizeSkill("Node.js"));
+        assertEquals("", CareerMatchService.normalizeSkill(null));
+    }
+
+    @Test
+    void careersAreRankedWithSkillGaps() {
+        List<CareerMatchVO> matches = service.match(List.of(
+                skill(1L, "java", 5, 5),
+                skill(1L, "spring boot", 4, 2),
+                skill(1L, "React", 2, 0)), 5);
+
+        assertEquals(2, matches.size());
+        CareerMatchVO backend = matches.get(0);
+        assertEquals("后端工程师", backend.getName());
+        assertEquals(57, backend.getScore());
+        assertEquals(List.of("Java", "Spring Boot"), backend.getMatchedSkills());
+        assertEquals(List.of("MySQL"), backend.getMissingSkills());
+
+        CareerMatchVO frontend = matches.get(1);
+        assertEquals(16, frontend.getScore());
+        assertEquals(List.of("Vue/React"), frontend.getWeakSkills());
+        assertEquals(List.of("CSS"), frontend.getMissingSkills());
+    }
+
+    @Test
+    void dictionaryReloadsOnlyWhenSignatureChanges() {
+        service.reloadIfChanged();
+        verify(careerDictMapper, times(1)).findAllForMatching();
+
+        when(careerDictMapper.findSignature()).thenReturn("3:3:200");
+        when(careerDictMapper.findAllForMatching()).thenReturn(List.of(career(3L, "数据工程师", "[\"Python\"]")));
+        service.reloadIfChanged();
+
+        List<CareerMatchVO> matches = service.match(List.of(skill(1L, "python", 5, 5)), 5);
+        assertEquals(1, matches.size());
+        assertEquals("数据工程师", matches.get(0).getName());
+        assertEquals(100, matches.get(0).getScore());
+    }
+
+    @Test
+    void invalidRequiredSkillsDoNotBreakReload() {
+        when(careerDictMapper.findAllForMatching()).thenReturn(List.of(
+                career(1L, "后端工程师", "not json"),
+                career(2L, "前端工程师", "[\"CSS\"]")));
+
+        assertEquals(2, service.reload());
+
+        List<CareerMatchVO> matches = service.match(List.of(skill(1L, "css", 3, 1)), 5);
+        assertEquals("前端工程师", matches.get(0).getName());
+        assertEquals(0, matches.get(1).getScore());
+    }
+
+    @Test
+    void batchViewLoadsSkillsOncePerPage() {
+        when(resumeMapper.findPageAfter(0L, 2)).thenReturn(List.of(resume(10L), resume(11L)));
+        when(skillMapper.findByResumeIds(anyList())).thenReturn(List.of(skill(10L, "CSS", 5, 5)));
+
+        List<ResumeCareerMatchVO> page = service.matchAll(null, 2, 1);
+
+        assertEquals(2, page.size());
+        assertEquals("前端工程师", page.get(0).getMatches().get(0).getName());
+        assertEquals(0, page.get(1).getMatches().get(0).getScore());
+        verify(skillMapper, times(1)).findByResumeIds(List.of(10L, 11L));
+    }
+
+    private static CareerDict career(Long id, String name, String requiredSkills) {
+        CareerDict career = new CareerDict();
+        career.setId(id);
+        career.setName(name);
+        career.setRequiredSkills(requiredSkills);
+        return career;
+    }
+
+    private static Skill skill(Long resumeId, String name, Integer level, Integer years) {
+        Skill skill = new Skill();
+        skill.setResumeId(resumeId);
+        skill.setName(name);
+        skill.setLevel(level);
+        skill.setYears(years);
+        return skill;
+    }
+
+    private static Resume resume(Long id) {
+        Resume resume = new Resume();
+        resume.setId(id);
+        resume.setUserId(id);
+        return resume;
+    }
+}
@@ -0,0 +1,121 @@
+package com.erickwu.backend.service;
+
+import com.erickwu.backend.config.ChatContextConfig;
+import com.erickwu.backend.config.LlmConfig;
+import com.erickwu.backend.entity.ChatMessage;
+import com.erickwu.backend.entity.ChatSession;
+import com.erickwu.backend.mapper.ChatMessageMapper;
+import com.erickwu.backend.mapper.ChatSessionMapper;
+import com.erickwu.backend.metrics.MetricsRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.ThreadPoolExecutor;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ChatContextManagerTest {
+
+    private final ChatSessionMapper sessionMapper = mock(ChatSessionMapper.class);
+    private final ChatMessageMapper messageMapper = mock(ChatMessageMapper.class);
+    private final QwenLlmService llmService = mock(QwenLlmService.class);
+    private final ThreadPoolExecutor summaryExecutor = mock(ThreadPoolExecutor.class);
+    private final ChatContextConfig config = new ChatContextConfig();
+    private ChatContextManager contextManager;
+
+    @BeforeEach
+    void setUp() {
+        config.setMaxTokens(30);
+        config.setMaxMessages(5);
+        config.setSummaryBatchSize(10);
+        contextManager = new ChatContextManager(sessionMapper, messageMapper, llmService, new LlmConfig(), config,
+                new MetricsRegistry(), summaryExecutor);
+        doAnswer(invocation -> {
+            ((Runnable) invocation.getArgument(0)).run();
+            return null;
+        }).when(summaryExecutor).execute(any());
+    }
+
+    @Test
+    void estimateCountsCjkPerCharacterAndOtherPerFourCharacters() {
+        assertEquals(0, ChatContextManager.estimateTokens(null));
+        assertEquals(2, ChatContextManager.estimateTokens("你好"));
+        assertEquals(2, ChatContextManager.estimateTokens("hello!"));
+        assertEquals(3, ChatContextManager.estimateTokens("简历 ok"));
+    }
+
+    @Test
+    void windowKeepsNewestMessagesWithinBudgetInChronologicalOrder() {
+        when(sessionMapper.findById(1L)).thenReturn(session("用户是后端工程师", 2L));
+        when(messageMapper.findTail(1L, 2L, 5)).thenReturn(List.of(
+                message(6L, "user", "最新问题", 10),
+                message(5L, "assistant", "上一条回答", 10),
+                message(4L, "user", "更早的问题", 10)));
+
+        ChatContextManager.ChatContext context = contextManager.build(1L);
+
+        // 摘要 8 个 token，剩余预算只容纳两条消息
+        assertEquals("此前对话摘要: 用户是后端工程师\n\n助手: 上一条回答\n\n用户: 最新问题\n\n", context.prompt());
+        assertEquals(5L, context.windowStartId());
+        assertTrue(context.overflow());
+        assertFalse(context.firstMessage());
+    }
+
+    @Test
+    void newestMessageIsKeptEvenWhenOverBudget() {
+        when(sessionMapper.findById(1L)).thenReturn(session(null, null));
+        when(messageMapper.findTail(1L, 0L, 5)).thenReturn(List.of(message(1L, "user", "长问题", 100)));
+
+        ChatContextManager.ChatContext context = contextManager.build(1L);
+
+        assertEquals("用户: 长问题\n\n", context.prompt());
+        assertTrue(context.firstMessage());
+        assertFalse(context.overflow());
+    }
+
+    @Test
+    void overflowMergesOlderMessagesIntoSummary() {
+        when(sessionMapper.findById(1L)).thenReturn(session("旧摘要", 2L));
+        when(messageMapper.findRange(1L, 2L, 5L, 10)).thenReturn(List.of(
+                message(3L, "user", "问题", 5), message(4L, "assistant", "回答", 5)));
+        when(llmService.chat(anyString(), anyString())).thenReturn(" 新摘要 ");
+
+        contextManager.summarizeIfNeeded(1L, new ChatContextManager.ChatContext("", false, 5L, true));
+
+        verify(sessionMapper).updateSummary(1L, "新摘要", 4L);
+    }
+
+    @Test
+    void noOverflowSkipsSummary() {
+        contextManager.summarizeIfNeeded(1L, new ChatContextManager.ChatContext("", false, 5L, false));
+
+        verify(summaryExecutor, never()).execute(any());
+    }
+
+    private static ChatSession session(String summary, Long summaryUntilId) {
+        ChatSession session = new ChatSession();
+        session.setId(1L);
+        session.setSummary(summary);
+        session.setSummaryUntilId(summaryUntilId);
+        return session;
+    }
+
+    private static ChatMessage message(Long id, String role, String content, int tokens) {
+        ChatMessage message = new ChatMessage();
+        message.setId(id);
+        message.setRole(role);
+        message.setContent(content);
+        message.setTokenCount(tokens);
+        return message;
+    }
+}
@@ -0,0 +1,106 @@
+package com.erickwu.backend.service;
+
+import com.erickwu.backend.config.DashboardConfig;
+import com.erickwu.backend.metrics.MetricsRegistry;
+import com.erickwu.backend.vo.DashboardOverviewVO;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class DashboardLoaderTest {
+
+    private final DashboardService dashboardService = mock(DashboardService.class);
+    private final DashboardOverviewVO overview = new DashboardOverviewVO();
+    private final CountDownLatch release = new CountDownLatch(1);
+    private ThreadPoolExecutor executor;
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        executor.shutdownNow();
+    }
+
+    @Test
+    void allSectionsLoadConcurrently() {
+        DashboardLoader loader = loader(5, 5, 1000);
+        when(dashboardService.getOverview(1L)).thenReturn(overview);
+        when(dashboardService.getSkillDistribution(1L)).thenReturn(List.of());
+
+        Map<String, Object> data = loader.loadAll(1L, "week");
+
+        assertSame(overview, data.get("overview"));
+        assertEquals(List.of(), data.get("skillDistribution"));
+        assertEquals(Map.of("overview", "OK", "trend", "OK", "skillDistribution", "OK", "skillLevel", "OK",
+                "activities", "OK"), data.get("sectionStatus"));
+    }
+
+    @Test
+    void slowSectionTimesOutWithinSharedBudget() {
+        DashboardLoader loader = loader(5, 5, 200);
+        when(dashboardService.getOverview(1L)).thenReturn(overview);
+        when(dashboardService.getLearningTrend(1L, "week")).thenAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);
+            return List.of();
+        });
+
+        long startTime = System.currentTimeMillis();
+        Map<String, Object> data = loader.loadAll(1L, "week");
+
+        assertTrue(System.currentTimeMillis() - startTime < 2000);
+        assertNull(data.get("trend"));
+        assertEquals(DashboardLoader.STATUS_TIMEOUT, status(data).get("trend"));
+        assertEquals(DashboardLoader.STATUS_OK, status(data).get("overview"));
+    }
+
+    @Test
+    void failingSectionIsMarkedErrorOthersStillReturn() {
+        DashboardLoader loader = loader(5, 5, 1000);
+        when(dashboardService.getOverview(1L)).thenThrow(new IllegalStateException("db down"));
+        when(dashboardService.getSkillDistribution(1L)).thenReturn(List.of());
+
+        Map<String, Object> data = loader.loadAll(1L, "week");
+
+        assertNull(data.get("overview"));
+        assertEquals(DashboardLoader.STATUS_ERROR, status(data).get("overview"));
+        assertEquals(DashboardLoader.STATUS_OK, status(data).get("skillDistribution"));
+    }
+
+    @Test
+    void rejectedSectionRunsOnCallerThread() {
+        DashboardLoader loader = loader(1, 1, 1000);
+        when(dashboardService.getOverview(1L)).thenReturn(overview);
+        // 关闭后的线程池拒绝所有任务
+        executor.shutdown();
+
+        Map<String, Object> data = loader.loadAll(1L, "week");
+
+        assertSame(overview, data.get("overview"));
+        assertTrue(status(data).values().stream().allMatch(DashboardLoader.STATUS_OK::equals));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, String> status(Map<String, Object> data) {
+        return (Map<String, String>) data.get("sectionStatus");
+    }
+
+    private DashboardLoader loader(int threads, int queueCapacity, long timeoutMillis) {
+        DashboardConfig config = new DashboardConfig();
+        config.setSectionTimeoutMillis(timeoutMillis);
+        executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), new ThreadPoolExecutor.AbortPolicy());
+        return new DashboardLoader(dashboardService, config, new MetricsRegistry(), executor);
+    }
+}
@@ -0,0 +1,126 @@
+package com.erickwu.backend.service;
+
+import com.erickwu.backend.config.DashboardConfig;
+import com.erickwu.backend.metrics.MetricsRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DashboardSnapshotCacheTest {
+
+    private DashboardSnapshotCache cache;
+
+    @BeforeEach
+    void setUp() {
+        DashboardConfig config = new DashboardConfig();
+        config.setCacheMaxEntries(2);
+        config.setCacheTtlMinutes(30);
+        cache = new DashboardSnapshotCache(config, new MetricsRegistry());
+    }
+
+    @Test
+    void concurrentMissesForSameUserBuildOnce() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger builds = new AtomicInteger();
+        Function<Long, DashboardSnapshotCache.Snapshot> loader = userId -> {
+            builds.incrementAndGet();
+            started.countDown();
+            await(release);
+            return snapshot(10L);
+        };
+
+        CompletableFuture<DashboardSnapshotCache.Snapshot> first = CompletableFuture.supplyAsync(() -> cache.get(1L, loader));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        CompletableFuture<DashboardSnapshotCache.Snapshot> second = CompletableFuture.supplyAsync(() -> cache.get(1L, loader));
+        Thread.sleep(50);
+        release.countDown();
+
+        assertSame(first.get(5, TimeUnit.SECONDS), second.get(5, TimeUnit.SECONDS));
+        assertEquals(1, builds.get());
+    }
+
+    @Test
+    void evictingAnotherUserDuringBuildStillCaches() {
+        cache.get(1L, userId -> {
+            cache.evict(2L);
+            cache.evictByResumeId(99L);
+            return snapshot(10L);
+        });
+
+        assertEquals(1, loadCount(1L));
+    }
+
+    @Test
+    void evictingSameUserDuringBuildSkipsCaching() {
+        cache.get(1L, userId -> {
+            cache.evict(1L);
+            return snapshot(10L);
+        });
+
+        assertEquals(2, loadCount(1L));
+    }
+
+    @Test
+    void evictingUnownedResumeDuringBuildSkipsOnlyMatchingSnapshot() {
+        cache.get(1L, userId -> {
+            cache.evictByResumeId(10L);
+            return snapshot(10L);
+        });
+
+        assertEquals(2, loadCount(1L));
+    }
+
+    @Test
+    void evictByResumeIdRemovesOwnersSnapshot() {
+        cache.get(1L, userId -> snapshot(10L));
+        cache.evictByResumeId(10L);
+
+        assertEquals(2, loadCount(1L));
+    }
+
+    @Test
+    void leastRecentlyUsedSnapshotIsEvictedAtCapacity() {
+        cache.get(1L, userId -> snapshot(10L));
+        cache.get(2L, userId -> snapshot(20L));
+        cache.get(1L, userId -> snapshot(10L));
+        cache.get(3L, userId -> snapshot(30L));
+
+        assertEquals(1, loadCount(1L));
+        assertEquals(2, loadCount(2L));
+    }
+
+    /**
+     * 再次读取并返回累计构建次数（命中时为 1）
+     */
+    private int loadCount(Long userId) {
+        AtomicInteger loads = new AtomicInteger(1);
+        cache.get(userId, id -> {
+            loads.incrementAndGet();
+            return snapshot(userId * 10);
+        });
+        return loads.get();
+    }
+
+    private static DashboardSnapshotCache.Snapshot snapshot(Long resumeId) {
+        return new DashboardSnapshotCache.Snapshot(resumeId, null, List.of(), List.of(), List.of());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package com.erickwu.backend.service;
+
+import com.erickwu.backend.config.BusinessException;
+import com.erickwu.backend.config.ExtractConfig;
+import com.erickwu.backend.metrics.MetricsRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.InputStreamSource;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DocumentTextExtractorTest {
+
+    private final ExtractConfig config = new ExtractConfig();
+    private final MetricsRegistry metrics = new MetricsRegistry();
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final ThreadPoolExecutor executor =
+            new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(1));
+    private final DocumentTextExtractor extractor = new DocumentTextExtractor(config, metrics, executor);
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        executor.shutdownNow();
+    }
+
+    @Test
+    void plainTextIsReadAndMetricsRecorded() throws IOException {
+        byte[] bytes = "张三 Java 工程师".getBytes(StandardCharsets.UTF_8);
+
+        String text = extractor.extract("resume.txt", bytes.length, new ByteArrayResource(bytes));
+
+        assertEquals("张三 Java 工程师", text);
+        assertEquals(bytes.length, metrics.count("extract.txt.bytes"));
+        assertEquals(text.length(), metrics.count("extract.txt.chars"));
+    }
+
+    @Test
+    void plainTextIsTruncatedAtMaxChars() throws IOException {
+        config.setMaxChars(10);
+        byte[] bytes = "abcdefghijklmnopqrstuvwxyz".getBytes(StandardCharsets.UTF_8);
+
+        String text = extractor.extract("resume.txt", bytes.length, new ByteArrayResource(bytes));
+
+        assertEquals("abcdefghij", text);
+        assertEquals(1, metrics.count("extract.truncated"));
+    }
+
+    @Test
+    void documentIsParsedWithTika() throws IOException {
+        byte[] bytes = "<html><body><p>李四 简历</p></body></html>".getBytes(StandardCharsets.UTF_8);
+
+        String text = extractor.extract("resume.html", bytes.length, new ByteArrayResource(bytes));
+
+        assertTrue(text.contains("李四 简历"));
+        assertEquals(bytes.length, metrics.count("extract.html.bytes"));
+    }
+
+    @Test
+    void slowDocumentTimesOut() {
+        config.setTimeoutMillis(200);
+        InputStreamSource slow = () -> {
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            throw new IOException("closed");
+        };
+
+        long startTime = System.currentTimeMillis();
+        IOException e = assertThrows(IOException.class, () -> extractor.extract("resume.txt", 1, slow));
+
+        assertTrue(e.getMessage().contains("超时"));
+        assertTrue(System.currentTimeMillis() - startTime < 2000);
+        assertEquals(1, metrics.count("extract.txt.timeout"));
+    }
+
+    @Test
+    void fullPoolRejectsWithBusinessException() {
+        executor.shutdown();
+
+        assertThrows(BusinessException.class,
+                () -> extractor.extract("resume.txt", 1, new ByteArrayResource(new byte[]{'a'})));
+        assertEquals(1, metrics.count("extract.rejected"));
+    }
+}
@@ -0,0 +1,126 @@
+package com.erickwu.backend.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HnswIndexTest {
+
+    private static final int DIMENSION = 32;
+    private static final int COUNT = 500;
+
+    private final List<float[]> vectors = new ArrayList<>();
+    private HnswIndex index;
+
+    @BeforeEach
+    void setUp() {
+        Random random = new Random(42);
+        index = new HnswIndex(DIMENSION, 16, 100);
+        for (int i = 0; i < COUNT; i++) {
+            float[] vector = new float[DIMENSION];
+            for (int d = 0; d < DIMENSION; d++) {
+                vector[d] = (float) random.nextGaussian();
+            }
+            vectors.add(LocalTextEmbedder.normalize(vector));
+            index.upsert(i, vectors.get(i));
+        }
+    }
+
+    @Test
+    void searchFindsQueryItself() {
+        for (int i = 0; i < COUNT; i += 25) {
+            List<HnswIndex.Hit> hits = index.search(vectors.get(i), 1, 64);
+            assertEquals(i, hits.get(0).key());
+        }
+    }
+
+    @Test
+    void recallAgainstBruteForce() {
+        int k = 10;
+        int found = 0;
+        int queries = 0;
+        for (int q = 0; q < COUNT; q += 10) {
+            Set<Long> expected = bruteForce(vectors.get(q), k);
+            for (HnswIndex.Hit hit : index.search(vectors.get(q), k, 64)) {
+                if (expected.contains(hit.key())) {
+                    found++;
+                }
+            }
+            queries++;
+        }
+        assertTrue(found >= queries * k * 0.85, "recall too low: " + found + "/" + queries * k);
+    }
+
+    @Test
+    void removedKeysAreExcludedFromResults() {
+        assertTrue(index.remove(7));
+        assertFalse(index.remove(7));
+        assertFalse(index.contains(7));
+        assertNull(index.get(7));
+        assertEquals(COUNT - 1, index.size());
+        assertEquals(1, index.deletedCount());
+        for (HnswIndex.Hit hit : index.search(vectors.get(7), 20, 64)) {
+            assertTrue(hit.key() != 7);
+        }
+    }
+
+    @Test
+    void upsertReplacesPreviousVector() {
+        index.upsert(3, vectors.get(4));
+        assertEquals(COUNT, index.size());
+        assertEquals(1, index.deletedCount());
+        float[] stored = index.get(3);
+        assertTrue(LocalTextEmbedderTest.dot(stored, vectors.get(4)) > 0.99);
+    }
+
+    @Test
+    void compactedDropsDeletedNodes() {
+        for (int i = 0; i < COUNT; i += 2) {
+            index.remove(i);
+        }
+        HnswIndex compacted = index.compacted();
+        assertEquals(COUNT / 2, compacted.size());
+        assertEquals(0, compacted.deletedCount());
+        assertFalse(compacted.contains(0));
+        for (int i = 1; i < COUNT; i += 50) {
+            assertTrue(compacted.contains(i));
+            assertEquals(i, compacted.search(vectors.get(i), 1, 64).get(0).key());
+        }
+    }
+
+    @Test
+    void rejectsWrongDimension() {
+        assertThrows(IllegalArgumentException.class, () -> index.upsert(1, new float[DIMENSION + 1]));
+    }
+
+    @Test
+    void emptyIndexReturnsNoHits() {
+        HnswIndex empty = new HnswIndex(DIMENSION, 16, 100);
+        assertTrue(empty.search(vectors.get(0), 5, 64).isEmpty());
+    }
+
+    private Set<Long> bruteForce(float[] query, int k) {
+        List<Integer> ids = new ArrayList<>();
+        for (int i = 0; i < COUNT; i++) {
+            ids.add(i);
+        }
+        return ids.stream()
+                .sorted(Comparator.comparingDouble((Integer i) -> LocalTextEmbedderTest.dot(query, vectors.get(i))).reversed())
+                .limit(k)
+                .map(Integer::longValue)
+                .collect(Collectors.toCollection(HashSet::new));
+    }
+}
@@ -0,0 +1,66 @@
+package com.erickwu.backend.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LlmCircuitBreakerTest {
+
+    @Test
+    void opensAfterConsecutiveFailures() {
+        LlmCircuitBreaker breaker = new LlmCircuitBreaker(2, 60_000);
+        assertTrue(breaker.tryAcquire());
+        breaker.onFailure();
+        assertEquals(LlmCircuitBreaker.State.CLOSED, breaker.getState());
+        assertTrue(breaker.tryAcquire());
+        breaker.onFailure();
+        assertEquals(LlmCircuitBreaker.State.OPEN, breaker.getState());
+        assertFalse(breaker.tryAcquire());
+        assertEquals(1, breaker.getOpenCount());
+    }
+
+    @Test
+    void successResetsFailureCount() {
+        LlmCircuitBreaker breaker = new LlmCircuitBreaker(2, 60_000);
+        breaker.onFailure();
+        breaker.onSuccess();
+        breaker.onFailure();
+        assertEquals(LlmCircuitBreaker.State.CLOSED, breaker.getState());
+    }
+
+    @Test
+    void halfOpenAllowsSingleProbe() {
+        LlmCircuitBreaker breaker = new LlmCircuitBreaker(1, 0);
+        breaker.onFailure();
+        assertTrue(breaker.tryAcquire());
+        assertEquals(LlmCircuitBreaker.State.HALF_OPEN, breaker.getState());
+        assertFalse(breaker.tryAcquire());
+        breaker.onSuccess();
+        assertEquals(LlmCircuitBreaker.State.CLOSED, breaker.getState());
+        assertTrue(breaker.tryAcquire());
+    }
+
+    @Test
+    void failedProbeReopens() {
+        LlmCircuitBreaker breaker = new LlmCircuitBreaker(3, 0);
+        for (int i = 0; i < 3; i++) {
+            breaker.onFailure();
+        }
+        assertTrue(breaker.tryAcquire());
+        breaker.onFailure();
+        assertEquals(LlmCircuitBreaker.State.OPEN, breaker.getState());
+        assertEquals(2, breaker.getOpenCount());
+    }
+
+    @Test
+    void cancelledProbeReleasesSlotWithoutChangingState() {
+        LlmCircuitBreaker breaker = new LlmCircuitBreaker(1, 0);
+        breaker.onFailure();
+        assertTrue(breaker.tryAcquire());
+        breaker.onCancel();
+        assertEquals(LlmCircuitBreaker.State.HALF_OPEN, breaker.getState());
+        assertTrue(breaker.tryAcquire());
+    }
+}
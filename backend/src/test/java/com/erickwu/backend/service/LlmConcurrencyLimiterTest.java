@@ -0,0 +1,67 @@
+package com.erickwu.backend.service;
+
+import com.erickwu.backend.config.BusinessException;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LlmConcurrencyLimiterTest {
+
+    @Test
+    void queuesBeyondLimitAndHandsOverOnRelease() {
+        LlmConcurrencyLimiter limiter = new LlmConcurrencyLimiter(1, 1, 60_000);
+        assertTrue(limiter.acquire().isDone());
+
+        CompletableFuture<Void> queued = limiter.acquire();
+        assertFalse(queued.isDone());
+        assertEquals(1, limiter.getWaiting());
+
+        limiter.release();
+        assertTrue(queued.isDone());
+        assertEquals(1, limiter.getActive());
+        assertEquals(0, limiter.getWaiting());
+
+        limiter.release();
+        assertEquals(0, limiter.getActive());
+    }
+
+    @Test
+    void rejectsWhenQueueIsFull() {
+        LlmConcurrencyLimiter limiter = new LlmConcurrencyLimiter(1, 1, 60_000);
+        limiter.acquire();
+        limiter.acquire();
+        assertThrows(BusinessException.class, limiter::acquire);
+    }
+
+    @Test
+    void queuedRequestTimesOut() {
+        LlmConcurrencyLimiter limiter = new LlmConcurrencyLimiter(1, 1, 20);
+        limiter.acquire();
+        CompletionException e = assertThrows(CompletionException.class, () -> limiter.acquire().join());
+        assertInstanceOf(BusinessException.class, e.getCause());
+
+        // 超时的请求不占用许可，归还后计数归零
+        limiter.release();
+        assertEquals(0, limiter.getActive());
+    }
+
+    @Test
+    void tryAcquireDoesNotJumpTheQueue() {
+        LlmConcurrencyLimiter limiter = new LlmConcurrencyLimiter(2, 1, 60_000);
+        assertTrue(limiter.tryAcquire());
+        assertTrue(limiter.tryAcquire());
+        assertFalse(limiter.tryAcquire());
+
+        CompletableFuture<Void> queued = limiter.acquire();
+        limiter.release();
+        assertTrue(queued.isDone());
+        assertFalse(limiter.tryAcquire());
+    }
+}
@@ -0,0 +1,95 @@
+package com.erickwu.backend.service;
+
+import com.erickwu.backend.config.LlmConfig;
+import com.erickwu.backend.mapper.LlmResultCacheMapper;
+import com.erickwu.backend.metrics.MetricsRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class LlmResultCacheTest {
+
+    private final LlmResultCacheMapper cacheMapper = mock(LlmResultCacheMapper.class);
+    private final LlmConfig config = new LlmConfig();
+    private LlmResultCache cache;
+
+    @BeforeEach
+    void setUp() {
+        config.getCache().setMaxEntries(2);
+        cache = new LlmResultCache(config, cacheMapper, new MetricsRegistry());
+    }
+
+    @Test
+    void keyIgnoresWhitespaceDifferences() {
+        String a = cache.key(LlmResultCache.KIND_PARSE, "sys", "张三\r\n\r\n\r\n Java  开发 \n");
+        String b = cache.key(LlmResultCache.KIND_PARSE, "sys", "张三\n\nJava 开发");
+
+        assertEquals(a, b);
+    }
+
+    @Test
+    void keySeparatesKindPromptAndModel() {
+        String parse = cache.key(LlmResultCache.KIND_PARSE, "sys", "text");
+
+        assertNotEquals(parse, cache.key(LlmResultCache.KIND_ANALYSIS, "sys", "text"));
+        assertNotEquals(parse, cache.key(LlmResultCache.KIND_PARSE, "sys2", "text"));
+        config.getQwen().setModel("qwen-max");
+        assertNotEquals(parse, cache.key(LlmResultCache.KIND_PARSE, "sys", "text"));
+    }
+
+    @Test
+    void putIsServedFromMemoryWithoutDatabaseRead() {
+        cache.put(LlmResultCache.KIND_PARSE, "k1", "{}");
+
+        assertEquals("{}", cache.get(LlmResultCache.KIND_PARSE, "k1"));
+        verify(cacheMapper).upsert("k1", LlmResultCache.KIND_PARSE, config.getQwen().getModel(), "{}");
+        verify(cacheMapper, never()).findContent(anyString(), anyInt());
+    }
+
+    @Test
+    void memoryMissFallsBackToDatabaseAndBackfills() {
+        when(cacheMapper.findContent("k1", config.getCache().getPersistentTtlDays())).thenReturn("{}");
+
+        assertEquals("{}", cache.get(LlmResultCache.KIND_PARSE, "k1"));
+        assertEquals("{}", cache.get(LlmResultCache.KIND_PARSE, "k1"));
+        verify(cacheMapper, times(1)).findContent(anyString(), anyInt());
+    }
+
+    @Test
+    void leastRecentlyUsedKeyIsEvictedFromMemory() {
+        cache.put(LlmResultCache.KIND_PARSE, "k1", "a");
+        cache.put(LlmResultCache.KIND_PARSE, "k2", "b");
+        cache.get(LlmResultCache.KIND_PARSE, "k1");
+        cache.put(LlmResultCache.KIND_PARSE, "k3", "c");
+
+        assertNull(cache.get(LlmResultCache.KIND_PARSE, "k2"));
+        verify(cacheMapper).findContent("k2", config.getCache().getPersistentTtlDays());
+    }
+
+    @Test
+    void databaseFailureIsTreatedAsMiss() {
+        when(cacheMapper.findContent(anyString(), anyInt())).thenThrow(new IllegalStateException("db down"));
+
+        assertNull(cache.get(LlmResultCache.KIND_PARSE, "k1"));
+    }
+
+    @Test
+    void mockModeBypassesCache() {
+        config.setMockMode(true);
+        cache.put(LlmResultCache.KIND_PARSE, "k1", "{}");
+
+        assertNull(cache.get(LlmResultCache.KIND_PARSE, "k1"));
+        verify(cacheMapper, never()).upsert(any(), any(), any(), any());
+    }
+}
@@ -0,0 +1,91 @@
+package com.erickwu.backend.service;
+
+import com.erickwu.backend.config.MapperCacheConfig;
+import com.erickwu.backend.metrics.MetricsRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class LocalCacheTest {
+
+    @Test
+    void leastRecentlyUsedEntryIsEvictedAtCapacity() {
+        LocalCache cache = cache(2, 60_000, false);
+        cache.put(1, "a");
+        cache.put(2, "b");
+        cache.get(1);
+        cache.put(3, "c");
+
+        assertEquals("a", cache.get(1).get());
+        assertNull(cache.get(2));
+        assertEquals("c", cache.get(3).get());
+    }
+
+    @Test
+    void expiredEntryIsNotReturned() throws Exception {
+        LocalCache cache = cache(10, 20, false);
+        cache.put(1, "a");
+        Thread.sleep(40);
+
+        assertNull(cache.get(1));
+    }
+
+    @Test
+    void nullResultsAreCached() {
+        LocalCache cache = cache(10, 60_000, false);
+        AtomicInteger loads = new AtomicInteger();
+
+        cache.get(1, () -> {
+            loads.incrementAndGet();
+            return null;
+        });
+        Object second = cache.get(1, () -> {
+            loads.incrementAndGet();
+            return "loaded";
+        });
+
+        assertNull(second);
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void evictionDuringLoadSkipsBackfill() {
+        LocalCache cache = cache(10, 60_000, false);
+
+        cache.get(1, () -> {
+            cache.evict(1);
+            return "stale";
+        });
+
+        assertNull(cache.get(1));
+    }
+
+    @Test
+    void storeByValueReturnsIndependentCopies() {
+        LocalCache cache = cache(10, 60_000, true);
+        List<String> skills = new ArrayList<>(List.of("Java"));
+        cache.put(1, skills);
+        skills.add("Go");
+
+        @SuppressWarnings("unchecked")
+        List<String> first = (List<String>) cache.get(1).get();
+        @SuppressWarnings("unchecked")
+        List<String> second = (List<String>) cache.get(1).get();
+
+        assertEquals(List.of("Java"), first);
+        assertNotSame(first, second);
+    }
+
+    private static LocalCache cache(int maxEntries, long ttlMs, boolean storeByValue) {
+        MapperCacheConfig.Spec spec = new MapperCacheConfig.Spec();
+        spec.setMaxEntries(maxEntries);
+        spec.setTtlMs(ttlMs);
+        return new LocalCache("test", spec, storeByValue, new MetricsRegistry());
+    }
+}
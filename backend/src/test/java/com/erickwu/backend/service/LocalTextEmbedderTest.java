@@ -0,0 +1,56 @@
+package com.erickwu.backend.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LocalTextEmbedderTest {
+
+    private final LocalTextEmbedder embedder = new LocalTextEmbedder(LocalTextEmbedder.DEFAULT_DIMENSION);
+
+    @Test
+    void sameTextProducesSameVector() {
+        assertArrayEquals(embedder.embed("Java 后端开发"), embedder.embed("Java 后端开发"));
+    }
+
+    @Test
+    void vectorsAreUnitLength() {
+        float[] vector = embedder.embed("熟悉 Spring Boot、MySQL 和 Redis");
+        assertEquals(1.0, dot(vector, vector), 1e-5);
+    }
+
+    @Test
+    void caseIsIgnored() {
+        assertArrayEquals(embedder.embed("MySQL"), embedder.embed("mysql"));
+    }
+
+    @Test
+    void nullAndBlankTextProduceZeroVector() {
+        assertEquals(0.0, dot(embedder.embed((String) null), embedder.embed((String) null)));
+        assertEquals(0.0, dot(embedder.embed("  \n"), embedder.embed("  \n")));
+    }
+
+    @Test
+    void overlappingTextIsCloserThanUnrelatedText() {
+        float[] query = embedder.embed("Java 后端工程师，熟悉 Spring Boot");
+        float[] similar = embedder.embed("后端开发工程师，使用 Java 和 Spring Boot");
+        float[] unrelated = embedder.embed("平面设计，熟练使用 Photoshop");
+        assertTrue(dot(query, similar) > dot(query, unrelated));
+    }
+
+    @Test
+    void normalizeKeepsZeroVector() {
+        float[] zero = new float[8];
+        assertArrayEquals(new float[8], LocalTextEmbedder.normalize(zero));
+    }
+
+    static double dot(float[] a, float[] b) {
+        double sum = 0;
+        for (int i = 0; i < a.length; i++) {
+            sum += a[i] * b[i];
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,70 @@
+package com.erickwu.backend.service;
+
+import com.erickwu.backend.config.BusinessException;
+import com.erickwu.backend.config.PasswordConfig;
+import com.erickwu.backend.metrics.MetricsRegistry;
+import com.erickwu.backend.model.ErrorCode;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class LoginAttemptLimiterTest {
+
+    private final PasswordConfig config = new PasswordConfig();
+    private final MetricsRegistry metrics = new MetricsRegistry();
+    private final LoginAttemptLimiter limiter = new LoginAttemptLimiter(config, metrics);
+
+    @Test
+    void repeatedFailuresLockOnlyThatUsernameAndIp() {
+        config.setMaxFailuresPerUsername(3);
+        for (int i = 0; i < 3; i++) {
+            limiter.acquire("alice", "10.0.0.1");
+            limiter.recordFailure("alice", "10.0.0.1");
+        }
+
+        BusinessException e = assertThrows(BusinessException.class, () -> limiter.acquire(" Alice ", "10.0.0.1"));
+        assertEquals(ErrorCode.USER_LOGIN_LOCKED.getCode(), e.getCode());
+        assertDoesNotThrow(() -> limiter.acquire("alice", "10.0.0.2"));
+        assertDoesNotThrow(() -> limiter.acquire("bob", "10.0.0.1"));
+        assertEquals(1, metrics.count("login.throttled.username"));
+    }
+
+    @Test
+    void successClearsFailures() {
+        config.setMaxFailuresPerUsername(2);
+        limiter.recordFailure("alice", "10.0.0.1");
+        limiter.recordFailure("alice", "10.0.0.1");
+
+        limiter.recordSuccess("alice", "10.0.0.1");
+
+        assertDoesNotThrow(() -> limiter.acquire("alice", "10.0.0.1"));
+    }
+
+    @Test
+    void attemptsPerIpAreCappedIncludingRegistration() {
+        config.setMaxAttemptsPerIp(3);
+        limiter.acquire("alice", "10.0.0.1");
+        limiter.acquire("bob", "10.0.0.1");
+        limiter.acquire(null, "10.0.0.1");
+
+        BusinessException e = assertThrows(BusinessException.class, () -> limiter.acquire(null, "10.0.0.1"));
+        assertEquals(ErrorCode.TOO_MANY_REQUESTS.getCode(), e.getCode());
+        assertDoesNotThrow(() -> limiter.acquire("alice", "10.0.0.2"));
+        assertEquals(1, metrics.count("login.throttled.ip"));
+    }
+
+    @Test
+    void countersResetWhenWindowExpires() {
+        config.setMaxFailuresPerUsername(1);
+        config.setMaxAttemptsPerIp(1);
+        config.setWindowSeconds(0);
+        limiter.acquire("alice", "10.0.0.1");
+        limiter.recordFailure("alice", "10.0.0.1");
+
+        limiter.evictExpired();
+
+        assertDoesNotThrow(() -> limiter.acquire("alice", "10.0.0.1"));
+    }
+}
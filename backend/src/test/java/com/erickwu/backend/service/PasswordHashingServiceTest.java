@@ -0,0 +1,106 @@
+package com.erickwu.backend.service;
+
+import com.erickwu.backend.config.BusinessException;
+import com.erickwu.backend.config.PasswordConfig;
+import com.erickwu.backend.metrics.MetricsRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PasswordHashingServiceTest {
+
+    private final PasswordConfig config = new PasswordConfig();
+    private final MetricsRegistry metrics = new MetricsRegistry();
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final ThreadPoolExecutor executor =
+            new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(4));
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        executor.shutdownNow();
+    }
+
+    @Test
+    void hashingRunsOnPool() {
+        PasswordHashingService hasher = service(4);
+
+        String hash = hasher.encode("secret");
+
+        assertTrue(hash.startsWith("$2a$04$"));
+        assertTrue(hasher.matchesAsync("secret", hash).join());
+        assertFalse(hasher.matchesAsync("wrong", hash).join());
+        assertEquals(4, metrics.snapshot().get("password.cost"));
+    }
+
+    @Test
+    void weakerStoredHashNeedsRehash() {
+        String weak = service(4).encode("secret");
+
+        assertTrue(service(5).needsRehash(weak));
+        assertFalse(service(4).needsRehash(weak));
+        assertFalse(service(4).needsRehash(null));
+    }
+
+    @Test
+    void calibrationStaysWithinBounds() {
+        config.setMinCost(4);
+        config.setMaxCost(6);
+        PasswordHashingService hasher = service(0);
+
+        config.setTargetHashMillis(0);
+        hasher.calibrate();
+        assertEquals(4, hasher.getCost());
+
+        config.setTargetHashMillis(60_000);
+        hasher.calibrate();
+        assertEquals(6, hasher.getCost());
+    }
+
+    @Test
+    void fullPoolRejectsImmediately() {
+        PasswordHashingService hasher = service(4);
+        executor.shutdown();
+
+        assertThrows(BusinessException.class, () -> hasher.encode("secret"));
+        assertEquals(1, metrics.count("password.rejected"));
+    }
+
+    @Test
+    void requestQueuedTooLongIsDropped() throws InterruptedException {
+        config.setMaxWaitMillis(10);
+        PasswordHashingService hasher = service(4);
+        executor.execute(() -> {
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+
+        CompletableFuture<Boolean> queued = hasher.matchesAsync("secret", "$2a$04$invalid");
+        Thread.sleep(50);
+        release.countDown();
+
+        CompletionException e = assertThrows(CompletionException.class, queued::join);
+        assertInstanceOf(BusinessException.class, e.getCause());
+        assertEquals(1, metrics.count("password.expired"));
+    }
+
+    private PasswordHashingService service(int cost) {
+        config.setCost(cost);
+        return new PasswordHashingService(config, metrics, executor);
+    }
+}
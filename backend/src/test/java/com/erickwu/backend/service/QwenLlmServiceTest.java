@@ -0,0 +1,125 @@
+package com.erickwu.backend.service;
+
+import com.erickwu.backend.config.LlmConfig;
+import com.erickwu.backend.metrics.MetricsRegistry;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class QwenLlmServiceTest {
+
+    private record Reply(int status, String body) {
+    }
+
+    private final Queue<Reply> replies = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger requests = new AtomicInteger();
+    private HttpServer server;
+    private LlmConfig config;
+    private QwenLlmService llmService;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/chat/completions", exchange -> {
+            requests.incrementAndGet();
+            Reply reply = replies.poll();
+            byte[] body = (reply != null ? reply.body() : "").getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "text/event-stream");
+            exchange.sendResponseHeaders(reply != null ? reply.status() : 500, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.start();
+
+        config = new LlmConfig();
+        config.getQwen().setBaseUrl("http://127.0.0.1:" + server.getAddress().getPort());
+        config.getQwen().setApiKey("test");
+        config.getQwen().setRetryBaseDelayMillis(1);
+        config.getQwen().setRetryMaxDelayMillis(10);
+        llmService = new QwenLlmService(config, new ObjectMapper(), new MetricsRegistry());
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+    }
+
+    @Test
+    void deltasAreForwardedInOrderUntilDone() {
+        replies.add(new Reply(200, sse("你好", "", "，世界") + ": keep-alive\n\ndata: [DONE]\n\n" + sse("忽略")));
+        List<String> tokens = new ArrayList<>();
+
+        String content = llmService.chatStream("system", "hi", tokens::add);
+
+        assertEquals("你好，世界", content);
+        assertEquals(List.of("你好", "，世界"), tokens);
+    }
+
+    @Test
+    void retryableFailureBeforeFirstTokenIsRetried() {
+        replies.add(new Reply(503, "busy"));
+        replies.add(new Reply(200, sse("ok") + "data: [DONE]\n\n"));
+
+        String content = llmService.chatStream("system", "hi", token -> { });
+
+        assertEquals("ok", content);
+        assertEquals(2, requests.get());
+    }
+
+    @Test
+    void clientErrorIsNotRetried() {
+        replies.add(new Reply(400, "bad request"));
+
+        assertThrows(LlmCallException.class, () -> llmService.chatStream("system", "hi", token -> { }));
+        assertEquals(1, requests.get());
+    }
+
+    @Test
+    void cancelledHandleStopsBeforeCallingUpstream() {
+        LlmStreamHandle handle = new LlmStreamHandle();
+        handle.cancel();
+
+        assertThrows(CancellationException.class,
+                () -> llmService.chatStream("system", "hi", token -> { }, handle));
+        assertEquals(0, requests.get());
+    }
+
+    @Test
+    void mockModeStreamsWholeResponseInChunks() {
+        config.setMockMode(true);
+        List<String> tokens = new ArrayList<>();
+
+        String content = llmService.chatStream("system", "hi", tokens::add);
+
+        assertFalse(tokens.isEmpty());
+        assertEquals(content, String.join("", tokens));
+        assertTrue(tokens.stream().allMatch(token -> token.length() <= 16));
+        assertEquals(0, requests.get());
+    }
+
+    private static String sse(String... deltas) {
+        StringBuilder sb = new StringBuilder();
+        for (String delta : deltas) {
+            sb.append("data: {\"choices\":[{\"delta\":{\"content\":\"").append(delta).append("\"}}]}\n\n");
+        }
+        return sb.toString();
+    }
+}
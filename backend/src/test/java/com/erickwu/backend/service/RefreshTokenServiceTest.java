@@ -0,0 +1,140 @@
+package com.erickwu.backend.service;
+
+import com.erickwu.backend.config.BusinessException;
+import com.erickwu.backend.config.JwtConfig;
+import com.erickwu.backend.entity.RefreshToken;
+import com.erickwu.backend.mapper.RefreshTokenMapper;
+import com.erickwu.backend.metrics.MetricsRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class RefreshTokenServiceTest {
+
+    private final RefreshTokenMapper tokenMapper = mock(RefreshTokenMapper.class);
+    private RefreshTokenService refreshTokenService;
+
+    @BeforeEach
+    void setUp() {
+        JwtConfig jwtConfig = new JwtConfig();
+        jwtConfig.setSecret("test-secret-key-for-refresh-token-successor");
+        refreshTokenService = new RefreshTokenService(tokenMapper, jwtConfig, new MetricsRegistry());
+    }
+
+    @Test
+    void issueStoresOnlyHash() {
+        String raw = refreshTokenService.issue(1L);
+        RefreshToken stored = lastInserted(1);
+        assertNotEquals(raw, stored.getTokenHash());
+        assertEquals(64, stored.getTokenHash().length());
+        assertTrue(stored.getExpiresAt().isAfter(LocalDateTime.now()));
+    }
+
+    @Test
+    void rotateIssuesSuccessorInSameFamily() {
+        String raw = refreshTokenService.issue(1L);
+        RefreshToken stored = persisted(lastInserted(1));
+        when(tokenMapper.markRotated(stored.getId())).thenReturn(1);
+
+        RefreshTokenService.Rotation rotation = refreshTokenService.rotate(raw);
+
+        assertEquals(1L, rotation.userId());
+        assertNotEquals(raw, rotation.refreshToken());
+        RefreshToken successor = lastInserted(2);
+        assertEquals(stored.getFamilyId(), successor.getFamilyId());
+        assertEquals(stored.getSessionStartedAt(), successor.getSessionStartedAt());
+    }
+
+    @Test
+    void reusedTokenRevokesFamily() {
+        String raw = refreshTokenService.issue(1L);
+        RefreshToken stored = persisted(lastInserted(1));
+        stored.setRevoked(true);
+
+        assertThrows(BusinessException.class, () -> refreshTokenService.rotate(raw));
+        verify(tokenMapper).revokeFamily(stored.getFamilyId());
+        verify(tokenMapper, never()).markRotated(anyLong());
+    }
+
+    @Test
+    void repeatedRefreshWithinGraceReturnsSameSuccessor() {
+        String raw = refreshTokenService.issue(1L);
+        RefreshToken stored = persisted(lastInserted(1));
+        when(tokenMapper.markRotated(stored.getId())).thenReturn(1);
+        RefreshTokenService.Rotation first = refreshTokenService.rotate(raw);
+        RefreshToken successor = lastInserted(2);
+        when(tokenMapper.findByHashForUpdate(successor.getTokenHash())).thenReturn(successor);
+
+        stored.setRevoked(true);
+        stored.setUsedAt(LocalDateTime.now());
+        RefreshTokenService.Rotation second = refreshTokenService.rotate(raw);
+
+        assertEquals(first.refreshToken(), second.refreshToken());
+        lastInserted(2);
+        verify(tokenMapper, never()).revokeFamily(any());
+    }
+
+    @Test
+    void reuseAfterGraceRevokesFamily() {
+        String raw = refreshTokenService.issue(1L);
+        RefreshToken stored = persisted(lastInserted(1));
+        when(tokenMapper.markRotated(stored.getId())).thenReturn(1);
+        refreshTokenService.rotate(raw);
+        RefreshToken successor = lastInserted(2);
+        when(tokenMapper.findByHashForUpdate(successor.getTokenHash())).thenReturn(successor);
+
+        stored.setRevoked(true);
+        stored.setUsedAt(LocalDateTime.now().minusMinutes(1));
+
+        assertThrows(BusinessException.class, () -> refreshTokenService.rotate(raw));
+        verify(tokenMapper).revokeFamily(stored.getFamilyId());
+    }
+
+    @Test
+    void expiredTokenIsRejected() {
+        String raw = refreshTokenService.issue(1L);
+        RefreshToken stored = persisted(lastInserted(1));
+        stored.setExpiresAt(LocalDateTime.now().minusSeconds(1));
+
+        assertThrows(BusinessException.class, () -> refreshTokenService.rotate(raw));
+        verify(tokenMapper, never()).revokeFamily(any());
+    }
+
+    @Test
+    void unknownTokenIsRejected() {
+        assertThrows(BusinessException.class, () -> refreshTokenService.rotate("unknown"));
+        assertThrows(BusinessException.class, () -> refreshTokenService.rotate(null));
+    }
+
+    private RefreshToken lastInserted(int times) {
+        ArgumentCaptor<RefreshToken> captor = ArgumentCaptor.forClass(RefreshToken.class);
+        verify(tokenMapper, times(times)).insert(captor.capture());
+        List<RefreshToken> values = captor.getAllValues();
+        return values.get(values.size() - 1);
+    }
+
+    /**
+     * 模拟入库：分配 ID，并让 findByHashForUpdate 返回该记录
+     */
+    private RefreshToken persisted(RefreshToken token) {
+        token.setId(100L);
+        token.setRevoked(false);
+        when(tokenMapper.findByHashForUpdate(token.getTokenHash())).thenReturn(token);
+        return token;
+    }
+}
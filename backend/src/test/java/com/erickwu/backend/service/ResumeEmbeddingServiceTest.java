@@ -0,0 +1,131 @@
+package com.erickwu.backend.service;
+
+import com.erickwu.backend.config.EmbeddingConfig;
+import com.erickwu.backend.entity.Resume;
+import com.erickwu.backend.entity.ResumeEmbedding;
+import com.erickwu.backend.entity.ResumeVersion;
+import com.erickwu.backend.entity.Skill;
+import com.erickwu.backend.mapper.EmbeddingBackfillJobMapper;
+import com.erickwu.backend.mapper.ResumeEmbeddingMapper;
+import com.erickwu.backend.mapper.ResumeMapper;
+import com.erickwu.backend.mapper.ResumeVersionMapper;
+import com.erickwu.backend.mapper.SkillMapper;
+import com.erickwu.backend.metrics.MetricsRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class ResumeEmbeddingServiceTest {
+
+    private final QwenLlmService llmService = mock(QwenLlmService.class);
+    private final ResumeEmbeddingMapper embeddingMapper = mock(ResumeEmbeddingMapper.class);
+    private final ResumeMapper resumeMapper = mock(ResumeMapper.class);
+    private final SkillMapper skillMapper = mock(SkillMapper.class);
+    private final EmbeddingConfig config = new EmbeddingConfig();
+    private ResumeEmbeddingService embeddingService;
+
+    @BeforeEach
+    void setUp() {
+        config.setBatchSize(2);
+        embeddingService = new ResumeEmbeddingService(config, llmService, embeddingMapper,
+                mock(EmbeddingBackfillJobMapper.class), mock(ResumeVersionMapper.class), resumeMapper, skillMapper,
+                new MetricsRegistry(), mock(ThreadPoolExecutor.class));
+
+        when(llmService.getEmbeddingModel()).thenReturn("m1");
+        when(llmService.embed(anyList())).thenAnswer(invocation -> {
+            List<float[]> vectors = new ArrayList<>();
+            for (int i = 0; i < ((List<?>) invocation.getArgument(0)).size(); i++) {
+                vectors.add(new float[]{1, 0, 0, 0});
+            }
+            return vectors;
+        });
+        when(resumeMapper.findByIds(anyList())).thenReturn(List.of(resume(1L, 11L), resume(2L, 12L)));
+        when(skillMapper.findByResumeIds(anyList()))
+                .thenReturn(List.of(skill(1L, "Java", 5), skill(1L, "SQL", null), skill(2L, "Go", 3)));
+    }
+
+    @Test
+    void pageLoadsResumesAndSkillsWithOneQueryEach() {
+        int embedded = embeddingService.embedVersions(
+                List.of(version(101L, 1L), version(102L, 1L), version(201L, 2L), version(301L, 3L)));
+
+        assertEquals(3, embedded);
+        verify(resumeMapper).findByIds(List.of(1L, 2L, 3L));
+        verify(skillMapper).findByResumeIds(List.of(1L, 2L, 3L));
+        verify(resumeMapper, never()).findById(anyLong());
+        verify(skillMapper, never()).findByResumeId(anyLong());
+        verify(embeddingMapper, times(3)).upsert(any(ResumeEmbedding.class));
+    }
+
+    @Test
+    void skillsAreGroupedByResumeInQueryOrder() {
+        embeddingService.embedVersions(List.of(version(101L, 1L), version(201L, 2L)));
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<String>> batches = ArgumentCaptor.forClass(List.class);
+        verify(llmService, atLeastOnce()).embed(batches.capture());
+        List<String> texts = batches.getAllValues().stream().flatMap(List::stream).toList();
+        assertTrue(texts.contains("技能：Java（熟练度5）；SQL；"));
+        assertTrue(texts.contains("技能：Go（熟练度3）；"));
+    }
+
+    @Test
+    void textsAreSentInBatchesOfConfiguredSize() {
+        AtomicInteger requests = new AtomicInteger();
+
+        embeddingService.embedVersions(List.of(version(101L, 1L), version(102L, 1L), version(201L, 2L)),
+                requests::incrementAndGet);
+
+        // 3 个正文分块 + 3 条技能文本，每批 2 条
+        assertEquals(3, requests.get());
+        verify(llmService, times(3)).embed(anyList());
+    }
+
+    @Test
+    void emptyPageDoesNotQuery() {
+        assertEquals(0, embeddingService.embedVersions(List.of()));
+
+        verifyNoInteractions(resumeMapper, skillMapper, llmService);
+    }
+
+    private static ResumeVersion version(Long id, Long resumeId) {
+        ResumeVersion version = new ResumeVersion();
+        version.setId(id);
+        version.setResumeId(resumeId);
+        version.setRawText("正文 " + id);
+        return version;
+    }
+
+    private static Resume resume(Long id, Long userId) {
+        Resume resume = new Resume();
+        resume.setId(id);
+        resume.setUserId(userId);
+        return resume;
+    }
+
+    private static Skill skill(Long resumeId, String name, Integer level) {
+        Skill skill = new Skill();
+        skill.setResumeId(resumeId);
+        skill.setName(name);
+        skill.setLevel(level);
+        return skill;
+    }
+}
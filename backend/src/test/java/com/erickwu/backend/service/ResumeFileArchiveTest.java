@@ -0,0 +1,222 @@
+package com.erickwu.backend.service;
+
+import com.erickwu.backend.config.ResumeArchiveConfig;
+import com.erickwu.backend.entity.ResumeFile;
+import com.erickwu.backend.mapper.ResumeFileMapper;
+import com.erickwu.backend.metrics.MetricsRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ResumeFileArchiveTest {
+
+    @TempDir
+    Path tempDir;
+
+    private final ResumeArchiveConfig config = new ResumeArchiveConfig();
+    private final InMemoryFileMapper fileMapper = new InMemoryFileMapper();
+    private final MetricsRegistry metrics = new MetricsRegistry();
+    private ResumeFileArchive archive;
+
+    @BeforeEach
+    void setUp() {
+        config.setStorageDir(tempDir.toString());
+        config.setGcGraceMs(0);
+        archive = new ResumeFileArchive(config, fileMapper, metrics);
+    }
+
+    @AfterEach
+    void tearDown() {
+        archive.close();
+    }
+
+    @Test
+    void compressibleContentRoundTrips() throws IOException {
+        byte[] content = "张三 Java 后端工程师 五年经验\n".repeat(200).getBytes(StandardCharsets.UTF_8);
+
+        String sha256 = archive.store(content);
+
+        ResumeFile file = archive.find(sha256);
+        assertEquals(ResumeFile.COMPRESSION_DEFLATE, file.getCompression());
+        assertTrue(file.getStoredSize() < content.length);
+        assertArrayEquals(content, archive.read(sha256));
+        assertArrayEquals(content, transfer(file));
+    }
+
+    @Test
+    void incompressibleContentIsStoredRaw() throws IOException {
+        byte[] content = random(5000, 1);
+
+        String sha256 = archive.store(content);
+
+        ResumeFile file = archive.find(sha256);
+        assertEquals(ResumeFile.COMPRESSION_NONE, file.getCompression());
+        assertArrayEquals(content, archive.read(sha256));
+        assertArrayEquals(content, transfer(file));
+    }
+
+    @Test
+    void sameContentIsStoredOnce() throws IOException {
+        byte[] content = random(2000, 2);
+
+        String first = archive.store(content);
+        long segmentSize = Files.size(tempDir.resolve("seg-000001.dat"));
+        String second = archive.store(content);
+
+        assertEquals(first, second);
+        assertEquals(1, fileMapper.files.size());
+        assertEquals(1, metrics.count("resume.archive.dedup"));
+        assertEquals(segmentSize, Files.size(tempDir.resolve("seg-000001.dat")));
+        assertFalse(hasUploadLeftovers());
+    }
+
+    @Test
+    void fullSegmentRollsOver() throws IOException {
+        config.setSegmentMaxBytes(3000);
+
+        String first = archive.store(random(2000, 3));
+        String second = archive.store(random(2000, 4));
+
+        assertEquals(1, archive.find(first).getSegmentId());
+        assertEquals(2, archive.find(second).getSegmentId());
+        assertEquals(0L, archive.find(second).getSegmentOffset());
+    }
+
+    @Test
+    void garbageCollectionDropsUnreferencedFilesAndCompactsSegments() throws IOException {
+        config.setSegmentMaxBytes(20000);
+        byte[] kept = random(1000, 6);
+        String dropped = archive.store(random(15000, 5));
+        String keptSha = archive.store(kept);
+        String active = archive.store(random(10000, 7));
+        fileMapper.referenced.add(keptSha);
+        fileMapper.referenced.add(active);
+
+        archive.collectGarbage();
+
+        assertNull(archive.find(dropped));
+        assertFalse(Files.exists(tempDir.resolve("seg-000001.dat")));
+        assertEquals(2, archive.find(keptSha).getSegmentId());
+        assertArrayEquals(kept, archive.read(keptSha));
+    }
+
+    @Test
+    void disabledArchiveStoresNothing() {
+        config.setEnabled(false);
+
+        assertNull(archive.storeQuietly("text".getBytes(StandardCharsets.UTF_8)));
+        assertTrue(fileMapper.files.isEmpty());
+    }
+
+    private byte[] transfer(ResumeFile file) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        archive.transferTo(file, out);
+        return out.toByteArray();
+    }
+
+    private boolean hasUploadLeftovers() throws IOException {
+        try (var files = Files.list(tempDir)) {
+            return files.anyMatch(path -> path.getFileName().toString().startsWith("upload-"));
+        }
+    }
+
+    private static byte[] random(int size, long seed) {
+        byte[] data = new byte[size];
+        new Random(seed).nextBytes(data);
+        return data;
+    }
+
+    /**
+     * 内存版归档索引，referenced 模拟被简历版本引用的文件
+     */
+    private static class InMemoryFileMapper implements ResumeFileMapper {
+
+        final Map<String, ResumeFile> files = new TreeMap<>();
+        final Set<String> referenced = new HashSet<>();
+
+        @Override
+        public ResumeFile findBySha256(String sha256) {
+            return files.get(sha256);
+        }
+
+        @Override
+        public int insertIgnore(ResumeFile file) {
+            return files.putIfAbsent(file.getSha256(), file) == null ? 1 : 0;
+        }
+
+        @Override
+        public int touch(String sha256) {
+            return files.containsKey(sha256) ? 1 : 0;
+        }
+
+        @Override
+        public List<String> findUnreferenced(LocalDateTime before, String afterSha256, int limit) {
+            return files.keySet().stream()
+                    .filter(sha256 -> sha256.compareTo(afterSha256) > 0 && !referenced.contains(sha256))
+                    .limit(limit)
+                    .collect(Collectors.toList());
+        }
+
+        @Override
+        public int deleteIfUnreferenced(String sha256, LocalDateTime before) {
+            return !referenced.contains(sha256) && files.remove(sha256) != null ? 1 : 0;
+        }
+
+        @Override
+        public List<Map<String, Object>> sumBySegment() {
+            Map<Integer, List<ResumeFile>> bySegment = files.values().stream()
+                    .collect(Collectors.groupingBy(ResumeFile::getSegmentId));
+            List<Map<String, Object>> rows = new ArrayList<>();
+            bySegment.forEach((segmentId, segmentFiles) -> rows.add(Map.of(
+                    "segment_id", segmentId,
+                    "records", segmentFiles.size(),
+                    "stored", segmentFiles.stream().mapToLong(ResumeFile::getStoredSize).sum())));
+            return rows;
+        }
+
+        @Override
+        public List<ResumeFile> findBySegment(int segmentId) {
+            return files.values().stream()
+                    .filter(file -> file.getSegmentId() == segmentId)
+                    .collect(Collectors.toList());
+        }
+
+        @Override
+        public int countBySegment(int segmentId) {
+            return findBySegment(segmentId).size();
+        }
+
+        @Override
+        public int relocate(String sha256, int oldSegmentId, long oldOffset, int newSegmentId, long newOffset) {
+            ResumeFile file = files.get(sha256);
+            if (file == null || file.getSegmentId() != oldSegmentId || file.getSegmentOffset() != oldOffset) {
+                return 0;
+            }
+            file.setSegmentId(newSegmentId);
+            file.setSegmentOffset(newOffset);
+            return 1;
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package com.erickwu.backend.service;
+
+import com.erickwu.backend.entity.Skill;
+import com.erickwu.backend.entity.SkillAlias;
+import com.erickwu.backend.mapper.ResumeMapper;
+import com.erickwu.backend.mapper.SkillAliasMapper;
+import com.erickwu.backend.mapper.SkillMapper;
+import com.erickwu.backend.metrics.MetricsRegistry;
+import com.erickwu.backend.vo.SkillCanonicalizeResultVO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class SkillCanonicalizerTest {
+
+    private final SkillAliasMapper aliasMapper = mock(SkillAliasMapper.class);
+    private final SkillMapper skillMapper = mock(SkillMapper.class);
+    private final ResumeMapper resumeMapper = mock(ResumeMapper.class);
+    private SkillCanonicalizer canonicalizer;
+
+    @BeforeEach
+    void setUp() {
+        when(aliasMapper.findAll()).thenReturn(List.of(
+                alias("springboot", "Spring Boot", "后端框架"),
+                alias("mysql", "MySQL", "数据库"),
+                alias("k8s", "Kubernetes", "运维")));
+        canonicalizer = new SkillCanonicalizer(aliasMapper, skillMapper, resumeMapper,
+                mock(DashboardSnapshotCache.class), mock(CandidateSearchService.class),
+                mock(StatsRecorder.class), new MetricsRegistry(),
+                new TransactionTemplate(mock(PlatformTransactionManager.class)));
+        canonicalizer.reload();
+    }
+
+    @Test
+    void exactAliasIgnoresCaseAndSeparators() {
+        SkillCanonicalizer.Canonical canonical = canonicalizer.resolve("Spring-Boot");
+        assertEquals("Spring Boot", canonical.name());
+        assertEquals("后端框架", canonical.category());
+        assertTrue(canonical.matched());
+    }
+
+    @Test
+    void canonicalNameIsAlsoAnAlias() {
+        assertEquals("Kubernetes", canonicalizer.canonicalize("kubernetes"));
+        assertEquals("Kubernetes", canonicalizer.canonicalize("K8S"));
+    }
+
+    @Test
+    void prefixMatchAllowsNoiseSuffix() {
+        SkillCanonicalizer.Canonical canonical = canonicalizer.resolve("MySQL数据库");
+        assertEquals("MySQL", canonical.name());
+        assertTrue(canonical.matched());
+    }
+
+    @Test
+    void prefixMatchRejectsOtherSuffix() {
+        SkillCanonicalizer.Canonical canonical = canonicalizer.resolve("mysqlrouter");
+        assertFalse(canonical.matched());
+        assertEquals("mysqlrouter", canonical.name());
+    }
+
+    @Test
+    void fuzzyMatchIsOnlyASuggestion() {
+        SkillCanonicalizer.Canonical canonical = canonicalizer.resolve(" Kubernete ");
+        assertFalse(canonical.matched());
+        assertEquals("Kubernete", canonical.name());
+        assertNull(canonical.category());
+        assertEquals("Kubernetes", canonical.suggestion());
+    }
+
+    @Test
+    void shortNamesAreNotFuzzyMatched() {
+        SkillCanonicalizer.Canonical canonical = canonicalizer.resolve("sql");
+        assertNull(canonical.suggestion());
+    }
+
+    @Test
+    void applyAllMergesDuplicatesKeepingHigherLevel() {
+        List<Skill> merged = canonicalizer.applyAll(List.of(
+                skill(1L, "mysql", 2), skill(2L, "MySQL数据库", 4), skill(3L, "Kubernete", 3)));
+        assertEquals(2, merged.size());
+        assertEquals("MySQL", merged.get(0).getName());
+        assertEquals(4, merged.get(0).getLevel());
+        assertEquals("Kubernete", merged.get(1).getName());
+    }
+
+    @Test
+    void canonicalizeExistingUsesAliasesOnly() {
+        when(resumeMapper.findIdsAfter(eq(0L), anyInt())).thenReturn(List.of(10L));
+        when(skillMapper.findByResumeIds(List.of(10L))).thenReturn(List.of(
+                skill(1L, "mysql", 2), skill(2L, "MySQL数据库", 4), skill(3L, "Kubernete", 3)));
+
+        SkillCanonicalizeResultVO result = canonicalizer.canonicalizeExisting();
+
+        assertEquals(1, result.getAffectedResumes());
+        assertEquals(1, result.getMergedSkills());
+        verify(skillMapper, times(1)).update(argThat(s -> s.getId() == 1L
+                && "MySQL".equals(s.getName()) && s.getLevel() == 4));
+        verify(skillMapper).delete(2L, 10L);
+        verify(skillMapper, never()).update(argThat(s -> s.getId() == 3L));
+        verify(skillMapper, never()).delete(eq(3L), anyLong());
+    }
+
+    private static SkillAlias alias(String key, String canonicalName, String category) {
+        SkillAlias alias = new SkillAlias();
+        alias.setAliasKey(key);
+        alias.setCanonicalName(canonicalName);
+        alias.setCategory(category);
+        return alias;
+    }
+
+    private static Skill skill(Long id, String name, Integer level) {
+        Skill skill = new Skill();
+        skill.setId(id);
+        skill.setResumeId(10L);
+        skill.setName(name);
+        skill.setLevel(level);
+        return skill;
+    }
+}
@@ -0,0 +1,98 @@
+package com.erickwu.backend.service;
+
+import com.erickwu.backend.mapper.StatsRollupMapper;
+import com.erickwu.backend.metrics.MetricsRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+class StatsRecorderTest {
+
+    private final StatsRollupMapper rollupMapper = mock(StatsRollupMapper.class);
+    private final StatsRecorder recorder = new StatsRecorder(rollupMapper, new MetricsRegistry());
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void deltasAreMergedIntoOneWritePerCounter() {
+        recorder.resumeCreated();
+        recorder.resumeCreated();
+        recorder.resumeRemoved();
+
+        recorder.flush();
+
+        verify(rollupMapper).addCounter(StatsRecorder.RESUMES_TOTAL, 1L);
+    }
+
+    @Test
+    void rolledBackTransactionIsNotCounted() {
+        TransactionSynchronizationManager.initSynchronization();
+        recorder.resumeCreated();
+        complete(false);
+
+        recorder.flush();
+
+        verify(rollupMapper, never()).addCounter(anyString(), anyLong());
+    }
+
+    @Test
+    void committedTransactionIsCounted() {
+        TransactionSynchronizationManager.initSynchronization();
+        recorder.resumeCreated();
+        complete(true);
+
+        recorder.flush();
+
+        verify(rollupMapper).addCounter(StatsRecorder.RESUMES_TOTAL, 1L);
+    }
+
+    @Test
+    void failedWriteIsRetriedOnNextFlush() {
+        doThrow(new IllegalStateException("db down")).when(rollupMapper).addCounter(StatsRecorder.RESUMES_TOTAL, 1L);
+        recorder.resumeCreated();
+        recorder.flush();
+
+        recorder.resumeCreated();
+        recorder.flush();
+
+        verify(rollupMapper).addCounter(StatsRecorder.RESUMES_TOTAL, 2L);
+    }
+
+    @Test
+    void unchangedSkillsProduceNoBreakdownWrite() {
+        recorder.skillsChanged(List.of("Java"), List.of("Java", "Go"));
+
+        recorder.flush();
+
+        verify(rollupMapper).addBreakdown(StatsRecorder.BREAKDOWN_SKILL, "Go", 1L);
+        verify(rollupMapper, never()).addBreakdown(eq(StatsRecorder.BREAKDOWN_SKILL), eq("Java"), anyLong());
+    }
+
+    private static void complete(boolean committed) {
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        for (TransactionSynchronization synchronization : synchronizations) {
+            if (committed) {
+                synchronization.afterCommit();
+            }
+            synchronization.afterCompletion(committed
+                    ? TransactionSynchronization.STATUS_COMMITTED : TransactionSynchronization.STATUS_ROLLED_BACK);
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.erickwu.backend.service;
+
+import com.erickwu.backend.config.JwtConfig;
+import com.erickwu.backend.entity.TokenRevocation;
+import com.erickwu.backend.mapper.TokenRevocationMapper;
+import com.erickwu.backend.metrics.MetricsRegistry;
+import com.erickwu.backend.util.AuthPrincipal;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class TokenRevocationServiceTest {
+
+    private final TokenRevocationMapper revocationMapper = mock(TokenRevocationMapper.class);
+    private final RefreshTokenService refreshTokenService = mock(RefreshTokenService.class);
+    private TokenRevocationService revocationService;
+
+    @BeforeEach
+    void setUp() {
+        JwtConfig jwtConfig = new JwtConfig();
+        jwtConfig.setExpiration(7_200_000L);
+        jwtConfig.setRevocationBloomBits(1 << 12);
+        revocationService = new TokenRevocationService(revocationMapper, jwtConfig, new MetricsRegistry(),
+                refreshTokenService);
+        revocationService.load();
+    }
+
+    @Test
+    void revokedTokenIdIsRejectedOthersPass() {
+        revocationService.revokeToken(principal(1L, "jti-a", 0), "LOGOUT");
+
+        assertTrue(revocationService.isRevoked(principal(1L, "jti-a", 0)));
+        assertFalse(revocationService.isRevoked(principal(1L, "jti-b", 0)));
+        assertFalse(revocationService.isRevoked(principal(2L, null, 0)));
+    }
+
+    @Test
+    void manyRevokedTokensStayExact() {
+        for (int i = 0; i < 2000; i++) {
+            revocationService.revokeToken(principal(1L, "revoked-" + i, 0), "LOGOUT");
+        }
+        for (int i = 0; i < 2000; i++) {
+            assertTrue(revocationService.isRevoked(principal(1L, "revoked-" + i, 0)));
+            // 布隆过滤器误判由精确集合兜底
+            assertFalse(revocationService.isRevoked(principal(1L, "active-" + i, 0)));
+        }
+    }
+
+    @Test
+    void revokeUserRejectsTokensIssuedInSameSecond() {
+        revocationService.revokeUser(1L, "DISABLED");
+        ArgumentCaptor<TokenRevocation> captor = ArgumentCaptor.forClass(TokenRevocation.class);
+        verify(revocationMapper).insert(captor.capture());
+        verify(refreshTokenService).revokeUser(1L);
+        long revokedAt = captor.getValue().getRevokedAt();
+
+        assertTrue(revocationService.isRevoked(principal(1L, "jti", revokedAt - 1000)));
+        assertTrue(revocationService.isRevoked(principal(1L, "jti", revokedAt)));
+        assertFalse(revocationService.isRevoked(principal(1L, "jti", revokedAt + 1000)));
+        assertFalse(revocationService.isRevoked(principal(2L, "jti", revokedAt)));
+    }
+
+    @Test
+    void pollPicksUpRecordsCommittedOutOfIdOrder() {
+        TokenRevocation later = revocation(5L, "jti-5");
+        when(revocationMapper.findSince(anyLong(), eq(0L), anyInt())).thenReturn(List.of(later));
+        revocationService.poll();
+        assertTrue(revocationService.isRevoked(principal(1L, "jti-5", 0)));
+
+        // id 较小的记录在下一轮才可见（长事务晚提交），回看窗口仍能读到
+        TokenRevocation lateCommit = revocation(3L, "jti-3");
+        when(revocationMapper.findSince(anyLong(), eq(0L), anyInt())).thenReturn(List.of(lateCommit, later));
+        revocationService.poll();
+        assertTrue(revocationService.isRevoked(principal(1L, "jti-3", 0)));
+        assertTrue(revocationService.isRevoked(principal(1L, "jti-5", 0)));
+    }
+
+    private static TokenRevocation revocation(Long id, String tokenId) {
+        TokenRevocation revocation = new TokenRevocation();
+        revocation.setId(id);
+        revocation.setUserId(1L);
+        revocation.setTokenId(tokenId);
+        revocation.setRevokedAt(System.currentTimeMillis());
+        revocation.setReason("LOGOUT");
+        revocation.setExpiresAt(LocalDateTime.now().plusHours(1));
+        return revocation;
+    }
+
+    private static AuthPrincipal principal(Long userId, String tokenId, long issuedAt) {
+        return new AuthPrincipal(userId, "user" + userId, tokenId, issuedAt, System.currentTimeMillis() + 3_600_000);
+    }
+}
@@ -0,0 +1,146 @@
+package com.erickwu.backend.service.impl;
+
+import com.erickwu.backend.config.BusinessException;
+import com.erickwu.backend.config.InstanceConfig;
+import com.erickwu.backend.entity.ResumeParseJob;
+import com.erickwu.backend.mapper.ResumeParseJobMapper;
+import com.erickwu.backend.model.ErrorCode;
+import com.erickwu.backend.service.ResumeFileArchive;
+import com.erickwu.backend.service.ResumeParserService;
+import com.erickwu.backend.service.ResumeService;
+import com.erickwu.backend.vo.ResumeParseResultVO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.springframework.mock.web.MockMultipartFile;
+
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ResumeJobServiceImplTest {
+
+    private static final byte[] CONTENT = "resume".getBytes();
+
+    private final ResumeParseJobMapper jobMapper = mock(ResumeParseJobMapper.class);
+    private final ResumeParserService parserService = mock(ResumeParserService.class);
+    private final ResumeService resumeService = mock(ResumeService.class);
+    private final ThreadPoolExecutor executor = mock(ThreadPoolExecutor.class);
+    private final ResumeFileArchive fileArchive = mock(ResumeFileArchive.class);
+    private ResumeJobServiceImpl jobService;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        InstanceConfig instanceConfig = new InstanceConfig();
+        instanceConfig.setId("node-a");
+        instanceConfig.setLeaseTimeoutSeconds(90);
+        jobService = new ResumeJobServiceImpl(jobMapper, parserService, resumeService, executor,
+                fileArchive, instanceConfig);
+
+        // 同步执行，便于校验流水线
+        doAnswer(invocation -> {
+            ((Runnable) invocation.getArgument(0)).run();
+            return null;
+        }).when(executor).execute(any());
+        doAnswer(invocation -> {
+            ((ResumeParseJob) invocation.getArgument(0)).setId(7L);
+            return 1;
+        }).when(jobMapper).insert(any());
+        when(jobMapper.findById(7L)).thenReturn(new ResumeParseJob());
+        when(parserService.extractText(anyString(), any())).thenReturn("text");
+        when(parserService.parseText("text")).thenReturn(new ResumeParseResultVO());
+        when(fileArchive.storeQuietly(CONTENT)).thenReturn("sha");
+        when(resumeService.saveUploadedVersion(eq(1L), eq("cv.pdf"), eq((long) CONTENT.length), eq("sha"),
+                any(), eq("note"))).thenReturn(42L);
+    }
+
+    @Test
+    void successfulJobWalksEveryStageAndRecordsOwner() throws Exception {
+        when(parserService.generateAnalysisReport(any())).thenReturn("report");
+
+        jobService.submitUpload(1L, upload(), "note");
+
+        ArgumentCaptor<ResumeParseJob> inserted = ArgumentCaptor.forClass(ResumeParseJob.class);
+        verify(jobMapper).insert(inserted.capture());
+        assertEquals("node-a", inserted.getValue().getOwner());
+        assertEquals(ResumeParseJob.STATUS_PENDING, inserted.getValue().getStatus());
+
+        InOrder order = inOrder(jobMapper, resumeService);
+        order.verify(jobMapper).updateStage(7L, ResumeParseJob.STATUS_RUNNING, ResumeParseJob.STAGE_EXTRACT, 10);
+        order.verify(jobMapper).updateStage(7L, ResumeParseJob.STATUS_RUNNING, ResumeParseJob.STAGE_PARSE, 30);
+        order.verify(jobMapper).updateStage(7L, ResumeParseJob.STATUS_RUNNING, ResumeParseJob.STAGE_PERSIST, 60);
+        order.verify(jobMapper).updateVersionId(7L, 42L);
+        order.verify(jobMapper).updateStage(7L, ResumeParseJob.STATUS_RUNNING, ResumeParseJob.STAGE_ANALYZE, 70);
+        order.verify(resumeService).saveAnalysisReport(42L, "report");
+        order.verify(jobMapper).updateStage(7L, ResumeParseJob.STATUS_SUCCESS, ResumeParseJob.STAGE_DONE, 100);
+        verify(jobMapper, never()).markFailed(any(), any());
+    }
+
+    @Test
+    void analysisFailureStillCompletesJob() throws Exception {
+        when(parserService.generateAnalysisReport(any())).thenThrow(new IllegalStateException("llm down"));
+
+        jobService.submitUpload(1L, upload(), "note");
+
+        verify(resumeService, never()).saveAnalysisReport(any(), any());
+        verify(jobMapper).updateStage(7L, ResumeParseJob.STATUS_SUCCESS, ResumeParseJob.STAGE_DONE, 100);
+    }
+
+    @Test
+    void parseFailureMarksJobFailedWithStage() throws Exception {
+        when(parserService.parseText("text")).thenThrow(new IllegalStateException("bad json"));
+
+        jobService.submitUpload(1L, upload(), "note");
+
+        ArgumentCaptor<String> message = ArgumentCaptor.forClass(String.class);
+        verify(jobMapper).markFailed(eq(7L), message.capture());
+        assertTrue(message.getValue().startsWith(ResumeParseJob.STAGE_PARSE));
+        verify(resumeService, never()).saveUploadedVersion(any(), any(), any(), any(), any(), any());
+    }
+
+    @Test
+    void rejectedSubmissionFailsJobAndThrows() {
+        doThrow(new RejectedExecutionException()).when(executor).execute(any());
+
+        BusinessException e = assertThrows(BusinessException.class,
+                () -> jobService.submitUpload(1L, upload(), "note"));
+
+        assertEquals(ErrorCode.RESUME_JOB_REJECTED.getCode(), e.getCode());
+        verify(jobMapper).markFailed(7L, ErrorCode.RESUME_JOB_REJECTED.getMessage());
+    }
+
+    @Test
+    void startupOnlyFailsOwnOrStaleJobs() {
+        jobService.failInterruptedJobs();
+
+        verify(jobMapper).failUnfinished(eq("node-a"), eq(90L), anyString());
+        verify(jobMapper, never()).failStale(any(Long.class), anyString());
+    }
+
+    @Test
+    void heartbeatRefreshesOwnJobsBeforeSweepingStaleOnes() {
+        jobService.heartbeat();
+
+        InOrder order = inOrder(jobMapper);
+        order.verify(jobMapper).heartbeat("node-a");
+        order.verify(jobMapper).failStale(eq(90L), anyString());
+    }
+
+    private MockMultipartFile upload() {
+        return new MockMultipartFile("file", "cv.pdf", "application/pdf", CONTENT);
+    }
+}
@@ -0,0 +1,193 @@
+package com.erickwu.backend.service.impl;
+
+import com.erickwu.backend.config.BusinessException;
+import com.erickwu.backend.config.InstanceConfig;
+import com.erickwu.backend.config.ReparseConfig;
+import com.erickwu.backend.entity.ReparseItem;
+import com.erickwu.backend.entity.ReparseJob;
+import com.erickwu.backend.entity.ResumeVersion;
+import com.erickwu.backend.mapper.ReparseJobMapper;
+import com.erickwu.backend.mapper.ResumeVersionMapper;
+import com.erickwu.backend.metrics.MetricsRegistry;
+import com.erickwu.backend.service.CandidateSearchService;
+import com.erickwu.backend.service.DashboardSnapshotCache;
+import com.erickwu.backend.service.ResumeFileArchive;
+import com.erickwu.backend.service.ResumeParserService;
+import com.erickwu.backend.vo.ResumeParseResultVO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.util.List;
+import java.util.concurrent.ThreadPoolExecutor;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ResumeReparseServiceImplTest {
+
+    private static final String PROMPT = "p2";
+
+    private final ReparseJobMapper jobMapper = mock(ReparseJobMapper.class);
+    private final ResumeVersionMapper versionMapper = mock(ResumeVersionMapper.class);
+    private final ResumeParserService parserService = mock(ResumeParserService.class);
+    private final DashboardSnapshotCache dashboardCache = mock(DashboardSnapshotCache.class);
+    private final ThreadPoolExecutor reparseExecutor = mock(ThreadPoolExecutor.class);
+    private final ThreadPoolExecutor workerExecutor = mock(ThreadPoolExecutor.class);
+    private ResumeReparseServiceImpl reparseService;
+
+    @BeforeEach
+    void setUp() {
+        ReparseConfig config = new ReparseConfig();
+        config.setPageSize(2);
+        InstanceConfig instanceConfig = new InstanceConfig();
+        instanceConfig.setId("node-a");
+        instanceConfig.setLeaseTimeoutSeconds(90);
+        reparseService = new ResumeReparseServiceImpl(jobMapper, versionMapper, parserService,
+                mock(ResumeFileArchive.class), mock(CandidateSearchService.class), dashboardCache,
+                config, instanceConfig, new MetricsRegistry(), reparseExecutor, workerExecutor);
+
+        // 同步执行，便于校验每页的写回顺序
+        doAnswer(invocation -> {
+            ((Runnable) invocation.getArgument(0)).run();
+            return null;
+        }).when(reparseExecutor).execute(any());
+        doAnswer(invocation -> {
+            ((Runnable) invocation.getArgument(0)).run();
+            return null;
+        }).when(workerExecutor).execute(any());
+
+        when(parserService.getPromptVersion()).thenReturn(PROMPT);
+        when(parserService.parseText(anyString())).thenAnswer(invocation -> {
+            ResumeParseResultVO result = new ResumeParseResultVO();
+            result.setParsedJson("{}");
+            return result;
+        });
+        when(parserService.generateAnalysisReport(any())).thenReturn("report");
+        when(jobMapper.heartbeat(anyLong(), eq("node-a"))).thenReturn(1);
+        when(jobMapper.updateCheckpoint(anyLong(), eq("node-a"), anyLong(), anyInt(), anyInt())).thenReturn(1);
+    }
+
+    @Test
+    void resumesFromCheckpointAndWritesOneCheckpointPerPage() {
+        when(jobMapper.findLatest()).thenReturn(runningJob(5L));
+        when(jobMapper.claimStale(1L, "node-a", 90L)).thenReturn(1);
+        when(versionMapper.findStalePromptPage(PROMPT, 5L, 2)).thenReturn(List.of(version(6L, 100L), version(7L, 100L)));
+        when(versionMapper.findStalePromptPage(PROMPT, 7L, 2)).thenReturn(List.of(version(9L, 200L)));
+        when(versionMapper.findStalePromptPage(PROMPT, 9L, 2)).thenReturn(List.of());
+
+        reparseService.resumeInterruptedJob();
+
+        verify(jobMapper).updateCheckpoint(1L, "node-a", 7L, 12, 0);
+        verify(jobMapper).updateCheckpoint(1L, "node-a", 9L, 13, 0);
+        verify(jobMapper).release(1L, "node-a", ReparseJob.STATUS_DONE, null);
+        verify(dashboardCache).evictByResumeId(100L);
+        verify(dashboardCache).evictByResumeId(200L);
+    }
+
+    @Test
+    void failedRowIsRecordedWithoutStoppingTheJob() {
+        when(jobMapper.findLatest()).thenReturn(runningJob(0L));
+        when(jobMapper.claimStale(1L, "node-a", 90L)).thenReturn(1);
+        ResumeVersion empty = version(2L, 100L);
+        empty.setRawText(" ");
+        when(versionMapper.findStalePromptPage(PROMPT, 0L, 2)).thenReturn(List.of(version(1L, 100L), empty));
+        when(versionMapper.findStalePromptPage(PROMPT, 2L, 2)).thenReturn(List.of());
+
+        reparseService.resumeInterruptedJob();
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<ReparseItem>> items = ArgumentCaptor.forClass(List.class);
+        verify(jobMapper).batchUpsertItems(items.capture());
+        assertEquals(ReparseItem.STATUS_SUCCESS, items.getValue().get(0).getStatus());
+        assertEquals(ReparseItem.STATUS_FAILED, items.getValue().get(1).getStatus());
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<ResumeVersion>> updated = ArgumentCaptor.forClass(List.class);
+        verify(versionMapper).batchUpdateReparsed(updated.capture(), eq(PROMPT), eq(false));
+        assertEquals(1, updated.getValue().size());
+        assertEquals(1L, updated.getValue().get(0).getId());
+        verify(jobMapper).updateCheckpoint(1L, "node-a", 2L, 11, 1);
+        verify(jobMapper).release(1L, "node-a", ReparseJob.STATUS_DONE, null);
+    }
+
+    @Test
+    void startupDoesNotResumeWhenAnotherInstanceHoldsTheLease() {
+        when(jobMapper.findLatest()).thenReturn(runningJob(5L));
+        when(jobMapper.claimStale(1L, "node-a", 90L)).thenReturn(0);
+
+        reparseService.resumeInterruptedJob();
+
+        verify(reparseExecutor, never()).execute(any());
+        verify(versionMapper, never()).findStalePromptPage(anyString(), anyLong(), anyInt());
+    }
+
+    @Test
+    void lostLeaseDiscardsPageWithoutWritingCheckpoint() {
+        when(jobMapper.findLatest()).thenReturn(runningJob(5L));
+        when(jobMapper.claimStale(1L, "node-a", 90L)).thenReturn(1);
+        when(jobMapper.heartbeat(1L, "node-a")).thenReturn(0);
+        when(versionMapper.findStalePromptPage(PROMPT, 5L, 2)).thenReturn(List.of(version(6L, 100L)));
+
+        reparseService.resumeInterruptedJob();
+
+        verify(versionMapper, never()).batchUpdateReparsed(any(), anyString(), anyBoolean());
+        verify(jobMapper, never()).batchUpsertItems(any());
+        verify(jobMapper, never()).updateCheckpoint(anyLong(), anyString(), anyLong(), anyInt(), anyInt());
+        verify(jobMapper, never()).release(anyLong(), anyString(), anyString(), any());
+    }
+
+    @Test
+    void startRejectsWhenRunningJobLeaseIsHeldElsewhere() {
+        when(jobMapper.findLatest()).thenReturn(runningJob(5L));
+        when(jobMapper.acquire(1L, "node-a", 90L)).thenReturn(0);
+
+        assertThrows(BusinessException.class, () -> reparseService.start(false));
+
+        verify(jobMapper, never()).insert(any());
+        verify(reparseExecutor, never()).execute(any());
+    }
+
+    @Test
+    void promptChangeAfterClaimFailsJob() {
+        ReparseJob job = runningJob(5L);
+        job.setPromptVersion("p1");
+        when(jobMapper.findLatest()).thenReturn(job);
+        when(jobMapper.claimStale(1L, "node-a", 90L)).thenReturn(1);
+
+        reparseService.resumeInterruptedJob();
+
+        verify(jobMapper).release(eq(1L), eq("node-a"), eq(ReparseJob.STATUS_FAILED), anyString());
+        verify(reparseExecutor, never()).execute(any());
+    }
+
+    private ReparseJob runningJob(long lastVersionId) {
+        ReparseJob job = new ReparseJob();
+        job.setId(1L);
+        job.setPromptVersion(PROMPT);
+        job.setReextract(false);
+        job.setStatus(ReparseJob.STATUS_RUNNING);
+        job.setLastVersionId(lastVersionId);
+        job.setSucceeded(10);
+        job.setFailed(0);
+        return job;
+    }
+
+    private ResumeVersion version(long id, long resumeId) {
+        ResumeVersion version = new ResumeVersion();
+        version.setId(id);
+        version.setResumeId(resumeId);
+        version.setRawText("text " + id);
+        return version;
+    }
+}
@@ -0,0 +1,136 @@
+package com.erickwu.backend.service.impl;
+
+import com.erickwu.backend.entity.Resume;
+import com.erickwu.backend.entity.ResumeVersion;
+import com.erickwu.backend.entity.ResumeVersionContent;
+import com.erickwu.backend.mapper.EducationMapper;
+import com.erickwu.backend.mapper.ResumeMapper;
+import com.erickwu.backend.mapper.ResumeVersionMapper;
+import com.erickwu.backend.mapper.SkillMapper;
+import com.erickwu.backend.mapper.WorkExperienceMapper;
+import com.erickwu.backend.service.CandidateSearchService;
+import com.erickwu.backend.service.DashboardSnapshotCache;
+import com.erickwu.backend.service.ResumeEmbeddingService;
+import com.erickwu.backend.service.ResumeFileArchive;
+import com.erickwu.backend.service.ResumeParserService;
+import com.erickwu.backend.service.SkillCanonicalizer;
+import com.erickwu.backend.service.StatsRecorder;
+import com.erickwu.backend.vo.ResumeParseResultVO;
+import com.erickwu.backend.vo.ResumeVersionDetailVO;
+import com.erickwu.backend.vo.ResumeVersionVO;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ResumeServiceImplTest {
+
+    private final ResumeMapper resumeMapper = mock(ResumeMapper.class);
+    private final ResumeVersionMapper versionMapper = mock(ResumeVersionMapper.class);
+    private final TransactionTemplate transactionTemplate = mock(TransactionTemplate.class);
+    private final StatsRecorder statsRecorder = mock(StatsRecorder.class);
+    private final ResumeServiceImpl service = new ResumeServiceImpl(resumeMapper, mock(SkillMapper.class),
+            mock(EducationMapper.class), mock(WorkExperienceMapper.class), versionMapper,
+            mock(ResumeParserService.class), transactionTemplate, mock(DashboardSnapshotCache.class), statsRecorder,
+            mock(ResumeEmbeddingService.class), mock(CandidateSearchService.class), mock(SkillCanonicalizer.class),
+            mock(ResumeFileArchive.class));
+
+    @Test
+    void versionListDoesNotLoadContent() {
+        when(resumeMapper.findByUserId(1L)).thenReturn(resume());
+        ResumeVersion analyzed = version(100L);
+        analyzed.setHasAnalysis(true);
+        when(versionMapper.findByResumeId(10L, 20)).thenReturn(List.of(analyzed, version(101L)));
+
+        List<ResumeVersionVO> versions = service.getVersionsByUserId(1L, 20);
+
+        assertEquals(2, versions.size());
+        assertTrue(versions.get(0).getHasAnalysis());
+        assertFalse(versions.get(1).getHasAnalysis());
+        assertEquals("张三", versions.get(0).getCandidateName());
+        verify(versionMapper, never()).findContent(anyLong());
+    }
+
+    @Test
+    void versionDetailLoadsContentOnDemand() {
+        when(versionMapper.findById(100L)).thenReturn(version(100L));
+        ResumeVersionContent content = new ResumeVersionContent();
+        content.setVersionId(100L);
+        content.setRawText("原文");
+        content.setParsedData("{}");
+        content.setAnalysisReport("# 报告");
+        when(versionMapper.findContent(100L)).thenReturn(content);
+        when(resumeMapper.findById(10L)).thenReturn(resume());
+
+        ResumeVersionDetailVO detail = service.getVersionDetail(100L);
+
+        assertEquals("原文", detail.getRawText());
+        assertEquals("{}", detail.getParsedData());
+        assertEquals("# 报告", detail.getAnalysisReport());
+        assertEquals("张三", detail.getCandidateName());
+    }
+
+    @Test
+    void deleteUsesStoredAnalysisFlag() {
+        ResumeVersion version = version(100L);
+        version.setHasAnalysis(true);
+        when(versionMapper.findById(100L)).thenReturn(version);
+
+        service.deleteVersion(100L);
+
+        verify(versionMapper).delete(100L);
+        verify(statsRecorder).versionRemoved(true);
+        verify(versionMapper, never()).findContent(anyLong());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void uploadedVersionWritesMetadataThenContent() {
+        when(transactionTemplate.execute(any()))
+                .thenAnswer(invocation -> ((TransactionCallback<Long>) invocation.getArgument(0)).doInTransaction(null));
+        when(resumeMapper.findByUserId(1L)).thenReturn(resume());
+        ResumeParseResultVO parseResult = new ResumeParseResultVO();
+        parseResult.setRawText("原文");
+        parseResult.setParsedJson("{}");
+
+        service.saveUploadedVersion(1L, "resume.pdf", 1024L, null, parseResult, null);
+
+        ArgumentCaptor<ResumeVersion> inserted = ArgumentCaptor.forClass(ResumeVersion.class);
+        InOrder order = inOrder(versionMapper);
+        order.verify(versionMapper).insert(inserted.capture());
+        order.verify(versionMapper).insertContent(inserted.getValue());
+        assertEquals("原文", inserted.getValue().getRawText());
+        assertEquals(1, inserted.getValue().getVersionNumber());
+    }
+
+    private static Resume resume() {
+        Resume resume = new Resume();
+        resume.setId(10L);
+        resume.setUserId(1L);
+        resume.setRealName("张三");
+        return resume;
+    }
+
+    private static ResumeVersion version(Long id) {
+        ResumeVersion version = new ResumeVersion();
+        version.setId(id);
+        version.setResumeId(10L);
+        version.setVersionNumber(1);
+        version.setFileName("resume.pdf");
+        return version;
+    }
+}
@@ -0,0 +1,122 @@
+package com.erickwu.backend.service.impl;
+
+import com.erickwu.backend.config.BusinessException;
+import com.erickwu.backend.entity.UserSummary;
+import com.erickwu.backend.mapper.UserMapper;
+import com.erickwu.backend.model.CursorPage;
+import com.erickwu.backend.service.AvatarStore;
+import com.erickwu.backend.service.PasswordHashingService;
+import com.erickwu.backend.service.SessionUserCache;
+import com.erickwu.backend.service.StatsRecorder;
+import com.erickwu.backend.service.TokenRevocationService;
+import com.erickwu.backend.vo.UserSummaryVO;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class UserManageServiceImplTest {
+
+    private static final LocalDateTime T1 = LocalDateTime.of(2026, 10, 1, 12, 0, 0);
+    private static final LocalDateTime T2 = LocalDateTime.of(2026, 9, 30, 8, 30, 15);
+
+    private final UserMapper userMapper = mock(UserMapper.class);
+    private final UserManageServiceImpl service = new UserManageServiceImpl(userMapper,
+            mock(PasswordHashingService.class), mock(StatsRecorder.class), mock(AvatarStore.class),
+            mock(TokenRevocationService.class), mock(SessionUserCache.class));
+
+    @Test
+    void cursorFromOnePageSeeksTheNext() {
+        when(userMapper.findSummaryPage(null, null, null, null, 3))
+                .thenReturn(List.of(summary(9L, T1), summary(8L, T2), summary(7L, T2)));
+        when(userMapper.estimateCount()).thenReturn(1000L);
+
+        CursorPage<UserSummaryVO> first = service.pageUsers(null, 2, null, false);
+
+        assertEquals(2, first.getList().size());
+        assertTrue(first.isHasMore());
+        assertEquals(1000L, first.getTotal());
+        assertFalse(first.isTotalExact());
+
+        when(userMapper.findSummaryPage(null, null, T2, 8L, 3)).thenReturn(List.of(summary(7L, T2)));
+
+        CursorPage<UserSummaryVO> second = service.pageUsers(first.getNextCursor(), 2, null, false);
+
+        assertEquals(List.of(7L), second.getList().stream().map(UserSummaryVO::getId).toList());
+        assertFalse(second.isHasMore());
+        assertNull(second.getNextCursor());
+    }
+
+    @Test
+    void pageSizeIsClamped() {
+        service.pageUsers(null, 0, null, false);
+        service.pageUsers(null, 500, null, false);
+
+        verify(userMapper).findSummaryPage(null, null, null, null, 21);
+        verify(userMapper).findSummaryPage(null, null, null, null, 101);
+    }
+
+    @Test
+    void prefixSearchEscapesWildcardsAndCapsCount() {
+        when(userMapper.countSearchCapped("prefix", "a\\_b\\%%", 10000)).thenReturn(10000L);
+
+        CursorPage<UserSummaryVO> page = service.pageUsers(null, 20, " a_b% ", false);
+
+        verify(userMapper).findSummaryPage("prefix", "a\\_b\\%%", null, null, 21);
+        verify(userMapper, never()).estimateCount();
+        assertEquals(10000L, page.getTotal());
+        assertFalse(page.isTotalExact());
+    }
+
+    @Test
+    void fulltextSearchFallsBackToPrefixForShortKeywords() {
+        when(userMapper.countSearchCapped(any(), any(), anyInt())).thenReturn(3L);
+
+        CursorPage<UserSummaryVO> page = service.pageUsers(null, 20, "张\"三", true);
+        service.pageUsers(null, 20, "张", true);
+
+        verify(userMapper).findSummaryPage("fulltext", "\"张三\"", null, null, 21);
+        verify(userMapper).findSummaryPage("prefix", "张%", null, null, 21);
+        assertTrue(page.isTotalExact());
+    }
+
+    @Test
+    void invalidCursorIsRejected() {
+        assertThrows(BusinessException.class, () -> service.pageUsers("not-a-cursor", 20, null, false));
+        verify(userMapper, never()).findSummaryPage(any(), any(), any(), any(), anyInt());
+    }
+
+    @Test
+    void summaryReportsAvatarPresence() {
+        UserSummary withAvatar = summary(1L, T1);
+        withAvatar.setHasAvatar(true);
+        when(userMapper.findSummaryPage(isNull(), isNull(), isNull(), isNull(), anyInt()))
+                .thenReturn(List.of(withAvatar, summary(2L, T2)));
+
+        List<UserSummaryVO> list = service.pageUsers(null, 20, null, false).getList();
+
+        assertTrue(list.get(0).getHasAvatar());
+        assertFalse(list.get(1).getHasAvatar());
+    }
+
+    private static UserSummary summary(Long id, LocalDateTime createdAt) {
+        UserSummary user = new UserSummary();
+        user.setId(id);
+        user.setUsername("user" + id);
+        user.setCreatedAt(createdAt);
+        return user;
+    }
+}
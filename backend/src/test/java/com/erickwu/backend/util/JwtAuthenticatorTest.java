@@ -0,0 +1,115 @@
+package com.erickwu.backend.util;
+
+import com.erickwu.backend.config.JwtConfig;
+import com.erickwu.backend.metrics.MetricsRegistry;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.SignatureException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Date;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class JwtAuthenticatorTest {
+
+    private final JwtUtil jwtUtil = mock(JwtUtil.class);
+    private final JwtConfig jwtConfig = new JwtConfig();
+    private final MetricsRegistry metrics = new MetricsRegistry();
+    private JwtAuthenticator authenticator;
+
+    @BeforeEach
+    void setUp() {
+        jwtConfig.setCacheMaxEntries(2);
+        authenticator = new JwtAuthenticator(jwtUtil, jwtConfig, metrics);
+    }
+
+    @Test
+    void tokenIsVerifiedOnceUntilExpiry() {
+        when(jwtUtil.parseToken("a")).thenReturn(claims(1L, "jti-a", 60_000));
+
+        AuthPrincipal first = authenticator.authenticate("a");
+        AuthPrincipal second = authenticator.authenticate("a");
+
+        assertSame(first, second);
+        assertEquals(1L, first.getUserId());
+        assertEquals("user1", first.getUsername());
+        assertEquals("jti-a", first.getTokenId());
+        verify(jwtUtil, times(1)).parseToken("a");
+        assertEquals(1, metrics.count("auth.cache.hit"));
+        assertEquals(1, metrics.count("auth.cache.miss"));
+    }
+
+    @Test
+    void expiredEntryIsVerifiedAgain() throws InterruptedException {
+        when(jwtUtil.parseToken("a")).thenReturn(claims(1L, "jti-a", 50));
+
+        authenticator.authenticate("a");
+        Thread.sleep(100);
+        authenticator.authenticate("a");
+
+        verify(jwtUtil, times(2)).parseToken("a");
+    }
+
+    @Test
+    void invalidTokensAreRejectedAndNotCached() {
+        when(jwtUtil.parseToken("bad")).thenThrow(new SignatureException("invalid signature"));
+        when(jwtUtil.parseToken("no-user")).thenReturn(claims(null, "jti", 60_000));
+
+        assertNull(authenticator.authenticate("bad"));
+        assertNull(authenticator.authenticate("bad"));
+        assertNull(authenticator.authenticate("no-user"));
+        assertNull(authenticator.authenticate(null));
+
+        verify(jwtUtil, times(2)).parseToken("bad");
+        assertEquals(3, metrics.count("auth.rejected"));
+    }
+
+    @Test
+    void leastRecentlyUsedEntryIsEvicted() {
+        when(jwtUtil.parseToken("a")).thenReturn(claims(1L, "jti-a", 60_000));
+        when(jwtUtil.parseToken("b")).thenReturn(claims(2L, "jti-b", 60_000));
+        when(jwtUtil.parseToken("c")).thenReturn(claims(3L, "jti-c", 60_000));
+
+        authenticator.authenticate("a");
+        authenticator.authenticate("b");
+        authenticator.authenticate("a");
+        authenticator.authenticate("c");
+        authenticator.authenticate("a");
+        authenticator.authenticate("b");
+
+        verify(jwtUtil, times(1)).parseToken("a");
+        verify(jwtUtil, times(2)).parseToken("b");
+        assertEquals(2, metrics.snapshot().get("auth.cache.size"));
+    }
+
+    @Test
+    void zeroCapacityDisablesCache() {
+        jwtConfig.setCacheMaxEntries(0);
+        authenticator = new JwtAuthenticator(jwtUtil, jwtConfig, metrics);
+        when(jwtUtil.parseToken("a")).thenReturn(claims(1L, "jti-a", 60_000));
+
+        authenticator.authenticate("a");
+        authenticator.authenticate("a");
+
+        verify(jwtUtil, times(2)).parseToken("a");
+    }
+
+    private static Claims claims(Long userId, String tokenId, long ttlMillis) {
+        long now = System.currentTimeMillis();
+        return Jwts.claims()
+                .add("userId", userId)
+                .subject("user" + userId)
+                .id(tokenId)
+                .issuedAt(new Date(now))
+                .expiration(new Date(now + ttlMillis))
+                .build();
+    }
+}
@@ -20,6 +20,41 @@ const request = axios.create({
   }
 })
 
+// Token 失效（后端业务码）
+const TOKEN_INVALID_CODE = 1005
+
+// 正在进行的刷新请求，并发的失效请求共用同一次刷新
+let refreshing: Promise<string> | null = null
+
+/**
+ * 使用刷新令牌换取新的 Token，刷新令牌随之轮换
+ */
+function refreshAccessToken(): Promise<string> {
+  if (!refreshing) {
+    const refreshToken = localStorage.getItem('refreshToken')
+    refreshing = (refreshToken
+      ? request.post('/user/refresh', { refreshToken }).then((res: any) => {
+          localStorage.setItem('token', res.data.token)
+          localStorage.setItem('refreshToken', res.data.refreshToken)
+          return res.data.token as string
+        })
+      : Promise.reject(new Error('无刷新令牌'))
+    ).finally(() => {
+      refreshing = null
+    })
+  }
+  return refreshing
+}
+
+// 清除登录状态并跳转登录页
+function redirectToLogin() {
+  localStorage.removeItem('token')
+  localStorage.removeItem('refreshToken')
+  localStorage.removeItem('userInfo')
+  ElMessage.error('登录已过期，请重新登录')
+  router.push('/login')
+}
+
 // 请求拦截器 - 添加 JWT Token
 request.interceptors.request.use(
   (config) => {
@@ -55,19 +90,33 @@ request.interceptors.response.use(
     res.success = true
     return res
   },
-  (error) => {
+  async (error) => {
     console.error('[API Response Error]', error)
-    
+
+    // Token 过期：刷新后重试一次，刷新接口本身失败则重新登录
+    const config = error.config
+    if (error.response?.data?.code === TOKEN_INVALID_CODE && config && !config._retried) {
+      if (config.url === '/user/refresh') {
+        return Promise.reject(error)
+      }
+      config._retried = true
+      try {
+        const token = await refreshAccessToken()
+        config.headers.Authorization = `Bearer ${token}`
+        return request(config)
+      } catch (e) {
+        redirectToLogin()
+        return Promise.reject(error)
+      }
+    }
+
     if (error.response) {
       const { status, data } = error.response
       
       switch (status) {
         case 401:
           // Token 过期或无效
-          localStorage.removeItem('token')
-          localStorage.removeItem('userInfo')
-          ElMessage.error('登录已过期，请重新登录')
-          router.push('/login')
+          redirectToLogin()
           break
         case 403:
           ElMessage.error('没有权限访问')
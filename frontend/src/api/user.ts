@@ -33,6 +33,9 @@ export interface LoginResponse {
   message: string
   data: {
     token: string
+    refreshToken: string
+    expiresIn: number
+    refreshExpiresIn: number
     userId: number
     username: string
     email: string
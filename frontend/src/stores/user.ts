@@ -24,10 +24,13 @@ export const useUserStore = defineStore('user', () => {
   // 计算属性
   const isLoggedIn = computed(() => !!token.value)
 
-  // 设置 Token
-  function setToken(newToken: string) {
+  // 设置 Token（刷新令牌仅保存在 localStorage，由请求拦截器使用）
+  function setToken(newToken: string, refreshToken?: string) {
     token.value = newToken
     localStorage.setItem('token', newToken)
+    if (refreshToken) {
+      localStorage.setItem('refreshToken', refreshToken)
+    }
   }
 
   // 设置用户信息
@@ -41,7 +44,7 @@ export const useUserStore = defineStore('user', () => {
     const res = await loginApi(params)
     // 后端返回 code=200 表示成功，拦截器已添加 success=true
     if ((res.success || res.code === 200) && res.data) {
-      setToken(res.data.token)
+      setToken(res.data.token, res.data.refreshToken)
       setUserInfo({
         id: res.data.userId,
         username: res.data.username,
@@ -57,7 +60,7 @@ export const useUserStore = defineStore('user', () => {
     const res = await registerApi(params)
     // 后端返回 code=200 表示成功
     if ((res.success || res.code === 200) && res.data) {
-      setToken(res.data.token)
+      setToken(res.data.token, res.data.refreshToken)
       setUserInfo({
         id: res.data.userId,
         username: res.data.username,
@@ -102,6 +105,7 @@ export const useUserStore = defineStore('user', () => {
     token.value = null
     userInfo.value = null
     localStorage.removeItem('token')
+    localStorage.removeItem('refreshToken')
     localStorage.removeItem('userInfo')
   }
 
@@ -14,7 +14,8 @@ export default defineConfig({
     proxy: {
       '/api': {
         target: 'http://localhost:8080',
-        changeOrigin: true
+        changeOrigin: true,
+        xfwd: true  // 附带 X-Forwarded-For，后端据此识别真实客户端 IP（登录限流）
       }
     }
   }